@@ -0,0 +1,92 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Engine.BatchKernel;
+import com.example.demo.Engine.GameRandom;
+import com.example.demo.Simulation.EntityKind;
+import com.example.demo.Simulation.Fixed;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the scalar and vector {@link BatchKernel}s on one tick of projectile work: moving every projectile and
+ * testing each against the user's plane.
+ * <p>
+ * The vector runs need the game built with the {@code vector} profile; the forks are started with the Vector API
+ * module enabled.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BatchKernelBenchmark {
+
+	private static final EntityKind[] PROJECTILES =
+			{EntityKind.USER_PROJECTILE, EntityKind.ENEMY_PROJECTILE, EntityKind.BOSS_PROJECTILE};
+
+	@Param({"1000", "10000", "100000"})
+	public int projectiles;
+
+	@Param({"scalar", "vector"})
+	public String kernel;
+
+	private BatchKernel batchKernel;
+	private int[] x;
+	private int[] y;
+	private int[] width;
+	private int[] height;
+	private int[] velocity;
+	private int[] reverseVelocity;
+	private int[] hits;
+	private boolean reversed;
+
+	/**
+	 * Spreads projectiles of every kind over the screen.
+	 */
+	@Setup
+	public void setUp() {
+		batchKernel = "vector".equals(kernel) ? BatchKernel.vector() : BatchKernel.scalar();
+		GameRandom random = new GameRandom(1);
+		x = new int[projectiles];
+		y = new int[projectiles];
+		width = new int[projectiles];
+		height = new int[projectiles];
+		velocity = new int[projectiles];
+		reverseVelocity = new int[projectiles];
+		hits = new int[projectiles];
+		for (int i = 0; i < projectiles; i++) {
+			EntityKind kind = PROJECTILES[i % PROJECTILES.length];
+			x[i] = Fixed.of(random.nextDouble() * 1300);
+			y[i] = Fixed.of(random.nextDouble() * 750);
+			width[i] = kind.getWidth();
+			height[i] = kind.getHeight();
+			velocity[i] = kind.getVelocityX();
+			reverseVelocity[i] = -velocity[i];
+		}
+	}
+
+	/**
+	 * Moves the projectiles and tests them against the user's plane. Every other call moves them back, so that they
+	 * stay on the screen however long the benchmark runs.
+	 *
+	 * @return The number of hits, so that the work cannot be optimised away.
+	 */
+	@Benchmark
+	public int tick() {
+		batchKernel.integrate(x, reversed ? reverseVelocity : velocity, projectiles);
+		reversed = !reversed;
+		return batchKernel.overlaps(x, y, width, height, projectiles, Fixed.of(5), Fixed.of(350),
+				EntityKind.USER.getWidth(), EntityKind.USER.getHeight(), hits);
+	}
+}
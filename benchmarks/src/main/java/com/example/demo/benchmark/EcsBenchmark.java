@@ -0,0 +1,75 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Ecs.EcsGame;
+import com.example.demo.Ecs.Field;
+import com.example.demo.Engine.GameRandom;
+import com.example.demo.Simulation.EntityKind;
+import com.example.demo.Simulation.Fixed;
+import com.example.demo.Simulation.InputCommand;
+import com.example.demo.Simulation.SimulationRules;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link EcsGame}'s ticks with many entities in play: enemy planes and projectiles spread over the screen,
+ * with the user firing into them.
+ * <p>
+ * Projectiles fly off the screen and planes are shot down as the game runs, so each iteration starts from a freshly
+ * populated game and times a batch of {@value #TICKS} ticks, as a single shot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, batchSize = EcsBenchmark.TICKS)
+@Measurement(iterations = 10, batchSize = EcsBenchmark.TICKS)
+@Fork(1)
+public class EcsBenchmark {
+
+	static final int TICKS = 100;
+
+	private static final SimulationRules NO_SPAWNS = new SimulationRules(Integer.MAX_VALUE, 0, 0, false, 0, null);
+	private static final EntityKind[] KINDS = {EntityKind.ENEMY_PLANE, EntityKind.ENEMY_PROJECTILE,
+			EntityKind.BOSS_PROJECTILE};
+
+	@Param({"10000", "50000", "100000"})
+	public int entities;
+
+	private EcsGame game;
+
+	/**
+	 * Fills a new game with entities. The user is given enough health to survive the batch.
+	 */
+	@Setup(Level.Iteration)
+	public void setUp() {
+		game = new EcsGame(NO_SPAWNS, 750, 1300, entities);
+		game.getWorld().set(game.getUser(), Field.HEALTH, Integer.MAX_VALUE);
+		GameRandom random = new GameRandom(entities);
+		for (int i = 0; i < entities; i++) {
+			game.spawn(KINDS[i % KINDS.length], Fixed.of(200 + random.nextDouble() * 1100),
+					Fixed.of(random.nextDouble() * 700));
+		}
+		game.apply(InputCommand.START_FIRING);
+	}
+
+	/**
+	 * Runs one tick.
+	 *
+	 * @return The number of entities left, so that the work cannot be optimised away.
+	 */
+	@Benchmark
+	public int step() {
+		game.step();
+		return game.getEntityCount();
+	}
+}
@@ -1,16 +1,27 @@
 package com.example.demo.Actor;
 
+import com.example.demo.Display.SpriteAtlas;
+import com.example.demo.Display.SpriteCache;
 import javafx.scene.image.*;
 
 /**
  * Represents an active game actor with an image, position, and movement capabilities.
  * This class extends {@link ImageView}, enabling actors to be represented visually
- * in the game scene.
+ * in the game scene. Sprite images are shared through the {@link SpriteCache}, so each
+ * image file is decoded once, at the size it is shown, no matter how many actors use it, and
+ * the game's sprites are drawn from the {@link SpriteAtlas} when it is in use.
+ * <p>
+ * The size of the actor on screen is fixed when it is created, so collisions are tested with plain arithmetic on its
+ * position instead of through {@link #getBoundsInParent()}, which allocates new bounds whenever the actor has moved.
  */
 public abstract class ActiveActor extends ImageView {
 
-	// Base location for the actor's image resources
-	private static final String IMAGE_LOCATION = "/com/example/demo/images/";
+	/** Base location for the actors' image resources. */
+	public static final String IMAGE_LOCATION = "/com/example/demo/images/";
+
+	// Size of the actor on screen, as laid out by the image view
+	private final double width;
+	private final double height;
 
 	/**
 	 * Constructs an ActiveActor with the specified image, size, and initial position.
@@ -19,20 +30,65 @@ public abstract class ActiveActor extends ImageView {
 	 * @param imageHeight    The height of the actor's image.
 	 * @param initialXPos    The initial X position of the actor on the screen.
 	 * @param initialYPos    The initial Y position of the actor on the screen.
+	 * @throws IllegalArgumentException if the image resource is not found.
 	 */
 	public ActiveActor(String imageName, int imageHeight, double initialXPos, double initialYPos) {
-		String resourcePath = IMAGE_LOCATION + imageName;
-		var resource = getClass().getResource(resourcePath);
-
-		if (resource == null) {
-			throw new IllegalArgumentException("Resource not found: " + resourcePath);
-		}
-
-		this.setImage(new Image(resource.toExternalForm()));
+		String imagePath = IMAGE_LOCATION + imageName;
+		SpriteAtlas.show(this, imagePath, 0, imageHeight); // Decoded at the size it is shown
 		this.setLayoutX(initialXPos);
 		this.setLayoutY(initialYPos);
-		this.setFitHeight(imageHeight);
-		this.setPreserveRatio(true); // Ensures the aspect ratio of the image is maintained
+		int sourceHeight = SpriteCache.getSourceHeight(imagePath);
+		// Sized by the source's aspect ratio, which the decoded image only keeps to the nearest pixel
+		this.width = sourceHeight > 0 ? (double) SpriteCache.getSourceWidth(imagePath) * imageHeight / sourceHeight : 0;
+		this.height = imageHeight;
+		this.setFitWidth(width);
+		this.setFitHeight(height);
+	}
+
+	/**
+	 * Checks whether this actor's bounds intersect another actor's bounds.
+	 * <p>
+	 * This gives the same result as intersecting the two actors' bounds in their parent, including touching edges,
+	 * without allocating.
+	 *
+	 * @param other The other actor.
+	 * @return {@code true} if the two actors overlap or touch, otherwise {@code false}.
+	 */
+	public boolean intersects(ActiveActor other) {
+		double minX = getCollisionX();
+		double minY = getCollisionY();
+		double otherMinX = other.getCollisionX();
+		double otherMinY = other.getCollisionY();
+		return otherMinX + other.width >= minX && otherMinY + other.height >= minY
+				&& otherMinX <= minX + width && otherMinY <= minY + height;
+	}
+
+	/**
+	 * @return The left edge of the actor's bounds in its parent.
+	 */
+	public double getCollisionX() {
+		return getLayoutX() + getTranslateX();
+	}
+
+	/**
+	 * @return The top edge of the actor's bounds in its parent.
+	 */
+	public double getCollisionY() {
+		return getLayoutY() + getTranslateY();
+	}
+
+	/**
+	 * @return The width of the actor's bounds.
+	 */
+	public double getCollisionWidth() {
+		return width;
+	}
+
+	/**
+	 * @return The height of the actor's bounds.
+	 */
+	public double getCollisionHeight() {
+		return height;
 	}
 
 	/**
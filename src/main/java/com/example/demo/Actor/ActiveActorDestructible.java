@@ -1,5 +1,9 @@
 package com.example.demo.Actor;
 
+import com.example.demo.Engine.GameRandom;
+import com.example.demo.Event.GameEventBus;
+import java.nio.ByteBuffer;
+
 /**
  * Represents an actor that can be destroyed within the game.
  * This class extends from {@link ActiveActor} and implements the {@link Destructible} interface.
@@ -13,6 +17,15 @@ public abstract class ActiveActorDestructible extends ActiveActor implements Des
 	// Flag to check if the actor is invincible (cannot be destroyed)
 	private final boolean isInvincible;
 
+	// Bus of the level the actor belongs to, or null while the actor is not part of a level
+	private GameEventBus eventBus;
+
+	// Random number generator of the level the actor belongs to, or null while the actor is not part of a level
+	private GameRandom random;
+
+	// Handle given by the registry of the level the actor belongs to
+	private int handle = ActorRegistry.NO_HANDLE;
+
 	/**
 	 * Constructs an ActiveActorDestructible with the specified parameters.
 	 * Initializes the actor with a specified image, size, and initial position, and sets
@@ -49,6 +62,21 @@ public abstract class ActiveActorDestructible extends ActiveActor implements Des
 	@Override
 	public abstract void takeDamage();
 
+	/**
+	 * Applies several hits landed by a single strike, such as that of a projectile others have been merged into.
+	 * <p>
+	 * By default each hit is applied in turn, stopping once the actor is destroyed. Actors whose first hit protects
+	 * them from the next, such as planes made invincible, override this to apply the strike as a whole.
+	 *
+	 * @param hits The number of hits, at least 1.
+	 */
+	public void takeHits(int hits) {
+		takeDamage();
+		for (int i = 1; i < hits && !isDestroyed(); i++) {
+			takeDamage();
+		}
+	}
+
 	/**
 	 * Marks the actor as destroyed if it is not already destroyed.
 	 * This method is used to destroy the actor in the game.
@@ -76,4 +104,98 @@ public abstract class ActiveActorDestructible extends ActiveActor implements Des
 	public boolean isInvincible() {
 		return isInvincible;
 	}
+
+	/**
+	 * Attaches the actor to the event bus of the level it has been added to.
+	 *
+	 * @param eventBus The level's event bus, or {@code null} to detach the actor.
+	 */
+	public void setEventBus(GameEventBus eventBus) {
+		this.eventBus = eventBus;
+	}
+
+	/**
+	 * Returns the event bus of the level the actor belongs to.
+	 *
+	 * @return The level's event bus, or {@code null} if the actor is not part of a level.
+	 */
+	protected GameEventBus getEventBus() {
+		return eventBus;
+	}
+
+	/**
+	 * Records the handle the actor has been given by the {@link ActorRegistry} of the level it has been added to.
+	 *
+	 * @param handle The actor's handle.
+	 */
+	void setHandle(int handle) {
+		this.handle = handle;
+	}
+
+	/**
+	 * Returns the handle the actor's level knows it by. Handles identify an actor for as long as it is in play and
+	 * order its collisions, so the outcome of a tick does not depend on the order of the level's lists.
+	 *
+	 * @return The actor's handle, or {@link ActorRegistry#NO_HANDLE} if it has never been added to a level.
+	 */
+	public int getHandle() {
+		return handle;
+	}
+
+	/**
+	 * Attaches the actor to the random number generator of the level it has been added to.
+	 *
+	 * @param random The level's random number generator, or {@code null} to detach the actor.
+	 */
+	public void setRandom(GameRandom random) {
+		this.random = random;
+	}
+
+	/**
+	 * Returns the next random value for a gameplay decision, uniformly distributed in {@code [0, 1)}.
+	 * <p>
+	 * Actors that belong to a level draw from the level's generator so that its state can be snapshotted; detached
+	 * actors fall back to {@link Math#random()}.
+	 *
+	 * @return The next random value.
+	 */
+	protected double nextRandom() {
+		return random != null ? random.nextDouble() : Math.random();
+	}
+
+	/**
+	 * Writes the actor's position to the buffer.
+	 * <p>
+	 * Subclasses with more state override this and {@link #readState(ByteBuffer)}, calling the superclass method
+	 * first, so that both methods always read and write the same fields in the same order.
+	 *
+	 * @param buffer The buffer to write to.
+	 */
+	public void writeState(ByteBuffer buffer) {
+		buffer.putFloat((float) getLayoutX());
+		buffer.putFloat((float) getLayoutY());
+		buffer.putFloat((float) getTranslateX());
+		buffer.putFloat((float) getTranslateY());
+	}
+
+	/**
+	 * Restores the state written by {@link #writeState(ByteBuffer)}.
+	 *
+	 * @param buffer The buffer to read from.
+	 */
+	public void readState(ByteBuffer buffer) {
+		setLayoutX(buffer.getFloat());
+		setLayoutY(buffer.getFloat());
+		setTranslateX(buffer.getFloat());
+		setTranslateY(buffer.getFloat());
+	}
+
+	/**
+	 * Releases any resources held by the actor, such as running animation timers.
+	 * <p>
+	 * This method is called by the owning level when the level is disposed. The default implementation
+	 * does nothing; subclasses that start timers or register listeners should override it.
+	 */
+	public void dispose() {
+	}
 }
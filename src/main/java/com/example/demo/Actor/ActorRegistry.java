@@ -0,0 +1,393 @@
+package com.example.demo.Actor;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Keeps track of the actors in play in a level and gives each of them a handle.
+ * <p>
+ * A handle is a single {@code int} combining the slot the actor is stored in with the generation of that slot. Slots
+ * are reused once their actor has been removed, but every reuse bumps the generation, so a handle kept after its actor
+ * has gone never refers to another actor; {@link #get(int)} and {@link #contains(int)} simply report it as gone. This
+ * gives actors an identity that replays, network messages and telemetry can refer to, and that is the same from one
+ * run to the next given the same sequence of spawns.
+ * <p>
+ * Besides the slots, the registry keeps dense index sets of the actors on each {@link Team}, of each
+ * {@link ActorType}, and of the units and projectiles of each team. Adding, removing and testing membership are
+ * constant time, and each set keeps its actors in the order they were added, which {@link #removeDestroyed} preserves.
+ * The sets are exposed as read-only list views that allocate nothing when read, so a level can walk them in its game
+ * loop exactly as it walked its actor lists. A registry is not thread-safe.
+ */
+public class ActorRegistry {
+
+	/** A handle that never refers to an actor. */
+	public static final int NO_HANDLE = 0;
+
+	private static final int SLOT_BITS = 20;
+	private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+	private static final int MAX_GENERATION = (1 << (31 - SLOT_BITS)) - 1;
+	private static final int INITIAL_CAPACITY = 64;
+	private static final Team[] TEAMS = Team.values();
+	private static final ActorType[] TYPES = ActorType.values();
+
+	private ActiveActorDestructible[] actors = new ActiveActorDestructible[INITIAL_CAPACITY];
+	private int[] generations = new int[INITIAL_CAPACITY];
+	private byte[] teams = new byte[INITIAL_CAPACITY];
+	private byte[] types = new byte[INITIAL_CAPACITY];
+	private int[] freeSlots = new int[INITIAL_CAPACITY];
+	private int freeCount;
+	private int slotCount;
+	private int size;
+
+	private final IndexSet[] teamSets = new IndexSet[TEAMS.length];
+	private final IndexSet[] typeSets = new IndexSet[TYPES.length];
+	private final IndexSet[] unitSets = new IndexSet[TEAMS.length];
+	private final IndexSet[] projectileSets = new IndexSet[TEAMS.length];
+	private final IndexSet[] allSets;
+
+	/**
+	 * Constructs an empty registry.
+	 */
+	public ActorRegistry() {
+		for (int i = 0; i < TEAMS.length; i++) {
+			teamSets[i] = new IndexSet();
+			unitSets[i] = new IndexSet();
+			projectileSets[i] = new IndexSet();
+		}
+		for (int i = 0; i < TYPES.length; i++) {
+			typeSets[i] = new IndexSet();
+		}
+		allSets = new IndexSet[TEAMS.length * 3 + TYPES.length];
+		int set = 0;
+		for (int i = 0; i < TEAMS.length; i++) {
+			allSets[set++] = teamSets[i];
+			allSets[set++] = unitSets[i];
+			allSets[set++] = projectileSets[i];
+		}
+		for (IndexSet typeSet : typeSets) {
+			allSets[set++] = typeSet;
+		}
+	}
+
+	/**
+	 * Adds an actor and gives it a handle, which is also stored in the actor.
+	 *
+	 * @param actor The actor to add.
+	 * @param team  The side the actor fights on.
+	 * @param type  What kind of actor it is.
+	 * @return The actor's handle.
+	 * @throws IllegalArgumentException If the actor is already in this registry.
+	 * @throws IllegalStateException    If the registry is full.
+	 */
+	public int register(ActiveActorDestructible actor, Team team, ActorType type) {
+		if (get(actor.getHandle()) == actor) {
+			throw new IllegalArgumentException("Actor already registered: " + actor);
+		}
+		int slot;
+		if (freeCount > 0) {
+			slot = freeSlots[--freeCount];
+		} else {
+			if (slotCount > SLOT_MASK) {
+				throw new IllegalStateException("Too many actors: " + slotCount);
+			}
+			if (slotCount == actors.length) {
+				growSlots();
+			}
+			slot = slotCount++;
+		}
+		generations[slot] = generations[slot] == MAX_GENERATION ? 1 : generations[slot] + 1;
+		actors[slot] = actor;
+		teams[slot] = (byte) team.ordinal();
+		types[slot] = (byte) type.ordinal();
+		teamSets[team.ordinal()].add(slot);
+		typeSets[type.ordinal()].add(slot);
+		(type.isUnit() ? unitSets : projectileSets)[team.ordinal()].add(slot);
+		size++;
+
+		int handle = (generations[slot] << SLOT_BITS) | slot;
+		actor.setHandle(handle);
+		return handle;
+	}
+
+	/**
+	 * Returns the actor a handle refers to.
+	 *
+	 * @param handle The handle.
+	 * @return The actor, or {@code null} if the handle's actor has been removed or the handle was never valid.
+	 */
+	public ActiveActorDestructible get(int handle) {
+		int slot = handle & SLOT_MASK;
+		if (handle <= 0 || slot >= slotCount || generations[slot] != handle >>> SLOT_BITS) {
+			return null;
+		}
+		return actors[slot];
+	}
+
+	/**
+	 * Returns whether a handle refers to an actor in play.
+	 *
+	 * @param handle The handle.
+	 * @return {@code true} if the handle's actor is in this registry.
+	 */
+	public boolean contains(int handle) {
+		return get(handle) != null;
+	}
+
+	/**
+	 * Removes the actor a handle refers to. The last actor of each of its sets takes its place, so removing a single
+	 * actor does not keep the sets' order; use {@link #removeDestroyed} to remove actors in bulk in order.
+	 *
+	 * @param handle The handle of the actor to remove.
+	 * @return {@code true} if an actor was removed, {@code false} if the handle's actor was already gone.
+	 */
+	public boolean remove(int handle) {
+		if (!contains(handle)) {
+			return false;
+		}
+		int slot = handle & SLOT_MASK;
+		for (IndexSet set : allSets) {
+			set.swapRemove(slot);
+		}
+		freeSlot(slot);
+		return true;
+	}
+
+	/**
+	 * Removes every destroyed actor, keeping the others in order in every set.
+	 *
+	 * @param onRemoved Called with each removed actor, after it has been removed.
+	 */
+	public void removeDestroyed(Consumer<ActiveActorDestructible> onRemoved) {
+		boolean anyDestroyed = false;
+		for (IndexSet set : teamSets) {
+			for (int i = 0; i < set.size && !anyDestroyed; i++) {
+				anyDestroyed = actors[set.slots[i]].isDestroyed();
+			}
+		}
+		if (!anyDestroyed) {
+			return;
+		}
+		for (IndexSet set : allSets) {
+			set.retainLive();
+		}
+		for (IndexSet set : teamSets) {
+			for (int i = 0; i < set.removedCount; i++) {
+				int slot = set.removed[i];
+				ActiveActorDestructible actor = actors[slot];
+				freeSlot(slot);
+				onRemoved.accept(actor);
+			}
+			set.removedCount = 0;
+		}
+	}
+
+	/**
+	 * Removes every actor.
+	 *
+	 * @param onRemoved Called with each removed actor, after all of them have been removed.
+	 */
+	public void clear(Consumer<ActiveActorDestructible> onRemoved) {
+		ActiveActorDestructible[] removed = new ActiveActorDestructible[size];
+		int count = 0;
+		for (IndexSet set : teamSets) {
+			for (int i = 0; i < set.size; i++) {
+				removed[count++] = actors[set.slots[i]];
+			}
+		}
+		for (IndexSet set : allSets) {
+			set.clear();
+		}
+		for (int slot = 0; slot < slotCount; slot++) {
+			if (actors[slot] != null) {
+				freeSlot(slot);
+			}
+		}
+		for (ActiveActorDestructible actor : removed) {
+			onRemoved.accept(actor);
+		}
+	}
+
+	/**
+	 * @return The number of actors in play.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param team A side.
+	 * @return A live, read-only view of every actor on the side, in the order they were added.
+	 */
+	public List<ActiveActorDestructible> ofTeam(Team team) {
+		return teamSets[team.ordinal()].view;
+	}
+
+	/**
+	 * @param type A kind of actor.
+	 * @return A live, read-only view of every actor of the kind, such as all bosses, in the order they were added.
+	 */
+	public List<ActiveActorDestructible> ofType(ActorType type) {
+		return typeSets[type.ordinal()].view;
+	}
+
+	/**
+	 * @param team A side.
+	 * @return A live, read-only view of the side's planes and bosses, in the order they were added.
+	 */
+	public List<ActiveActorDestructible> unitsOf(Team team) {
+		return unitSets[team.ordinal()].view;
+	}
+
+	/**
+	 * @param team A side.
+	 * @return A live, read-only view of the side's projectiles, in the order they were added.
+	 */
+	public List<ActiveActorDestructible> projectilesOf(Team team) {
+		return projectileSets[team.ordinal()].view;
+	}
+
+	/**
+	 * Returns the side of an actor in play.
+	 *
+	 * @param handle The actor's handle.
+	 * @return The actor's side, or {@code null} if the handle's actor is gone.
+	 */
+	public Team getTeam(int handle) {
+		return contains(handle) ? TEAMS[teams[handle & SLOT_MASK]] : null;
+	}
+
+	/**
+	 * Returns the kind of an actor in play.
+	 *
+	 * @param handle The actor's handle.
+	 * @return The actor's kind, or {@code null} if the handle's actor is gone.
+	 */
+	public ActorType getType(int handle) {
+		return contains(handle) ? TYPES[types[handle & SLOT_MASK]] : null;
+	}
+
+	private void freeSlot(int slot) {
+		actors[slot] = null;
+		if (freeCount == freeSlots.length) {
+			freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+		}
+		freeSlots[freeCount++] = slot;
+		size--;
+	}
+
+	private void growSlots() {
+		int capacity = actors.length * 2;
+		actors = Arrays.copyOf(actors, capacity);
+		generations = Arrays.copyOf(generations, capacity);
+		teams = Arrays.copyOf(teams, capacity);
+		types = Arrays.copyOf(types, capacity);
+		for (IndexSet set : allSets) {
+			set.growPositions(capacity);
+		}
+	}
+
+	/**
+	 * A dense set of slots: the slots in play are packed at the front of an array, and each slot's position in that
+	 * array is recorded so that membership is tested and removal done without searching.
+	 */
+	private final class IndexSet {
+
+		private int size;
+		private int[] slots = new int[INITIAL_CAPACITY];
+		private int[] positions = filledPositions(INITIAL_CAPACITY); // Position of each slot, or -1 if absent
+		private int removedCount;
+		private int[] removed = new int[INITIAL_CAPACITY]; // Slots removed by the last retainLive
+		private final List<ActiveActorDestructible> view = new View();
+
+		private void add(int slot) {
+			if (size == slots.length) {
+				slots = Arrays.copyOf(slots, size * 2);
+			}
+			positions[slot] = size;
+			slots[size++] = slot;
+		}
+
+		private void swapRemove(int slot) {
+			int position = positions[slot];
+			if (position < 0) {
+				return;
+			}
+			int last = slots[--size];
+			slots[position] = last;
+			positions[last] = position;
+			positions[slot] = -1;
+		}
+
+		/**
+		 * Removes the slots whose actors are destroyed, keeping the others in order, and remembers the removed slots.
+		 */
+		private void retainLive() {
+			int kept = 0;
+			removedCount = 0;
+			for (int i = 0; i < size; i++) {
+				int slot = slots[i];
+				if (actors[slot].isDestroyed()) {
+					positions[slot] = -1;
+					if (removedCount == removed.length) {
+						removed = Arrays.copyOf(removed, removed.length * 2);
+					}
+					removed[removedCount++] = slot;
+				} else {
+					positions[slot] = kept;
+					slots[kept++] = slot;
+				}
+			}
+			size = kept;
+		}
+
+		private void clear() {
+			for (int i = 0; i < size; i++) {
+				positions[slots[i]] = -1;
+			}
+			size = 0;
+			removedCount = 0;
+		}
+
+		private void growPositions(int capacity) {
+			int oldCapacity = positions.length;
+			positions = Arrays.copyOf(positions, capacity);
+			Arrays.fill(positions, oldCapacity, capacity, -1);
+		}
+
+		/**
+		 * A read-only list over the set's actors.
+		 */
+		private final class View extends AbstractList<ActiveActorDestructible> {
+
+			@Override
+			public ActiveActorDestructible get(int index) {
+				if (index < 0 || index >= size) {
+					throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+				}
+				return actors[slots[index]];
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+
+			@Override
+			public boolean contains(Object o) {
+				if (!(o instanceof ActiveActorDestructible actor) || ActorRegistry.this.get(actor.getHandle()) != actor) {
+					return false;
+				}
+				int slot = actor.getHandle() & SLOT_MASK;
+				return slot < positions.length && positions[slot] >= 0;
+			}
+		}
+	}
+
+	private static int[] filledPositions(int capacity) {
+		int[] positions = new int[capacity];
+		Arrays.fill(positions, -1);
+		return positions;
+	}
+}
@@ -0,0 +1,23 @@
+package com.example.demo.Actor;
+
+/**
+ * What kind of actor an actor is, as far as the level is concerned.
+ */
+public enum ActorType {
+
+	/** A plane, such as the user's plane or an enemy plane. */
+	PLANE,
+
+	/** A boss plane. */
+	BOSS,
+
+	/** A projectile fired by a plane or boss. */
+	PROJECTILE;
+
+	/**
+	 * @return {@code true} for planes and bosses, which levels treat as units.
+	 */
+	public boolean isUnit() {
+		return this != PROJECTILE;
+	}
+}
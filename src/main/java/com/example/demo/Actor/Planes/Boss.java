@@ -2,72 +2,110 @@ package com.example.demo.Actor.Planes;
 
 import com.example.demo.Actor.ActiveActorDestructible;
 import com.example.demo.Actor.Projectiles.BossProjectile;
+import com.example.demo.Display.CountedAnimationTimer;
+import com.example.demo.Display.QualityGovernor;
 import com.example.demo.Display.ShieldImage;
+import com.example.demo.Event.GameEventBus;
+import java.nio.ByteBuffer;
 import javafx.animation.AnimationTimer;
 
-import java.util.*;
-
 /**
  * Represents a boss in the game, extending the {@link FighterPlane} class.
  * <p>
  * The {@code Boss} class defines the behavior of the boss plane, including movement, firing projectiles, taking damage,
- * and activating a shield. The boss can move vertically in a predefined pattern and has a chance to fire projectiles and activate
- * a shield during gameplay.
+ * and activating a shield. Movement, fire bursts and shield windows are read from a {@link BossScript} that is
+ * precomputed from a seed, and the script switches to a new {@link BossPhase} as the boss loses health.
  */
 public class Boss extends FighterPlane {
 
-	private static final String IMAGE_NAME = "bossplane.png";
-	private static final double INITIAL_X_POSITION = 1300.0;
-	private static final double INITIAL_Y_POSITION = 350;
-	private static final double PROJECTILE_Y_POSITION_OFFSET = 75.0;
-	private static final double BOSS_FIRE_RATE = .04;
-	private static final double BOSS_SHIELD_PROBABILITY = .002;
-	private static final int IMAGE_HEIGHT = 50;
-	private static final int VERTICAL_VELOCITY = 8;
-	private static final int HEALTH = 5;
-	private static final int MOVE_FREQUENCY_PER_CYCLE = 5;
-	private static final int ZERO = 0;
-	private static final int MAX_FRAMES_WITH_SAME_MOVE = 10;
-	private static final int Y_POSITION_UPPER_BOUND = 0;
-	private static final int Y_POSITION_LOWER_BOUND = 750;
-	private static final int MAX_FRAMES_WITH_SHIELD = 100;
-
-	private final List<Integer> movePattern;
+	/** The name of the image file used for the boss. */
+	public static final String IMAGE_NAME = "bossplane.png";
+
+	/** The height of the boss's image. */
+	public static final int IMAGE_HEIGHT = 50;
+
+	/** The X-coordinate the boss starts at, and stays at. */
+	public static final double INITIAL_X_POSITION = 1300.0;
+
+	/** The Y-coordinate the boss starts at. */
+	public static final double INITIAL_Y_POSITION = 350;
+
+	/** The horizontal offset from the boss that its projectiles are fired from. */
+	public static final double PROJECTILE_X_POSITION_OFFSET = -50.0;
+
+	/** The vertical offset from the boss that its projectiles are fired from. */
+	public static final double PROJECTILE_Y_POSITION_OFFSET = 75.0;
+
+	/** The health the boss starts with. */
+	public static final int HEALTH = 5;
+
+	/** The default fight: the original pattern at full health, then faster movement and fire bursts. */
+	private static final BossPhase[] DEFAULT_PHASES = {
+			new BossPhase(HEALTH, 8, 10, .04, 1, .002, 100),
+			new BossPhase(2, 10, 8, .06, 3, .003, 80)
+	};
+
+	private final BossPhase[] phases;
+	private BossScript script;
 	private final ShieldImage shieldImage;
 	public boolean isShielded;
-	private int consecutiveMovesInSameDirection;
-	private int indexOfCurrentMove;
 	private int framesWithShieldActivated;
+	private AnimationTimer flashTimer; // Timer driving the current flashing effect, if any
 
 	/**
-	 * Constructs a new {@code Boss} instance.
+	 * Constructs a new {@code Boss} instance at the default position with a randomly seeded script.
 	 * <p>
-	 * Initializes the boss plane's position, health, and movement pattern. A shield image is also instantiated for the boss.
+	 * Initializes the boss plane's position, health, and behaviour script. A shield image is also instantiated for the boss.
 	 */
 	public Boss() {
-		super(IMAGE_NAME, IMAGE_HEIGHT, INITIAL_X_POSITION, INITIAL_Y_POSITION, HEALTH);
-		movePattern = new ArrayList<>();
-		consecutiveMovesInSameDirection = 0;
-		indexOfCurrentMove = 0;
+		this(INITIAL_X_POSITION, INITIAL_Y_POSITION, System.nanoTime(), DEFAULT_PHASES);
+	}
+
+	/**
+	 * Constructs a new {@code Boss} instance with the given position, seed and phases.
+	 * <p>
+	 * Several bosses can share a level by giving each its own position and seed. The shield image follows the boss
+	 * through property bindings, so it never has to be moved by hand.
+	 *
+	 * @param initialXPos The initial X-coordinate of the boss.
+	 * @param initialYPos The initial Y-coordinate of the boss.
+	 * @param seed        The seed from which the behaviour tables are built.
+	 * @param phases      The phases of the fight, ordered by descending health threshold.
+	 */
+	public Boss(double initialXPos, double initialYPos, long seed, BossPhase... phases) {
+		super(IMAGE_NAME, IMAGE_HEIGHT, initialXPos, initialYPos, HEALTH);
+		this.phases = phases;
+		script = new BossScript(seed, phases);
 		framesWithShieldActivated = 0;
 		isShielded = false;
-		shieldImage = new ShieldImage(INITIAL_X_POSITION, INITIAL_Y_POSITION);
-		initializeMovePattern();
+		shieldImage = new ShieldImage(initialXPos, initialYPos);
+		shieldImage.layoutXProperty().bind(layoutXProperty());
+		shieldImage.layoutYProperty().bind(layoutYProperty());
+		shieldImage.translateXProperty().bind(translateXProperty());
+		shieldImage.translateYProperty().bind(translateYProperty());
+	}
+
+	/**
+	 * Returns the phases of the default boss fight, for code that drives a boss without a {@code Boss} actor.
+	 *
+	 * @return A copy of the default phases.
+	 */
+	public static BossPhase[] defaultPhases() {
+		return DEFAULT_PHASES.clone();
 	}
 
 	/**
 	 * Updates the position of the boss plane.
 	 * <p>
-	 * Moves the boss vertically according to the next move in the movement pattern and updates the position of the shield image.
-	 * If the boss moves outside the allowed vertical bounds, its position is reset.
+	 * Moves the boss vertically according to the next move in the behaviour script. The shield image follows
+	 * through its bindings. If the boss moves outside the allowed vertical bounds, its position is reset.
 	 */
 	@Override
 	public void updatePosition() {
 		double initialTranslateY = getTranslateY();
 		moveVertically(getNextMove());
 		double currentPosition = getLayoutY() + getTranslateY();
-		shieldImage.setLayoutY(currentPosition);
-		if (currentPosition < Y_POSITION_UPPER_BOUND || currentPosition > Y_POSITION_LOWER_BOUND) {
+		if (currentPosition < Y_UPPER_BOUND || currentPosition > Y_LOWER_BOUND) {
 			setTranslateY(initialTranslateY);
 		}
 	}
@@ -86,25 +124,28 @@ public class Boss extends FighterPlane {
 	/**
 	 * Fires a projectile from the boss plane.
 	 * <p>
-	 * The boss fires a projectile based on its fire rate. If the boss decides to fire, a new {@link BossProjectile} is created.
+	 * The boss fires according to the fire table of its current phase. If the boss fires, a new {@link BossProjectile} is created.
 	 *
 	 * @return A new {@link BossProjectile} if the boss fires, otherwise {@code null}.
 	 */
 	@Override
 	public ActiveActorDestructible fireProjectile() {
-		return bossFiresInCurrentFrame() ? new BossProjectile(getProjectileInitialPosition()) : null;
+		return bossFiresInCurrentFrame()
+				? new BossProjectile(getProjectileXPosition(PROJECTILE_X_POSITION_OFFSET), getProjectileInitialPosition())
+				: null;
 	}
 
 	/**
 	 * Handles the boss taking damage.
 	 * <p>
 	 * The boss can only take damage if it is not shielded or invincible. When the boss is hit, invincibility is activated,
-	 * and a flashing effect is applied.
+	 * a flashing effect is applied, and the behaviour script moves on to the phase matching the remaining health.
 	 */
 	@Override
 	public void takeDamage() {
 		if (!isShielded && !isInvincible()) { // Take damage only if not shielded or invincible
 			super.takeDamage();
+			script.updatePhase(getHealth());
 			activateInvincibility();
 			startFlashingEffect(); // Activate invincibility after being hit
 		}
@@ -116,7 +157,14 @@ public class Boss extends FighterPlane {
 	 * The boss will alternate between visible and semi-transparent states to provide visual feedback for invincibility.
 	 */
 	private void startFlashingEffect() {
-		AnimationTimer flashTimer = new AnimationTimer() {
+		if (flashTimer != null) {
+			flashTimer.stop(); // Only one flashing effect runs at a time
+		}
+		if (!QualityGovernor.getCurrentQuality().isFlashingEnabled()) {
+			setOpacity(1.0);
+			return; // Skipped while rendering quality is lowered
+		}
+		flashTimer = new CountedAnimationTimer() {
 			private boolean visible = true;
 			private long lastToggleTime = 0;
 
@@ -127,7 +175,7 @@ public class Boss extends FighterPlane {
 					setOpacity(visible ? 1.0 : 0.5); // Alternate between fully visible and semi-transparent
 					lastToggleTime = now;
 				}
-				if (!isInvincible()) {
+				if (!isInvincible() || !QualityGovernor.getCurrentQuality().isFlashingEnabled()) {
 					setOpacity(1.0); // Reset to fully visible
 					stop(); // Stop the flashing effect
 				}
@@ -137,28 +185,75 @@ public class Boss extends FighterPlane {
 	}
 
 	/**
-	 * Initializes the movement pattern for the boss.
-	 * <p>
-	 * The boss's movement alternates between upward, downward, and stationary moves. The movement pattern is randomized.
+	 * Writes the boss's state, the seed and position of its behaviour script, and its shield state.
+	 *
+	 * @param buffer The buffer to write to.
 	 */
-	private void initializeMovePattern() {
-		for (int i = 0; i < MOVE_FREQUENCY_PER_CYCLE; i++) {
-			movePattern.add(VERTICAL_VELOCITY);
-			movePattern.add(-VERTICAL_VELOCITY);
-			movePattern.add(ZERO);
+	@Override
+	public void writeState(ByteBuffer buffer) {
+		super.writeState(buffer);
+		buffer.putLong(script.getSeed());
+		buffer.put((byte) script.getPhaseIndex());
+		buffer.putShort((short) script.getMoveCursor());
+		buffer.putShort((short) script.getFireCursor());
+		buffer.putShort((short) script.getShieldCursor());
+		buffer.put((byte) (isShielded ? 1 : 0));
+		buffer.putShort((short) framesWithShieldActivated);
+	}
+
+	/**
+	 * Restores the boss's state. The behaviour script is rebuilt if it was seeded differently, so the boss carries on
+	 * with exactly the pattern it was following.
+	 *
+	 * @param buffer The buffer to read from.
+	 */
+	@Override
+	public void readState(ByteBuffer buffer) {
+		super.readState(buffer);
+		long seed = buffer.getLong();
+		if (seed != script.getSeed()) {
+			script = new BossScript(seed, phases);
+		}
+		script.restore(buffer.get(), buffer.getShort(), buffer.getShort(), buffer.getShort());
+		boolean shielded = buffer.get() != 0;
+		framesWithShieldActivated = buffer.getShort();
+		isShielded = shielded;
+		if (shielded) {
+			shieldImage.showShield();
+		} else {
+			shieldImage.hideShield();
+		}
+		if (isInvincible()) {
+			startFlashingEffect();
+		}
+	}
+
+	/**
+	 * Stops the flashing effect and the invincibility timer so that neither keeps this plane reachable.
+	 */
+	@Override
+	public void dispose() {
+		if (flashTimer != null) {
+			flashTimer.stop();
+			flashTimer = null;
 		}
-		Collections.shuffle(movePattern);
+		setOpacity(1.0);
+		shieldImage.layoutXProperty().unbind();
+		shieldImage.layoutYProperty().unbind();
+		shieldImage.translateXProperty().unbind();
+		shieldImage.translateYProperty().unbind();
+		super.dispose();
 	}
 
 	/**
 	 * Updates the shield status of the boss.
 	 * <p>
-	 * The boss may activate or deactivate its shield depending on a random chance and the number of frames the shield has been active.
+	 * The boss raises its shield when the shield table of its current phase says so, and lowers it once it has been
+	 * active for the phase's shield duration.
 	 */
 	public void updateShield() {
 		if (isShielded) {
 			framesWithShieldActivated++;
-			shieldImage.showShield();
 		} else if (shieldShouldBeActivated()) {
 			activateShield();
 		}
@@ -170,33 +265,23 @@ public class Boss extends FighterPlane {
 	/**
 	 * Retrieves the next vertical move for the boss.
 	 * <p>
-	 * The boss moves according to a predefined pattern. The movement direction is randomized after a certain number of consecutive moves.
+	 * The move is read from the precomputed movement table of the current phase.
 	 *
 	 * @return The next vertical movement value, which can be positive, negative, or zero.
 	 */
 	public int getNextMove() {
-		int currentMove = movePattern.get(indexOfCurrentMove);
-		consecutiveMovesInSameDirection++;
-		if (consecutiveMovesInSameDirection == MAX_FRAMES_WITH_SAME_MOVE) {
-			Collections.shuffle(movePattern);
-			consecutiveMovesInSameDirection = 0;
-			indexOfCurrentMove++;
-		}
-		if (indexOfCurrentMove == movePattern.size()) {
-			indexOfCurrentMove = 0;
-		}
-		return currentMove;
+		return script.nextMove();
 	}
 
 	/**
 	 * Determines whether the boss should fire a projectile in the current frame.
 	 * <p>
-	 * The decision is based on the boss's fire rate.
+	 * The decision is read from the fire table of the current phase.
 	 *
 	 * @return {@code true} if the boss fires a projectile, otherwise {@code false}.
 	 */
 	private boolean bossFiresInCurrentFrame() {
-		return Math.random() < BOSS_FIRE_RATE;
+		return script.nextFire();
 	}
 
 	/**
@@ -213,44 +298,58 @@ public class Boss extends FighterPlane {
 	/**
 	 * Determines whether the boss should activate its shield in the current frame.
 	 * <p>
-	 * The decision is based on a random chance.
+	 * The decision is read from the shield table of the current phase.
 	 *
 	 * @return {@code true} if the shield should be activated, otherwise {@code false}.
 	 */
 	private boolean shieldShouldBeActivated() {
-		return Math.random() < BOSS_SHIELD_PROBABILITY;
+		return script.nextShield();
 	}
 
 	/**
 	 * Determines whether the boss's shield has been active for too long.
 	 * <p>
-	 * The shield is deactivated after a set number of frames.
+	 * The shield is deactivated after the number of frames set by the current phase.
 	 *
 	 * @return {@code true} if the shield should be deactivated, otherwise {@code false}.
 	 */
 	private boolean shieldExhausted() {
-		return framesWithShieldActivated == MAX_FRAMES_WITH_SHIELD;
+		return framesWithShieldActivated >= script.getCurrentPhase().getMaxFramesWithShield();
 	}
 
 	/**
 	 * Activates the boss's shield.
 	 * <p>
-	 * The shield becomes visible, and the boss is considered shielded.
+	 * The shield becomes visible, and the boss is considered shielded. The change is published on the level's
+	 * event bus when the boss is part of a level.
 	 */
 	public void activateShield() {
 		isShielded = true;
 		shieldImage.showShield();
+		publishShieldChange();
 	}
 
 	/**
 	 * Deactivates the boss's shield.
 	 * <p>
-	 * The shield is hidden, and the boss is no longer shielded.
+	 * The shield is hidden, and the boss is no longer shielded. The change is published on the level's event bus
+	 * when the boss is part of a level.
 	 */
 	private void deactivateShield() {
 		isShielded = false;
 		framesWithShieldActivated = 0;
 		shieldImage.hideShield();
+		publishShieldChange();
+	}
+
+	/**
+	 * Publishes the current shield state on the level's event bus, if the boss belongs to a level.
+	 */
+	private void publishShieldChange() {
+		GameEventBus eventBus = getEventBus();
+		if (eventBus != null) {
+			eventBus.publishShieldChanged(this, isShielded);
+		}
 	}
 
 	/**
@@ -263,4 +362,13 @@ public class Boss extends FighterPlane {
 	public ShieldImage getShieldImage() {
 		return shieldImage;
 	}
+
+	/**
+	 * Retrieves the behaviour script driving the boss.
+	 *
+	 * @return The {@link BossScript} of this boss.
+	 */
+	public BossScript getScript() {
+		return script;
+	}
 }
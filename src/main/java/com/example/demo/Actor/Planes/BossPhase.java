@@ -0,0 +1,94 @@
+package com.example.demo.Actor.Planes;
+
+/**
+ * Describes one phase of a boss fight.
+ * <p>
+ * A {@code BossPhase} holds the tuning values a {@link BossScript} uses to precompute the movement, fire and shield
+ * tables for that phase. A phase is active while the boss's health is at or below its health threshold and above
+ * the threshold of the next phase.
+ */
+public class BossPhase {
+
+	private final int healthThreshold;
+	private final int verticalVelocity;
+	private final int framesPerMove;
+	private final double fireRate;
+	private final int burstLength;
+	private final double shieldProbability;
+	private final int maxFramesWithShield;
+
+	/**
+	 * Constructs a new {@code BossPhase}.
+	 *
+	 * @param healthThreshold     The health at or below which this phase becomes active.
+	 * @param verticalVelocity    The vertical speed of the boss during this phase.
+	 * @param framesPerMove       The number of frames the boss keeps the same move before picking the next one.
+	 * @param fireRate            The average fraction of frames in which the boss fires.
+	 * @param burstLength         The number of consecutive frames in a single fire burst.
+	 * @param shieldProbability   The average fraction of frames in which an inactive shield is raised.
+	 * @param maxFramesWithShield The number of frames the shield stays up once raised.
+	 * @throws IllegalArgumentException If any of the frame counts are not positive.
+	 */
+	public BossPhase(int healthThreshold, int verticalVelocity, int framesPerMove, double fireRate, int burstLength,
+					 double shieldProbability, int maxFramesWithShield) {
+		if (framesPerMove <= 0 || burstLength <= 0 || maxFramesWithShield <= 0) {
+			throw new IllegalArgumentException("Boss phase frame counts must be positive");
+		}
+		this.healthThreshold = healthThreshold;
+		this.verticalVelocity = verticalVelocity;
+		this.framesPerMove = framesPerMove;
+		this.fireRate = fireRate;
+		this.burstLength = burstLength;
+		this.shieldProbability = shieldProbability;
+		this.maxFramesWithShield = maxFramesWithShield;
+	}
+
+	/**
+	 * @return The health at or below which this phase becomes active.
+	 */
+	public int getHealthThreshold() {
+		return healthThreshold;
+	}
+
+	/**
+	 * @return The vertical speed of the boss during this phase.
+	 */
+	public int getVerticalVelocity() {
+		return verticalVelocity;
+	}
+
+	/**
+	 * @return The number of frames the boss keeps the same move.
+	 */
+	public int getFramesPerMove() {
+		return framesPerMove;
+	}
+
+	/**
+	 * @return The average fraction of frames in which the boss fires.
+	 */
+	public double getFireRate() {
+		return fireRate;
+	}
+
+	/**
+	 * @return The number of consecutive frames in a single fire burst.
+	 */
+	public int getBurstLength() {
+		return burstLength;
+	}
+
+	/**
+	 * @return The average fraction of frames in which an inactive shield is raised.
+	 */
+	public double getShieldProbability() {
+		return shieldProbability;
+	}
+
+	/**
+	 * @return The number of frames the shield stays up once raised.
+	 */
+	public int getMaxFramesWithShield() {
+		return maxFramesWithShield;
+	}
+}
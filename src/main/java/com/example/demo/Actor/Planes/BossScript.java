@@ -0,0 +1,238 @@
+package com.example.demo.Actor.Planes;
+
+import java.util.SplittableRandom;
+
+/**
+ * Drives a boss's behaviour from tables that are precomputed once from a seed.
+ * <p>
+ * For every {@link BossPhase} the script builds a per-frame movement table, a fire table made of bursts and a shield
+ * table. During play the boss only advances a cursor through the tables of the active phase, so no boxing, shuffling
+ * or random number generation happens per frame. Two scripts built from the same seed and phases behave identically.
+ */
+public class BossScript {
+
+	private static final int MOVES_PER_DIRECTION = 5;
+	private static final int SHUFFLED_CYCLES = 8;
+	private static final int DECISION_TABLE_LENGTH = 1000;
+	private static final int SHIELD_RUN_LENGTH = 1;
+
+	private final long seed;
+	private final BossPhase[] phases;
+	private final int[][] moveTables;
+	private final boolean[][] fireTables;
+	private final boolean[][] shieldTables;
+
+	private int phaseIndex;
+	private int moveCursor;
+	private int fireCursor;
+	private int shieldCursor;
+
+	/**
+	 * Constructs a new {@code BossScript} and precomputes the tables for every phase.
+	 *
+	 * @param seed   The seed used to build the tables.
+	 * @param phases The phases of the fight, ordered from the first (highest health threshold) to the last.
+	 * @throws IllegalArgumentException If no phases are given or they are not ordered by descending threshold.
+	 */
+	public BossScript(long seed, BossPhase... phases) {
+		if (phases.length == 0) {
+			throw new IllegalArgumentException("A boss script needs at least one phase");
+		}
+		for (int i = 1; i < phases.length; i++) {
+			if (phases[i].getHealthThreshold() >= phases[i - 1].getHealthThreshold()) {
+				throw new IllegalArgumentException("Boss phases must be ordered by descending health threshold");
+			}
+		}
+		this.seed = seed;
+		this.phases = phases.clone();
+		this.moveTables = new int[phases.length][];
+		this.fireTables = new boolean[phases.length][];
+		this.shieldTables = new boolean[phases.length][];
+
+		SplittableRandom random = new SplittableRandom(seed);
+		for (int i = 0; i < phases.length; i++) {
+			moveTables[i] = buildMoveTable(random, phases[i]);
+			fireTables[i] = buildDecisionTable(random, phases[i].getFireRate(), phases[i].getBurstLength());
+			shieldTables[i] = buildDecisionTable(random, phases[i].getShieldProbability(), SHIELD_RUN_LENGTH);
+		}
+	}
+
+	/**
+	 * Returns the vertical move for the current frame and advances the movement cursor.
+	 *
+	 * @return The next vertical movement value, which can be positive, negative, or zero.
+	 */
+	public int nextMove() {
+		int[] table = moveTables[phaseIndex];
+		int move = table[moveCursor];
+		moveCursor = (moveCursor + 1) % table.length;
+		return move;
+	}
+
+	/**
+	 * Returns whether the boss fires in the current frame and advances the fire cursor.
+	 *
+	 * @return {@code true} if the boss fires, otherwise {@code false}.
+	 */
+	public boolean nextFire() {
+		boolean[] table = fireTables[phaseIndex];
+		boolean fires = table[fireCursor];
+		fireCursor = (fireCursor + 1) % table.length;
+		return fires;
+	}
+
+	/**
+	 * Returns whether an inactive shield should be raised in the current frame and advances the shield cursor.
+	 *
+	 * @return {@code true} if the shield should be raised, otherwise {@code false}.
+	 */
+	public boolean nextShield() {
+		boolean[] table = shieldTables[phaseIndex];
+		boolean raises = table[shieldCursor];
+		shieldCursor = (shieldCursor + 1) % table.length;
+		return raises;
+	}
+
+	/**
+	 * Selects the phase matching the boss's current health.
+	 * <p>
+	 * The cursors keep their position so that the new phase continues from the same point in its tables.
+	 *
+	 * @param health The boss's current health.
+	 */
+	public void updatePhase(int health) {
+		int index = 0;
+		while (index + 1 < phases.length && health <= phases[index + 1].getHealthThreshold()) {
+			index++;
+		}
+		if (index != phaseIndex) {
+			phaseIndex = index;
+			moveCursor %= moveTables[index].length;
+		}
+	}
+
+	/**
+	 * Moves the script to a position previously read from {@link #getPhaseIndex()} and the cursor getters.
+	 *
+	 * @param phaseIndex   The index of the active phase.
+	 * @param moveCursor   The position in the movement table.
+	 * @param fireCursor   The position in the fire table.
+	 * @param shieldCursor The position in the shield table.
+	 * @throws IllegalArgumentException If any index lies outside its table.
+	 */
+	public void restore(int phaseIndex, int moveCursor, int fireCursor, int shieldCursor) {
+		if (phaseIndex < 0 || phaseIndex >= phases.length
+				|| moveCursor < 0 || moveCursor >= moveTables[phaseIndex].length
+				|| fireCursor < 0 || fireCursor >= DECISION_TABLE_LENGTH
+				|| shieldCursor < 0 || shieldCursor >= DECISION_TABLE_LENGTH) {
+			throw new IllegalArgumentException("Boss script position out of range");
+		}
+		this.phaseIndex = phaseIndex;
+		this.moveCursor = moveCursor;
+		this.fireCursor = fireCursor;
+		this.shieldCursor = shieldCursor;
+	}
+
+	/**
+	 * @return The seed the tables were built from.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @return The position in the movement table of the active phase.
+	 */
+	public int getMoveCursor() {
+		return moveCursor;
+	}
+
+	/**
+	 * @return The position in the fire table of the active phase.
+	 */
+	public int getFireCursor() {
+		return fireCursor;
+	}
+
+	/**
+	 * @return The position in the shield table of the active phase.
+	 */
+	public int getShieldCursor() {
+		return shieldCursor;
+	}
+
+	/**
+	 * @return The currently active phase.
+	 */
+	public BossPhase getCurrentPhase() {
+		return phases[phaseIndex];
+	}
+
+	/**
+	 * @return The index of the currently active phase.
+	 */
+	public int getPhaseIndex() {
+		return phaseIndex;
+	}
+
+	/**
+	 * Builds the per-frame movement table for a phase.
+	 * <p>
+	 * Each cycle contains every move (up, down and stationary) the same number of times in shuffled order, and each
+	 * move is held for the phase's number of frames per move.
+	 */
+	private static int[] buildMoveTable(SplittableRandom random, BossPhase phase) {
+		int velocity = phase.getVerticalVelocity();
+		int[] cycle = new int[3 * MOVES_PER_DIRECTION];
+		for (int i = 0; i < MOVES_PER_DIRECTION; i++) {
+			cycle[3 * i] = velocity;
+			cycle[3 * i + 1] = -velocity;
+			cycle[3 * i + 2] = 0;
+		}
+
+		int framesPerMove = phase.getFramesPerMove();
+		int[] table = new int[SHUFFLED_CYCLES * cycle.length * framesPerMove];
+		int position = 0;
+		for (int c = 0; c < SHUFFLED_CYCLES; c++) {
+			shuffle(random, cycle);
+			for (int move : cycle) {
+				for (int f = 0; f < framesPerMove; f++) {
+					table[position++] = move;
+				}
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Builds a decision table in which runs of {@code runLength} consecutive frames are set, spread so that the
+	 * fraction of set frames matches {@code rate}.
+	 */
+	private static boolean[] buildDecisionTable(SplittableRandom random, double rate, int runLength) {
+		boolean[] table = new boolean[DECISION_TABLE_LENGTH];
+		int runs = (int) Math.round(DECISION_TABLE_LENGTH * rate / runLength);
+		if (runs <= 0) {
+			return table;
+		}
+		int slotLength = DECISION_TABLE_LENGTH / runs;
+		for (int run = 0; run < runs; run++) {
+			int start = run * slotLength + random.nextInt(Math.max(1, slotLength - runLength + 1));
+			for (int i = 0; i < runLength && start + i < DECISION_TABLE_LENGTH; i++) {
+				table[start + i] = true;
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Shuffles the array in place using the Fisher-Yates algorithm.
+	 */
+	private static void shuffle(SplittableRandom random, int[] values) {
+		for (int i = values.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int swap = values[i];
+			values[i] = values[j];
+			values[j] = swap;
+		}
+	}
+}
@@ -2,6 +2,9 @@ package com.example.demo.Actor.Planes;
 
 import com.example.demo.Actor.ActiveActorDestructible;
 import com.example.demo.Actor.Projectiles.EnemyProjectile;
+import com.example.demo.Display.CountedAnimationTimer;
+import com.example.demo.Display.QualityGovernor;
+import java.nio.ByteBuffer;
 import javafx.animation.AnimationTimer;
 
 /**
@@ -10,13 +13,28 @@ import javafx.animation.AnimationTimer;
  */
 public class EnemyPlane extends FighterPlane {
 
-	private static final String IMAGE_NAME = "enemyplane.png";
-	private static final int IMAGE_HEIGHT = 50;
-	private static final int HORIZONTAL_VELOCITY = -6;
-	private static final double PROJECTILE_X_POSITION_OFFSET = -100.0;
-	private static final double PROJECTILE_Y_POSITION_OFFSET = 0.0;
-	private static final int INITIAL_HEALTH = 2;
-	private static final double FIRE_RATE = 0.01;
+	/** The name of the image file used for enemy planes. */
+	public static final String IMAGE_NAME = "enemyplane.png";
+
+	/** The height of an enemy plane's image. */
+	public static final int IMAGE_HEIGHT = 50;
+
+	/** The distance an enemy plane moves each tick, to the left. */
+	public static final int HORIZONTAL_VELOCITY = -6;
+
+	/** The horizontal offset from the plane that its projectiles are fired from. */
+	public static final double PROJECTILE_X_POSITION_OFFSET = -100.0;
+
+	/** The vertical offset from the plane that its projectiles are fired from. */
+	public static final double PROJECTILE_Y_POSITION_OFFSET = 0.0;
+
+	/** The health an enemy plane starts with. */
+	public static final int INITIAL_HEALTH = 2;
+
+	/** The chance that an enemy plane fires on a given tick. */
+	public static final double FIRE_RATE = 0.01;
+
+	private AnimationTimer flashTimer; // Timer driving the current flashing effect, if any
 
 	/**
 	 * Constructs an enemy plane at the specified initial position.
@@ -77,7 +95,14 @@ public class EnemyPlane extends FighterPlane {
 	 * The plane alternates between visible and semi-transparent states.
 	 */
 	private void startFlashingEffect() {
-		AnimationTimer flashTimer = new AnimationTimer() {
+		if (flashTimer != null) {
+			flashTimer.stop(); // Only one flashing effect runs at a time
+		}
+		if (!QualityGovernor.getCurrentQuality().isFlashingEnabled()) {
+			setOpacity(1.0);
+			return; // Skipped while rendering quality is lowered
+		}
+		flashTimer = new CountedAnimationTimer() {
 			private boolean visible = true;
 			private long lastToggleTime = 0;
 
@@ -88,7 +113,7 @@ public class EnemyPlane extends FighterPlane {
 					setOpacity(visible ? 1.0 : 0.5); // Alternate between fully visible and semi-transparent
 					lastToggleTime = now;
 				}
-				if (!isInvincible()) {
+				if (!isInvincible() || !QualityGovernor.getCurrentQuality().isFlashingEnabled()) {
 					setOpacity(1.0); // Reset to fully visible
 					stop(); // Stop the flashing effect
 				}
@@ -97,12 +122,38 @@ public class EnemyPlane extends FighterPlane {
 		flashTimer.start();
 	}
 
+	/**
+	 * Restores the plane's state and resumes the flashing effect if it was invincible.
+	 *
+	 * @param buffer The buffer to read from.
+	 */
+	@Override
+	public void readState(ByteBuffer buffer) {
+		super.readState(buffer);
+		if (isInvincible()) {
+			startFlashingEffect();
+		}
+	}
+
+	/**
+	 * Stops the flashing effect and the invincibility timer so that neither keeps this plane reachable.
+	 */
+	@Override
+	public void dispose() {
+		if (flashTimer != null) {
+			flashTimer.stop();
+			flashTimer = null;
+		}
+		setOpacity(1.0);
+		super.dispose();
+	}
+
 	/**
 	 * Determines if the enemy plane should fire a projectile based on the fire rate.
 	 *
 	 * @return {@code true} if the plane fires, {@code false} otherwise.
 	 */
 	private boolean shouldFireProjectile() {
-		return Math.random() < FIRE_RATE;
+		return nextRandom() < FIRE_RATE;
 	}
 }
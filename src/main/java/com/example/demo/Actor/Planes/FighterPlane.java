@@ -1,6 +1,10 @@
 package com.example.demo.Actor.Planes;
 
 import com.example.demo.Actor.ActiveActorDestructible;
+import com.example.demo.Event.GameEventBus;
+import com.example.demo.Telemetry.Telemetry;
+import com.example.demo.Telemetry.TelemetryType;
+import java.nio.ByteBuffer;
 import javafx.animation.AnimationTimer;
 
 /**
@@ -9,10 +13,22 @@ import javafx.animation.AnimationTimer;
  */
 public abstract class FighterPlane extends ActiveActorDestructible {
 
+	/** The highest a plane may fly: the top of the screen. */
+	public static final double Y_UPPER_BOUND = 0;
+
+	/** The lowest the top of a plane may fly. */
+	public static final double Y_LOWER_BOUND = 750.0;
+
+	/** The number of game loop ticks a plane stays invincible after a hit: one second at the 50 ms tick. */
+	public static final int INVINCIBILITY_TICKS = 20;
+
 	private int health;
+	private int strikeHits = 1; // Hits landed by the strike being applied
+	private final int maxHealth; // Health the plane started with
 	private boolean isInvincible; // Tracks if the fighter plane is invincible
 	private long invincibilityStartTime; // Timestamp for invincibility activation
-	private static final long INVINCIBILITY_DURATION = 1_000_000_000L; // 1 second in nanoseconds
+	private AnimationTimer invincibilityTimer; // Timer currently counting down the invincibility window
+	private static final long INVINCIBILITY_DURATION = INVINCIBILITY_TICKS * 50_000_000L; // In nanoseconds
 
 	/**
 	 * Constructs a FighterPlane with the specified image, position, and health.
@@ -26,6 +42,7 @@ public abstract class FighterPlane extends ActiveActorDestructible {
 	public FighterPlane(String imageName, int imageHeight, double initialXPos, double initialYPos, int health) {
 		super(imageName, imageHeight, initialXPos, initialYPos);
 		this.health = health;
+		this.maxHealth = health;
 		this.isInvincible = false;
 	}
 
@@ -37,13 +54,20 @@ public abstract class FighterPlane extends ActiveActorDestructible {
 	public abstract ActiveActorDestructible fireProjectile();
 
 	/**
-	 * Reduces the fighter plane's health by 1 if it is not invincible.
+	 * Reduces the fighter plane's health by 1, or by the hits of the strike being applied, if it is not invincible.
 	 * If health reaches zero, the plane is destroyed. Activates invincibility after taking damage.
+	 * The hit is published on the level's event bus when the plane is part of a level, and recorded in the telemetry.
 	 */
 	@Override
 	public void takeDamage() {
 		if (!isInvincible) {
-			health--;
+			health -= strikeHits;
+			GameEventBus eventBus = getEventBus();
+			if (eventBus != null) {
+				eventBus.publishDamageTaken(this, health);
+			}
+			Telemetry.record(this instanceof UserPlane ? TelemetryType.USER_DAMAGE_TAKEN
+					: TelemetryType.ENEMY_DAMAGE_TAKEN, health);
 			if (isHealthDepleted()) {
 				destroy();
 			} else {
@@ -52,6 +76,24 @@ public abstract class FighterPlane extends ActiveActorDestructible {
 		}
 	}
 
+	/**
+	 * Applies the hits of a single strike as one amount of damage.
+	 * <p>
+	 * The strike goes through {@link #takeDamage()}, so it is blocked as a whole by invincibility or a shield the plane
+	 * already had, but the invincibility it grants does not block its own later hits.
+	 *
+	 * @param hits The number of hits, at least 1.
+	 */
+	@Override
+	public void takeHits(int hits) {
+		strikeHits = Math.max(1, hits);
+		try {
+			takeDamage();
+		} finally {
+			strikeHits = 1;
+		}
+	}
+
 	/**
 	 * Activates temporary invincibility for the plane. Invincibility duration is controlled
 	 * using an {@link AnimationTimer}.
@@ -60,16 +102,71 @@ public abstract class FighterPlane extends ActiveActorDestructible {
 		isInvincible = true;
 		invincibilityStartTime = System.nanoTime();
 
-		// Timer to disable invincibility after the specified duration
-		new AnimationTimer() {
-			@Override
-			public void handle(long now) {
-				if (now - invincibilityStartTime >= INVINCIBILITY_DURATION) {
-					isInvincible = false;
-					stop(); // Stop the timer when invincibility ends
+		// Timer to disable invincibility after the specified duration, reused across hits
+		if (invincibilityTimer == null) {
+			invincibilityTimer = new AnimationTimer() {
+				@Override
+				public void handle(long now) {
+					if (now - invincibilityStartTime >= INVINCIBILITY_DURATION) {
+						isInvincible = false;
+						stop(); // Stop the timer when invincibility ends
+					}
 				}
-			}
-		}.start();
+			};
+		}
+		invincibilityTimer.start();
+	}
+
+	/**
+	 * Writes the plane's position, health and the time left on its invincibility window.
+	 *
+	 * @param buffer The buffer to write to.
+	 */
+	@Override
+	public void writeState(ByteBuffer buffer) {
+		super.writeState(buffer);
+		buffer.putShort((short) health);
+		buffer.putLong(getRemainingInvincibility());
+	}
+
+	/**
+	 * Restores the plane's position and health, and resumes the invincibility window where it was left.
+	 *
+	 * @param buffer The buffer to read from.
+	 */
+	@Override
+	public void readState(ByteBuffer buffer) {
+		super.readState(buffer);
+		health = buffer.getShort();
+		long remainingInvincibility = buffer.getLong();
+		if (remainingInvincibility > 0) {
+			activateInvincibility();
+			invincibilityStartTime -= INVINCIBILITY_DURATION - remainingInvincibility;
+		}
+	}
+
+	/**
+	 * Returns how long the plane stays invincible.
+	 *
+	 * @return The remaining invincibility in nanoseconds, or zero if the plane is not invincible.
+	 */
+	private long getRemainingInvincibility() {
+		if (!isInvincible) {
+			return 0;
+		}
+		return Math.max(0, INVINCIBILITY_DURATION - (System.nanoTime() - invincibilityStartTime));
+	}
+
+	/**
+	 * Stops the invincibility timer so that it no longer references this plane.
+	 */
+	@Override
+	public void dispose() {
+		if (invincibilityTimer != null) {
+			invincibilityTimer.stop();
+			invincibilityTimer = null;
+		}
+		isInvincible = false;
 	}
 
 	/**
@@ -110,6 +207,15 @@ public abstract class FighterPlane extends ActiveActorDestructible {
 		return health;
 	}
 
+	/**
+	 * Retrieves the health the fighter plane started with.
+	 *
+	 * @return The initial health value.
+	 */
+	public int getMaxHealth() {
+		return maxHealth;
+	}
+
 	/**
 	 * Checks if the fighter plane is currently invincible.
 	 *
@@ -2,6 +2,12 @@ package com.example.demo.Actor.Planes;
 
 import com.example.demo.Actor.ActiveActorDestructible;
 import com.example.demo.Actor.Projectiles.UserProjectile;
+import com.example.demo.Display.CountedAnimationTimer;
+import com.example.demo.Display.QualityGovernor;
+import com.example.demo.Engine.Cooldown;
+import com.example.demo.Telemetry.Telemetry;
+import com.example.demo.Telemetry.TelemetryType;
+import java.nio.ByteBuffer;
 import javafx.animation.AnimationTimer;
 
 /**
@@ -12,17 +18,34 @@ import javafx.animation.AnimationTimer;
  */
 public class UserPlane extends FighterPlane {
 
-	private static final String IMAGE_NAME = "userplane.png";
-	private static final double Y_UPPER_BOUND = 0;
-	private static final double Y_LOWER_BOUND = 750.0;
-	private static final double INITIAL_X_POSITION = 5.0;
-	private static final double INITIAL_Y_POSITION = 350.0;
-	private static final int IMAGE_HEIGHT = 40;
-	private static final int VERTICAL_VELOCITY = 8;
-	private static final int PROJECTILE_X_POSITION = 110;
-	private static final int PROJECTILE_Y_POSITION_OFFSET = 20;
+	/** The name of the image file used for the user's plane. */
+	public static final String IMAGE_NAME = "userplane.png";
+
+	/** The height of the user's plane's image. */
+	public static final int IMAGE_HEIGHT = 40;
+
+	/** The X-coordinate the user's plane starts at, and stays at. */
+	public static final double INITIAL_X_POSITION = 5.0;
+
+	/** The Y-coordinate the user's plane starts at. */
+	public static final double INITIAL_Y_POSITION = 350.0;
+
+	/** The distance the user's plane moves up or down each tick. */
+	public static final int VERTICAL_VELOCITY = 8;
+
+	/** The X-coordinate the user's projectiles are fired from. */
+	public static final int PROJECTILE_X_POSITION = 110;
+
+	/** The distance below the top of the plane that the user's projectiles are fired from. */
+	public static final int PROJECTILE_Y_POSITION_OFFSET = 20;
+
+	/** The default number of game loop ticks between shots while fire is held: 150 ms at the 50 ms tick. */
+	public static final int DEFAULT_FIRE_COOLDOWN_TICKS = 3;
+
+	private final Cooldown weaponCooldown = new Cooldown(DEFAULT_FIRE_COOLDOWN_TICKS);
 	private int velocityMultiplier;
 	private int numberOfKills;
+	private AnimationTimer flashTimer; // Timer driving the current flashing effect, if any
 
 	/**
 	 * Constructs a new {@code UserPlane} instance.
@@ -57,11 +80,13 @@ public class UserPlane extends FighterPlane {
 	/**
 	 * Updates the state of the user plane.
 	 * <p>
-	 * This method is called to update the position and other necessary aspects of the user plane.
+	 * This method is called to update the position and other necessary aspects of the user plane, and counts down the
+	 * weapon's cooldown.
 	 */
 	@Override
 	public void updateActor() {
 		updatePosition();
+		weaponCooldown.tick();
 	}
 
 	/**
@@ -96,7 +121,14 @@ public class UserPlane extends FighterPlane {
 	 * The user plane will alternate between visible and semi-transparent states to provide visual feedback for invincibility.
 	 */
 	private void startFlashingEffect() {
-		AnimationTimer flashTimer = new AnimationTimer() {
+		if (flashTimer != null) {
+			flashTimer.stop(); // Only one flashing effect runs at a time
+		}
+		if (!QualityGovernor.getCurrentQuality().isFlashingEnabled()) {
+			setOpacity(1.0);
+			return; // Skipped while rendering quality is lowered
+		}
+		flashTimer = new CountedAnimationTimer() {
 			private boolean visible = true;
 			private long lastToggleTime = 0;
 
@@ -107,7 +139,7 @@ public class UserPlane extends FighterPlane {
 					setOpacity(visible ? 1.0 : 0.5); // Alternate between fully visible and semi-transparent
 					lastToggleTime = now;
 				}
-				if (!isInvincible()) {
+				if (!isInvincible() || !QualityGovernor.getCurrentQuality().isFlashingEnabled()) {
 					setOpacity(1.0); // Reset to fully visible
 					stop(); // Stop the flashing effect
 				}
@@ -116,6 +148,48 @@ public class UserPlane extends FighterPlane {
 		flashTimer.start();
 	}
 
+	/**
+	 * Writes the plane's state and its kill count.
+	 * <p>
+	 * The direction of movement is not written: it follows the keys held down, which are released when the game is
+	 * suspended.
+	 *
+	 * @param buffer The buffer to write to.
+	 */
+	@Override
+	public void writeState(ByteBuffer buffer) {
+		super.writeState(buffer);
+		buffer.putInt(numberOfKills);
+	}
+
+	/**
+	 * Restores the plane's state and resumes the flashing effect if it was invincible.
+	 *
+	 * @param buffer The buffer to read from.
+	 */
+	@Override
+	public void readState(ByteBuffer buffer) {
+		super.readState(buffer);
+		numberOfKills = buffer.getInt();
+		velocityMultiplier = 0;
+		if (isInvincible()) {
+			startFlashingEffect();
+		}
+	}
+
+	/**
+	 * Stops the flashing effect and the invincibility timer so that neither keeps this plane reachable.
+	 */
+	@Override
+	public void dispose() {
+		if (flashTimer != null) {
+			flashTimer.stop();
+			flashTimer = null;
+		}
+		setOpacity(1.0);
+		super.dispose();
+	}
+
 	/**
 	 * Checks if the user plane is moving.
 	 * <p>
@@ -154,6 +228,25 @@ public class UserPlane extends FighterPlane {
 		velocityMultiplier = 0;
 	}
 
+	/**
+	 * Moves the user plane in the given vertical direction, or stops it.
+	 *
+	 * @param direction -1 to move up, 1 to move down, or 0 to stop.
+	 */
+	public void move(int direction) {
+		velocityMultiplier = Integer.signum(direction);
+	}
+
+	/**
+	 * Returns the cooldown limiting how often the user plane fires while fire is held. It counts down in
+	 * {@link #updateActor()} and can be reconfigured with {@link Cooldown#setTicks(int)}.
+	 *
+	 * @return The weapon's cooldown.
+	 */
+	public Cooldown getWeaponCooldown() {
+		return weaponCooldown;
+	}
+
 	/**
 	 * Retrieves the current number of kills made by the user plane.
 	 * <p>
@@ -168,10 +261,11 @@ public class UserPlane extends FighterPlane {
 	/**
 	 * Increments the number of kills made by the user plane.
 	 * <p>
-	 * This method is called when the user plane defeats an enemy.
+	 * This method is called when the user plane defeats an enemy. The kill is recorded in the telemetry.
 	 */
 	public void incrementKillCount() {
 		numberOfKills++;
+		Telemetry.record(TelemetryType.KILL, numberOfKills);
 	}
 
 	/**
@@ -4,18 +4,18 @@ package com.example.demo.Actor.Projectiles;
  * Represents a projectile fired by the boss plane in the game.
  * <p>
  * The {@code BossProjectile} class extends the {@link Projectile} class and defines the behavior of boss-fired projectiles,
- * including their appearance and movement.
+ * including their appearance and velocity.
  */
 public class BossProjectile extends Projectile {
 
 	/** The name of the image file used for the boss projectile. */
-	private static final String IMAGE_NAME = "fireball.png";
+	public static final String IMAGE_NAME = "fireball.png";
 
 	/** The height of the boss projectile's image. */
-	private static final int IMAGE_HEIGHT = 75;
+	public static final int IMAGE_HEIGHT = 75;
 
 	/** The horizontal velocity of the boss projectile. */
-	private static final int HORIZONTAL_VELOCITY = -15;
+	public static final int HORIZONTAL_VELOCITY = -15;
 
 	/** The initial X-coordinate for all boss projectiles. */
 	private static final int INITIAL_X_POSITION = 1250;
@@ -28,24 +28,18 @@ public class BossProjectile extends Projectile {
 	 * @param initialYPos The initial Y-coordinate of the projectile.
 	 */
 	public BossProjectile(double initialYPos) {
-		super(IMAGE_NAME, IMAGE_HEIGHT, INITIAL_X_POSITION, initialYPos);
+		this(INITIAL_X_POSITION, initialYPos);
 	}
 
 	/**
-	 * Updates the position of the boss projectile by moving it horizontally.
-	 */
-	@Override
-	public void updatePosition() {
-		moveHorizontally(HORIZONTAL_VELOCITY);
-	}
-
-	/**
-	 * Updates the state of the boss projectile.
+	 * Constructs a {@code BossProjectile} at the specified initial position.
 	 * <p>
-	 * This includes updating its position.
+	 * This is used when a boss is not at the default position, for example when a level has several bosses.
+	 *
+	 * @param initialXPos The initial X-coordinate of the projectile.
+	 * @param initialYPos The initial Y-coordinate of the projectile.
 	 */
-	@Override
-	public void updateActor() {
-		updatePosition();
+	public BossProjectile(double initialXPos, double initialYPos) {
+		super(IMAGE_NAME, IMAGE_HEIGHT, initialXPos, initialYPos, HORIZONTAL_VELOCITY);
 	}
 }
@@ -2,25 +2,103 @@ package com.example.demo.Actor.Projectiles;
 
 import com.example.demo.Actor.ActiveActorDestructible;
 
+import java.nio.ByteBuffer;
+
 /**
  * Represents a base class for projectiles in the game.
  * <p>
  * The {@code Projectile} class extends {@link ActiveActorDestructible} and provides common functionality for all projectiles,
  * such as initialization and damage handling. Specific projectile types (e.g., user, enemy, boss) should extend this class
  * to define their unique behavior.
+ * <p>
+ * A projectile flies in a straight horizontal line at a constant velocity, so its position is worked out from the
+ * tick it was launched, where it was then and its velocity, rather than accumulated a step at a time. This lets a level
+ * predict when it will reach a target that stays at the same x.
+ * <p>
+ * A projectile normally lands one hit. When a level's actor budget merges projectiles, one projectile takes on the
+ * hits of the others, and lands them all when it strikes.
  */
 public abstract class Projectile extends ActiveActorDestructible {
 
 	/**
-	 * Constructs a {@code Projectile} with the specified image, dimensions, and initial position.
+	 * How far past either edge of the screen a projectile flies before it is removed from play. Wider than any plane,
+	 * so no target is out there.
+	 */
+	public static final double CULL_MARGIN = 400;
+
+	private final double velocity;
+	private double originX; // Left edge at the launch tick
+	private long launchTick;
+	private long tick; // The tick the projectile was last moved to
+	private int hits = 1;
+
+	/**
+	 * Constructs a {@code Projectile} with the specified image, dimensions, initial position and velocity.
+	 * <p>
+	 * The projectile counts as launched at tick 0 until a level launches it.
 	 *
 	 * @param imageName    The name of the image file representing the projectile.
 	 * @param imageHeight  The height of the projectile's image.
 	 * @param initialXPos  The initial X-coordinate of the projectile.
 	 * @param initialYPos  The initial Y-coordinate of the projectile.
+	 * @param velocity     The distance the projectile moves each tick, negative to the left.
 	 */
-	public Projectile(String imageName, int imageHeight, double initialXPos, double initialYPos) {
+	public Projectile(String imageName, int imageHeight, double initialXPos, double initialYPos, double velocity) {
 		super(imageName, imageHeight, initialXPos, initialYPos);
+		this.velocity = velocity;
+		this.originX = getCollisionX();
+	}
+
+	/**
+	 * Launches the projectile from where it is now at a tick of the level's clock.
+	 *
+	 * @param currentTick The level's current tick.
+	 */
+	public void launch(long currentTick) {
+		originX = getCollisionX();
+		launchTick = currentTick;
+		tick = currentTick;
+	}
+
+	/**
+	 * Moves the projectile to where it is at a tick.
+	 *
+	 * @param atTick The tick, normally the level's current tick.
+	 */
+	public void moveTo(long atTick) {
+		tick = atTick;
+		setTranslateX(getXAt(atTick) - getLayoutX());
+	}
+
+	/**
+	 * Returns where the left edge of the projectile is at a tick, without moving it.
+	 *
+	 * @param atTick The tick.
+	 * @return The left edge's X-coordinate.
+	 */
+	public double getXAt(long atTick) {
+		return originX + velocity * (atTick - launchTick);
+	}
+
+	/**
+	 * @return The distance the projectile moves each tick, negative to the left.
+	 */
+	public double getVelocity() {
+		return velocity;
+	}
+
+	/**
+	 * @return The tick the projectile was launched at.
+	 */
+	public long getLaunchTick() {
+		return launchTick;
+	}
+
+	/**
+	 * @return The left edge of the projectile at its launch tick.
+	 */
+	public double getOriginX() {
+		return originX;
 	}
 
 	/**
@@ -34,10 +112,60 @@ public abstract class Projectile extends ActiveActorDestructible {
 	}
 
 	/**
-	 * Updates the position of the projectile.
-	 * <p>
-	 * This method must be implemented by subclasses to define specific movement behavior for each type of projectile.
+	 * Returns the number of hits the projectile lands when it strikes.
+	 *
+	 * @return 1, or more once other projectiles have been merged into it.
+	 */
+	public int getHits() {
+		return hits;
+	}
+
+	/**
+	 * Takes on the hits of another projectile, which is not put in play.
+	 *
+	 * @param other The projectile merged into this one.
+	 */
+	public void merge(Projectile other) {
+		hits += other.hits;
+	}
+
+	/**
+	 * Writes the projectile's position and the hits it lands.
+	 *
+	 * @param buffer The buffer to write to.
+	 */
+	@Override
+	public void writeState(ByteBuffer buffer) {
+		super.writeState(buffer);
+		buffer.putInt(hits);
+	}
+
+	/**
+	 * Restores the projectile's position and the hits it lands. The projectile is launched again from the restored
+	 * position when it is added to a level.
+	 *
+	 * @param buffer The buffer to read from.
+	 */
+	@Override
+	public void readState(ByteBuffer buffer) {
+		super.readState(buffer);
+		hits = buffer.getInt();
+		launch(tick);
+	}
+
+	/**
+	 * Moves the projectile on by one tick.
+	 */
+	@Override
+	public void updatePosition() {
+		moveTo(tick + 1);
+	}
+
+	/**
+	 * Updates the state of the projectile, which is only its position.
 	 */
 	@Override
-	public abstract void updatePosition();
+	public void updateActor() {
+		updatePosition();
+	}
 }
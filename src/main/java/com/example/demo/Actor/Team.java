@@ -0,0 +1,13 @@
+package com.example.demo.Actor;
+
+/**
+ * The side an actor fights on.
+ */
+public enum Team {
+
+	/** The user's plane and its projectiles. */
+	FRIENDLY,
+
+	/** Enemy planes, bosses and their projectiles. */
+	ENEMY
+}
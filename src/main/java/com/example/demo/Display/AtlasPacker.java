@@ -0,0 +1,142 @@
+package com.example.demo.Display;
+
+import java.util.Arrays;
+
+/**
+ * Places rectangles in a texture atlas of fixed width, on shelves.
+ * <p>
+ * Rectangles are sorted by height, tallest first, and laid left to right along a shelf as tall as the first rectangle
+ * on it; a rectangle that does not fit starts a new shelf below. For a handful of sprites this wastes little space and
+ * is simple enough to run at every startup. Rectangles are kept apart by a padding so that smooth sampling at one
+ * sprite's edge never reads its neighbour.
+ */
+public final class AtlasPacker {
+
+	private final int maxWidth;
+	private final int padding;
+	private int[] widths = new int[16];
+	private int[] heights = new int[16];
+	private int[] x = new int[16];
+	private int[] y = new int[16];
+	private int count;
+	private int width;
+	private int height;
+	private boolean packed;
+
+	/**
+	 * Creates a packer.
+	 *
+	 * @param maxWidth The width of the atlas.
+	 * @param padding  The empty pixels kept around each rectangle.
+	 * @throws IllegalArgumentException If the width is not positive or the padding is negative.
+	 */
+	public AtlasPacker(int maxWidth, int padding) {
+		if (maxWidth <= 0 || padding < 0) {
+			throw new IllegalArgumentException("Invalid atlas width " + maxWidth + " or padding " + padding);
+		}
+		this.maxWidth = maxWidth;
+		this.padding = padding;
+	}
+
+	/**
+	 * Adds a rectangle to be placed.
+	 *
+	 * @param width  The rectangle's width.
+	 * @param height The rectangle's height.
+	 * @return The rectangle's index, by which its place is read after {@link #pack()}.
+	 * @throws IllegalArgumentException If the rectangle is empty or wider than the atlas.
+	 * @throws IllegalStateException    If the rectangles have already been packed.
+	 */
+	public int add(int width, int height) {
+		if (packed) {
+			throw new IllegalStateException("Rectangles cannot be added after packing");
+		}
+		if (width <= 0 || height <= 0 || width + 2 * padding > maxWidth) {
+			throw new IllegalArgumentException("Cannot place a " + width + "x" + height + " rectangle in an atlas "
+					+ maxWidth + " wide");
+		}
+		if (count == widths.length) {
+			widths = Arrays.copyOf(widths, count * 2);
+			heights = Arrays.copyOf(heights, count * 2);
+			x = Arrays.copyOf(x, count * 2);
+			y = Arrays.copyOf(y, count * 2);
+		}
+		widths[count] = width;
+		heights[count] = height;
+		return count++;
+	}
+
+	/**
+	 * Places every rectangle added.
+	 *
+	 * @throws IllegalStateException If the rectangles have already been packed.
+	 */
+	public void pack() {
+		if (packed) {
+			throw new IllegalStateException("Rectangles have already been packed");
+		}
+		packed = true;
+		Integer[] order = new Integer[count];
+		for (int i = 0; i < count; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Integer.compare(heights[b], heights[a]));
+		int shelfY = 0;
+		int shelfHeight = 0;
+		int cursorX = 0;
+		for (int i : order) {
+			int paddedWidth = widths[i] + 2 * padding;
+			if (cursorX + paddedWidth > maxWidth) {
+				shelfY += shelfHeight;
+				shelfHeight = 0;
+				cursorX = 0;
+			}
+			x[i] = cursorX + padding;
+			y[i] = shelfY + padding;
+			cursorX += paddedWidth;
+			shelfHeight = Math.max(shelfHeight, heights[i] + 2 * padding);
+			width = Math.max(width, cursorX);
+		}
+		height = shelfY + shelfHeight;
+	}
+
+	/**
+	 * @param index A rectangle's index.
+	 * @return The left edge of the rectangle in the atlas.
+	 */
+	public int getX(int index) {
+		return x[checkPacked(index)];
+	}
+
+	/**
+	 * @param index A rectangle's index.
+	 * @return The top edge of the rectangle in the atlas.
+	 */
+	public int getY(int index) {
+		return y[checkPacked(index)];
+	}
+
+	/**
+	 * @return The width the packed rectangles use, at most the atlas's width.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return The height the packed rectangles use.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	private int checkPacked(int index) {
+		if (!packed) {
+			throw new IllegalStateException("Rectangles have not been packed yet");
+		}
+		if (index < 0 || index >= count) {
+			throw new IllegalArgumentException("No rectangle " + index);
+		}
+		return index;
+	}
+}
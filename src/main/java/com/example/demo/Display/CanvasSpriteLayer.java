@@ -0,0 +1,232 @@
+package com.example.demo.Display;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Draws sprites onto a single {@link Canvas}, redrawn every pulse, instead of giving each actor a node of its own.
+ * <p>
+ * The image views stay out of the scene graph: the actors still move, show, hide and fade them through their
+ * properties, and the layer reads those properties back as it draws. Each visible view is drawn with
+ * {@link GraphicsContext#drawImage(Image, double, double, double, double, double, double, double, double)} at its
+ * layout position plus translation, at the size its fit width, fit height and preserve-ratio setting give it, from its
+ * viewport, and with its opacity as the global alpha; views are drawn in the order they were added, as the scene graph
+ * would stack them. With the {@link SpriteAtlas} every sprite comes from the same image, so a frame of any number of
+ * actors is one canvas node and one texture.
+ * <p>
+ * Sprites removed are dropped from the drawing order in one pass before the next frame or the next sprite added, so
+ * that removing many actors in a tick does not cost a search of the order for each, and the set of removed sprites
+ * never holds more than the actors removed between two spawns, even while no frames are drawn.
+ * <p>
+ * The canvas can be given a lower resolution than the screen's, in which case the sprites are drawn scaled down onto a
+ * smaller canvas and the canvas is scaled up to cover the screen, filling fewer pixels each frame.
+ */
+public class CanvasSpriteLayer implements SpriteLayer {
+
+	private final Group root;
+	private final Canvas canvas;
+	private final double width;
+	private final double height;
+	private final GraphicsContext graphics;
+	private final List<ImageView> sprites = new ArrayList<>();
+	private final Set<ImageView> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final CountedAnimationTimer redraw = new CountedAnimationTimer() {
+		@Override
+		public void handle(long now) {
+			draw();
+		}
+	};
+	private double resolutionScale = 1.0;
+	private boolean disposed;
+
+	/**
+	 * Creates a layer drawing onto a canvas of the given size.
+	 *
+	 * @param root   The group the canvas is added to when the layer is attached.
+	 * @param width  The width of the canvas, normally the screen's.
+	 * @param height The height of the canvas, normally the screen's.
+	 */
+	public CanvasSpriteLayer(Group root, double width, double height) {
+		this.root = root;
+		this.canvas = new Canvas(width, height);
+		this.width = width;
+		this.height = height;
+		this.graphics = canvas.getGraphicsContext2D();
+		canvas.setMouseTransparent(true);
+	}
+
+	/**
+	 * Adds the canvas to the group and starts redrawing it every pulse.
+	 *
+	 * @throws IllegalStateException if the layer has been disposed.
+	 */
+	@Override
+	public void attach() {
+		if (disposed) {
+			throw new IllegalStateException("Sprite layer has been disposed");
+		}
+		if (canvas.getParent() == null) {
+			root.getChildren().add(canvas);
+			redraw.start();
+		}
+	}
+
+	@Override
+	public void add(ImageView sprite) {
+		dropRemoved(); // A sprite removed and added again moves to the top
+		sprites.add(sprite);
+	}
+
+	@Override
+	public void remove(ImageView sprite) {
+		removed.add(sprite);
+	}
+
+	/**
+	 * Resizes the canvas to the given fraction of the screen and scales it back up to cover the screen.
+	 */
+	@Override
+	public void setResolutionScale(double scale) {
+		if (!(scale > 0 && scale <= 1)) {
+			throw new IllegalArgumentException("Resolution scale must be in (0, 1]: " + scale);
+		}
+		resolutionScale = scale;
+		canvas.setWidth(Math.ceil(width * scale));
+		canvas.setHeight(Math.ceil(height * scale));
+		// Scaling is about the canvas's centre, so shift it back to the top left
+		canvas.setScaleX(1 / scale);
+		canvas.setScaleY(1 / scale);
+		canvas.setTranslateX((width - canvas.getWidth()) / 2);
+		canvas.setTranslateY((height - canvas.getHeight()) / 2);
+	}
+
+	/**
+	 * @return The resolution the sprites are drawn at, relative to the screen.
+	 */
+	public double getResolutionScale() {
+		return resolutionScale;
+	}
+
+	/**
+	 * Stops redrawing, removes the canvas from the group and forgets every sprite.
+	 */
+	@Override
+	public void dispose() {
+		disposed = true;
+		redraw.stop();
+		root.getChildren().remove(canvas);
+		sprites.clear();
+		removed.clear();
+	}
+
+	/**
+	 * @return The number of sprites drawn each frame, hidden ones included.
+	 */
+	public int getSpriteCount() {
+		dropRemoved();
+		return sprites.size();
+	}
+
+	/**
+	 * @return The canvas the sprites are drawn onto.
+	 */
+	public Canvas getCanvas() {
+		return canvas;
+	}
+
+	/**
+	 * Clears the canvas and draws every visible sprite onto it.
+	 */
+	public void draw() {
+		dropRemoved();
+		graphics.setTransform(resolutionScale, 0, 0, resolutionScale, 0, 0);
+		graphics.clearRect(0, 0, width, height);
+		double alpha = 1.0;
+		graphics.setGlobalAlpha(alpha);
+		for (int i = 0, count = sprites.size(); i < count; i++) {
+			ImageView sprite = sprites.get(i);
+			Image image = sprite.getImage();
+			if (!sprite.isVisible() || image == null || sprite.getOpacity() <= 0) {
+				continue;
+			}
+			if (sprite.getOpacity() != alpha) {
+				alpha = sprite.getOpacity();
+				graphics.setGlobalAlpha(alpha);
+			}
+			Rectangle2D viewport = sprite.getViewport();
+			double sourceX = viewport == null ? 0 : viewport.getMinX();
+			double sourceY = viewport == null ? 0 : viewport.getMinY();
+			double sourceWidth = viewport == null ? image.getWidth() : viewport.getWidth();
+			double sourceHeight = viewport == null ? image.getHeight() : viewport.getHeight();
+			graphics.drawImage(image, sourceX, sourceY, sourceWidth, sourceHeight,
+					sprite.getLayoutX() + sprite.getTranslateX() + sprite.getX(),
+					sprite.getLayoutY() + sprite.getTranslateY() + sprite.getY(),
+					getDrawnWidth(sprite), getDrawnHeight(sprite));
+		}
+		graphics.setGlobalAlpha(1.0);
+	}
+
+	/**
+	 * Returns the width an image view shows its image at, as JavaFX lays it out from the fit size, the preserve-ratio
+	 * setting and the viewport.
+	 *
+	 * @param view The image view.
+	 * @return The width in pixels, or 0 if the view has no image.
+	 */
+	public static double getDrawnWidth(ImageView view) {
+		return getDrawnSize(view, true);
+	}
+
+	/**
+	 * Returns the height an image view shows its image at, as JavaFX lays it out from the fit size, the preserve-ratio
+	 * setting and the viewport.
+	 *
+	 * @param view The image view.
+	 * @return The height in pixels, or 0 if the view has no image.
+	 */
+	public static double getDrawnHeight(ImageView view) {
+		return getDrawnSize(view, false);
+	}
+
+	private static double getDrawnSize(ImageView view, boolean horizontal) {
+		Image image = view.getImage();
+		if (image == null) {
+			return 0;
+		}
+		Rectangle2D viewport = view.getViewport();
+		double width = viewport == null ? image.getWidth() : viewport.getWidth();
+		double height = viewport == null ? image.getHeight() : viewport.getHeight();
+		double fitWidth = view.getFitWidth();
+		double fitHeight = view.getFitHeight();
+		if (view.isPreserveRatio() && width > 0 && height > 0 && (fitWidth > 0 || fitHeight > 0)) {
+			double scale;
+			if (fitWidth > 0 && fitHeight > 0) {
+				scale = Math.min(fitWidth / width, fitHeight / height); // Fits within both
+			} else {
+				scale = fitWidth > 0 ? fitWidth / width : fitHeight / height;
+			}
+			return (horizontal ? width : height) * scale;
+		}
+		if (horizontal) {
+			return fitWidth > 0 ? fitWidth : width;
+		}
+		return fitHeight > 0 ? fitHeight : height;
+	}
+
+	private void dropRemoved() {
+		if (!removed.isEmpty()) {
+			sprites.removeIf(removed::contains);
+			removed.clear();
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.example.demo.Display;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.animation.AnimationTimer;
+
+/**
+ * An {@link AnimationTimer} that keeps a count of how many such timers are running.
+ * <p>
+ * JavaFX offers no way to list the running timers, and a timer that is never stopped keeps running, and keeps its
+ * actor reachable, long after the actor has left the scene. The actors' effect timers extend this class so that a
+ * soak test can watch the count and catch such leaks.
+ */
+public abstract class CountedAnimationTimer extends AnimationTimer {
+
+	private static final AtomicInteger RUNNING = new AtomicInteger();
+
+	private boolean running;
+
+	/**
+	 * Starts the timer, counting it unless it is already running.
+	 */
+	@Override
+	public void start() {
+		super.start();
+		if (!running) {
+			running = true;
+			RUNNING.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Stops the timer, no longer counting it.
+	 */
+	@Override
+	public void stop() {
+		super.stop();
+		if (running) {
+			running = false;
+			RUNNING.decrementAndGet();
+		}
+	}
+
+	/**
+	 * @return The number of counted timers currently running.
+	 */
+	public static int getRunningCount() {
+		return RUNNING.get();
+	}
+}
@@ -1,6 +1,5 @@
 package com.example.demo.Display;
 
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
 /**
@@ -20,12 +19,7 @@ public class GameOverImage extends ImageView {
 	 * @throws IllegalArgumentException if the image resource is not found.
 	 */
 	public GameOverImage(double xPosition, double yPosition) {
-		var resource = getClass().getResource(IMAGE_NAME); // Safely fetch the resource
-		if (resource != null) {
-			setImage(new Image(resource.toExternalForm())); // Set the image if resource is found
-		} else {
-			throw new IllegalArgumentException("Resource not found: " + IMAGE_NAME);
-		}
+		setImage(SpriteCache.get(IMAGE_NAME)); // Shared, decoded once; throws if the resource is not found
 
 		// Set the position of the image
 		setLayoutX(xPosition); // Set the X-coordinate position
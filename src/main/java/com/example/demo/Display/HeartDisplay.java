@@ -1,18 +1,20 @@
 package com.example.demo.Display;
 
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 
 /**
  * Represents a heart display to visually show the player's health as hearts.
+ * <p>
+ * All hearts share a single decoded sprite, from the {@link SpriteAtlas}, and the number of hearts shown is tracked
+ * so that updating the display never has to query the container.
  */
 public class HeartDisplay {
 
 	/** Path to the heart image resource. */
-	private static final String HEART_IMAGE_NAME = "/com/example/demo/images/heart.png";
+	static final String HEART_IMAGE_NAME = "/com/example/demo/images/heart.png";
 	/** Fixed height for each heart image. */
-	private static final int HEART_HEIGHT = 50;
+	static final int HEART_HEIGHT = 50;
 	/** Index of the first item in the heart container. */
 	private static final int INDEX_OF_FIRST_ITEM = 0;
 
@@ -24,6 +26,8 @@ public class HeartDisplay {
 	private final double containerYPosition;
 	/** Number of hearts to display initially. */
 	private final int numberOfHeartsToDisplay;
+	/** Number of hearts currently shown in the container. */
+	private int numberOfHeartsShown;
 
 	/**
 	 * Constructs a {@code HeartDisplay} with a given position and number of hearts.
@@ -52,8 +56,8 @@ public class HeartDisplay {
 	/**
 	 * Initializes the hearts and adds them to the container.
 	 * <p>
-	 * This method attempts to load the heart image and add the appropriate number of hearts to the container.
-	 * If the heart image resource is not found, an error message is printed and an {@link IllegalArgumentException} is thrown.
+	 * This method fetches the shared heart image once and adds the appropriate number of hearts to the container.
+	 * If the heart image resource is not found, an {@link IllegalArgumentException} is thrown.
 	 * If the container is not initialized, an error message is printed and the method exits early.
 	 */
 	private void initializeHearts() {
@@ -63,25 +67,15 @@ public class HeartDisplay {
 		}
 
 		for (int i = 0; i < numberOfHeartsToDisplay; i++) {
-			// Safely fetch the heart image resource
-			var resource = getClass().getResource(HEART_IMAGE_NAME);
+			ImageView heart = new ImageView();
+			SpriteAtlas.show(heart, HEART_IMAGE_NAME, 0, HEART_HEIGHT); // Decoded once and shared by every heart
+			heart.setFitHeight(HEART_HEIGHT);
+			heart.setPreserveRatio(true);
 
-			if (resource != null) {
-				// Set the image if the resource is found
-				Image heartImage = new Image(resource.toExternalForm());
-				ImageView heart = new ImageView(heartImage);
-				heart.setFitHeight(HEART_HEIGHT);
-				heart.setPreserveRatio(true);
-
-				// Add the heart to the container
-				container.getChildren().add(heart);
-			} else {
-				// Handle the error without logging, just print an error message
-				System.err.println("Heart image not found: " + HEART_IMAGE_NAME);
-				// Optionally, throw an exception or return
-				throw new IllegalArgumentException("Heart image not found: " + HEART_IMAGE_NAME);
-			}
+			// Add the heart to the container
+			container.getChildren().add(heart);
 		}
+		numberOfHeartsShown = numberOfHeartsToDisplay;
 	}
 
 
@@ -89,8 +83,30 @@ public class HeartDisplay {
 	 * Removes one heart from the display, starting from the first heart.
 	 */
 	public void removeHeart() {
-		if (!container.getChildren().isEmpty())
+		if (numberOfHeartsShown > 0) {
 			container.getChildren().remove(INDEX_OF_FIRST_ITEM);
+			numberOfHeartsShown--;
+		}
+	}
+
+	/**
+	 * Removes hearts until no more than the given number are shown.
+	 *
+	 * @param heartsRemaining The number of hearts that should remain visible.
+	 */
+	public void showHearts(int heartsRemaining) {
+		while (numberOfHeartsShown > Math.max(heartsRemaining, 0)) {
+			removeHeart();
+		}
+	}
+
+	/**
+	 * Returns the number of hearts currently shown.
+	 *
+	 * @return The number of visible hearts.
+	 */
+	public int getNumberOfHeartsShown() {
+		return numberOfHeartsShown;
 	}
 
 	/**
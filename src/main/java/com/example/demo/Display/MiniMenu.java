@@ -1,6 +1,5 @@
 package com.example.demo.Display;
 
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.VBox;
 import javafx.scene.control.Button;
@@ -59,12 +58,7 @@ public class MiniMenu {
      * @throws IllegalArgumentException if the resource is not found.
      */
     private ImageView createImageView(String resourcePath) {
-        var resource = getClass().getResource(resourcePath);
-        if (resource == null) {
-            throw new IllegalArgumentException("Image resource not found: " + resourcePath);
-        }
-
-        ImageView imageView = new ImageView(new Image(resource.toExternalForm()));
+        ImageView imageView = new ImageView(SpriteCache.get(resourcePath, BUTTON_IMAGE_WIDTH, BUTTON_IMAGE_HEIGHT)); // Shared, decoded once
         imageView.setFitWidth(BUTTON_IMAGE_WIDTH);
         imageView.setFitHeight(BUTTON_IMAGE_HEIGHT);
         return imageView;
@@ -0,0 +1,161 @@
+package com.example.demo.Display;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Steps rendering quality down while frames overrun their budget, and back up once there is headroom again.
+ * <p>
+ * Frame times are judged a window of {@value #WINDOW_FRAMES} frames at a time, by the window's 90th percentile. A
+ * window is an overrun when that percentile exceeds the budget by a quarter, and calm when it is within a tenth of the
+ * budget; frames paced by the display cannot come in under the budget, so calm is as good as it gets. Quality steps
+ * down one {@link QualityLevel} after {@value #OVERRUN_WINDOWS} overrun windows in a row, and up one after a run of
+ * calm windows that starts at {@value #MIN_CALM_WINDOWS}. If a step up is followed by overruns within
+ * {@value #RELAPSE_WINDOWS} windows, the run needed to try again doubles, up to {@value #MAX_CALM_WINDOWS}, so that the
+ * quality does not keep flapping between two steps; once a step up holds, it drops back. Every change is logged with
+ * the frame times of the window that triggered it.
+ * <p>
+ * The quality last chosen by any governor is kept as the current quality, which effects such as the planes' flashing
+ * read, and which a new level's governor starts from. The governor is used unless the {@code cw2024.qualityGovernor}
+ * system property is {@code false}.
+ */
+public final class QualityGovernor {
+
+	/** System property that turns the governor off when {@code false}. */
+	public static final String GOVERNOR_PROPERTY = "cw2024.qualityGovernor";
+
+	/** The frame budget at 60 frames per second. */
+	public static final long SIXTY_HZ_BUDGET_NANOS = 1_000_000_000L / 60;
+
+	private static final Logger LOGGER = Logger.getLogger(QualityGovernor.class.getName());
+	private static final int WINDOW_FRAMES = 60;
+	private static final double OVERRUN_RATIO = 1.25;
+	private static final double HEADROOM_RATIO = 1.10;
+	private static final int OVERRUN_WINDOWS = 2;
+	private static final int MIN_CALM_WINDOWS = 5;
+	private static final int MAX_CALM_WINDOWS = 80;
+	private static final int RELAPSE_WINDOWS = 10;
+
+	private static volatile QualityLevel current = QualityLevel.FULL;
+
+	private final long budgetNanos;
+	private final QualityLevel lowest;
+	private final Consumer<QualityLevel> onChange;
+	private final long[] window = new long[WINDOW_FRAMES];
+	private final long[] sorted = new long[WINDOW_FRAMES];
+	private int frames;
+	private QualityLevel quality;
+	private int overrunWindows;
+	private int calmWindows;
+	private int calmWindowsNeeded = MIN_CALM_WINDOWS;
+	private int windowsSinceRaise = -1; // -1 once the last step up has held, or if there has been none
+
+	/**
+	 * Creates a governor and applies its starting quality.
+	 *
+	 * @param budgetNanos The time each frame should take, in nanoseconds.
+	 * @param start       The quality to start at, normally {@link #getCurrentQuality()}.
+	 * @param lowest      The lowest quality to step down to.
+	 * @param onChange    Applies a quality; called with the starting quality and with every change.
+	 * @throws IllegalArgumentException if the budget is not positive or the start is below the lowest quality.
+	 */
+	public QualityGovernor(long budgetNanos, QualityLevel start, QualityLevel lowest, Consumer<QualityLevel> onChange) {
+		if (budgetNanos <= 0 || start.compareTo(lowest) > 0) {
+			throw new IllegalArgumentException("Invalid frame budget " + budgetNanos + " or start " + start
+					+ " below " + lowest);
+		}
+		this.budgetNanos = budgetNanos;
+		this.lowest = lowest;
+		this.onChange = onChange;
+		this.quality = start;
+		current = start;
+		onChange.accept(start);
+	}
+
+	/**
+	 * Returns whether the governor has been left on by the {@value #GOVERNOR_PROPERTY} system property.
+	 *
+	 * @return {@code true} unless the property is {@code false}.
+	 */
+	public static boolean isEnabled() {
+		return !"false".equals(System.getProperty(GOVERNOR_PROPERTY));
+	}
+
+	/**
+	 * @return The quality last chosen by any governor, or {@link QualityLevel#FULL} if none has run.
+	 */
+	public static QualityLevel getCurrentQuality() {
+		return current;
+	}
+
+	/**
+	 * Records the time a frame took, judging the window once it is full.
+	 *
+	 * @param nanos The frame's time, in nanoseconds.
+	 */
+	public void recordFrame(long nanos) {
+		window[frames++] = nanos;
+		if (frames == WINDOW_FRAMES) {
+			frames = 0;
+			judgeWindow();
+		}
+	}
+
+	/**
+	 * @return The quality chosen by this governor.
+	 */
+	public QualityLevel getQuality() {
+		return quality;
+	}
+
+	/**
+	 * @return The number of calm windows in a row needed before quality steps up.
+	 */
+	public int getCalmWindowsNeeded() {
+		return calmWindowsNeeded;
+	}
+
+	private void judgeWindow() {
+		System.arraycopy(window, 0, sorted, 0, WINDOW_FRAMES);
+		Arrays.sort(sorted);
+		long p90 = sorted[WINDOW_FRAMES * 9 / 10 - 1];
+		if (windowsSinceRaise >= 0 && ++windowsSinceRaise >= RELAPSE_WINDOWS) {
+			windowsSinceRaise = -1; // The last step up has held
+			calmWindowsNeeded = MIN_CALM_WINDOWS;
+		}
+
+		if (p90 > budgetNanos * OVERRUN_RATIO) {
+			calmWindows = 0;
+			if (++overrunWindows >= OVERRUN_WINDOWS && quality != lowest) {
+				if (windowsSinceRaise >= 0) {
+					calmWindowsNeeded = Math.min(calmWindowsNeeded * 2, MAX_CALM_WINDOWS); // Relapsed
+					windowsSinceRaise = -1;
+				}
+				change(quality.lower(), "sustained overruns");
+			}
+		} else if (p90 <= budgetNanos * HEADROOM_RATIO) {
+			overrunWindows = 0;
+			if (++calmWindows >= calmWindowsNeeded && quality != QualityLevel.FULL) {
+				windowsSinceRaise = 0;
+				change(quality.higher(), "headroom");
+			}
+		} else {
+			overrunWindows = 0;
+			calmWindows = 0;
+		}
+	}
+
+	private void change(QualityLevel next, String reason) {
+		QualityLevel previous = quality;
+		quality = next;
+		current = next;
+		overrunWindows = 0;
+		calmWindows = 0;
+		LOGGER.info(() -> String.format("Quality %s -> %s on %s: p50 %.1f ms, p90 %.1f ms, max %.1f ms over %d frames"
+						+ " against a %.1f ms budget; stepping up needs %d calm windows", previous, next, reason,
+				sorted[WINDOW_FRAMES / 2] / 1e6, sorted[WINDOW_FRAMES * 9 / 10 - 1] / 1e6,
+				sorted[WINDOW_FRAMES - 1] / 1e6, WINDOW_FRAMES, budgetNanos / 1e6, calmWindowsNeeded));
+		onChange.accept(next);
+	}
+}
@@ -0,0 +1,79 @@
+package com.example.demo.Display;
+
+/**
+ * The steps of rendering quality the {@link QualityGovernor} moves between, from full quality down. Each step keeps
+ * the savings of the steps above it and adds one more.
+ */
+public enum QualityLevel {
+
+	/** Everything is drawn. */
+	FULL(1.0, true, true, true),
+
+	/** Planes no longer flash while invincible. */
+	NO_FLASHING(1.0, false, true, true),
+
+	/** Decorative HUD nodes, such as the boss shield icon and the rollback and budget statistics, are hidden. */
+	NO_DECORATIONS(1.0, false, false, true),
+
+	/** The background image is replaced by a flat fill of its average colour. */
+	SIMPLE_BACKGROUND(1.0, false, false, false),
+
+	/** Actors are drawn at half the resolution and scaled up, where the renderer supports it. */
+	LOW_RESOLUTION(0.5, false, false, false);
+
+	private final double resolutionScale;
+	private final boolean flashingEnabled;
+	private final boolean decorationsShown;
+	private final boolean backgroundDetailed;
+
+	QualityLevel(double resolutionScale, boolean flashingEnabled, boolean decorationsShown,
+				 boolean backgroundDetailed) {
+		this.resolutionScale = resolutionScale;
+		this.flashingEnabled = flashingEnabled;
+		this.decorationsShown = decorationsShown;
+		this.backgroundDetailed = backgroundDetailed;
+	}
+
+	/**
+	 * @return The scale actors are drawn at before being scaled up to the screen, 1 for full resolution.
+	 */
+	public double getResolutionScale() {
+		return resolutionScale;
+	}
+
+	/**
+	 * @return Whether planes flash while invincible.
+	 */
+	public boolean isFlashingEnabled() {
+		return flashingEnabled;
+	}
+
+	/**
+	 * @return Whether decorative HUD nodes are shown.
+	 */
+	public boolean areDecorationsShown() {
+		return decorationsShown;
+	}
+
+	/**
+	 * @return Whether the background image is shown.
+	 */
+	public boolean isBackgroundDetailed() {
+		return backgroundDetailed;
+	}
+
+	/**
+	 * @return The next lower step, or this step if it is the lowest.
+	 */
+	public QualityLevel lower() {
+		QualityLevel[] levels = values();
+		return ordinal() + 1 < levels.length ? levels[ordinal() + 1] : this;
+	}
+
+	/**
+	 * @return The next higher step, or this step if it is the highest.
+	 */
+	public QualityLevel higher() {
+		return ordinal() > 0 ? values()[ordinal() - 1] : this;
+	}
+}
@@ -0,0 +1,64 @@
+package com.example.demo.Display;
+
+import javafx.scene.Group;
+import javafx.scene.image.ImageView;
+
+/**
+ * Draws sprites by adding their image views to a group, one scene graph node per actor.
+ * <p>
+ * The views are kept in a group of their own, placed in the root when the layer is attached, so that actors spawned
+ * later are still drawn below the nodes added to the root after the layer, such as the HUD and the pause menu.
+ */
+public class SceneGraphSpriteLayer implements SpriteLayer {
+
+	private final Group root;
+	private final Group sprites = new Group();
+
+	/**
+	 * Creates a layer drawing into a group.
+	 *
+	 * @param root The group the layer's own group of image views is added to.
+	 */
+	public SceneGraphSpriteLayer(Group root) {
+		this.root = root;
+	}
+
+	/**
+	 * Adds the group of image views to the root.
+	 */
+	@Override
+	public void attach() {
+		if (sprites.getParent() == null) {
+			root.getChildren().add(sprites);
+		}
+	}
+
+	@Override
+	public void add(ImageView sprite) {
+		sprites.getChildren().add(sprite);
+	}
+
+	@Override
+	public void remove(ImageView sprite) {
+		sprites.getChildren().remove(sprite);
+	}
+
+	/**
+	 * Checks the scale and otherwise ignores it: JavaFX draws each node at the screen's resolution.
+	 */
+	@Override
+	public void setResolutionScale(double scale) {
+		if (!(scale > 0 && scale <= 1)) {
+			throw new IllegalArgumentException("Resolution scale must be in (0, 1]: " + scale);
+		}
+	}
+
+	/**
+	 * Removes every view and takes the group out of the root.
+	 */
+	@Override
+	public void dispose() {
+		sprites.getChildren().clear();
+		root.getChildren().remove(sprites);
+	}
+}
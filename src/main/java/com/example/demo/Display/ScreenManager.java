@@ -45,7 +45,7 @@ public class ScreenManager {
      *
      * @throws RuntimeException if the FXML file cannot be loaded or the controller fails to initialize.
      */
-    public void showMainMenu() {
+    public MainMenuController showMainMenu() {
         try {
             // Load MainMenu.fxml
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/MainMenu.fxml"));
@@ -58,6 +58,7 @@ public class ScreenManager {
             // Set the scene for the main menu
             Scene menuScene = new Scene(root, 1600, 900);  // Set the appropriate size for the menu
             setScene(menuScene);
+            return controller;
 
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Failed to load MainMenu.fxml or initialize the main menu.", e);
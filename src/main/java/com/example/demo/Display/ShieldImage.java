@@ -1,6 +1,5 @@
 package com.example.demo.Display;
 
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
 /**
@@ -9,11 +8,14 @@ import javafx.scene.image.ImageView;
  */
 public class ShieldImage extends ImageView {
 
+	/** Path to the shield image resource. */
+	static final String SHIELD_IMAGE_NAME = "/com/example/demo/images/shield.png";
+
 	/** Default height of the shield image. */
-	private static final int SHIELD_HEIGHT = 100;
+	static final int SHIELD_HEIGHT = 100;
 
 	/** Default width of the shield image. */
-	private static final int SHIELD_WIDTH = 75;
+	static final int SHIELD_WIDTH = 75;
 
 	/**
 	 * Constructs a {@code ShieldImage} object with specified position coordinates.
@@ -40,12 +42,8 @@ public class ShieldImage extends ImageView {
 		this.setLayoutX(xPosition);
 		this.setLayoutY(yPosition);
 
-		// Safely retrieve the image resource
-		var resource = getClass().getResource("/com/example/demo/images/shield.png");
-		if (resource == null) {
-			throw new IllegalArgumentException("Shield image resource not found: /com/example/demo/images/shield.png");
-		}
-		this.setImage(new Image(resource.toExternalForm()));
+		// Show the shared sprite, from the atlas when it is in use
+		SpriteAtlas.show(this, SHIELD_IMAGE_NAME, SHIELD_WIDTH, SHIELD_HEIGHT);
 		this.setFitHeight(SHIELD_HEIGHT);
 		this.setFitWidth(SHIELD_WIDTH);
 		this.setVisible(false); // Hidden by default
@@ -0,0 +1,177 @@
+package com.example.demo.Display;
+
+import com.example.demo.Simulation.EntityKind;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Packs the game's sprites into one texture at startup, so that the renderer can draw every actor without switching
+ * textures.
+ * <p>
+ * The planes, projectiles, shield and heart are decoded at the sizes the game shows them at, as by
+ * {@link SpriteCache#get(String, double, double)}, and copied into a single image by an {@link AtlasPacker}. Image
+ * views then show their sprite through {@link #show(ImageView, String, double, double)}, which points them at the
+ * atlas with a viewport around the sprite's region. A sprite asked for at a size that is not in the atlas is shown
+ * from its own image instead, so the atlas never changes what is drawn. The atlas is used unless the
+ * {@code cw2024.spriteAtlas} system property is {@code false}; it can also be turned off and on for views created
+ * afterwards, to compare the two.
+ */
+public final class SpriteAtlas {
+
+	/** System property that turns the atlas off when {@code false}. */
+	public static final String ATLAS_PROPERTY = "cw2024.spriteAtlas";
+
+	private static final Logger LOGGER = Logger.getLogger(SpriteAtlas.class.getName());
+	private static final int WIDTH = 512; // Times the sprite scale; the sprites fill two or three shelves
+	private static final int PADDING = 1;
+
+	private static volatile boolean enabled = !"false".equals(System.getProperty(ATLAS_PROPERTY));
+	private static SpriteAtlas shared;
+
+	private final Image image;
+	private final Map<String, Rectangle2D> regions = new HashMap<>();
+
+	/**
+	 * Packs the game's sprites.
+	 */
+	private SpriteAtlas() {
+		int scale = SpriteCache.getScale();
+		AtlasPacker packer = new AtlasPacker(WIDTH * scale, PADDING);
+		Map<String, Image> sprites = new HashMap<>();
+		Map<String, Integer> indices = new HashMap<>();
+		for (EntityKind kind : EntityKind.values()) {
+			addSprite(packer, sprites, indices, kind.getImagePath(), 0, kind.getImageHeight());
+		}
+		addSprite(packer, sprites, indices, ShieldImage.SHIELD_IMAGE_NAME, ShieldImage.SHIELD_WIDTH,
+				ShieldImage.SHIELD_HEIGHT);
+		addSprite(packer, sprites, indices, HeartDisplay.HEART_IMAGE_NAME, 0, HeartDisplay.HEART_HEIGHT);
+		packer.pack();
+
+		WritableImage atlas = new WritableImage(packer.getWidth(), packer.getHeight());
+		PixelWriter writer = atlas.getPixelWriter();
+		for (Map.Entry<String, Image> sprite : sprites.entrySet()) {
+			int index = indices.get(sprite.getKey());
+			Image source = sprite.getValue();
+			int width = (int) source.getWidth();
+			int height = (int) source.getHeight();
+			writer.setPixels(packer.getX(index), packer.getY(index), width, height, source.getPixelReader(), 0, 0);
+			regions.put(sprite.getKey(), new Rectangle2D(packer.getX(index), packer.getY(index), width, height));
+		}
+		this.image = atlas;
+		LOGGER.fine(() -> String.format("Packed %d sprites into a %dx%d atlas", regions.size(), packer.getWidth(),
+				packer.getHeight()));
+	}
+
+	private static void addSprite(AtlasPacker packer, Map<String, Image> sprites, Map<String, Integer> indices,
+								  String path, double width, double height) {
+		Image sprite = SpriteCache.get(path, width, height);
+		String key = keyOf(path, width, height);
+		sprites.put(key, sprite);
+		indices.put(key, packer.add((int) sprite.getWidth(), (int) sprite.getHeight()));
+	}
+
+	private static String keyOf(String path, double width, double height) {
+		return path + '@' + width + 'x' + height;
+	}
+
+	/**
+	 * Returns the atlas, packing it on first use.
+	 *
+	 * @return The atlas, or {@code null} if it is turned off.
+	 */
+	public static synchronized SpriteAtlas getShared() {
+		if (!enabled) {
+			return null;
+		}
+		if (shared == null) {
+			shared = new SpriteAtlas();
+		}
+		return shared;
+	}
+
+	/**
+	 * Turns the atlas on or off for the image views shown from now on.
+	 *
+	 * @param atlasEnabled Whether to draw sprites from the atlas.
+	 */
+	public static void setEnabled(boolean atlasEnabled) {
+		enabled = atlasEnabled;
+	}
+
+	/**
+	 * Shows a sprite in an image view, from the atlas if it holds the sprite at the size asked for.
+	 * <p>
+	 * The sizes have the meaning they have for {@link SpriteCache#get(String, double, double)}; the view's own fit size
+	 * is left for the caller to set.
+	 *
+	 * @param view          The image view.
+	 * @param path          The absolute resource path of the sprite.
+	 * @param displayWidth  The width the sprite is shown at, or 0.
+	 * @param displayHeight The height the sprite is shown at, or 0.
+	 * @throws IllegalArgumentException if the image resource is not found.
+	 */
+	public static void show(ImageView view, String path, double displayWidth, double displayHeight) {
+		SpriteAtlas atlas = getShared();
+		Rectangle2D region = atlas == null ? null : atlas.regions.get(keyOf(path, displayWidth, displayHeight));
+		if (region != null) {
+			view.setImage(atlas.image);
+			view.setViewport(region);
+		} else {
+			view.setImage(SpriteCache.get(path, displayWidth, displayHeight));
+			view.setViewport(null);
+		}
+	}
+
+	/**
+	 * @return The packed image.
+	 */
+	public Image getImage() {
+		return image;
+	}
+
+	/**
+	 * @return The number of sprites packed.
+	 */
+	public int getSpriteCount() {
+		return regions.size();
+	}
+
+	/**
+	 * Counts the texture switches drawing a scene graph takes: the number of image views, in drawing order, whose
+	 * image differs from that of the image view drawn before it. Nodes other than image views are not counted.
+	 *
+	 * @param root The root of the graph.
+	 * @return The number of switches, counting the first image drawn as one.
+	 */
+	public static int countTextureSwitches(Parent root) {
+		Image[] last = new Image[1];
+		return countTextureSwitches(root, last);
+	}
+
+	private static int countTextureSwitches(Parent parent, Image[] last) {
+		int switches = 0;
+		for (Node child : parent.getChildrenUnmodifiable()) {
+			if (!child.isVisible()) {
+				continue;
+			}
+			if (child instanceof ImageView view && view.getImage() != null) {
+				if (view.getImage() != last[0]) {
+					switches++;
+					last[0] = view.getImage();
+				}
+			} else if (child instanceof Parent group) {
+				switches += countTextureSwitches(group, last);
+			}
+		}
+		return switches;
+	}
+}
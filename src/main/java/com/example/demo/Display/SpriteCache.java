@@ -0,0 +1,231 @@
+package com.example.demo.Display;
+
+import javafx.scene.image.Image;
+import javafx.stage.Screen;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Caches decoded sprite images so that each image resource is fetched and decoded only once per size it is shown at.
+ * <p>
+ * JavaFX {@link Image} instances are immutable once loaded and can be shared by any number of image views. Most
+ * sprites are drawn far smaller than their source files, so {@link #get(String, double, double)} decodes an image
+ * straight to the size it is displayed at, times the screen's scale, instead of decoding the whole file and letting
+ * the image view shrink it every frame. The scale is 2 on screens of 144 DPI or more, or with an output scale above 1,
+ * and 1 otherwise; the {@code cw2024.spriteScale} system property overrides it. Images are never decoded larger than
+ * their source. The bytes of texture decoded, and those saved against decoding at full size, are counted.
+ */
+public final class SpriteCache {
+
+	/** System property that forces the scale sprites are decoded at, 1 or 2. */
+	public static final String SCALE_PROPERTY = "cw2024.spriteScale";
+
+	private static final Logger LOGGER = Logger.getLogger(SpriteCache.class.getName());
+	private static final double HIGH_DPI = 144;
+	private static final int BYTES_PER_PIXEL = 4;
+	private static final long PNG_SIGNATURE = 0x89504E470D0A1A0AL;
+
+	/** Decoded images keyed by resource path and decoded size. */
+	private static final Map<String, Image> IMAGES = new ConcurrentHashMap<>();
+
+	/** Width and height of each source image, read from its header. */
+	private static final Map<String, int[]> SOURCE_SIZES = new ConcurrentHashMap<>();
+
+	private static final AtomicLong TEXTURE_BYTES = new AtomicLong();
+	private static final AtomicLong TEXTURE_BYTES_SAVED = new AtomicLong();
+	private static volatile int scale;
+
+	private SpriteCache() {
+	}
+
+	/**
+	 * Returns the image for the given resource path decoded at its full size, decoding it on first use.
+	 *
+	 * @param resourcePath The absolute resource path of the image.
+	 * @return The shared decoded image.
+	 * @throws IllegalArgumentException if the image resource is not found.
+	 */
+	public static Image get(String resourcePath) {
+		return get(resourcePath, 0, 0);
+	}
+
+	/**
+	 * Returns the image for the given resource path decoded for display at the given size, decoding it on first use.
+	 * <p>
+	 * As with an image view's fit size, a size of zero in one dimension keeps the image's aspect ratio, a size in both
+	 * stretches the image to exactly that size, and zero in both shows the image at its own size.
+	 *
+	 * @param resourcePath  The absolute resource path of the image.
+	 * @param displayWidth  The width the image is shown at, or 0.
+	 * @param displayHeight The height the image is shown at, or 0.
+	 * @return The shared decoded image.
+	 * @throws IllegalArgumentException if the image resource is not found or a size is negative.
+	 */
+	public static Image get(String resourcePath, double displayWidth, double displayHeight) {
+		if (displayWidth < 0 || displayHeight < 0) {
+			throw new IllegalArgumentException("Display size must not be negative: " + displayWidth + "x" + displayHeight);
+		}
+		int sourceWidth = getSourceWidth(resourcePath);
+		int sourceHeight = getSourceHeight(resourcePath);
+		// Pixels to decode to, each capped at the source's; 0 keeps the aspect ratio
+		int width = displayWidth == 0 ? 0 : (int) Math.min(Math.ceil(displayWidth * getScale()), sourceWidth);
+		int height = displayHeight == 0 ? 0 : (int) Math.min(Math.ceil(displayHeight * getScale()), sourceHeight);
+		if ((width == 0 || width == sourceWidth) && (height == 0 || height == sourceHeight)) {
+			width = 0; // No smaller than the source, so decode the source as it is
+			height = 0;
+		}
+		String key = width == 0 && height == 0 ? resourcePath : resourcePath + '@' + width + 'x' + height;
+		int requestedWidth = width;
+		int requestedHeight = height;
+		return IMAGES.computeIfAbsent(key, k -> decode(resourcePath, requestedWidth, requestedHeight));
+	}
+
+	/**
+	 * Returns the width of the source image, read from its header without decoding it.
+	 *
+	 * @param resourcePath The absolute resource path of the image.
+	 * @return The width in pixels.
+	 * @throws IllegalArgumentException if the image resource is not found.
+	 */
+	public static int getSourceWidth(String resourcePath) {
+		return SOURCE_SIZES.computeIfAbsent(resourcePath, SpriteCache::readSourceSize)[0];
+	}
+
+	/**
+	 * Returns the height of the source image, read from its header without decoding it.
+	 *
+	 * @param resourcePath The absolute resource path of the image.
+	 * @return The height in pixels.
+	 * @throws IllegalArgumentException if the image resource is not found.
+	 */
+	public static int getSourceHeight(String resourcePath) {
+		return SOURCE_SIZES.computeIfAbsent(resourcePath, SpriteCache::readSourceSize)[1];
+	}
+
+	/**
+	 * Returns the scale sprites are decoded at, choosing it from the primary screen on first use.
+	 *
+	 * @return 1, or 2 for high-DPI screens.
+	 */
+	public static int getScale() {
+		int current = scale;
+		if (current == 0) {
+			String forced = System.getProperty(SCALE_PROPERTY);
+			if (forced != null) {
+				current = Integer.parseInt(forced) >= 2 ? 2 : 1;
+			} else {
+				Screen screen = Screen.getPrimary();
+				current = screen.getDpi() >= HIGH_DPI || screen.getOutputScaleX() > 1 ? 2 : 1;
+			}
+			scale = current;
+		}
+		return current;
+	}
+
+	/**
+	 * @return The bytes of texture held by the images decoded so far.
+	 */
+	public static long getTextureBytes() {
+		return TEXTURE_BYTES.get();
+	}
+
+	/**
+	 * @return The bytes of texture saved by decoding images at their display size rather than their full size.
+	 */
+	public static long getTextureBytesSaved() {
+		return TEXTURE_BYTES_SAVED.get();
+	}
+
+	/**
+	 * Fetches and decodes the image at the given resource path.
+	 *
+	 * @param resourcePath The absolute resource path of the image.
+	 * @param width        The width to decode to, or 0 for the source's width or to keep the aspect ratio.
+	 * @param height       The height to decode to, or 0 for the source's height or to keep the aspect ratio.
+	 * @return The decoded image.
+	 * @throws IllegalArgumentException if the image resource is not found.
+	 */
+	private static Image decode(String resourcePath, int width, int height) {
+		var resource = SpriteCache.class.getResource(resourcePath);
+		if (resource == null) {
+			throw new IllegalArgumentException("Resource not found: " + resourcePath);
+		}
+		Image image = width == 0 && height == 0
+				? new Image(resource.toExternalForm())
+				: new Image(resource.toExternalForm(), width, height, width == 0 || height == 0, true);
+		long bytes = (long) image.getWidth() * (long) image.getHeight() * BYTES_PER_PIXEL;
+		long saved = (long) getSourceWidth(resourcePath) * getSourceHeight(resourcePath) * BYTES_PER_PIXEL - bytes;
+		TEXTURE_BYTES.addAndGet(bytes);
+		TEXTURE_BYTES_SAVED.addAndGet(saved);
+		LOGGER.fine(() -> String.format("Decoded %s at %.0fx%.0f (scale %d) from %dx%d, saving %,d bytes",
+				resourcePath, image.getWidth(), image.getHeight(), getScale(), getSourceWidth(resourcePath),
+				getSourceHeight(resourcePath), saved));
+		return image;
+	}
+
+	/**
+	 * Reads the size of a PNG or JPEG image from its header, falling back to decoding images of other formats.
+	 */
+	private static int[] readSourceSize(String resourcePath) {
+		try (InputStream in = SpriteCache.class.getResourceAsStream(resourcePath)) {
+			if (in == null) {
+				throw new IllegalArgumentException("Resource not found: " + resourcePath);
+			}
+			DataInputStream data = new DataInputStream(in);
+			long signature = data.readLong();
+			if (signature == PNG_SIGNATURE) {
+				data.skipNBytes(8); // IHDR chunk length and type
+				return new int[] {data.readInt(), data.readInt()};
+			}
+			if ((signature >>> 48) == 0xFFD8) {
+				int[] size = readJpegSize(data, signature);
+				if (size != null) {
+					return size;
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.log(Level.FINE, "Could not read the header of " + resourcePath, e);
+		}
+		Image image = new Image(SpriteCache.class.getResource(resourcePath).toExternalForm());
+		return new int[] {(int) image.getWidth(), (int) image.getHeight()};
+	}
+
+	/**
+	 * Walks a JPEG's segments to its start-of-frame segment, which holds the image's size.
+	 *
+	 * @param signature The first eight bytes of the file, already read.
+	 * @return The width and height, or {@code null} if there is no start-of-frame segment.
+	 */
+	private static int[] readJpegSize(DataInputStream data, long signature) throws IOException {
+		// The first segment's marker and length are in the signature
+		int marker = (int) (signature >>> 32) & 0xFFFF;
+		int length = (int) (signature >>> 16) & 0xFFFF;
+		int consumed = 2; // Bytes of the segment after its length already read
+		while (true) {
+			int type = marker & 0xFF;
+			if (type >= 0xC0 && type <= 0xCF && type != 0xC4 && type != 0xC8 && type != 0xCC) {
+				if (consumed != 0) {
+					return null; // A frame header right after the start of image, partly read with the signature
+				}
+				data.skipNBytes(1); // Sample precision
+				int height = data.readUnsignedShort();
+				int width = data.readUnsignedShort();
+				return new int[] {width, height};
+			}
+			data.skipNBytes(length - 2 - consumed);
+			marker = data.readUnsignedShort();
+			if ((marker >>> 8) != 0xFF || (marker & 0xFF) == 0xDA) {
+				return null; // Not a marker, or image data begins before any frame header
+			}
+			length = data.readUnsignedShort();
+			consumed = 0;
+		}
+	}
+}
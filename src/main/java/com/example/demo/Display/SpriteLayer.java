@@ -0,0 +1,48 @@
+package com.example.demo.Display;
+
+import javafx.scene.image.ImageView;
+
+/**
+ * Draws the actors of a level: the planes, projectiles and shields, each of which is an {@link ImageView} positioned,
+ * shown and faded by the actor itself.
+ * <p>
+ * {@link SceneGraphSpriteLayer} puts every view in the scene graph, where JavaFX draws it as a node of its own.
+ * {@link CanvasSpriteLayer} keeps the views out of the scene and draws them all onto one canvas each pulse. Either
+ * way the views keep their properties, so actors move, flash and collide the same under both.
+ */
+public interface SpriteLayer {
+
+	/**
+	 * Places the layer in the scene, above the nodes the scene holds so far. Sprites added afterwards are drawn above
+	 * those added before.
+	 */
+	void attach();
+
+	/**
+	 * Starts drawing a sprite, above every sprite already drawn.
+	 *
+	 * @param sprite The image view of an actor.
+	 */
+	void add(ImageView sprite);
+
+	/**
+	 * Stops drawing a sprite. Sprites that are not drawn are ignored.
+	 *
+	 * @param sprite The image view of an actor.
+	 */
+	void remove(ImageView sprite);
+
+	/**
+	 * Sets the resolution sprites are drawn at, relative to the screen. Layers that cannot draw below the screen's
+	 * resolution ignore it.
+	 *
+	 * @param scale The scale, above 0 and at most 1 for full resolution.
+	 * @throws IllegalArgumentException if the scale is out of range.
+	 */
+	void setResolutionScale(double scale);
+
+	/**
+	 * Stops drawing every sprite and releases the layer's resources. The layer is not used afterwards.
+	 */
+	void dispose();
+}
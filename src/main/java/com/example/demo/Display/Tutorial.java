@@ -2,7 +2,6 @@ package com.example.demo.Display;
 
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.Pane;
@@ -13,6 +12,16 @@ import javafx.scene.layout.Pane;
  */
 public class Tutorial {
 
+    /** Path to the tutorial's background image resource. */
+    private static final String BACKGROUND_IMAGE_NAME = "/com/example/demo/images/TutorialContent.png";
+
+    /** Path to the return button's image resource. */
+    private static final String BUTTON_IMAGE_NAME = "/com/example/demo/images/TutorialBack.png";
+
+    /** Size of the return button. */
+    private static final double BUTTON_WIDTH = 150;
+    private static final double BUTTON_HEIGHT = 50;
+
     /** The height of the screen for the tutorial. */
     private final double screenHeight;
 
@@ -64,12 +73,13 @@ public class Tutorial {
      * @throws IllegalArgumentException if the background image resource is not found.
      */
     private ImageView createBackgroundImage() {
-        var resource = getClass().getResource("/com/example/demo/images/TutorialContent.png");
+        var resource = getClass().getResource(BACKGROUND_IMAGE_NAME);
         if (resource == null) {
-            throw new IllegalArgumentException("Background image resource not found: /com/example/demo/images/TutorialContent.png");
+            throw new IllegalArgumentException("Background image resource not found: " + BACKGROUND_IMAGE_NAME);
         }
 
-        ImageView background = new ImageView(new Image(resource.toExternalForm()));
+        // Decoded at screen size rather than at the full 1920x1080
+        ImageView background = new ImageView(SpriteCache.get(BACKGROUND_IMAGE_NAME, screenWidth, screenHeight));
         background.setFitWidth(screenWidth);
         background.setFitHeight(screenHeight);
         return background;
@@ -83,17 +93,17 @@ public class Tutorial {
      * @throws IllegalArgumentException if the button image resource is not found.
      */
     private Pane createReturnButtonPane(Runnable onReturnToMainMenu) {
-        var resource = getClass().getResource("/com/example/demo/images/TutorialBack.png");
+        var resource = getClass().getResource(BUTTON_IMAGE_NAME);
         if (resource == null) {
-            throw new IllegalArgumentException("Button image resource not found: /com/example/demo/images/TutorialBack.png");
+            throw new IllegalArgumentException("Button image resource not found: " + BUTTON_IMAGE_NAME);
         }
 
         // Initialize the return button
         Button returnButton = new Button();
         returnButton.setStyle("-fx-background-color: transparent;"); // Transparent background
-        ImageView buttonImage = new ImageView(new Image(resource.toExternalForm()));
-        buttonImage.setFitWidth(150); // Set button width
-        buttonImage.setFitHeight(50); // Set button height
+        ImageView buttonImage = new ImageView(SpriteCache.get(BUTTON_IMAGE_NAME, BUTTON_WIDTH, BUTTON_HEIGHT));
+        buttonImage.setFitWidth(BUTTON_WIDTH); // Set button width
+        buttonImage.setFitHeight(BUTTON_HEIGHT); // Set button height
         returnButton.setGraphic(buttonImage); // Set image as button graphic
 
         // Set button position
@@ -1,6 +1,5 @@
 package com.example.demo.Display;
 
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
 /**
@@ -31,7 +30,7 @@ public class WinImage extends ImageView {
 	public WinImage(double xPosition, double yPosition) {
 		var resource = getClass().getResource(IMAGE_NAME);
 		if (resource != null) {
-			setImage(new Image(resource.toExternalForm()));
+			setImage(SpriteCache.get(IMAGE_NAME, WIDTH, HEIGHT)); // Shared, decoded once
 		} else {
 			System.err.println("Warning: Resource not found: " + IMAGE_NAME);
 		}
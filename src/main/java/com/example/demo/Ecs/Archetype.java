@@ -0,0 +1,167 @@
+package com.example.demo.Ecs;
+
+import java.util.Arrays;
+
+/**
+ * Stores every entity that has exactly the same set of components, packed into one array per field.
+ * <p>
+ * Row {@code i} of every column belongs to the entity {@link #entity(int) entity(i)}, and the rows in use are always
+ * {@code 0} to {@code size() - 1}, so a system can walk an archetype's columns in a tight loop. Removing an entity moves
+ * the last row into its place.
+ */
+public final class Archetype {
+
+	private static final Field[] FIELDS = Field.values();
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final int mask;
+	private final int[][] columns = new int[FIELDS.length][];
+	private int[] entities = new int[INITIAL_CAPACITY];
+	private int size;
+
+	Archetype(int mask) {
+		this.mask = mask;
+		for (Field field : FIELDS) {
+			if ((mask & field.getComponent().bit()) != 0) {
+				columns[field.ordinal()] = new int[INITIAL_CAPACITY];
+			}
+		}
+	}
+
+	/**
+	 * @return The components of this archetype's entities, as a mask.
+	 */
+	public int getMask() {
+		return mask;
+	}
+
+	/**
+	 * Returns whether this archetype's entities have all the given components.
+	 *
+	 * @param components A component mask.
+	 * @return {@code true} if every component in the mask is present.
+	 */
+	public boolean has(int components) {
+		return (mask & components) == components;
+	}
+
+	/**
+	 * @return The number of entities stored.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @param row A row in use.
+	 * @return The entity stored in the row.
+	 */
+	public int entity(int row) {
+		return entities[row];
+	}
+
+	/**
+	 * Returns the column holding a field. The array may be longer than {@link #size()}, and is replaced when the
+	 * archetype grows, so it should be fetched again after entities have been added.
+	 *
+	 * @param field A field of one of this archetype's components.
+	 * @return The field's column.
+	 * @throws IllegalArgumentException If this archetype does not have the field's component.
+	 */
+	public int[] column(Field field) {
+		int[] column = columns[field.ordinal()];
+		if (column == null) {
+			throw new IllegalArgumentException("Archetype has no " + field.getComponent() + " component");
+		}
+		return column;
+	}
+
+	/**
+	 * Adds an entity in a new row with every field set to zero.
+	 *
+	 * @return The entity's row.
+	 */
+	int add(int entity) {
+		if (size == entities.length) {
+			int capacity = size * 2;
+			entities = Arrays.copyOf(entities, capacity);
+			for (int i = 0; i < columns.length; i++) {
+				if (columns[i] != null) {
+					columns[i] = Arrays.copyOf(columns[i], capacity);
+				}
+			}
+		}
+		entities[size] = entity;
+		for (int[] column : columns) {
+			if (column != null) {
+				column[size] = 0;
+			}
+		}
+		return size++;
+	}
+
+	/**
+	 * Copies the rows in use into a snapshot.
+	 *
+	 * @param snapshot The snapshot.
+	 * @param index    The archetype's index in its world.
+	 */
+	void save(EcsSnapshot snapshot, int index) {
+		snapshot.archetypeSizes[index] = size;
+		snapshot.archetypeEntities[index] = EcsSnapshot.copy(entities, size, snapshot.archetypeEntities[index]);
+		int[][] saved = snapshot.archetypeColumns[index];
+		if (saved == null) {
+			saved = new int[columns.length][];
+			snapshot.archetypeColumns[index] = saved;
+		}
+		for (int i = 0; i < columns.length; i++) {
+			if (columns[i] != null) {
+				saved[i] = EcsSnapshot.copy(columns[i], size, saved[i]);
+			}
+		}
+	}
+
+	/**
+	 * Replaces the rows with the ones saved in a snapshot. The archetype's arrays only grow, so they can always hold
+	 * the rows it had when the snapshot was taken.
+	 *
+	 * @param snapshot The snapshot.
+	 * @param index    The archetype's index in its world.
+	 */
+	void restore(EcsSnapshot snapshot, int index) {
+		size = snapshot.archetypeSizes[index];
+		System.arraycopy(snapshot.archetypeEntities[index], 0, entities, 0, size);
+		int[][] saved = snapshot.archetypeColumns[index];
+		for (int i = 0; i < columns.length; i++) {
+			if (columns[i] != null) {
+				System.arraycopy(saved[i], 0, columns[i], 0, size);
+			}
+		}
+	}
+
+	/**
+	 * Removes every row, for archetypes that did not exist yet when a snapshot being restored was taken.
+	 */
+	void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Removes a row by moving the last row into it.
+	 *
+	 * @return The entity moved into the row, or {@link EcsWorld#NO_ENTITY} if the removed row was the last.
+	 */
+	int remove(int row) {
+		int last = --size;
+		if (row == last) {
+			return EcsWorld.NO_ENTITY;
+		}
+		entities[row] = entities[last];
+		for (int[] column : columns) {
+			if (column != null) {
+				column[row] = column[last];
+			}
+		}
+		return entities[row];
+	}
+}
@@ -0,0 +1,41 @@
+package com.example.demo.Ecs;
+
+import com.example.demo.Actor.Planes.BossScript;
+import com.example.demo.Simulation.Fixed;
+
+/**
+ * Drives bosses by their scripts: sets each boss's vertical velocity from its movement pattern, and raises and lowers
+ * its shield.
+ */
+final class BossSystem implements EcsSystem {
+
+	private static final int MASK = Component.mask(Component.BOSS, Component.VELOCITY, Component.SHIELD);
+
+	@Override
+	public void update(EcsGame game) {
+		EcsWorld world = game.getWorld();
+		for (int a = 0; a < world.getArchetypeCount(); a++) {
+			Archetype archetype = world.getArchetype(a);
+			if (!archetype.has(MASK)) {
+				continue;
+			}
+			int[] scripts = archetype.column(Field.SCRIPT);
+			int[] velocityY = archetype.column(Field.VELOCITY_Y);
+			int[] shielded = archetype.column(Field.SHIELDED);
+			int[] shieldFrames = archetype.column(Field.SHIELD_FRAMES);
+			for (int i = 0, n = archetype.size(); i < n; i++) {
+				BossScript script = game.getBossScript(scripts[i]);
+				velocityY[i] = Fixed.of(script.nextMove());
+				if (shielded[i] != 0) {
+					shieldFrames[i]++;
+				} else if (script.nextShield()) {
+					shielded[i] = 1;
+				}
+				if (shieldFrames[i] >= script.getCurrentPhase().getMaxFramesWithShield()) {
+					shielded[i] = 0;
+					shieldFrames[i] = 0;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package com.example.demo.Ecs;
+
+import com.example.demo.Engine.ContactDetector;
+import com.example.demo.Simulation.Fixed;
+import java.util.Arrays;
+
+/**
+ * Damages every pair of touching entities, in the same order as the level's collision handlers: user projectiles and
+ * enemies, enemy projectiles and the players' planes, the players' planes and enemies, then enemy and user projectiles.
+ * Kills are credited to the player who fired the projectile or flew the plane.
+ * <p>
+ * Passes between two groups add the groups' hitboxes to a {@link ContactDetector}, with the order in which the
+ * archetypes were walked as the boxes' ids, so contacts are applied in a fixed order and the game stays deterministic.
+ * Passes against the players' planes test each archetype's boxes against each plane's box in one batch instead, which
+ * finds the same contacts in the same order.
+ */
+final class CollisionSystem implements EcsSystem {
+
+	private static final int ENEMY_UNITS = Component.mask(Component.HOSTILE, Component.PLANE);
+	private static final int ENEMY_PROJECTILES = Component.mask(Component.HOSTILE, Component.PROJECTILE);
+	private static final int USER_PROJECTILES = Component.mask(Component.FRIENDLY, Component.PROJECTILE);
+	private static final double CELL_SIZE = Fixed.of(128);
+
+	private final ContactDetector contactDetector;
+	private int[] firstEntities = new int[64];
+	private int[] secondEntities = new int[64];
+	private int[] hits = new int[64];
+
+	/**
+	 * @param screenWidth  The width of the screen, in fixed point.
+	 * @param screenHeight The height of the screen, in fixed point.
+	 */
+	CollisionSystem(int screenWidth, int screenHeight) {
+		contactDetector = new ContactDetector(screenWidth, screenHeight, CELL_SIZE);
+	}
+
+	@Override
+	public void update(EcsGame game) {
+		collide(game, ENEMY_UNITS, USER_PROJECTILES, true);
+		for (int player = 0; player < game.getPlayerCount(); player++) {
+			collideWithPlayer(game, game.getPlayer(player), ENEMY_PROJECTILES, false);
+		}
+		for (int player = 0; player < game.getPlayerCount(); player++) {
+			collideWithPlayer(game, game.getPlayer(player), ENEMY_UNITS, true);
+		}
+		collide(game, ENEMY_PROJECTILES, USER_PROJECTILES, false);
+	}
+
+	/**
+	 * Damages each entity of the first group together with every entity of the second group it touches.
+	 *
+	 * @param scoresKills Whether destroying an entity of the first group counts as a kill for the owner of the entity
+	 *                    of the second group, which must then be a projectile.
+	 */
+	private void collide(EcsGame game, int firstMask, int secondMask, boolean scoresKills) {
+		EcsWorld world = game.getWorld();
+		contactDetector.clear();
+		int first = 0;
+		int second = 0;
+		for (int a = 0; a < world.getArchetypeCount(); a++) {
+			Archetype archetype = world.getArchetype(a);
+			if (archetype.has(firstMask)) {
+				first = addBoxes(archetype, true, first);
+			} else if (archetype.has(secondMask)) {
+				second = addBoxes(archetype, false, second);
+			}
+		}
+		int contacts = contactDetector.detect();
+		for (int i = 0; i < contacts; i++) {
+			int hitter = secondEntities[contactDetector.getSecond(i)];
+			game.damage(firstEntities[contactDetector.getFirst(i)],
+					scoresKills ? world.get(hitter, Field.OWNER) : EcsGame.NO_PLAYER);
+			game.damage(hitter, EcsGame.NO_PLAYER);
+		}
+	}
+
+	/**
+	 * Damages a player's plane together with each entity with the given components that touches it.
+	 *
+	 * @param scoresKills Whether destroying one of the entities counts as a kill for the player.
+	 */
+	private void collideWithPlayer(EcsGame game, int plane, int mask, boolean scoresKills) {
+		EcsWorld world = game.getWorld();
+		if (!world.isAlive(plane)) {
+			return;
+		}
+		int scorer = scoresKills ? world.get(plane, Field.SLOT) : EcsGame.NO_PLAYER;
+		Archetype planeArchetype = world.archetypeOf(plane);
+		int planeRow = world.rowOf(plane);
+		int planeX = planeArchetype.column(Field.X)[planeRow];
+		int planeY = planeArchetype.column(Field.Y)[planeRow];
+		int planeWidth = planeArchetype.column(Field.WIDTH)[planeRow];
+		int planeHeight = planeArchetype.column(Field.HEIGHT)[planeRow];
+		for (int a = 0; a < world.getArchetypeCount(); a++) {
+			Archetype archetype = world.getArchetype(a);
+			if (!archetype.has(mask)) {
+				continue;
+			}
+			int n = archetype.size();
+			if (hits.length < n) {
+				hits = new int[Math.max(n, hits.length * 2)];
+			}
+			int found = game.getKernel().overlaps(archetype.column(Field.X), archetype.column(Field.Y),
+					archetype.column(Field.WIDTH), archetype.column(Field.HEIGHT), n,
+					planeX, planeY, planeWidth, planeHeight, hits);
+			for (int i = 0; i < found; i++) {
+				game.damage(archetype.entity(hits[i]), scorer);
+				game.damage(plane, EcsGame.NO_PLAYER);
+			}
+		}
+	}
+
+	/**
+	 * Adds the hitboxes of an archetype's entities to one of the contact detector's groups.
+	 *
+	 * @return The number of boxes in the group.
+	 */
+	private int addBoxes(Archetype archetype, boolean first, int count) {
+		int n = archetype.size();
+		if (first && firstEntities.length < count + n) {
+			firstEntities = Arrays.copyOf(firstEntities, Math.max(count + n, firstEntities.length * 2));
+		} else if (!first && secondEntities.length < count + n) {
+			secondEntities = Arrays.copyOf(secondEntities, Math.max(count + n, secondEntities.length * 2));
+		}
+		int[] entities = first ? firstEntities : secondEntities;
+		int[] x = archetype.column(Field.X);
+		int[] y = archetype.column(Field.Y);
+		int[] width = archetype.column(Field.WIDTH);
+		int[] height = archetype.column(Field.HEIGHT);
+		for (int i = 0; i < n; i++) {
+			entities[count] = archetype.entity(i);
+			if (first) {
+				contactDetector.addFirst(count, x[i], y[i], width[i], height[i]);
+			} else {
+				contactDetector.addSecond(count, x[i], y[i], width[i], height[i]);
+			}
+			count++;
+		}
+		return count;
+	}
+}
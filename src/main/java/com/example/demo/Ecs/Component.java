@@ -0,0 +1,72 @@
+package com.example.demo.Ecs;
+
+/**
+ * The components an entity can have. An entity's set of components decides which {@link Archetype} stores it, and
+ * systems select the entities they work on by the components they need.
+ * <p>
+ * Data components own one or more {@link Field}s, stored as columns of their archetype. Tag components mainly mark
+ * what an entity is, but {@link #PROJECTILE}, {@link #PLAYER} and {@link #BOSS} also hold the projectile's owner, the
+ * player's number and the index of the boss's script.
+ */
+public enum Component {
+
+	/** Where the entity is, and where it spawned. */
+	POSITION,
+
+	/** How far the entity moves each tick. */
+	VELOCITY,
+
+	/** How many hits the entity can take. */
+	HEALTH,
+
+	/** How long the entity ignores hits after taking one. */
+	INVINCIBILITY,
+
+	/** What the entity fires, from where and how often. */
+	WEAPON,
+
+	/** Whether the entity's shield is up, and for how long it has been. */
+	SHIELD,
+
+	/** What the entity looks like. */
+	SPRITE,
+
+	/** The entity is on the user's side. */
+	FRIENDLY,
+
+	/** The entity is on the enemy's side. */
+	HOSTILE,
+
+	/** The entity is a plane, which stays within the screen's vertical bounds. */
+	PLANE,
+
+	/** The entity is a projectile. */
+	PROJECTILE,
+
+	/** The entity is a player's plane, controlled by that player's input. */
+	PLAYER,
+
+	/** The entity is a boss, driven by a script. */
+	BOSS;
+
+	/**
+	 * @return The bit representing this component in a component mask.
+	 */
+	public int bit() {
+		return 1 << ordinal();
+	}
+
+	/**
+	 * Combines components into a mask.
+	 *
+	 * @param components The components.
+	 * @return The mask with the components' bits set.
+	 */
+	public static int mask(Component... components) {
+		int mask = 0;
+		for (Component component : components) {
+			mask |= component.bit();
+		}
+		return mask;
+	}
+}
@@ -0,0 +1,554 @@
+package com.example.demo.Ecs;
+
+import com.example.demo.Actor.Planes.Boss;
+import com.example.demo.Actor.Planes.BossScript;
+import com.example.demo.Actor.Planes.EnemyPlane;
+import com.example.demo.Actor.Planes.FighterPlane;
+import com.example.demo.Actor.Planes.UserPlane;
+import com.example.demo.Engine.BatchKernel;
+import com.example.demo.Engine.GameRandom;
+import com.example.demo.Level.LevelParent;
+import com.example.demo.Simulation.EntityKind;
+import com.example.demo.Simulation.Fixed;
+import com.example.demo.Simulation.InputCommand;
+import com.example.demo.Simulation.Outcome;
+import com.example.demo.Simulation.SimulationRules;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A level played on an {@link EcsWorld}: the behaviour of {@link UserPlane},
+ * {@link com.example.demo.Actor.Planes.EnemyPlane}, {@link Boss} and the projectiles, expressed as component data and
+ * a fixed list of {@link EcsSystem}s.
+ * <p>
+ * Instead of virtual {@code updatePosition} and {@code fireProjectile} calls on each actor, every tick runs the
+ * systems in order (input, spawning, boss scripts, movement, status timers, enemy fire, penetration and collisions),
+ * each walking the packed columns of the archetypes it needs, then removes destroyed entities and checks whether the
+ * level is over. Movement and the hit tests against the user's plane run on a {@link BatchKernel}. Invincibility
+ * after a hit is a tick count rather than a per-actor {@code AnimationTimer}; a renderer can flash an entity while its
+ * count is above zero. The game follows the same rules as
+ * {@link com.example.demo.Simulation.SimulationWorld}, with positions in {@link Fixed} point and all randomness taken
+ * from one {@link GameRandom}, so it is fully determined by its seed and inputs. A game is not thread-safe.
+ */
+public class EcsGame {
+
+	/** The owner of projectiles that no player fired. */
+	public static final int NO_PLAYER = -1;
+
+	static final int USER_VELOCITY = Fixed.of(UserPlane.VERTICAL_VELOCITY);
+	static final int Y_UPPER_BOUND = Fixed.of(FighterPlane.Y_UPPER_BOUND);
+	static final int Y_LOWER_BOUND = Fixed.of(FighterPlane.Y_LOWER_BOUND);
+
+	private static final int USER_X = Fixed.of(UserPlane.INITIAL_X_POSITION);
+	private static final int USER_Y = Fixed.of(UserPlane.INITIAL_Y_POSITION);
+	private static final int PLAYER_SPACING = Fixed.of(100);
+	private static final int USER_PROJECTILE_X_OFFSET =
+			Fixed.of(UserPlane.PROJECTILE_X_POSITION - UserPlane.INITIAL_X_POSITION);
+	private static final int USER_PROJECTILE_Y_OFFSET = Fixed.of(UserPlane.PROJECTILE_Y_POSITION_OFFSET);
+	private static final int BOSS_X = Fixed.of(Boss.INITIAL_X_POSITION);
+	private static final int BOSS_Y = Fixed.of(Boss.INITIAL_Y_POSITION);
+	private static final int BOSS_PROJECTILE_X_OFFSET = Fixed.of(Boss.PROJECTILE_X_POSITION_OFFSET);
+	private static final int BOSS_PROJECTILE_Y_OFFSET = Fixed.of(Boss.PROJECTILE_Y_POSITION_OFFSET);
+	private static final int ENEMY_PROJECTILE_X_OFFSET = Fixed.of(EnemyPlane.PROJECTILE_X_POSITION_OFFSET);
+	private static final int ENEMY_PROJECTILE_Y_OFFSET = Fixed.of(EnemyPlane.PROJECTILE_Y_POSITION_OFFSET);
+	private static final int ENEMY_FIRE_CHANCE = (int) Math.round(EnemyPlane.FIRE_RATE * 1_000_000); // Per million
+
+	private static final int PLANE = Component.mask(Component.POSITION, Component.VELOCITY, Component.HEALTH,
+			Component.INVINCIBILITY, Component.WEAPON, Component.SPRITE, Component.PLANE);
+	private static final int PROJECTILE = Component.mask(Component.POSITION, Component.VELOCITY, Component.HEALTH,
+			Component.SPRITE, Component.PROJECTILE);
+	private static final int USER = PLANE | Component.mask(Component.FRIENDLY, Component.PLAYER);
+	private static final int ENEMY_PLANE = PLANE | Component.HOSTILE.bit();
+	private static final int BOSS = ENEMY_PLANE | Component.mask(Component.SHIELD, Component.BOSS);
+	private static final int USER_PROJECTILE = PROJECTILE | Component.FRIENDLY.bit();
+	private static final int ENEMY_PROJECTILE = PROJECTILE | Component.HOSTILE.bit();
+	private static final int ENEMY_UNITS = Component.mask(Component.HOSTILE, Component.PLANE);
+	private static final int BOSSES = Component.BOSS.bit();
+	private static final Field[] FIELDS = Field.values();
+	private static final Outcome[] OUTCOMES = Outcome.values();
+	private static final long CHECKSUM_SEED = 0xCBF29CE484222325L;
+	private static final long CHECKSUM_PRIME = 0x100000001B3L;
+
+	private final SimulationRules rules;
+	private final int screenWidth;
+	private final double enemyMaximumY;
+	private final GameRandom random;
+	private final BatchKernel kernel = BatchKernel.best();
+	private final EcsWorld world = new EcsWorld();
+	private final List<BossScript> bossScripts = new ArrayList<>(); // May hold scripts of ticks rolled back
+	private final EcsSystem[] systems;
+	private final int[] players;
+	private final int[] directions;
+	private final boolean[] firing;
+	private final int[] playerKills;
+
+	private long tick;
+	private int kills;
+	private int bossScriptCount;
+	private boolean bossSpawned;
+	private Outcome outcome = Outcome.RUNNING;
+
+	/**
+	 * Constructs a game for a level, with the user's plane in its starting position.
+	 *
+	 * @param rules        The rules of the level.
+	 * @param screenHeight The height of the screen, in pixels.
+	 * @param screenWidth  The width of the screen, in pixels.
+	 * @param seed         The seed for every random decision in the game.
+	 */
+	public EcsGame(SimulationRules rules, double screenHeight, double screenWidth, long seed) {
+		this(rules, screenHeight, screenWidth, seed, 1);
+	}
+
+	/**
+	 * Constructs a game for a level played by several players, each flying their own plane. Players are numbered from
+	 * 0, and their planes start one above the other. Each player scores their own kills, so players can play together
+	 * or race each other for kills; the level is lost once every player's plane has been destroyed.
+	 *
+	 * @param rules        The rules of the level; every player starts with the rules' health.
+	 * @param screenHeight The height of the screen, in pixels.
+	 * @param screenWidth  The width of the screen, in pixels.
+	 * @param seed         The seed for every random decision in the game.
+	 * @param playerCount  The number of players.
+	 * @throws IllegalArgumentException If there are no players.
+	 */
+	public EcsGame(SimulationRules rules, double screenHeight, double screenWidth, long seed, int playerCount) {
+		if (playerCount < 1) {
+			throw new IllegalArgumentException("A game needs at least one player: " + playerCount);
+		}
+		this.rules = rules;
+		this.screenWidth = Fixed.of(screenWidth);
+		this.enemyMaximumY = screenHeight - LevelParent.SCREEN_HEIGHT_ADJUSTMENT;
+		this.random = new GameRandom(seed);
+		this.systems = new EcsSystem[] {
+				new PlayerSystem(),
+				new SpawnSystem(),
+				new BossSystem(),
+				new MovementSystem(),
+				new StatusSystem(),
+				new EnemyFireSystem(),
+				new PenetrationSystem(),
+				new CollisionSystem(Fixed.of(screenWidth), Fixed.of(screenHeight))
+		};
+		this.players = new int[playerCount];
+		this.directions = new int[playerCount];
+		this.firing = new boolean[playerCount];
+		this.playerKills = new int[playerCount];
+		for (int player = 0; player < playerCount; player++) {
+			players[player] = spawn(EntityKind.USER, USER_X, USER_Y + player * PLAYER_SPACING);
+			world.set(players[player], Field.HEALTH, rules.getPlayerHealth());
+			world.set(players[player], Field.SLOT, player);
+		}
+	}
+
+	/**
+	 * Applies one of the first player's inputs. Inputs are sampled by the next tick, as a level samples its held keys.
+	 *
+	 * @param command The input to apply.
+	 */
+	public void apply(InputCommand command) {
+		apply(0, command);
+	}
+
+	/**
+	 * Applies one of a player's inputs. Inputs are sampled by the next tick, as a level samples its held keys.
+	 *
+	 * @param player  The player, from 0 to {@link #getPlayerCount()} exclusive.
+	 * @param command The input to apply.
+	 */
+	public void apply(int player, InputCommand command) {
+		if (outcome != Outcome.RUNNING) {
+			return;
+		}
+		switch (command) {
+			case MOVE_UP -> directions[player] = -1;
+			case MOVE_DOWN -> directions[player] = 1;
+			case STOP -> directions[player] = 0;
+			case START_FIRING -> firing[player] = true;
+			case STOP_FIRING -> firing[player] = false;
+		}
+	}
+
+	/**
+	 * Runs one tick of the game. Does nothing once the level has been won or lost.
+	 */
+	public void step() {
+		if (outcome != Outcome.RUNNING) {
+			return;
+		}
+		tick++;
+		for (EcsSystem system : systems) {
+			system.update(this);
+		}
+		world.flush();
+		checkIfGameOver();
+	}
+
+	/**
+	 * Adds an entity of the given kind with the components and starting data of its actor class. Players' planes are
+	 * only created with the game.
+	 *
+	 * @param kind The kind of entity.
+	 * @param x    The horizontal position, in fixed point.
+	 * @param y    The vertical position, in fixed point.
+	 * @return The new entity.
+	 */
+	public int spawn(EntityKind kind, int x, int y) {
+		int entity = world.create(maskOf(kind));
+		Archetype archetype = world.archetypeOf(entity);
+		int row = world.rowOf(entity);
+		archetype.column(Field.X)[row] = x;
+		archetype.column(Field.Y)[row] = y;
+		archetype.column(Field.ORIGIN_X)[row] = x;
+		archetype.column(Field.VELOCITY_X)[row] = kind.getVelocityX();
+		archetype.column(Field.HEALTH)[row] = kind.getHealth();
+		archetype.column(Field.KIND)[row] = kind.ordinal();
+		archetype.column(Field.WIDTH)[row] = kind.getWidth();
+		archetype.column(Field.HEIGHT)[row] = kind.getHeight();
+		switch (kind) {
+			case USER -> arm(archetype, row, UserPlane.DEFAULT_FIRE_COOLDOWN_TICKS, 0,
+					EntityKind.USER_PROJECTILE, USER_PROJECTILE_X_OFFSET, USER_PROJECTILE_Y_OFFSET);
+			case ENEMY_PLANE -> arm(archetype, row, 0, ENEMY_FIRE_CHANCE,
+					EntityKind.ENEMY_PROJECTILE, ENEMY_PROJECTILE_X_OFFSET, ENEMY_PROJECTILE_Y_OFFSET);
+			case BOSS -> {
+				arm(archetype, row, 0, 0, EntityKind.BOSS_PROJECTILE, BOSS_PROJECTILE_X_OFFSET,
+						BOSS_PROJECTILE_Y_OFFSET);
+				archetype.column(Field.SCRIPT)[row] = bossScriptCount;
+				addBossScript(random.nextLong());
+			}
+			default -> {
+			}
+		}
+		return entity;
+	}
+
+	/**
+	 * Adds the script of a new boss. A script built before the game was restored to an earlier tick is reused if it
+	 * has the same seed, so re-simulating a boss's arrival does not allocate.
+	 */
+	private void addBossScript(long seed) {
+		if (bossScriptCount < bossScripts.size() && bossScripts.get(bossScriptCount).getSeed() == seed) {
+			bossScripts.get(bossScriptCount).restore(0, 0, 0, 0);
+		} else {
+			bossScripts.subList(bossScriptCount, bossScripts.size()).clear();
+			bossScripts.add(new BossScript(seed, Boss.defaultPhases()));
+		}
+		bossScriptCount++;
+	}
+
+	/**
+	 * Saves the game's full state at the end of the current tick into a snapshot, reusing its arrays.
+	 *
+	 * @param snapshot The snapshot to overwrite.
+	 */
+	public void save(EcsSnapshot snapshot) {
+		world.save(snapshot);
+		snapshot.tick = tick;
+		snapshot.kills = kills;
+		if (snapshot.playerKills.length != players.length) {
+			snapshot.playerKills = new int[players.length];
+			snapshot.directions = new int[players.length];
+			snapshot.firing = new boolean[players.length];
+		}
+		System.arraycopy(playerKills, 0, snapshot.playerKills, 0, players.length);
+		System.arraycopy(directions, 0, snapshot.directions, 0, players.length);
+		System.arraycopy(firing, 0, snapshot.firing, 0, players.length);
+		snapshot.bossSpawned = bossSpawned;
+		snapshot.outcome = outcome.ordinal();
+		snapshot.randomState = random.getState();
+		if (snapshot.bossScriptPositions.length < bossScriptCount * 4) {
+			snapshot.bossScriptPositions = new int[bossScriptCount * 4];
+		}
+		snapshot.bossScriptCount = bossScriptCount;
+		for (int i = 0; i < bossScriptCount; i++) {
+			BossScript script = bossScripts.get(i);
+			snapshot.bossScriptPositions[4 * i] = script.getPhaseIndex();
+			snapshot.bossScriptPositions[4 * i + 1] = script.getMoveCursor();
+			snapshot.bossScriptPositions[4 * i + 2] = script.getFireCursor();
+			snapshot.bossScriptPositions[4 * i + 3] = script.getShieldCursor();
+		}
+	}
+
+	/**
+	 * Puts the game back in the state saved in a snapshot, as if the ticks since had never run. Restoring does not
+	 * allocate, so a game can be rolled back and re-simulated every frame.
+	 *
+	 * @param snapshot A snapshot of this game.
+	 * @throws IllegalArgumentException If nothing has been saved into the snapshot, or it was taken from a game with
+	 *                                  a different number of players.
+	 */
+	public void restore(EcsSnapshot snapshot) {
+		if (snapshot.tick < 0 || snapshot.playerKills.length != players.length) {
+			throw new IllegalArgumentException("Snapshot was not taken from this game");
+		}
+		world.restore(snapshot);
+		tick = snapshot.tick;
+		kills = snapshot.kills;
+		System.arraycopy(snapshot.playerKills, 0, playerKills, 0, players.length);
+		System.arraycopy(snapshot.directions, 0, directions, 0, players.length);
+		System.arraycopy(snapshot.firing, 0, firing, 0, players.length);
+		bossSpawned = snapshot.bossSpawned;
+		outcome = OUTCOMES[snapshot.outcome];
+		random.setState(snapshot.randomState);
+		bossScriptCount = snapshot.bossScriptCount;
+		for (int i = 0; i < bossScriptCount; i++) {
+			bossScripts.get(i).restore(snapshot.bossScriptPositions[4 * i], snapshot.bossScriptPositions[4 * i + 1],
+					snapshot.bossScriptPositions[4 * i + 2], snapshot.bossScriptPositions[4 * i + 3]);
+		}
+	}
+
+	/**
+	 * Sets up the weapon of a new entity.
+	 */
+	private static void arm(Archetype archetype, int row, int cooldownTicks, int fireChance, EntityKind projectile,
+							int offsetX, int offsetY) {
+		archetype.column(Field.COOLDOWN_TICKS)[row] = cooldownTicks;
+		archetype.column(Field.FIRE_CHANCE)[row] = fireChance;
+		archetype.column(Field.PROJECTILE_KIND)[row] = projectile.ordinal();
+		archetype.column(Field.OFFSET_X)[row] = offsetX;
+		archetype.column(Field.OFFSET_Y)[row] = offsetY;
+	}
+
+	private static int maskOf(EntityKind kind) {
+		return switch (kind) {
+			case USER -> USER;
+			case ENEMY_PLANE -> ENEMY_PLANE;
+			case BOSS -> BOSS;
+			case USER_PROJECTILE -> USER_PROJECTILE;
+			case ENEMY_PROJECTILE, BOSS_PROJECTILE -> ENEMY_PROJECTILE;
+		};
+	}
+
+	/**
+	 * Fires an armed entity's weapon, spawning its projectile at the weapon's offset and starting its cooldown.
+	 *
+	 * @param archetype The archetype of the firing entity.
+	 * @param row       The firing entity's row.
+	 */
+	void fire(Archetype archetype, int row) {
+		archetype.column(Field.COOLDOWN_REMAINING)[row] = archetype.column(Field.COOLDOWN_TICKS)[row];
+		int owner = archetype.has(Component.PLAYER.bit()) ? archetype.column(Field.SLOT)[row] : NO_PLAYER;
+		int projectile = spawn(EntityKind.of(archetype.column(Field.PROJECTILE_KIND)[row]),
+				archetype.column(Field.X)[row] + archetype.column(Field.OFFSET_X)[row],
+				archetype.column(Field.Y)[row] + archetype.column(Field.OFFSET_Y)[row]);
+		world.set(projectile, Field.OWNER, owner);
+	}
+
+	/**
+	 * Spawns the level's boss.
+	 */
+	void spawnBoss() {
+		spawn(EntityKind.BOSS, BOSS_X, BOSS_Y);
+		bossSpawned = true;
+	}
+
+	/**
+	 * Takes one point of health from an entity, unless it is still invincible from an earlier hit or has its shield
+	 * up. Entities with the invincibility component that survive are made invincible for a while.
+	 *
+	 * @param entity The entity to damage.
+	 * @param scorer The player credited if the hit destroys an enemy, or {@link #NO_PLAYER}.
+	 */
+	void damage(int entity, int scorer) {
+		if (world.isDestroyed(entity)) {
+			return;
+		}
+		Archetype archetype = world.archetypeOf(entity);
+		int row = world.rowOf(entity);
+		boolean invincible = archetype.has(Component.INVINCIBILITY.bit())
+				&& archetype.column(Field.INVINCIBLE_TICKS)[row] > 0;
+		boolean shielded = archetype.has(Component.SHIELD.bit()) && archetype.column(Field.SHIELDED)[row] != 0;
+		if (invincible || shielded) {
+			return;
+		}
+		int[] health = archetype.column(Field.HEALTH);
+		health[row]--;
+		if (archetype.has(BOSSES)) {
+			getBossScript(archetype.column(Field.SCRIPT)[row]).updatePhase(health[row]);
+		}
+		if (health[row] <= 0) {
+			world.destroy(entity);
+			if (scorer != NO_PLAYER && archetype.has(ENEMY_UNITS)) {
+				kills++;
+				playerKills[scorer]++;
+			}
+		} else if (archetype.has(Component.INVINCIBILITY.bit())) {
+			archetype.column(Field.INVINCIBLE_TICKS)[row] = FighterPlane.INVINCIBILITY_TICKS;
+		}
+	}
+
+	/**
+	 * Ends the level if every player's plane has been destroyed or the players have met the level's win condition.
+	 */
+	private void checkIfGameOver() {
+		if (getPlayersLeft() == 0) {
+			outcome = Outcome.LOST;
+		} else if (rules.getKillTarget() > 0 && kills >= rules.getKillTarget()) {
+			outcome = Outcome.WON;
+		} else if (bossSpawned && world.count(BOSSES) == 0) {
+			outcome = Outcome.WON;
+		}
+	}
+
+	SimulationRules getRules() {
+		return rules;
+	}
+
+	BatchKernel getKernel() {
+		return kernel;
+	}
+
+	GameRandom getRandom() {
+		return random;
+	}
+
+	int getScreenWidth() {
+		return screenWidth;
+	}
+
+	double getEnemyMaximumY() {
+		return enemyMaximumY;
+	}
+
+	int getDirection(int player) {
+		return directions[player];
+	}
+
+	boolean isFiring(int player) {
+		return firing[player];
+	}
+
+	boolean isBossSpawned() {
+		return bossSpawned;
+	}
+
+	BossScript getBossScript(int index) {
+		return bossScripts.get(index);
+	}
+
+	/**
+	 * @return The world holding the game's entities.
+	 */
+	public EcsWorld getWorld() {
+		return world;
+	}
+
+	/**
+	 * @return The first player's plane.
+	 */
+	public int getUser() {
+		return players[0];
+	}
+
+	/**
+	 * @param player A player, from 0 to {@link #getPlayerCount()} exclusive.
+	 * @return The player's plane; the handle goes stale once the plane has been destroyed.
+	 */
+	public int getPlayer(int player) {
+		return players[player];
+	}
+
+	/**
+	 * @return The number of players.
+	 */
+	public int getPlayerCount() {
+		return players.length;
+	}
+
+	/**
+	 * @return The number of players whose plane has not been destroyed.
+	 */
+	public int getPlayersLeft() {
+		int left = 0;
+		for (int player : players) {
+			if (!world.isDestroyed(player)) {
+				left++;
+			}
+		}
+		return left;
+	}
+
+	/**
+	 * @return The number of ticks run so far.
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	/**
+	 * @return The number of entities, including the user's plane.
+	 */
+	public int getEntityCount() {
+		return world.size();
+	}
+
+	/**
+	 * @return The first player's remaining health.
+	 */
+	public int getUserHealth() {
+		return getHealth(0);
+	}
+
+	/**
+	 * @param player A player.
+	 * @return The player's remaining health.
+	 */
+	public int getHealth(int player) {
+		return world.isAlive(players[player]) ? world.get(players[player], Field.HEALTH) : 0;
+	}
+
+	/**
+	 * @return The number of enemies the players have destroyed.
+	 */
+	public int getKills() {
+		return kills;
+	}
+
+	/**
+	 * @param player A player.
+	 * @return The number of enemies the player has destroyed.
+	 */
+	public int getKills(int player) {
+		return playerKills[player];
+	}
+
+	/**
+	 * Computes a checksum of the game's state: every entity's data in storage order, the tick, the kills, the outcome
+	 * and the random generator's state. Two games that have stayed identical have the same checksum, so peers can
+	 * compare checksums to detect that their games have diverged.
+	 *
+	 * @return The checksum.
+	 */
+	public long checksum() {
+		long hash = mix(CHECKSUM_SEED, tick);
+		hash = mix(hash, kills);
+		hash = mix(hash, outcome.ordinal());
+		hash = mix(hash, random.getState());
+		for (int a = 0; a < world.getArchetypeCount(); a++) {
+			Archetype archetype = world.getArchetype(a);
+			int n = archetype.size();
+			hash = mix(hash, archetype.getMask());
+			hash = mix(hash, n);
+			for (Field field : FIELDS) {
+				if (archetype.has(field.getComponent().bit())) {
+					int[] column = archetype.column(field);
+					for (int i = 0; i < n; i++) {
+						hash = mix(hash, column[i]);
+					}
+				}
+			}
+		}
+		return hash;
+	}
+
+	private static long mix(long hash, long value) {
+		return (hash ^ value) * CHECKSUM_PRIME;
+	}
+
+	/**
+	 * @return The state of play.
+	 */
+	public Outcome getOutcome() {
+		return outcome;
+	}
+}
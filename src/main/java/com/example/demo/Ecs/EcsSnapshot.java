@@ -0,0 +1,82 @@
+package com.example.demo.Ecs;
+
+import java.util.Arrays;
+
+/**
+ * A copy of an {@link EcsGame}'s full state at the end of a tick, which the game can later be restored to.
+ * <p>
+ * A snapshot holds every archetype's rows, the world's entity slots, the random generator's state, the bosses' script
+ * positions and the game's counters. Its arrays are reused and only grow, so once a snapshot has held a game of a
+ * given size, saving into it again does not allocate. Snapshots are meant to be kept in a ring for rollback.
+ */
+public final class EcsSnapshot {
+
+	long tick = -1;
+	int kills;
+	int[] playerKills = new int[0];
+	int[] directions = new int[0];
+	boolean[] firing = new boolean[0];
+	boolean bossSpawned;
+	int outcome;
+	long randomState;
+	int bossScriptCount;
+	int[] bossScriptPositions = new int[0]; // Phase and cursors of each script, four ints per script
+
+	int archetypeCount;
+	int[] archetypeSizes = new int[0];
+	int[][] archetypeEntities = new int[0][];
+	int[][][] archetypeColumns = new int[0][][];
+
+	int slotCount;
+	int size;
+	int freeCount;
+	int[] generations = new int[0];
+	Archetype[] slotArchetypes = new Archetype[0];
+	int[] rows = new int[0];
+	boolean[] destroyed = new boolean[0];
+	int[] freeSlots = new int[0];
+
+	/**
+	 * @return The tick the snapshot was taken at, or {@code -1} if nothing has been saved into it.
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	/**
+	 * Makes room for the given number of archetypes.
+	 */
+	void ensureArchetypes(int count) {
+		if (archetypeSizes.length < count) {
+			archetypeSizes = Arrays.copyOf(archetypeSizes, count);
+			archetypeEntities = Arrays.copyOf(archetypeEntities, count);
+			archetypeColumns = Arrays.copyOf(archetypeColumns, count);
+		}
+	}
+
+	/**
+	 * Makes room for the given number of entity slots.
+	 */
+	void ensureSlots(int count) {
+		if (generations.length < count) {
+			generations = new int[count];
+			slotArchetypes = new Archetype[count];
+			rows = new int[count];
+			destroyed = new boolean[count];
+			freeSlots = new int[count];
+		}
+	}
+
+	/**
+	 * Copies the used part of an array into a reused one, growing it if needed.
+	 *
+	 * @return The array holding the copy.
+	 */
+	static int[] copy(int[] source, int length, int[] target) {
+		if (target == null || target.length < length) {
+			target = new int[Math.max(length, source.length)];
+		}
+		System.arraycopy(source, 0, target, 0, length);
+		return target;
+	}
+}
@@ -0,0 +1,14 @@
+package com.example.demo.Ecs;
+
+/**
+ * One step of an {@link EcsGame}'s tick, working on every entity that has the components it needs.
+ */
+public interface EcsSystem {
+
+	/**
+	 * Runs the system for one tick.
+	 *
+	 * @param game The game being ticked.
+	 */
+	void update(EcsGame game);
+}
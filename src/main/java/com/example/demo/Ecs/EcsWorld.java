@@ -0,0 +1,279 @@
+package com.example.demo.Ecs;
+
+import java.util.Arrays;
+
+/**
+ * Stores entities in {@link Archetype}s and hands out generational entity handles.
+ * <p>
+ * An entity is an {@code int} handle combining a slot with the slot's generation, like the handles of
+ * {@link com.example.demo.Actor.ActorRegistry}: a handle kept after its entity is gone never refers to another entity.
+ * Each slot records the archetype and row the entity is stored in. Destroying an entity only marks it; destroyed
+ * entities stay in their rows, so systems can keep iterating safely, until {@link #flush()} removes them at the end of
+ * the tick. A world is not thread-safe.
+ */
+public final class EcsWorld {
+
+	/** A handle that never refers to an entity. */
+	public static final int NO_ENTITY = 0;
+
+	private static final int SLOT_BITS = 20;
+	private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+	private static final int MAX_GENERATION = (1 << (31 - SLOT_BITS)) - 1;
+	private static final int INITIAL_CAPACITY = 64;
+
+	private Archetype[] archetypes = new Archetype[8];
+	private int archetypeCount;
+
+	private int[] generations = new int[INITIAL_CAPACITY];
+	private Archetype[] slotArchetypes = new Archetype[INITIAL_CAPACITY];
+	private int[] rows = new int[INITIAL_CAPACITY];
+	private boolean[] destroyed = new boolean[INITIAL_CAPACITY];
+	private int[] freeSlots = new int[INITIAL_CAPACITY];
+	private int freeCount;
+	private int slotCount;
+	private int size;
+	private int[] pending = new int[INITIAL_CAPACITY]; // Entities destroyed since the last flush
+	private int pendingCount;
+
+	/**
+	 * Creates an entity with the given components, every field set to zero.
+	 *
+	 * @param components The entity's component mask.
+	 * @return The entity's handle.
+	 * @throws IllegalStateException If the world is full.
+	 */
+	public int create(int components) {
+		int slot;
+		if (freeCount > 0) {
+			slot = freeSlots[--freeCount];
+		} else {
+			if (slotCount > SLOT_MASK) {
+				throw new IllegalStateException("Too many entities: " + slotCount);
+			}
+			if (slotCount == generations.length) {
+				growSlots();
+			}
+			slot = slotCount++;
+		}
+		generations[slot] = generations[slot] == MAX_GENERATION ? 1 : generations[slot] + 1;
+		int entity = (generations[slot] << SLOT_BITS) | slot;
+		Archetype archetype = archetype(components);
+		slotArchetypes[slot] = archetype;
+		rows[slot] = archetype.add(entity);
+		destroyed[slot] = false;
+		size++;
+		return entity;
+	}
+
+	/**
+	 * Returns whether a handle refers to an entity in the world, destroyed or not.
+	 *
+	 * @param entity The handle.
+	 * @return {@code true} if the entity has not been removed.
+	 */
+	public boolean isAlive(int entity) {
+		int slot = entity & SLOT_MASK;
+		return entity > 0 && slot < slotCount && slotArchetypes[slot] != null
+				&& generations[slot] == entity >>> SLOT_BITS;
+	}
+
+	/**
+	 * Marks an entity as destroyed. It stays in its archetype until the next {@link #flush()}.
+	 *
+	 * @param entity The entity; destroying a destroyed or removed entity has no effect.
+	 */
+	public void destroy(int entity) {
+		if (!isAlive(entity) || destroyed[entity & SLOT_MASK]) {
+			return;
+		}
+		destroyed[entity & SLOT_MASK] = true;
+		if (pendingCount == pending.length) {
+			pending = Arrays.copyOf(pending, pendingCount * 2);
+		}
+		pending[pendingCount++] = entity;
+	}
+
+	/**
+	 * @param entity An entity.
+	 * @return {@code true} if the entity has been destroyed or removed.
+	 */
+	public boolean isDestroyed(int entity) {
+		return !isAlive(entity) || destroyed[entity & SLOT_MASK];
+	}
+
+	/**
+	 * Removes every entity destroyed since the last flush.
+	 */
+	public void flush() {
+		for (int i = 0; i < pendingCount; i++) {
+			int slot = pending[i] & SLOT_MASK;
+			int moved = slotArchetypes[slot].remove(rows[slot]);
+			if (moved != NO_ENTITY) {
+				rows[moved & SLOT_MASK] = rows[slot];
+			}
+			slotArchetypes[slot] = null;
+			freeSlots[freeCount++] = slot;
+			size--;
+		}
+		pendingCount = 0;
+	}
+
+	/**
+	 * Copies every archetype and entity slot into a snapshot.
+	 *
+	 * @param snapshot The snapshot.
+	 * @throws IllegalStateException If entities have been destroyed since the last flush.
+	 */
+	void save(EcsSnapshot snapshot) {
+		if (pendingCount > 0) {
+			throw new IllegalStateException("Cannot save a world with destroyed entities not yet flushed");
+		}
+		snapshot.ensureArchetypes(archetypeCount);
+		snapshot.archetypeCount = archetypeCount;
+		for (int i = 0; i < archetypeCount; i++) {
+			archetypes[i].save(snapshot, i);
+		}
+		snapshot.ensureSlots(generations.length);
+		snapshot.slotCount = slotCount;
+		snapshot.size = size;
+		snapshot.freeCount = freeCount;
+		System.arraycopy(generations, 0, snapshot.generations, 0, slotCount);
+		System.arraycopy(slotArchetypes, 0, snapshot.slotArchetypes, 0, slotCount);
+		System.arraycopy(rows, 0, snapshot.rows, 0, slotCount);
+		System.arraycopy(destroyed, 0, snapshot.destroyed, 0, slotCount);
+		System.arraycopy(freeSlots, 0, snapshot.freeSlots, 0, freeCount);
+	}
+
+	/**
+	 * Puts every archetype and entity slot back as they were when a snapshot was taken. Archetypes created since are
+	 * emptied rather than removed, so restoring never allocates.
+	 *
+	 * @param snapshot A snapshot of this world.
+	 */
+	void restore(EcsSnapshot snapshot) {
+		for (int i = 0; i < archetypeCount; i++) {
+			if (i < snapshot.archetypeCount) {
+				archetypes[i].restore(snapshot, i);
+			} else {
+				archetypes[i].clear();
+			}
+		}
+		// Slots created since the snapshot are left as they are: they are beyond the restored slot count, and keep
+		// their generation so handles from the abandoned ticks never match the entities created again in their place
+		for (int slot = snapshot.slotCount; slot < slotCount; slot++) {
+			slotArchetypes[slot] = null;
+		}
+		slotCount = snapshot.slotCount;
+		size = snapshot.size;
+		freeCount = snapshot.freeCount;
+		pendingCount = 0;
+		System.arraycopy(snapshot.generations, 0, generations, 0, slotCount);
+		System.arraycopy(snapshot.slotArchetypes, 0, slotArchetypes, 0, slotCount);
+		System.arraycopy(snapshot.rows, 0, rows, 0, slotCount);
+		System.arraycopy(snapshot.destroyed, 0, destroyed, 0, slotCount);
+		System.arraycopy(snapshot.freeSlots, 0, freeSlots, 0, freeCount);
+	}
+
+	/**
+	 * @param entity A live entity.
+	 * @return The archetype the entity is stored in.
+	 */
+	public Archetype archetypeOf(int entity) {
+		return slotArchetypes[entity & SLOT_MASK];
+	}
+
+	/**
+	 * @param entity A live entity.
+	 * @return The row the entity is stored in.
+	 */
+	public int rowOf(int entity) {
+		return rows[entity & SLOT_MASK];
+	}
+
+	/**
+	 * Reads one field of an entity. Systems should prefer walking an archetype's columns.
+	 *
+	 * @param entity A live entity.
+	 * @param field  A field of one of the entity's components.
+	 * @return The field's value.
+	 */
+	public int get(int entity, Field field) {
+		return archetypeOf(entity).column(field)[rowOf(entity)];
+	}
+
+	/**
+	 * Writes one field of an entity.
+	 *
+	 * @param entity A live entity.
+	 * @param field  A field of one of the entity's components.
+	 * @param value  The new value.
+	 */
+	public void set(int entity, Field field, int value) {
+		archetypeOf(entity).column(field)[rowOf(entity)] = value;
+	}
+
+	/**
+	 * @return The number of archetypes, which only grows.
+	 */
+	public int getArchetypeCount() {
+		return archetypeCount;
+	}
+
+	/**
+	 * @param index The index of an archetype.
+	 * @return The archetype.
+	 */
+	public Archetype getArchetype(int index) {
+		return archetypes[index];
+	}
+
+	/**
+	 * Counts the entities with all the given components, destroyed or not.
+	 *
+	 * @param components A component mask.
+	 * @return The number of matching entities.
+	 */
+	public int count(int components) {
+		int count = 0;
+		for (int i = 0; i < archetypeCount; i++) {
+			if (archetypes[i].has(components)) {
+				count += archetypes[i].size();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return The number of entities, including destroyed ones not yet flushed.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the archetype for a component mask, creating it the first time. Games have a handful of archetypes, so
+	 * they are found by a linear search, which does not box the mask.
+	 */
+	private Archetype archetype(int components) {
+		for (int i = 0; i < archetypeCount; i++) {
+			if (archetypes[i].getMask() == components) {
+				return archetypes[i];
+			}
+		}
+		if (archetypeCount == archetypes.length) {
+			archetypes = Arrays.copyOf(archetypes, archetypeCount * 2);
+		}
+		Archetype archetype = new Archetype(components);
+		archetypes[archetypeCount++] = archetype;
+		return archetype;
+	}
+
+	private void growSlots() {
+		int capacity = generations.length * 2;
+		generations = Arrays.copyOf(generations, capacity);
+		slotArchetypes = Arrays.copyOf(slotArchetypes, capacity);
+		rows = Arrays.copyOf(rows, capacity);
+		destroyed = Arrays.copyOf(destroyed, capacity);
+		freeSlots = Arrays.copyOf(freeSlots, capacity);
+	}
+}
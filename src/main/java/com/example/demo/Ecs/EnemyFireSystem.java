@@ -0,0 +1,31 @@
+package com.example.demo.Ecs;
+
+/**
+ * Lets every armed enemy decide whether to fire: bosses follow their scripts, and other enemies fire at random with
+ * their weapon's chance.
+ */
+final class EnemyFireSystem implements EcsSystem {
+
+	private static final int MASK = Component.mask(Component.HOSTILE, Component.WEAPON);
+	private static final double PARTS_PER_MILLION = 1_000_000;
+
+	@Override
+	public void update(EcsGame game) {
+		EcsWorld world = game.getWorld();
+		for (int a = 0; a < world.getArchetypeCount(); a++) {
+			Archetype archetype = world.getArchetype(a);
+			if (!archetype.has(MASK)) {
+				continue;
+			}
+			boolean bosses = archetype.has(Component.BOSS.bit());
+			for (int i = 0, n = archetype.size(); i < n; i++) {
+				boolean fires = bosses
+						? game.getBossScript(archetype.column(Field.SCRIPT)[i]).nextFire()
+						: game.getRandom().nextDouble() * PARTS_PER_MILLION < archetype.column(Field.FIRE_CHANCE)[i];
+				if (fires) {
+					game.fire(archetype, i);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.example.demo.Ecs;
+
+/**
+ * The data stored for components, one {@code int} column per field in every archetype that has the field's component.
+ * Positions, velocities and weapon offsets are in fixed point (see {@link com.example.demo.Simulation.Fixed}).
+ */
+public enum Field {
+
+	X(Component.POSITION),
+	Y(Component.POSITION),
+	ORIGIN_X(Component.POSITION),
+	VELOCITY_X(Component.VELOCITY),
+	VELOCITY_Y(Component.VELOCITY),
+	HEALTH(Component.HEALTH),
+	INVINCIBLE_TICKS(Component.INVINCIBILITY),
+	COOLDOWN_TICKS(Component.WEAPON),
+	COOLDOWN_REMAINING(Component.WEAPON),
+	FIRE_CHANCE(Component.WEAPON), // Chance to fire each tick, in parts per million
+	PROJECTILE_KIND(Component.WEAPON),
+	OFFSET_X(Component.WEAPON),
+	OFFSET_Y(Component.WEAPON),
+	SHIELDED(Component.SHIELD),
+	SHIELD_FRAMES(Component.SHIELD),
+	KIND(Component.SPRITE), // Ordinal of the entity's EntityKind
+	WIDTH(Component.SPRITE), // Size of the hitbox, copied from the entity's kind so boxes can be tested in batches
+	HEIGHT(Component.SPRITE),
+	OWNER(Component.PROJECTILE), // Player who fired the projectile, or EcsGame.NO_PLAYER
+	SLOT(Component.PLAYER), // Number of the player flying the plane
+	SCRIPT(Component.BOSS); // Index of the boss's script in the game
+
+	private final Component component;
+
+	Field(Component component) {
+		this.component = component;
+	}
+
+	/**
+	 * @return The component the field belongs to.
+	 */
+	public Component getComponent() {
+		return component;
+	}
+}
@@ -0,0 +1,58 @@
+package com.example.demo.Ecs;
+
+import com.example.demo.Actor.Projectiles.Projectile;
+import com.example.demo.Simulation.Fixed;
+
+/**
+ * Moves every entity by its velocity. Planes do not move vertically out of the screen's bounds: a vertical move that
+ * would take them out is cancelled, as the actor classes do. Projectiles that fly further off the screen than
+ * {@link Projectile#CULL_MARGIN} are destroyed, as a level culls them.
+ */
+final class MovementSystem implements EcsSystem {
+
+	private static final int MASK = Component.mask(Component.POSITION, Component.VELOCITY);
+	private static final int CULL_MARGIN = Fixed.of(Projectile.CULL_MARGIN);
+
+	@Override
+	public void update(EcsGame game) {
+		EcsWorld world = game.getWorld();
+		for (int a = 0; a < world.getArchetypeCount(); a++) {
+			Archetype archetype = world.getArchetype(a);
+			if (!archetype.has(MASK)) {
+				continue;
+			}
+			int[] x = archetype.column(Field.X);
+			int[] y = archetype.column(Field.Y);
+			int[] velocityX = archetype.column(Field.VELOCITY_X);
+			int[] velocityY = archetype.column(Field.VELOCITY_Y);
+			int n = archetype.size();
+			game.getKernel().integrate(x, velocityX, n);
+			if (archetype.has(Component.PLANE.bit())) {
+				for (int i = 0; i < n; i++) {
+					int newY = y[i] + velocityY[i];
+					if (newY >= EcsGame.Y_UPPER_BOUND && newY <= EcsGame.Y_LOWER_BOUND) {
+						y[i] = newY;
+					}
+				}
+			} else {
+				game.getKernel().integrate(y, velocityY, n);
+			}
+			if (archetype.has(Component.PROJECTILE.bit())) {
+				cull(game, archetype, x, n);
+			}
+		}
+	}
+
+	/**
+	 * Destroys the projectiles of an archetype that are past the cull margin on either side of the screen.
+	 */
+	private static void cull(EcsGame game, Archetype archetype, int[] x, int n) {
+		int[] width = archetype.column(Field.WIDTH);
+		int right = game.getScreenWidth() + CULL_MARGIN;
+		for (int i = 0; i < n; i++) {
+			if (x[i] + width[i] < -CULL_MARGIN || x[i] > right) {
+				game.getWorld().destroy(archetype.entity(i));
+			}
+		}
+	}
+}
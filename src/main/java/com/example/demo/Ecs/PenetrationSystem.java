@@ -0,0 +1,32 @@
+package com.example.demo.Ecs;
+
+/**
+ * Destroys enemy planes that flew a screen width past where they spawned, damaging every player's plane for each. These
+ * enemies are not scored as kills.
+ */
+final class PenetrationSystem implements EcsSystem {
+
+	private static final int MASK = Component.mask(Component.HOSTILE, Component.PLANE, Component.POSITION);
+
+	@Override
+	public void update(EcsGame game) {
+		EcsWorld world = game.getWorld();
+		for (int a = 0; a < world.getArchetypeCount(); a++) {
+			Archetype archetype = world.getArchetype(a);
+			if (!archetype.has(MASK)) {
+				continue;
+			}
+			int[] x = archetype.column(Field.X);
+			int[] originX = archetype.column(Field.ORIGIN_X);
+			for (int i = 0, n = archetype.size(); i < n; i++) {
+				int entity = archetype.entity(i);
+				if (!world.isDestroyed(entity) && Math.abs(x[i] - originX[i]) > game.getScreenWidth()) {
+					for (int player = 0; player < game.getPlayerCount(); player++) {
+						game.damage(game.getPlayer(player), EcsGame.NO_PLAYER);
+					}
+					world.destroy(entity);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package com.example.demo.Ecs;
+
+/**
+ * Applies each player's input to their plane: sets its vertical velocity from the held direction and fires its weapon
+ * while fire is held and the weapon's cooldown has run out.
+ */
+final class PlayerSystem implements EcsSystem {
+
+	private static final int MASK = Component.mask(Component.PLAYER, Component.VELOCITY, Component.WEAPON);
+
+	@Override
+	public void update(EcsGame game) {
+		EcsWorld world = game.getWorld();
+		for (int a = 0; a < world.getArchetypeCount(); a++) {
+			Archetype archetype = world.getArchetype(a);
+			if (!archetype.has(MASK)) {
+				continue;
+			}
+			int[] velocityY = archetype.column(Field.VELOCITY_Y);
+			int[] cooldown = archetype.column(Field.COOLDOWN_REMAINING);
+			int[] slots = archetype.column(Field.SLOT);
+			for (int i = 0, n = archetype.size(); i < n; i++) {
+				velocityY[i] = EcsGame.USER_VELOCITY * game.getDirection(slots[i]);
+				if (game.isFiring(slots[i]) && cooldown[i] == 0) {
+					game.fire(archetype, i);
+					cooldown = archetype.column(Field.COOLDOWN_REMAINING);
+				}
+			}
+		}
+	}
+}
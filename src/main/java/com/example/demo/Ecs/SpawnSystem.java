@@ -0,0 +1,28 @@
+package com.example.demo.Ecs;
+
+import com.example.demo.Simulation.EntityKind;
+import com.example.demo.Simulation.Fixed;
+import com.example.demo.Simulation.SimulationRules;
+
+/**
+ * Spawns the boss once, if the level has one, and enemy planes while there are fewer enemies than the rules allow.
+ */
+final class SpawnSystem implements EcsSystem {
+
+	private static final int ENEMY_MASK = Component.mask(Component.HOSTILE, Component.PLANE);
+
+	@Override
+	public void update(EcsGame game) {
+		SimulationRules rules = game.getRules();
+		if (rules.isWithBoss() && !game.isBossSpawned()) {
+			game.spawnBoss();
+		}
+		int enemies = game.getWorld().count(ENEMY_MASK);
+		for (int i = 0; i < rules.getMaxEnemies() - enemies; i++) {
+			if (game.getRandom().nextDouble() < rules.getSpawnProbability()) {
+				game.spawn(EntityKind.ENEMY_PLANE, game.getScreenWidth(),
+						Fixed.of(game.getRandom().nextDouble() * game.getEnemyMaximumY()));
+			}
+		}
+	}
+}
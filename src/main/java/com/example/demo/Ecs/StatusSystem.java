@@ -0,0 +1,31 @@
+package com.example.demo.Ecs;
+
+/**
+ * Counts down invincibility and weapon cooldowns. Invincibility replaces the actors' per-instance timers, and the
+ * flashing that shows it is derived from the remaining ticks when drawing.
+ */
+final class StatusSystem implements EcsSystem {
+
+	@Override
+	public void update(EcsGame game) {
+		EcsWorld world = game.getWorld();
+		for (int a = 0; a < world.getArchetypeCount(); a++) {
+			Archetype archetype = world.getArchetype(a);
+			int n = archetype.size();
+			if (archetype.has(Component.INVINCIBILITY.bit())) {
+				countDown(archetype.column(Field.INVINCIBLE_TICKS), n);
+			}
+			if (archetype.has(Component.WEAPON.bit())) {
+				countDown(archetype.column(Field.COOLDOWN_REMAINING), n);
+			}
+		}
+	}
+
+	private static void countDown(int[] ticks, int n) {
+		for (int i = 0; i < n; i++) {
+			if (ticks[i] > 0) {
+				ticks[i]--;
+			}
+		}
+	}
+}
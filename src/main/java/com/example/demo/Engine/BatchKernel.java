@@ -0,0 +1,129 @@
+package com.example.demo.Engine;
+
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * Batch operations over entities held in primitive arrays: integrating positions and testing many boxes against one.
+ * <p>
+ * Two implementations give identical results. The vector kernel uses the incubating Vector API
+ * ({@code jdk.incubator.vector}) to process several entities per instruction. The module does not require the Vector
+ * API, since naming an incubating module makes every build warn: the vector kernel is only compiled by the
+ * {@code vector} build profile ({@code mvn -Pvector}), and is loaded reflectively when the application is run with
+ * {@code --add-modules jdk.incubator.vector}. Otherwise the scalar kernel is used, with loops simple enough for the
+ * JIT to vectorise where it can.
+ */
+public abstract class BatchKernel {
+
+	private static final Logger LOGGER = Logger.getLogger(BatchKernel.class.getName());
+	private static final String VECTOR_MODULE = "jdk.incubator.vector";
+	private static final String VECTOR_KERNEL = "com.example.demo.Engine.VectorBatchKernel";
+	private static final BatchKernel SCALAR = new ScalarBatchKernel();
+	private static BatchKernel best;
+	private static BatchKernel vector; // Null if the vector kernel could not be loaded
+	private static boolean vectorLoaded;
+
+	BatchKernel() {
+	}
+
+	/**
+	 * @return The kernel using plain loops, always available.
+	 */
+	public static BatchKernel scalar() {
+		return SCALAR;
+	}
+
+	/**
+	 * @return {@code true} if the vector kernel was built and the Vector API module has been enabled.
+	 */
+	public static boolean isVectorAvailable() {
+		return loadVector() != null;
+	}
+
+	/**
+	 * @return The kernel using the Vector API.
+	 * @throws IllegalStateException If the vector kernel was not built or the Vector API module has not been enabled.
+	 */
+	public static BatchKernel vector() {
+		BatchKernel kernel = loadVector();
+		if (kernel == null) {
+			throw new IllegalStateException("Build with -Pvector and run with --add-modules " + VECTOR_MODULE
+					+ " to use the vector kernel");
+		}
+		return kernel;
+	}
+
+	/**
+	 * Returns the vector kernel if it is available, and the scalar kernel otherwise. The choice is made, and logged,
+	 * on the first call.
+	 *
+	 * @return The fastest available kernel.
+	 */
+	public static synchronized BatchKernel best() {
+		if (best == null) {
+			BatchKernel kernel = loadVector();
+			best = kernel != null ? kernel : SCALAR;
+			LOGGER.info("Using the " + best.getName() + " batch kernel");
+		}
+		return best;
+	}
+
+	/**
+	 * Creates the vector kernel on the first call, if the Vector API module is present and the kernel was built.
+	 * This module does not declare that it reads the Vector API, so the read edge is added here before the kernel's
+	 * class is loaded.
+	 *
+	 * @return The vector kernel, or {@code null} if it is not available.
+	 */
+	private static synchronized BatchKernel loadVector() {
+		if (!vectorLoaded) {
+			vectorLoaded = true;
+			Optional<Module> module = ModuleLayer.boot().findModule(VECTOR_MODULE);
+			if (module.isPresent()) {
+				try {
+					BatchKernel.class.getModule().addReads(module.get());
+					vector = (BatchKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+				} catch (ClassNotFoundException e) {
+					LOGGER.info(VECTOR_MODULE + " is enabled but the vector kernel was not built; build with -Pvector");
+				} catch (ReflectiveOperationException | LinkageError e) {
+					LOGGER.warning("Vector API could not be loaded, using the scalar kernel: " + e);
+				}
+			}
+		}
+		return vector;
+	}
+
+	/**
+	 * @return A short name for the kernel, for logs and reports.
+	 */
+	public abstract String getName();
+
+	/**
+	 * Adds each entity's velocity to its position.
+	 *
+	 * @param position The positions, updated in place.
+	 * @param velocity The velocities.
+	 * @param count    The number of entities, from index 0.
+	 */
+	public abstract void integrate(int[] position, int[] velocity, int count);
+
+	/**
+	 * Finds the entities whose box touches one box. Touching edges count as an overlap, as in
+	 * {@link ContactDetector}.
+	 *
+	 * @param x         The left edges of the entities' boxes.
+	 * @param y         The top edges of the entities' boxes.
+	 * @param width     The widths of the entities' boxes.
+	 * @param height    The heights of the entities' boxes.
+	 * @param count     The number of entities, from index 0.
+	 * @param boxX      The left edge of the box tested against.
+	 * @param boxY      The top edge of the box tested against.
+	 * @param boxWidth  The width of the box tested against.
+	 * @param boxHeight The height of the box tested against.
+	 * @param hits      Receives the indices of the overlapping entities, in increasing order; at least {@code count}
+	 *                  long.
+	 * @return The number of overlapping entities.
+	 */
+	public abstract int overlaps(int[] x, int[] y, int[] width, int[] height, int count,
+								 int boxX, int boxY, int boxWidth, int boxHeight, int[] hits);
+}
@@ -0,0 +1,358 @@
+package com.example.demo.Engine;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Finds every overlapping pair between two groups of axis-aligned boxes, in an order that does not depend on how the
+ * work was split up.
+ * <p>
+ * Collision handling is done in two phases: this class detects the contacts, and the caller then applies their effects
+ * by walking the contacts in order. Each box is given a stable id by the caller, and the contacts are sorted by the id
+ * of the box from the first group, then by the id of the box from the second group, so applying them gives the same
+ * result however the detection was scheduled.
+ * <p>
+ * Detection is broken down over a uniform grid of cells covering the play area (boxes outside it fall into the border
+ * cells). Each box is listed in every cell it overlaps, and a pair is only reported by the cell containing the top-left
+ * corner of the two boxes' overlap, so each pair is found exactly once. When there are enough boxes the cells are
+ * split into chunks that are searched in parallel on a {@link ForkJoinPool}; otherwise they are searched on the
+ * calling thread. All storage is reused from one detection to the next, so once the arrays have grown to fit, detecting
+ * contacts does not allocate. A detector is not thread-safe; it is meant to be used by the thread running the level.
+ */
+public class ContactDetector {
+
+	private static final int DEFAULT_PARALLEL_THRESHOLD = 1024;
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private final double cellSize;
+	private final int columns;
+	private final int rows;
+	private final ForkJoinPool pool;
+	private final Group first;
+	private final Group second;
+	private final long[][] chunkContacts;
+	private final int[] chunkContactCounts;
+	private final ChunkTask[] chunkTasks;
+	private final RecursiveAction searchAllChunks;
+	private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+	private int contactCount;
+	private long[] contacts = new long[64];
+	private int[] contactFirst = new int[64];
+	private int[] contactSecond = new int[64];
+
+	/**
+	 * Constructs a detector for a play area, searching in parallel on the common fork-join pool.
+	 *
+	 * @param width    The width of the play area.
+	 * @param height   The height of the play area.
+	 * @param cellSize The width and height of a grid cell; roughly the size of the larger boxes works well.
+	 * @throws IllegalArgumentException If any of the sizes is not positive.
+	 */
+	public ContactDetector(double width, double height, double cellSize) {
+		this(width, height, cellSize, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Constructs a detector for a play area, searching in parallel on the given pool.
+	 *
+	 * @param width    The width of the play area.
+	 * @param height   The height of the play area.
+	 * @param cellSize The width and height of a grid cell.
+	 * @param pool     The pool large detections are run on.
+	 * @throws IllegalArgumentException If any of the sizes is not positive.
+	 */
+	public ContactDetector(double width, double height, double cellSize, ForkJoinPool pool) {
+		if (!(width > 0) || !(height > 0) || !(cellSize > 0)) {
+			throw new IllegalArgumentException("Sizes must be positive: " + width + "x" + height + ", " + cellSize);
+		}
+		this.cellSize = cellSize;
+		this.columns = (int) Math.ceil(width / cellSize);
+		this.rows = (int) Math.ceil(height / cellSize);
+		this.pool = pool;
+		this.first = new Group(columns * rows);
+		this.second = new Group(columns * rows);
+
+		int chunks = Math.max(1, Math.min(columns * rows, pool.getParallelism() * CHUNKS_PER_THREAD));
+		this.chunkContacts = new long[chunks][16];
+		this.chunkContactCounts = new int[chunks];
+		this.chunkTasks = new ChunkTask[chunks];
+		for (int i = 0; i < chunks; i++) {
+			chunkTasks[i] = new ChunkTask(i);
+		}
+		this.searchAllChunks = new RecursiveAction() {
+			@Override
+			protected void compute() {
+				for (ChunkTask task : chunkTasks) {
+					task.reinitialize();
+				}
+				invokeAll(chunkTasks);
+			}
+		};
+	}
+
+	/**
+	 * Sets how many boxes, counting both groups, there must be before cells are searched in parallel. Results are the
+	 * same either way.
+	 *
+	 * @param boxes The number of boxes; 0 always searches in parallel, {@link Integer#MAX_VALUE} never does.
+	 */
+	public void setParallelThreshold(int boxes) {
+		this.parallelThreshold = boxes;
+	}
+
+	/**
+	 * Removes every box from both groups, ready for the next detection.
+	 */
+	public void clear() {
+		first.count = 0;
+		second.count = 0;
+		contactCount = 0;
+	}
+
+	/**
+	 * Adds a box to the first group. Boxes are numbered in the order they are added, starting from 0.
+	 *
+	 * @param id     The stable id of the box's owner, which orders the contacts.
+	 * @param x      The left edge of the box.
+	 * @param y      The top edge of the box.
+	 * @param width  The width of the box.
+	 * @param height The height of the box.
+	 */
+	public void addFirst(int id, double x, double y, double width, double height) {
+		first.add(id, x, y, width, height);
+	}
+
+	/**
+	 * Adds a box to the second group. Boxes are numbered in the order they are added, starting from 0.
+	 *
+	 * @param id     The stable id of the box's owner, which orders the contacts.
+	 * @param x      The left edge of the box.
+	 * @param y      The top edge of the box.
+	 * @param width  The width of the box.
+	 * @param height The height of the box.
+	 */
+	public void addSecond(int id, double x, double y, double width, double height) {
+		second.add(id, x, y, width, height);
+	}
+
+	/**
+	 * Finds every pair of a box from the first group and a box from the second group that overlap or touch.
+	 *
+	 * @return The number of contacts found, which can then be read with {@link #getFirst} and {@link #getSecond}.
+	 */
+	public int detect() {
+		contactCount = 0;
+		if (first.count == 0 || second.count == 0) {
+			return 0;
+		}
+		first.index(this);
+		second.index(this);
+
+		if (first.count + second.count >= parallelThreshold && chunkTasks.length > 1) {
+			searchAllChunks.reinitialize();
+			pool.invoke(searchAllChunks);
+		} else {
+			for (int chunk = 0; chunk < chunkTasks.length; chunk++) {
+				searchChunk(chunk);
+			}
+		}
+
+		for (int chunk = 0; chunk < chunkTasks.length; chunk++) {
+			int found = chunkContactCounts[chunk];
+			if (contacts.length < contactCount + found) {
+				growContacts(contactCount + found);
+			}
+			System.arraycopy(chunkContacts[chunk], 0, contacts, contactCount, found);
+			contactCount += found;
+		}
+		Arrays.sort(contacts, 0, contactCount);
+		for (int i = 0; i < contactCount; i++) {
+			contactFirst[i] = first.byRank[(int) (contacts[i] >>> 32)];
+			contactSecond[i] = second.byRank[(int) contacts[i]];
+		}
+		return contactCount;
+	}
+
+	/**
+	 * @param contact The index of a contact, in the order contacts should be applied.
+	 * @return The number of the contact's box in the first group.
+	 */
+	public int getFirst(int contact) {
+		return contactFirst[contact];
+	}
+
+	/**
+	 * @param contact The index of a contact, in the order contacts should be applied.
+	 * @return The number of the contact's box in the second group.
+	 */
+	public int getSecond(int contact) {
+		return contactSecond[contact];
+	}
+
+	/**
+	 * Searches one chunk of the grid's cells, recording each contact as the ranks of its two boxes.
+	 */
+	private void searchChunk(int chunk) {
+		int cells = columns * rows;
+		int chunks = chunkTasks.length;
+		int from = (int) ((long) cells * chunk / chunks);
+		int to = (int) ((long) cells * (chunk + 1) / chunks);
+		long[] found = chunkContacts[chunk];
+		int foundCount = 0;
+		for (int cell = from; cell < to; cell++) {
+			for (int i = first.cellStart[cell]; i < first.cellStart[cell + 1]; i++) {
+				int a = first.cellItems[i];
+				for (int j = second.cellStart[cell]; j < second.cellStart[cell + 1]; j++) {
+					int b = second.cellItems[j];
+					if (overlap(a, b) && ownerCell(a, b) == cell) {
+						if (foundCount == found.length) {
+							found = Arrays.copyOf(found, found.length * 2);
+							chunkContacts[chunk] = found;
+						}
+						found[foundCount++] = ((long) first.rank[a] << 32) | second.rank[b];
+					}
+				}
+			}
+		}
+		chunkContactCounts[chunk] = foundCount;
+	}
+
+	/**
+	 * Tests two boxes for overlap, counting touching edges as overlapping.
+	 */
+	private boolean overlap(int a, int b) {
+		return second.maxX[b] >= first.minX[a] && second.maxY[b] >= first.minY[a]
+				&& second.minX[b] <= first.maxX[a] && second.minY[b] <= first.maxY[a];
+	}
+
+	/**
+	 * Returns the one cell that reports a pair: the cell holding the top-left corner of the two boxes' overlap.
+	 */
+	private int ownerCell(int a, int b) {
+		int column = column(Math.max(first.minX[a], second.minX[b]));
+		int row = row(Math.max(first.minY[a], second.minY[b]));
+		return row * columns + column;
+	}
+
+	private int column(double x) {
+		return Math.max(0, Math.min(columns - 1, (int) Math.floor(x / cellSize)));
+	}
+
+	private int row(double y) {
+		return Math.max(0, Math.min(rows - 1, (int) Math.floor(y / cellSize)));
+	}
+
+	private void growContacts(int capacity) {
+		int newCapacity = Math.max(capacity, contacts.length * 2);
+		contacts = Arrays.copyOf(contacts, newCapacity);
+		contactFirst = Arrays.copyOf(contactFirst, newCapacity);
+		contactSecond = Arrays.copyOf(contactSecond, newCapacity);
+	}
+
+	/**
+	 * Searches one chunk of cells as part of a parallel detection.
+	 */
+	private final class ChunkTask extends RecursiveAction {
+
+		private final int chunk;
+
+		private ChunkTask(int chunk) {
+			this.chunk = chunk;
+		}
+
+		@Override
+		protected void compute() {
+			searchChunk(chunk);
+		}
+	}
+
+	/**
+	 * One group of boxes, with the grid cells each box overlaps and the boxes' order by id.
+	 */
+	private static final class Group {
+
+		private int count;
+		private int[] ids = new int[64];
+		private double[] minX = new double[64];
+		private double[] minY = new double[64];
+		private double[] maxX = new double[64];
+		private double[] maxY = new double[64];
+		private int[] rank = new int[64]; // Position of each box when sorted by id
+		private int[] byRank = new int[64]; // Box at each position when sorted by id
+		private long[] sortKeys = new long[64];
+		private final int[] cellStart; // Boxes in cell c are cellItems[cellStart[c]] to cellItems[cellStart[c + 1] - 1]
+		private final int[] cellFill;
+		private int[] cellItems = new int[64];
+
+		private Group(int cells) {
+			this.cellStart = new int[cells + 1];
+			this.cellFill = new int[cells];
+		}
+
+		private void add(int id, double x, double y, double width, double height) {
+			if (count == ids.length) {
+				int capacity = count * 2;
+				ids = Arrays.copyOf(ids, capacity);
+				minX = Arrays.copyOf(minX, capacity);
+				minY = Arrays.copyOf(minY, capacity);
+				maxX = Arrays.copyOf(maxX, capacity);
+				maxY = Arrays.copyOf(maxY, capacity);
+				rank = Arrays.copyOf(rank, capacity);
+				byRank = Arrays.copyOf(byRank, capacity);
+				sortKeys = Arrays.copyOf(sortKeys, capacity);
+			}
+			ids[count] = id;
+			minX[count] = x;
+			minY[count] = y;
+			maxX[count] = x + width;
+			maxY[count] = y + height;
+			count++;
+		}
+
+		/**
+		 * Ranks the boxes by id, breaking ties by the order they were added, and lists them in the cells they overlap.
+		 */
+		private void index(ContactDetector grid) {
+			for (int i = 0; i < count; i++) {
+				sortKeys[i] = ((long) ids[i] << 32) | i;
+			}
+			Arrays.sort(sortKeys, 0, count);
+			for (int position = 0; position < count; position++) {
+				int box = (int) sortKeys[position];
+				rank[box] = position;
+				byRank[position] = box;
+			}
+
+			Arrays.fill(cellStart, 0);
+			int memberships = 0;
+			for (int i = 0; i < count; i++) {
+				int columnFrom = grid.column(minX[i]);
+				int columnTo = grid.column(maxX[i]);
+				for (int row = grid.row(minY[i]); row <= grid.row(maxY[i]); row++) {
+					for (int column = columnFrom; column <= columnTo; column++) {
+						cellStart[row * grid.columns + column + 1]++;
+						memberships++;
+					}
+				}
+			}
+			for (int cell = 0; cell < cellFill.length; cell++) {
+				cellStart[cell + 1] += cellStart[cell];
+				cellFill[cell] = cellStart[cell];
+			}
+			if (cellItems.length < memberships) {
+				cellItems = new int[Math.max(memberships, cellItems.length * 2)];
+			}
+			for (int i = 0; i < count; i++) {
+				int columnFrom = grid.column(minX[i]);
+				int columnTo = grid.column(maxX[i]);
+				for (int row = grid.row(minY[i]); row <= grid.row(maxY[i]); row++) {
+					for (int column = columnFrom; column <= columnTo; column++) {
+						cellItems[cellFill[row * grid.columns + column]++] = i;
+					}
+				}
+			}
+		}
+	}
+}
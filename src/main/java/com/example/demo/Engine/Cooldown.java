@@ -0,0 +1,72 @@
+package com.example.demo.Engine;
+
+/**
+ * Limits how often something can happen to once every so many game loop ticks, such as a weapon firing.
+ * <p>
+ * A cooldown counts down as the game loop calls {@link #tick()}, so the rate follows the game's own time: it is the
+ * same at any frame or keyboard repeat rate, and it stops while the game is paused.
+ */
+public class Cooldown {
+
+	private int ticks;
+	private int remaining;
+
+	/**
+	 * Constructs a cooldown that is ready immediately.
+	 *
+	 * @param ticks The number of ticks after each use before the next one is allowed.
+	 * @throws IllegalArgumentException If the number of ticks is negative.
+	 */
+	public Cooldown(int ticks) {
+		setTicks(ticks);
+	}
+
+	/**
+	 * Changes the number of ticks between uses. A cooldown already running is not shortened or lengthened.
+	 *
+	 * @param ticks The number of ticks after each use before the next one is allowed.
+	 * @throws IllegalArgumentException If the number of ticks is negative.
+	 */
+	public void setTicks(int ticks) {
+		if (ticks < 0) {
+			throw new IllegalArgumentException("Cooldown must not be negative: " + ticks);
+		}
+		this.ticks = ticks;
+	}
+
+	/**
+	 * @return The number of ticks after each use before the next one is allowed.
+	 */
+	public int getTicks() {
+		return ticks;
+	}
+
+	/**
+	 * Advances the cooldown by one tick.
+	 */
+	public void tick() {
+		if (remaining > 0) {
+			remaining--;
+		}
+	}
+
+	/**
+	 * Uses the cooldown if it is ready.
+	 *
+	 * @return {@code true} if it was ready, in which case it starts counting down again; {@code false} otherwise.
+	 */
+	public boolean tryUse() {
+		if (remaining > 0) {
+			return false;
+		}
+		remaining = ticks;
+		return true;
+	}
+
+	/**
+	 * Makes the cooldown ready immediately.
+	 */
+	public void reset() {
+		remaining = 0;
+	}
+}
@@ -0,0 +1,208 @@
+package com.example.demo.Engine;
+
+import java.util.Arrays;
+
+/**
+ * Predicts which actors moving horizontally at a constant velocity overlap a fixed band of x, so that only those need
+ * testing against whatever occupies the band.
+ * <p>
+ * An actor launched at tick {@code t0} from {@code originX} with velocity {@code v} is at
+ * {@code originX + v * (t - t0)} at tick {@code t}, so the ticks during which it touches the band follow in closed form
+ * when it is added. The window is widened by a tick on each side so that rounding never makes it too short; the exact
+ * test is still made against the actor's bounds, only on fewer ticks. Actors waiting to enter are kept in a heap by
+ * the tick they enter, and those in the band in order of id, so {@link #advanceTo(long)} costs nothing for actors far
+ * from the band. Nothing is allocated unless an actor is added beyond the current capacity.
+ */
+public class CrossingSchedule {
+
+	private static final int INITIAL_CAPACITY = 16;
+	private static final double MAX_TICKS = 1e15; // Far beyond any game, and safe to convert to a long
+
+	private final double bandMinX;
+	private final double bandMaxX;
+
+	private int[] pendingIds = new int[INITIAL_CAPACITY]; // Min-heap by entry tick
+	private long[] pendingEntries = new long[INITIAL_CAPACITY];
+	private long[] pendingExits = new long[INITIAL_CAPACITY];
+	private int pendingCount;
+
+	private int[] activeIds = new int[INITIAL_CAPACITY]; // Sorted by id
+	private long[] activeExits = new long[INITIAL_CAPACITY];
+	private int activeCount;
+
+	/**
+	 * Constructs a schedule for a band of x.
+	 *
+	 * @param bandMinX The left edge of the band.
+	 * @param bandMaxX The right edge of the band.
+	 * @throws IllegalArgumentException If the right edge is left of the left edge.
+	 */
+	public CrossingSchedule(double bandMinX, double bandMaxX) {
+		if (!(bandMaxX >= bandMinX)) {
+			throw new IllegalArgumentException("Invalid band " + bandMinX + " to " + bandMaxX);
+		}
+		this.bandMinX = bandMinX;
+		this.bandMaxX = bandMaxX;
+	}
+
+	/**
+	 * Schedules an actor's crossing of the band. Touching edges count as overlapping, as in
+	 * {@link ContactDetector}.
+	 *
+	 * @param id         The actor's id, returned by {@link #getActive(int)} while it may be in the band.
+	 * @param launchTick The tick at which the actor is at {@code originX}.
+	 * @param originX    The actor's left edge at the launch tick.
+	 * @param width      The actor's width.
+	 * @param velocity   The distance the actor moves each tick, negative to the left.
+	 * @return {@code false} if the actor never touches the band from the launch tick on, in which case it is not kept.
+	 */
+	public boolean add(int id, long launchTick, double originX, double width, double velocity) {
+		double first;
+		double last;
+		if (velocity == 0) {
+			if (originX + width < bandMinX || originX > bandMaxX) {
+				return false;
+			}
+			first = 0;
+			last = MAX_TICKS;
+		} else {
+			// Ticks after launch at which the right edge is not left of the band, and the left edge not right of it
+			double rightEdgeIn = (bandMinX - width - originX) / velocity;
+			double leftEdgeIn = (bandMaxX - originX) / velocity;
+			first = Math.min(rightEdgeIn, leftEdgeIn);
+			last = Math.min(Math.max(rightEdgeIn, leftEdgeIn), MAX_TICKS);
+		}
+		long exit = (long) Math.floor(last) + 1;
+		if (exit < 0) {
+			return false;
+		}
+		long entry = Math.max(0, (long) Math.ceil(Math.max(first, -1)) - 1);
+		push(id, launchTick + entry, launchTick + exit);
+		return true;
+	}
+
+	/**
+	 * Brings the actors in the band up to a tick: those whose window has passed leave, and those whose window has begun
+	 * join. Ticks must not go backwards.
+	 *
+	 * @param tick The current tick.
+	 */
+	public void advanceTo(long tick) {
+		int kept = 0;
+		for (int i = 0; i < activeCount; i++) {
+			if (activeExits[i] >= tick) {
+				activeIds[kept] = activeIds[i];
+				activeExits[kept] = activeExits[i];
+				kept++;
+			}
+		}
+		activeCount = kept;
+		while (pendingCount > 0 && pendingEntries[0] <= tick) {
+			int id = pendingIds[0];
+			long exit = pendingExits[0];
+			pop();
+			if (exit >= tick) {
+				insertActive(id, exit);
+			}
+		}
+	}
+
+	/**
+	 * @return The number of actors that may be in the band at the current tick.
+	 */
+	public int getActiveCount() {
+		return activeCount;
+	}
+
+	/**
+	 * @param index The index of an actor that may be in the band, less than {@link #getActiveCount()}.
+	 * @return The actor's id. Ids are in ascending order.
+	 */
+	public int getActive(int index) {
+		return activeIds[index];
+	}
+
+	/**
+	 * @return The number of actors that have yet to reach the band.
+	 */
+	public int getPendingCount() {
+		return pendingCount;
+	}
+
+	/**
+	 * Forgets every actor.
+	 */
+	public void clear() {
+		pendingCount = 0;
+		activeCount = 0;
+	}
+
+	private void insertActive(int id, long exit) {
+		if (activeCount == activeIds.length) {
+			activeIds = Arrays.copyOf(activeIds, activeCount * 2);
+			activeExits = Arrays.copyOf(activeExits, activeCount * 2);
+		}
+		int index = Arrays.binarySearch(activeIds, 0, activeCount, id);
+		if (index < 0) {
+			index = -index - 1;
+		}
+		System.arraycopy(activeIds, index, activeIds, index + 1, activeCount - index);
+		System.arraycopy(activeExits, index, activeExits, index + 1, activeCount - index);
+		activeIds[index] = id;
+		activeExits[index] = exit;
+		activeCount++;
+	}
+
+	private void push(int id, long entry, long exit) {
+		if (pendingCount == pendingIds.length) {
+			pendingIds = Arrays.copyOf(pendingIds, pendingCount * 2);
+			pendingEntries = Arrays.copyOf(pendingEntries, pendingCount * 2);
+			pendingExits = Arrays.copyOf(pendingExits, pendingCount * 2);
+		}
+		int child = pendingCount++;
+		while (child > 0) {
+			int parent = (child - 1) / 2;
+			if (pendingEntries[parent] <= entry) {
+				break;
+			}
+			movePending(parent, child);
+			child = parent;
+		}
+		setPending(child, id, entry, exit);
+	}
+
+	private void pop() {
+		pendingCount--;
+		int id = pendingIds[pendingCount];
+		long entry = pendingEntries[pendingCount];
+		long exit = pendingExits[pendingCount];
+		int parent = 0;
+		while (true) {
+			int child = parent * 2 + 1;
+			if (child >= pendingCount) {
+				break;
+			}
+			if (child + 1 < pendingCount && pendingEntries[child + 1] < pendingEntries[child]) {
+				child++;
+			}
+			if (entry <= pendingEntries[child]) {
+				break;
+			}
+			movePending(child, parent);
+			parent = child;
+		}
+		if (pendingCount > 0) {
+			setPending(parent, id, entry, exit);
+		}
+	}
+
+	private void movePending(int from, int to) {
+		setPending(to, pendingIds[from], pendingEntries[from], pendingExits[from]);
+	}
+
+	private void setPending(int index, int id, long entry, long exit) {
+		pendingIds[index] = id;
+		pendingEntries[index] = entry;
+		pendingExits[index] = exit;
+	}
+}
@@ -0,0 +1,87 @@
+package com.example.demo.Engine;
+
+/**
+ * A small, fast pseudo-random number generator whose whole state is a single {@code long}.
+ * <p>
+ * Levels use one {@code GameRandom} for all gameplay decisions (enemy spawns and enemy fire) so that the state can be
+ * captured in a snapshot and restored later, and so that a run can be replayed from its seed. The generator is the
+ * xorshift64* algorithm; it is not thread-safe and is meant to be used from the thread running the level.
+ */
+public class GameRandom {
+
+	private static final long MULTIPLIER = 0x2545F4914F6CDD1DL;
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+	private long state;
+
+	/**
+	 * Constructs a generator from the given seed.
+	 *
+	 * @param seed The seed; any value is accepted.
+	 */
+	public GameRandom(long seed) {
+		setState(mix(seed));
+	}
+
+	/**
+	 * Returns the next pseudo-random value, uniformly distributed in {@code [0, 1)}.
+	 *
+	 * @return The next double value.
+	 */
+	public double nextDouble() {
+		return (nextLong() >>> 11) * DOUBLE_UNIT;
+	}
+
+	/**
+	 * Returns the next pseudo-random value, uniformly distributed in {@code [0, bound)}.
+	 *
+	 * @param bound The exclusive upper bound; must be positive.
+	 * @return The next int value.
+	 */
+	public int nextInt(int bound) {
+		return (int) ((nextLong() >>> 33) * bound >>> 31);
+	}
+
+	/**
+	 * Returns the next pseudo-random 64-bit value.
+	 *
+	 * @return The next long value.
+	 */
+	public long nextLong() {
+		long x = state;
+		x ^= x >>> 12;
+		x ^= x << 25;
+		x ^= x >>> 27;
+		state = x;
+		return x * MULTIPLIER;
+	}
+
+	/**
+	 * Returns the generator's complete internal state.
+	 *
+	 * @return The current state.
+	 */
+	public long getState() {
+		return state;
+	}
+
+	/**
+	 * Restores a state previously returned by {@link #getState()}.
+	 *
+	 * @param state The state to restore; zero is replaced by a fixed non-zero value because xorshift cannot leave it.
+	 */
+	public void setState(long state) {
+		this.state = state != 0 ? state : GOLDEN_GAMMA;
+	}
+
+	/**
+	 * Spreads the bits of a seed so that nearby seeds produce unrelated sequences.
+	 */
+	private static long mix(long seed) {
+		long z = seed + GOLDEN_GAMMA;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,33 @@
+package com.example.demo.Engine;
+
+/**
+ * The {@link BatchKernel} using plain loops over the arrays.
+ */
+final class ScalarBatchKernel extends BatchKernel {
+
+	@Override
+	public String getName() {
+		return "scalar";
+	}
+
+	@Override
+	public void integrate(int[] position, int[] velocity, int count) {
+		for (int i = 0; i < count; i++) {
+			position[i] += velocity[i];
+		}
+	}
+
+	@Override
+	public int overlaps(int[] x, int[] y, int[] width, int[] height, int count,
+						int boxX, int boxY, int boxWidth, int boxHeight, int[] hits) {
+		int boxRight = boxX + boxWidth;
+		int boxBottom = boxY + boxHeight;
+		int found = 0;
+		for (int i = 0; i < count; i++) {
+			if (x[i] + width[i] >= boxX && y[i] + height[i] >= boxY && x[i] <= boxRight && y[i] <= boxBottom) {
+				hits[found++] = i;
+			}
+		}
+		return found;
+	}
+}
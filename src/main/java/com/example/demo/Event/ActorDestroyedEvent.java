@@ -0,0 +1,45 @@
+package com.example.demo.Event;
+
+import com.example.demo.Actor.ActiveActorDestructible;
+
+/**
+ * Published when an actor is destroyed, together with the cause of its destruction.
+ */
+public final class ActorDestroyedEvent extends GameEvent {
+
+	private ActiveActorDestructible actor;
+	private DestructionCause cause;
+
+	/**
+	 * Constructs an empty event; instances are only created by the {@link GameEventBus}.
+	 */
+	ActorDestroyedEvent() {
+	}
+
+	/**
+	 * Fills the event before it is dispatched.
+	 */
+	void set(ActiveActorDestructible actor, DestructionCause cause) {
+		this.actor = actor;
+		this.cause = cause;
+	}
+
+	/**
+	 * @return The actor that was destroyed.
+	 */
+	public ActiveActorDestructible getActor() {
+		return actor;
+	}
+
+	/**
+	 * @return Why the actor was destroyed.
+	 */
+	public DestructionCause getCause() {
+		return cause;
+	}
+
+	@Override
+	public GameEventType getType() {
+		return GameEventType.ACTOR_DESTROYED;
+	}
+}
@@ -0,0 +1,45 @@
+package com.example.demo.Event;
+
+import com.example.demo.Actor.ActiveActorDestructible;
+
+/**
+ * Published when a plane loses health.
+ */
+public final class DamageTakenEvent extends GameEvent {
+
+	private ActiveActorDestructible actor;
+	private int remainingHealth;
+
+	/**
+	 * Constructs an empty event; instances are only created by the {@link GameEventBus}.
+	 */
+	DamageTakenEvent() {
+	}
+
+	/**
+	 * Fills the event before it is dispatched.
+	 */
+	void set(ActiveActorDestructible actor, int remainingHealth) {
+		this.actor = actor;
+		this.remainingHealth = remainingHealth;
+	}
+
+	/**
+	 * @return The plane that took damage.
+	 */
+	public ActiveActorDestructible getActor() {
+		return actor;
+	}
+
+	/**
+	 * @return The health the plane has left after the hit.
+	 */
+	public int getRemainingHealth() {
+		return remainingHealth;
+	}
+
+	@Override
+	public GameEventType getType() {
+		return GameEventType.DAMAGE_TAKEN;
+	}
+}
@@ -0,0 +1,16 @@
+package com.example.demo.Event;
+
+/**
+ * Describes why an actor was destroyed.
+ */
+public enum DestructionCause {
+
+	/** The actor was hit by a projectile, or was a projectile that hit something. */
+	PROJECTILE_HIT,
+
+	/** The actor collided with a plane from the other side. */
+	PLANE_COLLISION,
+
+	/** The actor was an enemy that flew past the user's defenses. */
+	PENETRATION
+}
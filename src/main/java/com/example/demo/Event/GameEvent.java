@@ -0,0 +1,17 @@
+package com.example.demo.Event;
+
+/**
+ * Base class for all events published on a {@link GameEventBus}.
+ * <p>
+ * Event objects are preallocated by the bus and reused for every publication, so listeners must read what they need
+ * during {@link GameEventListener#onEvent(GameEvent)} and must not keep a reference to the event afterwards.
+ */
+public abstract class GameEvent {
+
+	/**
+	 * Returns the type of this event.
+	 *
+	 * @return The {@link GameEventType} carried by this event.
+	 */
+	public abstract GameEventType getType();
+}
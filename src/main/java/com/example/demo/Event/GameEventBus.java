@@ -0,0 +1,168 @@
+package com.example.demo.Event;
+
+import com.example.demo.Actor.ActiveActorDestructible;
+
+import java.util.Arrays;
+
+/**
+ * A typed, synchronous event bus for gameplay events.
+ * <p>
+ * Listeners are registered per event class and kept in one array per {@link GameEventType}. Each event type has a
+ * single preallocated event object that is filled and dispatched in place, so publishing an event does not allocate.
+ * Subscribing and unsubscribing copy the listener array, which makes it safe to change subscriptions from inside a
+ * listener. Publishing an event of a type that is already being dispatched is not supported because it would
+ * overwrite the shared event object.
+ */
+public class GameEventBus {
+
+	private static final GameEventType[] TYPES = GameEventType.values();
+	private static final GameEventListener<?>[] NO_LISTENERS = new GameEventListener<?>[0];
+
+	private final GameEventListener<?>[][] listeners = new GameEventListener<?>[TYPES.length][];
+	private final boolean[] dispatching = new boolean[TYPES.length];
+
+	private final ActorDestroyedEvent actorDestroyed = new ActorDestroyedEvent();
+	private final DamageTakenEvent damageTaken = new DamageTakenEvent();
+	private final ProjectileFiredEvent projectileFired = new ProjectileFiredEvent();
+	private final ShieldChangedEvent shieldChanged = new ShieldChangedEvent();
+	private final LevelCompletedEvent levelCompleted = new LevelCompletedEvent();
+	private final LevelFailedEvent levelFailed = new LevelFailedEvent();
+
+	/**
+	 * Constructs an empty event bus.
+	 */
+	public GameEventBus() {
+		Arrays.fill(listeners, NO_LISTENERS);
+	}
+
+	/**
+	 * Registers a listener for events of the given class.
+	 *
+	 * @param eventClass The class of events to listen for.
+	 * @param listener   The listener to register.
+	 * @param <E>        The event type.
+	 */
+	public <E extends GameEvent> void subscribe(Class<E> eventClass, GameEventListener<? super E> listener) {
+		int index = GameEventType.of(eventClass).ordinal();
+		GameEventListener<?>[] current = listeners[index];
+		GameEventListener<?>[] updated = Arrays.copyOf(current, current.length + 1);
+		updated[current.length] = listener;
+		listeners[index] = updated;
+	}
+
+	/**
+	 * Removes a listener previously registered for events of the given class.
+	 *
+	 * @param eventClass The class of events the listener was registered for.
+	 * @param listener   The listener to remove.
+	 * @param <E>        The event type.
+	 */
+	public <E extends GameEvent> void unsubscribe(Class<E> eventClass, GameEventListener<? super E> listener) {
+		int index = GameEventType.of(eventClass).ordinal();
+		GameEventListener<?>[] current = listeners[index];
+		for (int i = 0; i < current.length; i++) {
+			if (current[i] == listener) {
+				GameEventListener<?>[] updated = new GameEventListener<?>[current.length - 1];
+				System.arraycopy(current, 0, updated, 0, i);
+				System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+				listeners[index] = updated;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Removes every listener from the bus.
+	 */
+	public void clear() {
+		Arrays.fill(listeners, NO_LISTENERS);
+	}
+
+	/**
+	 * Publishes that an actor was destroyed.
+	 *
+	 * @param actor The destroyed actor.
+	 * @param cause Why the actor was destroyed.
+	 */
+	public void publishActorDestroyed(ActiveActorDestructible actor, DestructionCause cause) {
+		actorDestroyed.set(actor, cause);
+		dispatch(actorDestroyed);
+		actorDestroyed.set(null, null);
+	}
+
+	/**
+	 * Publishes that a plane lost health.
+	 *
+	 * @param actor           The plane that took damage.
+	 * @param remainingHealth The health the plane has left.
+	 */
+	public void publishDamageTaken(ActiveActorDestructible actor, int remainingHealth) {
+		damageTaken.set(actor, remainingHealth);
+		dispatch(damageTaken);
+		damageTaken.set(null, 0);
+	}
+
+	/**
+	 * Publishes that a plane fired a projectile.
+	 *
+	 * @param shooter    The plane that fired.
+	 * @param projectile The projectile that was fired.
+	 */
+	public void publishProjectileFired(ActiveActorDestructible shooter, ActiveActorDestructible projectile) {
+		projectileFired.set(shooter, projectile);
+		dispatch(projectileFired);
+		projectileFired.set(null, null);
+	}
+
+	/**
+	 * Publishes that a boss raised or lowered its shield.
+	 *
+	 * @param actor    The actor whose shield changed.
+	 * @param shielded {@code true} if the shield was raised, {@code false} if it was lowered.
+	 */
+	public void publishShieldChanged(ActiveActorDestructible actor, boolean shielded) {
+		shieldChanged.set(actor, shielded);
+		dispatch(shieldChanged);
+		shieldChanged.set(null, false);
+	}
+
+	/**
+	 * Publishes that the level was completed.
+	 *
+	 * @param nextLevel The fully qualified class name of the next level, or {@code null} if the game has been won.
+	 */
+	public void publishLevelCompleted(String nextLevel) {
+		levelCompleted.set(nextLevel);
+		dispatch(levelCompleted);
+		levelCompleted.set(null);
+	}
+
+	/**
+	 * Publishes that the level was lost.
+	 */
+	public void publishLevelFailed() {
+		dispatch(levelFailed);
+	}
+
+	/**
+	 * Dispatches an event to every listener registered for its type.
+	 *
+	 * @param event The event to dispatch.
+	 * @throws IllegalStateException If an event of the same type is already being dispatched.
+	 */
+	@SuppressWarnings("unchecked")
+	private <E extends GameEvent> void dispatch(E event) {
+		int index = event.getType().ordinal();
+		if (dispatching[index]) {
+			throw new IllegalStateException("Nested publication of " + event.getType() + " is not supported");
+		}
+		dispatching[index] = true;
+		try {
+			for (GameEventListener<?> listener : listeners[index]) {
+				((GameEventListener<E>) listener).onEvent(event);
+			}
+		} finally {
+			dispatching[index] = false;
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package com.example.demo.Event;
+
+/**
+ * Receives events of a single type from a {@link GameEventBus}.
+ *
+ * @param <E> The type of event this listener handles.
+ */
+@FunctionalInterface
+public interface GameEventListener<E extends GameEvent> {
+
+	/**
+	 * Handles a published event.
+	 * <p>
+	 * Events are dispatched synchronously on the publishing thread. The event object is reused by the bus and must
+	 * not be retained after this method returns.
+	 *
+	 * @param event The published event.
+	 */
+	void onEvent(E event);
+}
@@ -0,0 +1,50 @@
+package com.example.demo.Event;
+
+/**
+ * Enumerates the kinds of events published on a {@link GameEventBus}.
+ * <p>
+ * Each type is bound to the single event class that carries it, which lets the bus keep one listener array per type
+ * and look listeners up by ordinal when an event is published.
+ */
+public enum GameEventType {
+
+	/** An actor was destroyed; see {@link ActorDestroyedEvent}. */
+	ACTOR_DESTROYED(ActorDestroyedEvent.class),
+
+	/** A plane lost health; see {@link DamageTakenEvent}. */
+	DAMAGE_TAKEN(DamageTakenEvent.class),
+
+	/** A plane fired a projectile; see {@link ProjectileFiredEvent}. */
+	PROJECTILE_FIRED(ProjectileFiredEvent.class),
+
+	/** A boss raised or lowered its shield; see {@link ShieldChangedEvent}. */
+	SHIELD_CHANGED(ShieldChangedEvent.class),
+
+	/** The level was completed; see {@link LevelCompletedEvent}. */
+	LEVEL_COMPLETED(LevelCompletedEvent.class),
+
+	/** The level was lost; see {@link LevelFailedEvent}. */
+	LEVEL_FAILED(LevelFailedEvent.class);
+
+	private final Class<? extends GameEvent> eventClass;
+
+	GameEventType(Class<? extends GameEvent> eventClass) {
+		this.eventClass = eventClass;
+	}
+
+	/**
+	 * Finds the type carried by the given event class.
+	 *
+	 * @param eventClass The event class to look up.
+	 * @return The matching event type.
+	 * @throws IllegalArgumentException If the class is not a known event class.
+	 */
+	public static GameEventType of(Class<? extends GameEvent> eventClass) {
+		for (GameEventType type : values()) {
+			if (type.eventClass == eventClass) {
+				return type;
+			}
+		}
+		throw new IllegalArgumentException("Unknown event class: " + eventClass.getName());
+	}
+}
@@ -0,0 +1,44 @@
+package com.example.demo.Event;
+
+/**
+ * Published when the user completes a level.
+ * <p>
+ * The event names the level to load next, or carries {@code null} when the completed level was the last one and
+ * the game has been won.
+ */
+public final class LevelCompletedEvent extends GameEvent {
+
+	private String nextLevel;
+
+	/**
+	 * Constructs an empty event; instances are only created by the {@link GameEventBus}.
+	 */
+	LevelCompletedEvent() {
+	}
+
+	/**
+	 * Fills the event before it is dispatched.
+	 */
+	void set(String nextLevel) {
+		this.nextLevel = nextLevel;
+	}
+
+	/**
+	 * @return The fully qualified class name of the next level, or {@code null} if the game has been won.
+	 */
+	public String getNextLevel() {
+		return nextLevel;
+	}
+
+	/**
+	 * @return {@code true} if there is no next level, meaning the game has been won.
+	 */
+	public boolean isGameWon() {
+		return nextLevel == null;
+	}
+
+	@Override
+	public GameEventType getType() {
+		return GameEventType.LEVEL_COMPLETED;
+	}
+}
@@ -0,0 +1,18 @@
+package com.example.demo.Event;
+
+/**
+ * Published when the user's plane is destroyed and the level is lost.
+ */
+public final class LevelFailedEvent extends GameEvent {
+
+	/**
+	 * Constructs the event; instances are only created by the {@link GameEventBus}.
+	 */
+	LevelFailedEvent() {
+	}
+
+	@Override
+	public GameEventType getType() {
+		return GameEventType.LEVEL_FAILED;
+	}
+}
@@ -0,0 +1,45 @@
+package com.example.demo.Event;
+
+import com.example.demo.Actor.ActiveActorDestructible;
+
+/**
+ * Published when a plane fires a projectile that enters the level.
+ */
+public final class ProjectileFiredEvent extends GameEvent {
+
+	private ActiveActorDestructible shooter;
+	private ActiveActorDestructible projectile;
+
+	/**
+	 * Constructs an empty event; instances are only created by the {@link GameEventBus}.
+	 */
+	ProjectileFiredEvent() {
+	}
+
+	/**
+	 * Fills the event before it is dispatched.
+	 */
+	void set(ActiveActorDestructible shooter, ActiveActorDestructible projectile) {
+		this.shooter = shooter;
+		this.projectile = projectile;
+	}
+
+	/**
+	 * @return The plane that fired.
+	 */
+	public ActiveActorDestructible getShooter() {
+		return shooter;
+	}
+
+	/**
+	 * @return The projectile that was fired.
+	 */
+	public ActiveActorDestructible getProjectile() {
+		return projectile;
+	}
+
+	@Override
+	public GameEventType getType() {
+		return GameEventType.PROJECTILE_FIRED;
+	}
+}
@@ -0,0 +1,45 @@
+package com.example.demo.Event;
+
+import com.example.demo.Actor.ActiveActorDestructible;
+
+/**
+ * Published when a boss raises or lowers its shield.
+ */
+public final class ShieldChangedEvent extends GameEvent {
+
+	private ActiveActorDestructible actor;
+	private boolean shielded;
+
+	/**
+	 * Constructs an empty event; instances are only created by the {@link GameEventBus}.
+	 */
+	ShieldChangedEvent() {
+	}
+
+	/**
+	 * Fills the event before it is dispatched.
+	 */
+	void set(ActiveActorDestructible actor, boolean shielded) {
+		this.actor = actor;
+		this.shielded = shielded;
+	}
+
+	/**
+	 * @return The actor whose shield changed.
+	 */
+	public ActiveActorDestructible getActor() {
+		return actor;
+	}
+
+	/**
+	 * @return {@code true} if the shield was raised, {@code false} if it was lowered.
+	 */
+	public boolean isShielded() {
+		return shielded;
+	}
+
+	@Override
+	public GameEventType getType() {
+		return GameEventType.SHIELD_CHANGED;
+	}
+}
@@ -0,0 +1,58 @@
+package com.example.demo.Input;
+
+import javafx.scene.input.KeyCode;
+
+/**
+ * The actions the player can take in a level, each bound to a key.
+ */
+public enum GameAction {
+
+	/** Moves the user's plane up while held. */
+	MOVE_UP(KeyCode.UP),
+
+	/** Moves the user's plane down while held. */
+	MOVE_DOWN(KeyCode.DOWN),
+
+	/** Fires the user's weapon while held, as often as its cooldown allows. */
+	FIRE(KeyCode.SPACE),
+
+	/** Pauses or resumes the game when pressed. */
+	PAUSE(KeyCode.P);
+
+	private static final GameAction[] VALUES = values();
+
+	private final KeyCode key;
+
+	GameAction(KeyCode key) {
+		this.key = key;
+	}
+
+	/**
+	 * @return The key the action is bound to.
+	 */
+	public KeyCode getKey() {
+		return key;
+	}
+
+	/**
+	 * @return The bit representing the action in an {@link InputState}.
+	 */
+	int bit() {
+		return 1 << ordinal();
+	}
+
+	/**
+	 * Returns the action bound to a key.
+	 *
+	 * @param key The key.
+	 * @return The action, or {@code null} if the key is not bound to one.
+	 */
+	public static GameAction of(KeyCode key) {
+		for (GameAction action : VALUES) {
+			if (action.key == key) {
+				return action;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,131 @@
+package com.example.demo.Input;
+
+import com.example.demo.Engine.Cooldown;
+import javafx.scene.input.KeyEvent;
+
+/**
+ * The state of the player's controls, updated by key events and sampled once per game loop tick.
+ * <p>
+ * Key events only record which actions are held and which were pressed since they were last handled; they never act
+ * on the game directly. The game loop then reads the held actions once per tick, so continuous actions such as moving
+ * and firing happen at the tick rate whatever the keyboard's auto-repeat rate, and a missed release is corrected by the
+ * next one instead of leaving the plane moving. Presses are buffered until handled, so edge-triggered actions such as
+ * pausing are neither lost between ticks nor repeated by auto-repeat, and a key tapped within a single tick still
+ * counts. Both sets of actions are kept as bits, so
+ * recording and sampling input never allocates.
+ */
+public class InputState {
+
+	private int held;
+	private int pressed;
+
+	/**
+	 * Records a key press. Repeated presses of a key that is already held, as sent by keyboard auto-repeat, do not
+	 * count as new presses.
+	 *
+	 * @param event The key event.
+	 */
+	public void keyPressed(KeyEvent event) {
+		GameAction action = GameAction.of(event.getCode());
+		if (action != null) {
+			press(action);
+		}
+	}
+
+	/**
+	 * Records a key release.
+	 *
+	 * @param event The key event.
+	 */
+	public void keyReleased(KeyEvent event) {
+		GameAction action = GameAction.of(event.getCode());
+		if (action != null) {
+			release(action);
+		}
+	}
+
+	/**
+	 * Records that an action's key went down.
+	 *
+	 * @param action The action.
+	 */
+	public void press(GameAction action) {
+		if ((held & action.bit()) == 0) {
+			pressed |= action.bit();
+		}
+		held |= action.bit();
+	}
+
+	/**
+	 * Records that an action's key went up.
+	 *
+	 * @param action The action.
+	 */
+	public void release(GameAction action) {
+		held &= ~action.bit();
+	}
+
+	/**
+	 * Returns whether an action's key is held down.
+	 *
+	 * @param action The action.
+	 * @return {@code true} if the key is held.
+	 */
+	public boolean isHeld(GameAction action) {
+		return (held & action.bit()) != 0;
+	}
+
+	/**
+	 * Returns whether an action's key has been pressed since this was last called for the action, and marks the press
+	 * as handled.
+	 *
+	 * @param action The action.
+	 * @return {@code true} if there was an unhandled press.
+	 */
+	public boolean consumePress(GameAction action) {
+		boolean wasPressed = (pressed & action.bit()) != 0;
+		pressed &= ~action.bit();
+		return wasPressed;
+	}
+
+	/**
+	 * Returns whether a repeatable action, such as firing, should happen this tick, and if so marks its press as
+	 * handled.
+	 * <p>
+	 * The action happens while its key is held, and once for a press even if the key was released before the tick, as
+	 * far as the cooldown allows. A press is only marked handled once the action happens, so a tap during the cooldown
+	 * acts as soon as the cooldown ends.
+	 *
+	 * @param action   The action.
+	 * @param cooldown The cooldown limiting how often the action happens.
+	 * @return {@code true} if the action should happen, in which case the cooldown has been used.
+	 */
+	public boolean tryAct(GameAction action, Cooldown cooldown) {
+		if (!isHeld(action) && (pressed & action.bit()) == 0) {
+			return false;
+		}
+		if (!cooldown.tryUse()) {
+			return false;
+		}
+		pressed &= ~action.bit();
+		return true;
+	}
+
+	/**
+	 * Returns the vertical direction the held keys ask for.
+	 *
+	 * @return -1 to move up, 1 to move down, or 0 when neither or both are held.
+	 */
+	public int getVerticalDirection() {
+		return (isHeld(GameAction.MOVE_DOWN) ? 1 : 0) - (isHeld(GameAction.MOVE_UP) ? 1 : 0);
+	}
+
+	/**
+	 * Forgets every held key and unhandled press, for when key releases may not arrive, such as while a menu has the
+	 * focus.
+	 */
+	public void reset() {
+		held = 0;
+		pressed = 0;
+	}
+}
@@ -0,0 +1,195 @@
+package com.example.demo.Level;
+
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * Bounds the number of live actors a level keeps in each {@link Category}, so that the cost of a tick is bounded however
+ * fast the player fires or enemies spawn.
+ * <p>
+ * When an actor would take its category past the limit, the category's {@link OverflowPolicy} decides what happens,
+ * and the overflow is counted by policy so that the level can show it. Each category has a default limit and policy,
+ * which the system property {@code cw2024.budget.<category>} overrides with a limit, optionally followed by a comma and
+ * a policy, for example {@code -Dcw2024.budget.enemyProjectiles=100,drop_oldest}.
+ */
+public final class ActorBudget {
+
+	/** Prefix of the system properties that override a category's limit and policy. */
+	public static final String BUDGET_PROPERTY_PREFIX = "cw2024.budget.";
+
+	private static final Logger LOGGER = Logger.getLogger(ActorBudget.class.getName());
+
+	/**
+	 * The kinds of actors with a budget of their own. Bosses are never budgeted.
+	 */
+	public enum Category {
+
+		/** Projectiles fired by the user; one is fired for each key press, so a full budget refuses more. */
+		USER_PROJECTILES("userProjectiles", 60, OverflowPolicy.REFUSE),
+
+		/** Projectiles fired by enemy planes and bosses; a full budget merges new ones into those in flight. */
+		ENEMY_PROJECTILES("enemyProjectiles", 200, OverflowPolicy.MERGE),
+
+		/** Enemy planes other than bosses; a full budget refuses to spawn more. */
+		ENEMIES("enemies", 30, OverflowPolicy.REFUSE);
+
+		private final String propertyName;
+		private final int defaultLimit;
+		private final OverflowPolicy defaultPolicy;
+
+		Category(String propertyName, int defaultLimit, OverflowPolicy defaultPolicy) {
+			this.propertyName = propertyName;
+			this.defaultLimit = defaultLimit;
+			this.defaultPolicy = defaultPolicy;
+		}
+
+		/**
+		 * @return The name of the category in its system property.
+		 */
+		public String getPropertyName() {
+			return propertyName;
+		}
+
+		/**
+		 * @return Whether the category holds projectiles, which are the only actors that can be merged.
+		 */
+		public boolean isProjectile() {
+			return this != ENEMIES;
+		}
+	}
+
+	/**
+	 * What a level does with an actor that would take its category past the limit.
+	 */
+	public enum OverflowPolicy {
+
+		/** The oldest live actor of the category is removed, unscored, to make room. */
+		DROP_OLDEST,
+
+		/** The new actor is not added. */
+		REFUSE,
+
+		/**
+		 * The new projectile is not added; instead the live projectile of the category nearest to it takes on its hit,
+		 * and lands both at once. Only projectiles can be merged.
+		 */
+		MERGE
+	}
+
+	private static final Category[] CATEGORIES = Category.values();
+	private static final OverflowPolicy[] POLICIES = OverflowPolicy.values();
+
+	private final int[] limits = new int[CATEGORIES.length];
+	private final OverflowPolicy[] policies = new OverflowPolicy[CATEGORIES.length];
+	private final long[] hits = new long[CATEGORIES.length];
+	private final long[] handled = new long[POLICIES.length];
+
+	/**
+	 * Creates a budget with each category's default limit and policy, or those set by its system property.
+	 */
+	public ActorBudget() {
+		for (Category category : CATEGORIES) {
+			limits[category.ordinal()] = category.defaultLimit;
+			policies[category.ordinal()] = category.defaultPolicy;
+			String value = System.getProperty(BUDGET_PROPERTY_PREFIX + category.propertyName);
+			if (value != null) {
+				try {
+					String[] parts = value.split(",", 2);
+					OverflowPolicy policy = parts.length > 1
+							? OverflowPolicy.valueOf(parts[1].trim().toUpperCase(Locale.ROOT))
+							: category.defaultPolicy;
+					setLimit(category, Integer.parseInt(parts[0].trim()), policy);
+				} catch (IllegalArgumentException e) {
+					LOGGER.warning("Ignoring " + BUDGET_PROPERTY_PREFIX + category.propertyName + "=" + value + ": "
+							+ e.getMessage());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sets a category's limit and what happens when it is reached.
+	 *
+	 * @param category The category.
+	 * @param limit    The most live actors of the category.
+	 * @param policy   What to do with an actor that would exceed the limit.
+	 * @throws IllegalArgumentException if the limit is not positive, or the policy merges actors that are not
+	 *                                  projectiles.
+	 */
+	public void setLimit(Category category, int limit, OverflowPolicy policy) {
+		if (limit <= 0) {
+			throw new IllegalArgumentException("Budget for " + category + " must be positive: " + limit);
+		}
+		if (policy == OverflowPolicy.MERGE && !category.isProjectile()) {
+			throw new IllegalArgumentException("Only projectiles can be merged, not " + category);
+		}
+		limits[category.ordinal()] = limit;
+		policies[category.ordinal()] = policy;
+	}
+
+	/**
+	 * @param category The category.
+	 * @return The most live actors of the category.
+	 */
+	public int getLimit(Category category) {
+		return limits[category.ordinal()];
+	}
+
+	/**
+	 * @param category The category.
+	 * @return What happens to an actor that would exceed the category's limit.
+	 */
+	public OverflowPolicy getPolicy(Category category) {
+		return policies[category.ordinal()];
+	}
+
+	/**
+	 * Returns whether a category has no room for another actor.
+	 *
+	 * @param category   The category.
+	 * @param actorCount The number of actors of the category in play.
+	 * @return {@code true} if adding one more would exceed the limit.
+	 */
+	public boolean isFull(Category category, int actorCount) {
+		return actorCount >= limits[category.ordinal()];
+	}
+
+	/**
+	 * Counts an actor that met a full budget, and how it was handled.
+	 *
+	 * @param category The actor's category.
+	 * @param policy   How the overflow was handled: the category's policy, or {@link OverflowPolicy#REFUSE} when
+	 *                 there was nothing to drop or merge into.
+	 */
+	public void recordHit(Category category, OverflowPolicy policy) {
+		hits[category.ordinal()]++;
+		handled[policy.ordinal()]++;
+	}
+
+	/**
+	 * @param category The category.
+	 * @return The number of actors of the category that met a full budget.
+	 */
+	public long getHits(Category category) {
+		return hits[category.ordinal()];
+	}
+
+	/**
+	 * @param policy A policy.
+	 * @return The number of overflowing actors handled by the policy, across all categories.
+	 */
+	public long getHandled(OverflowPolicy policy) {
+		return handled[policy.ordinal()];
+	}
+
+	/**
+	 * @return The number of actors of every category that met a full budget.
+	 */
+	public long getTotalHits() {
+		long total = 0;
+		for (long categoryHits : hits) {
+			total += categoryHits;
+		}
+		return total;
+	}
+}
@@ -0,0 +1,43 @@
+package com.example.demo.Level;
+
+import com.example.demo.Actor.ActiveActorDestructible;
+import com.example.demo.Input.InputState;
+import java.util.List;
+
+/**
+ * Plays levels in place of the player, for unattended runs such as soak tests.
+ * <p>
+ * An autopilot installed with {@link LevelParent#installAutopilot(Autopilot)} is handed every level started afterwards.
+ * It steers through the same {@link InputState} the keyboard drives, once per tick before the level reads it, so the
+ * user plane is moved and fired exactly as held keys would move and fire it. Levels run by the threaded simulation
+ * have no actors to read and are not steered.
+ */
+public interface Autopilot {
+
+	/**
+	 * Called when a level is started for the first time, on the FX thread.
+	 *
+	 * @param level The level.
+	 */
+	default void levelStarted(LevelParent level) {
+	}
+
+	/**
+	 * Decides the player's input for the coming tick.
+	 *
+	 * @param user             The user's plane.
+	 * @param enemyUnits       The enemy planes in play; must not be modified.
+	 * @param enemyProjectiles The enemy projectiles in play; must not be modified.
+	 * @param input            The input the level reads after this call.
+	 */
+	void steer(ActiveActorDestructible user, List<ActiveActorDestructible> enemyUnits,
+			   List<ActiveActorDestructible> enemyProjectiles, InputState input);
+
+	/**
+	 * Called after every tick of the game loop with the time the tick took.
+	 *
+	 * @param nanos The tick's duration in nanoseconds.
+	 */
+	default void tickCompleted(long nanos) {
+	}
+}
@@ -4,6 +4,7 @@ import com.example.demo.Actor.ActiveActorDestructible;
 import com.example.demo.Display.MiniMenu;
 import com.example.demo.Actor.Planes.Boss;
 import com.example.demo.Actor.Planes.EnemyPlane;
+import com.example.demo.Simulation.SimulationRules;
 
 /**
  * Represents the fourth level of the game, combining standard enemies with a boss fight.
@@ -16,6 +17,12 @@ public class LevelFour extends LevelParent {
     private static final double ENEMY_SPAWN_PROBABILITY = 0.20;
     private static final int PLAYER_INITIAL_HEALTH = 5;
 
+    /**
+     * The rules LevelFour is simulated by.
+     */
+    public static final SimulationRules SIMULATION_RULES = new SimulationRules(
+            PLAYER_INITIAL_HEALTH, TOTAL_ENEMIES, ENEMY_SPAWN_PROBABILITY, true, 0, null);
+
     private final Boss boss; // The boss enemy for Level Four
 
     /**
@@ -44,7 +51,7 @@ public class LevelFour extends LevelParent {
      */
     @Override
     protected void initializeFriendlyUnits() {
-        getRoot().getChildren().add(getUser());
+        showUser();
     }
 
     /**
@@ -55,17 +62,16 @@ public class LevelFour extends LevelParent {
         // Spawn standard enemy planes
         int currentNumberOfEnemies = getCurrentNumberOfEnemies();
         for (int i = 0; i < TOTAL_ENEMIES - currentNumberOfEnemies; i++) {
-            if (Math.random() < ENEMY_SPAWN_PROBABILITY) {
-                double newEnemyInitialYPosition = Math.random() * getEnemyMaximumYPosition();
+            if (getRandom().nextDouble() < ENEMY_SPAWN_PROBABILITY) {
+                double newEnemyInitialYPosition = getRandom().nextDouble() * getEnemyMaximumYPosition();
                 ActiveActorDestructible newEnemy = new EnemyPlane(getScreenWidth(), newEnemyInitialYPosition);
                 addEnemyUnit(newEnemy);
             }
         }
 
         // Ensure the boss is always present
-        if (!enemyUnits.contains(boss)) {
-            addEnemyUnit(boss);
-            getRoot().getChildren().add(boss.getShieldImage());
+        if (!isInPlay(boss)) {
+            addBoss(boss);
         }
     }
 
@@ -81,6 +87,16 @@ public class LevelFour extends LevelParent {
         }
     }
 
+    /**
+     * Retrieves the boss of this level, so that a restored snapshot brings it back into play.
+     *
+     * @return The level's boss.
+     */
+    @Override
+    protected Boss getBoss() {
+        return boss;
+    }
+
     /**
      * Creates and returns a LevelView specific to Level Four, including the heart display and boss health bar.
      *
@@ -90,4 +106,14 @@ public class LevelFour extends LevelParent {
     protected LevelView instantiateLevelView() {
         return new LevelViewLevelTwo(getRoot(), PLAYER_INITIAL_HEALTH);
     }
+
+    /**
+     * Describes LevelFour for the threaded simulation: enemy planes alongside a boss whose defeat wins the game.
+     *
+     * @return The rules LevelFour is simulated by.
+     */
+    @Override
+    protected SimulationRules getSimulationRules() {
+        return SIMULATION_RULES;
+    }
 }
@@ -3,6 +3,7 @@ package com.example.demo.Level;
 import com.example.demo.Actor.ActiveActorDestructible;
 import com.example.demo.Display.MiniMenu;
 import com.example.demo.Actor.Planes.EnemyPlane;
+import com.example.demo.Simulation.SimulationRules;
 
 /**
  * Represents the first level of the game.
@@ -17,6 +18,12 @@ public class LevelOne extends LevelParent {
 	private static final double ENEMY_SPAWN_PROBABILITY = 0.20;
 	private static final int PLAYER_INITIAL_HEALTH = 5;
 
+	/**
+	 * The rules LevelOne is simulated by, readable without constructing the level, as the match server does.
+	 */
+	public static final SimulationRules SIMULATION_RULES = new SimulationRules(
+			PLAYER_INITIAL_HEALTH, TOTAL_ENEMIES, ENEMY_SPAWN_PROBABILITY, false, KILLS_TO_ADVANCE, NEXT_LEVEL);
+
 	/**
 	 * Constructs the first level with the specified screen dimensions.
 	 *
@@ -57,7 +64,7 @@ public class LevelOne extends LevelParent {
 	 */
 	@Override
 	protected void initializeFriendlyUnits() {
-		getRoot().getChildren().add(getUser());
+		showUser();
 	}
 
 	/**
@@ -67,8 +74,8 @@ public class LevelOne extends LevelParent {
 	protected void spawnEnemyUnits() {
 		int currentNumberOfEnemies = getCurrentNumberOfEnemies();
 		for (int i = 0; i < TOTAL_ENEMIES - currentNumberOfEnemies; i++) {
-			if (Math.random() < ENEMY_SPAWN_PROBABILITY) {
-				double newEnemyInitialYPosition = Math.random() * getEnemyMaximumYPosition();
+			if (getRandom().nextDouble() < ENEMY_SPAWN_PROBABILITY) {
+				double newEnemyInitialYPosition = getRandom().nextDouble() * getEnemyMaximumYPosition();
 				ActiveActorDestructible newEnemy = new EnemyPlane(getScreenWidth(), newEnemyInitialYPosition);
 				addEnemyUnit(newEnemy);
 			}
@@ -85,6 +92,16 @@ public class LevelOne extends LevelParent {
 		return new LevelView(getRoot(), PLAYER_INITIAL_HEALTH);
 	}
 
+	/**
+	 * Describes LevelOne for the threaded simulation: spawning enemy planes until the kill target is reached.
+	 *
+	 * @return The rules LevelOne is simulated by.
+	 */
+	@Override
+	protected SimulationRules getSimulationRules() {
+		return SIMULATION_RULES;
+	}
+
 	/**
 	 * Checks if the player has reached the kill target to advance to the next level.
 	 *
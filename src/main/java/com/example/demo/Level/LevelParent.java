@@ -1,23 +1,62 @@
 package com.example.demo.Level;
 
 import com.example.demo.Actor.ActiveActorDestructible;
+import com.example.demo.Actor.ActorRegistry;
+import com.example.demo.Actor.ActorType;
+import com.example.demo.Actor.Team;
+import com.example.demo.Display.CanvasSpriteLayer;
+import com.example.demo.Display.CountedAnimationTimer;
 import com.example.demo.Display.MiniMenu;
 import com.example.demo.Display.ScreenManager;
+import com.example.demo.Display.SceneGraphSpriteLayer;
+import com.example.demo.Display.SpriteCache;
+import com.example.demo.Display.QualityGovernor;
+import com.example.demo.Display.QualityLevel;
+import com.example.demo.Display.SpriteLayer;
+import com.example.demo.Actor.Planes.Boss;
 import com.example.demo.Actor.Planes.FighterPlane;
 import com.example.demo.Actor.Planes.UserPlane;
+import com.example.demo.Actor.Projectiles.Projectile;
+import com.example.demo.Engine.ContactDetector;
+import com.example.demo.Engine.CrossingSchedule;
+import com.example.demo.Engine.GameRandom;
+import com.example.demo.Event.ActorDestroyedEvent;
+import com.example.demo.Event.DestructionCause;
+import com.example.demo.Event.GameEventBus;
+import com.example.demo.Event.LevelCompletedEvent;
+import com.example.demo.Event.LevelFailedEvent;
+import com.example.demo.Input.GameAction;
+import com.example.demo.Input.InputState;
+import com.example.demo.Simulation.InputCommand;
+import com.example.demo.Simulation.Outcome;
+import com.example.demo.Simulation.SimulationRules;
+import com.example.demo.Simulation.SimulationRunner;
+import com.example.demo.Simulation.SimulationView;
+import com.example.demo.Simulation.SimulationWorld;
+import com.example.demo.Simulation.WorldSnapshot;
+import com.example.demo.Server.SpectatorServer;
+import com.example.demo.Telemetry.Telemetry;
+import com.example.demo.Telemetry.TelemetryType;
+import com.example.demo.controller.MainMenuController;
+import javafx.application.Platform;
+import javafx.event.EventHandler;
 import javafx.stage.Screen;
 import javafx.geometry.Rectangle2D;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.*;
 import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
 import javafx.animation.*;
 import javafx.animation.Timeline;
 import javafx.scene.Group;
 import javafx.scene.Scene;
 import javafx.scene.image.*;
+import javafx.scene.paint.Color;
 import javafx.util.Duration;
-import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 
 /**
@@ -27,11 +66,42 @@ import javafx.scene.input.KeyEvent;
  * user plane, projectiles, and enemies. It also handles the game's timeline and key press events.
  * Derived classes should implement level-specific behaviors such as spawning enemies, checking for game over conditions,
  * and managing the level view.
+ * <p>
+ * Gameplay outcomes such as kills, hits and level completion are published on the level's {@link GameEventBus}.
+ * Scoring and the level view subscribe to it here, and the {@link com.example.demo.controller.Controller} subscribes
+ * to it to move between levels.
+ * <p>
+ * A running level can be suspended to a {@link LevelSnapshot}: this happens when the game is paused and when the
+ * window is closed, and the snapshot is discarded once the level ends or the player returns to the main menu.
+ * <p>
+ * Shots, hits, level times and pauses are recorded through {@link Telemetry}, which writes them off the FX thread.
+ * <p>
+ * Actors are drawn through a {@link SpriteLayer}, as scene graph nodes or, with the {@value #RENDERER_PROPERTY}
+ * system property, onto one canvas; the background is below them and the HUD and menus above. Unless it is turned
+ * off, a {@link QualityGovernor} watches the time between pulses and lowers the rendering quality while frames overrun.
  */
-public abstract class LevelParent extends Observable {
+public abstract class LevelParent {
 
-	private static final double SCREEN_HEIGHT_ADJUSTMENT = 150;
-	private static final int MILLISECOND_DELAY = 50;
+	/**
+	 * System property selecting how levels are run. When set to {@value #THREADED_SIMULATION}, levels that describe
+	 * themselves with {@link #getSimulationRules()} are simulated on a separate thread instead of by the timeline.
+	 */
+	public static final String SIMULATION_PROPERTY = "cw2024.simulation";
+	public static final String THREADED_SIMULATION = "threaded";
+	/**
+	 * System property selecting how actors are drawn. When set to {@value #CANVAS_RENDERER}, every plane, projectile
+	 * and shield is drawn onto one canvas each pulse instead of being a node of the scene graph.
+	 */
+	public static final String RENDERER_PROPERTY = "cw2024.renderer";
+	public static final String CANVAS_RENDERER = "canvas";
+	/** How far above the bottom of the screen enemies spawn, at most. */
+	public static final double SCREEN_HEIGHT_ADJUSTMENT = 150;
+	/** The length of a tick of the game loop, in milliseconds. */
+	public static final int MILLISECOND_DELAY = 50;
+	private static final Logger LOGGER = Logger.getLogger(LevelParent.class.getName());
+	private static final TickPhase[] TICK_PHASES = TickPhase.values();
+	private static final double COLLISION_CELL_SIZE = 128;
+	private static volatile Autopilot installedAutopilot; // Handed to every level constructed while installed
 	private final double screenHeight;
 	private final double screenWidth;
 	private final double enemyMaximumYPosition;
@@ -41,17 +111,45 @@ public abstract class LevelParent extends Observable {
 	private final UserPlane user;
 	private final Scene scene;
 	private final ImageView background;
+	private final SpriteLayer sprites; // Draws the actors, in the scene graph or onto a canvas
 	private com.example.demo.Display.MiniMenu MiniMenu; // Instance of the MiniMenu
 
-	private final List<ActiveActorDestructible> friendlyUnits;
+	private final ActorRegistry actors;
+	private final Consumer<ActiveActorDestructible> releaseActor = this::releaseActor;
+	private final List<ActiveActorDestructible> friendlyUnits; // Views over the registry
 	protected final List<ActiveActorDestructible> enemyUnits;
 	private final List<ActiveActorDestructible> userProjectiles;
 	private final List<ActiveActorDestructible> enemyProjectiles;
 
-	private int currentNumberOfEnemies;
 	private final LevelView levelView;
-	private static final Logger LOGGER = Logger.getLogger(LevelParent.class.getName());
+	private final GameEventBus eventBus;
+	private final GameRandom random;
+	private final ContactDetector contactDetector;
+	private int[] firstBoxActors = new int[64]; // Index in its list of the actor behind each box in the first group
+	private int[] secondBoxActors = new int[64];
+	private final CrossingSchedule userCrossings; // Enemy projectiles by when they cross the user's fixed x
+	private long tick; // Ticks run, counted by the UPDATE_ACTORS phase
+	private final InputState input;
+	private final LevelSnapshot snapshot;
+	private final EventHandler<WindowEvent> suspendOnClose;
+	private final int telemetryId;
+	private final Autopilot autopilot;
+	private final ActorBudget budget;
+	private long shownBudgetHits; // Budget hits last shown by the level view
+	private final String backgroundImageName;
+	private final QualityGovernor governor; // Null when the governor is turned off
+	private final CountedAnimationTimer frameClock; // Feeds the governor the time between pulses
+	private long lastFrameTime; // Of the last pulse while the game was running, or 0
+	private Color backgroundFill; // Average colour of the background, worked out when first needed
+	private SimulationRunner simulationRunner; // Runs the level instead of the timeline in threaded simulation mode
+	private SimulationView simulationView;
+	private int simulatedDirection; // Last movement and firing state forwarded to the simulation
+	private boolean simulatedFiring;
+	private Window window; // Window the level was started in, if any
+	private long startTime; // When the game loop was first started, from System.nanoTime()
 	private boolean isGameRunning;
+	private boolean isLevelOver;
+	private boolean isDisposed;
 
 	/**
 	 * Constructs a new {@code LevelParent} instance.
@@ -72,26 +170,53 @@ public abstract class LevelParent extends Observable {
 
 	public LevelParent(String backgroundImageName, double screenHeight, double screenWidth, int playerInitialHealth) {
 		this.root = new Group();
+		this.eventBus = new GameEventBus();
+		this.random = new GameRandom(System.nanoTime());
+		this.snapshot = new LevelSnapshot();
+		this.suspendOnClose = event -> suspend();
+		this.telemetryId = Telemetry.levelId(getClass().getSimpleName());
 		this.scene = new Scene(root, screenWidth, screenHeight);
 		this.timeline = new Timeline();
 		this.user = new UserPlane(playerInitialHealth);
-		this.friendlyUnits = new ArrayList<>();
-		this.enemyUnits = new ArrayList<>();
-		this.userProjectiles = new ArrayList<>();
-		this.enemyProjectiles = new ArrayList<>();
-		var resource = getClass().getResource(backgroundImageName); // Safely fetch the resource
-		if (resource != null) {
-			this.background = new ImageView(new Image(resource.toExternalForm())); // Set the image if resource is found
-		} else {
-			throw new IllegalArgumentException("Resource not found: " + backgroundImageName); // Throw exception if resource is not found
-		}
+		this.actors = new ActorRegistry();
+		this.friendlyUnits = actors.unitsOf(Team.FRIENDLY);
+		this.enemyUnits = actors.unitsOf(Team.ENEMY);
+		this.userProjectiles = actors.projectilesOf(Team.FRIENDLY);
+		this.enemyProjectiles = actors.projectilesOf(Team.ENEMY);
+		this.background = new ImageView(SpriteCache.get(backgroundImageName, screenWidth, screenHeight)); // Throws if not found
+		this.sprites = isCanvasRendererEnabled() ? new CanvasSpriteLayer(root, screenWidth, screenHeight)
+				: new SceneGraphSpriteLayer(root);
 		this.screenHeight = screenHeight;
 		this.screenWidth = screenWidth;
 		this.enemyMaximumYPosition = screenHeight - SCREEN_HEIGHT_ADJUSTMENT;
+		this.contactDetector = new ContactDetector(screenWidth, screenHeight, COLLISION_CELL_SIZE);
+		this.userCrossings = new CrossingSchedule(user.getCollisionX(), user.getCollisionX() + user.getCollisionWidth());
+		this.input = new InputState();
+		this.autopilot = installedAutopilot;
+		this.budget = new ActorBudget();
 		this.levelView = instantiateLevelView();
-		this.currentNumberOfEnemies = 0;
+		this.backgroundImageName = backgroundImageName;
+		if (QualityGovernor.isEnabled()) {
+			QualityLevel lowest = isCanvasRendererEnabled() ? QualityLevel.LOW_RESOLUTION : QualityLevel.SIMPLE_BACKGROUND;
+			QualityLevel start = QualityGovernor.getCurrentQuality();
+			this.governor = new QualityGovernor(QualityGovernor.SIXTY_HZ_BUDGET_NANOS,
+					start.compareTo(lowest) > 0 ? lowest : start, lowest, this::applyQuality);
+			this.frameClock = new CountedAnimationTimer() {
+				@Override
+				public void handle(long now) {
+					if (isGameRunning && lastFrameTime != 0) {
+						governor.recordFrame(now - lastFrameTime);
+					}
+					lastFrameTime = isGameRunning ? now : 0; // Pauses are not frames
+				}
+			};
+		} else {
+			this.governor = null;
+			this.frameClock = null;
+		}
 		initializeTimeline();
-		friendlyUnits.add(user);
+		initializeEventListeners();
+		attachActor(user, Team.FRIENDLY, ActorType.PLANE);
 
 		// Initialize the mini menu
 		MiniMenu = new MiniMenu(
@@ -100,6 +225,7 @@ public abstract class LevelParent extends Observable {
 				this::returnToMainMenu  // Pass returnToMainMenu() as the "Return to Main Menu" action
 		);
 		scene.setOnKeyPressed(this::handleKeyPress);
+		scene.setOnKeyReleased(this::handleKeyRelease);
 		this.isGameRunning = true;
 	}
 	/**
@@ -170,45 +296,256 @@ public abstract class LevelParent extends Observable {
 	 * Starts the game by requesting focus for the background and starting the game loop.
 	 * <p>
 	 * This method prepares the game to run by giving focus to the background and starting the timeline, which controls
-	 * the game's main loop. It also sets the game running state to true.
+	 * the game's main loop. It also sets the game running state to true. If the level is displayed in a window, the
+	 * level suspends itself when that window is closed.
 	 */
 	public void startGame() {
 		background.requestFocus();
-		timeline.play();
+		if (simulationRunner == null && startTime == 0 && isThreadedSimulationEnabled()) {
+			startSimulation();
+		}
+		if (simulationRunner != null) {
+			simulationRunner.setPaused(false);
+		} else {
+			timeline.play();
+		}
 		isGameRunning = true;
+		if (frameClock != null) {
+			frameClock.start();
+		}
+		if (startTime == 0) {
+			startTime = System.nanoTime();
+			Telemetry.record(TelemetryType.LEVEL_STARTED, telemetryId);
+			if (autopilot != null) {
+				autopilot.levelStarted(this);
+			}
+		}
+		if (window == null && scene.getWindow() != null) {
+			window = scene.getWindow();
+			window.addEventHandler(WindowEvent.WINDOW_CLOSE_REQUEST, suspendOnClose);
+		}
+	}
+
+	/**
+	 * Installs an autopilot that plays every level constructed from now on instead of the player.
+	 *
+	 * @param autopilot The autopilot, or {@code null} to give later levels back to the player.
+	 */
+	public static void installAutopilot(Autopilot autopilot) {
+		installedAutopilot = autopilot;
+	}
+
+	/**
+	 * Returns whether threaded simulation has been selected with the {@value #SIMULATION_PROPERTY} system property.
+	 *
+	 * @return {@code true} if levels should be simulated on a separate thread when they support it.
+	 */
+	public static boolean isThreadedSimulationEnabled() {
+		return THREADED_SIMULATION.equals(System.getProperty(SIMULATION_PROPERTY));
+	}
+
+	/**
+	 * Returns whether the canvas renderer has been selected with the {@value #RENDERER_PROPERTY} system property.
+	 *
+	 * @return {@code true} if actors should be drawn onto a canvas rather than as scene graph nodes.
+	 */
+	public static boolean isCanvasRendererEnabled() {
+		return CANVAS_RENDERER.equals(System.getProperty(RENDERER_PROPERTY));
+	}
+
+	/**
+	 * Describes this level for the threaded simulation. Levels that return {@code null} always run on the timeline.
+	 *
+	 * @return The rules the level is simulated by, or {@code null} if it cannot be simulated.
+	 */
+	protected SimulationRules getSimulationRules() {
+		return null;
+	}
+
+	/**
+	 * Returns whether this level is run by a threaded simulation rather than by the timeline.
+	 *
+	 * @return {@code true} if the level is simulated on a separate thread.
+	 */
+	public boolean isSimulated() {
+		return simulationRunner != null;
 	}
 
 	/**
-	 * Transitions to the next level by loading the specified level class and setting its scene.
+	 * Hands the level over to a simulation thread, if the level supports it.
 	 * <p>
-	 * This method dynamically loads the next level using reflection, stops the current level's game loop,
-	 * initializes the next level, and sets its scene. It also ensures that the new level is displayed in full-screen mode.
+	 * The world is seeded from the level's random number generator and ticks at the timeline's rate. Its snapshots are
+	 * applied to the scene by a {@link SimulationView}, which also keeps the level view up to date; the user's plane
+	 * keeps its node but is moved by the world, not by the actor. If a {@link SpectatorServer} is configured, every
+	 * tick is also streamed to its spectators. If a tick throws, the runner logs it and the level ends as lost.
+	 */
+	private void startSimulation() {
+		SimulationRules rules = getSimulationRules();
+		if (rules == null) {
+			return;
+		}
+		SimulationWorld world = new SimulationWorld(rules, screenHeight, screenWidth, random.nextLong());
+		simulationRunner = new SimulationRunner(world, MILLISECOND_DELAY);
+		simulationView = new SimulationView(simulationRunner, scene, sprites, user, this::onSimulationTick);
+		simulationView.attach();
+		simulationRunner.setFailureListener(failure -> Platform.runLater(() -> finishSimulation(Outcome.LOST)));
+		SpectatorServer spectators = SpectatorServer.fromProperty();
+		if (spectators != null) {
+			simulationRunner.setTickListener(spectators::publish);
+		}
+		simulationRunner.start();
+	}
+
+	/**
+	 * Updates the level view from a newly applied simulation snapshot and ends the level once the world is decided.
+	 * Called on the FX thread during a pulse, so the transition is deferred until the pulse is over.
 	 *
-	 * @param levelName The fully qualified name of the class representing the next level to load.
+	 * @param snapshot The snapshot just applied.
 	 */
-	public void goToNextLevel(String levelName) {
-		timeline.stop(); // Stop the current level's timeline (game loop)
+	private void onSimulationTick(WorldSnapshot snapshot) {
+		levelView.update(snapshot.getUserHealth(), snapshot.getKills());
+		levelView.updateBoss(snapshot.getBossHealthFraction(), snapshot.isBossShielded());
+		Outcome outcome = snapshot.getOutcome();
+		if (outcome != Outcome.RUNNING) {
+			Platform.runLater(() -> finishSimulation(outcome));
+		}
+	}
+
+	/**
+	 * Ends a simulated level with the world's outcome, unless it has already ended.
+	 *
+	 * @param outcome Whether the user won or lost.
+	 */
+	private void finishSimulation(Outcome outcome) {
+		if (isLevelOver || isDisposed) {
+			return;
+		}
+		if (outcome == Outcome.LOST) {
+			loseGame();
+			return;
+		}
+		String nextLevel = getSimulationRules().getNextLevel();
+		if (nextLevel != null) {
+			goToNextLevel(nextLevel);
+		} else {
+			winGame();
+		}
+	}
+
+	/**
+	 * Stops the simulation thread, if there is one, and removes the simulated entities from the scene.
+	 */
+	private void stopSimulation() {
+		if (simulationRunner == null) {
+			return;
+		}
+		try {
+			simulationRunner.stop();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		simulationView.detach();
+	}
+
+	/**
+	 * Saves the level's current state to {@link LevelSnapshot#DEFAULT_PATH} so that it can be resumed later.
+	 * <p>
+	 * Nothing is saved once the level has ended or been disposed, or while the level is simulated on a separate
+	 * thread, whose state is not held by the actors. Failures are logged rather than thrown, since
+	 * suspending happens on pause and on exit where there is no one to report them to.
+	 */
+	public void suspend() {
+		if (isLevelOver || isDisposed || simulationRunner != null) {
+			return;
+		}
+		try {
+			snapshot.save(this, LevelSnapshot.DEFAULT_PATH);
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Failed to save the level snapshot.", e);
+		}
+	}
 
-		Stage stage = (Stage) getRoot().getScene().getWindow();
+	/**
+	 * Ends the level: stops the game loop, records how long the level lasted and discards any saved snapshot, which no
+	 * longer describes a run in progress.
+	 */
+	private void endLevel() {
+		if (!isLevelOver && startTime != 0) {
+			Telemetry.record(TelemetryType.LEVEL_ENDED, (int) ((System.nanoTime() - startTime) / 1_000_000L));
+		}
+		timeline.stop();
+		stopSimulation();
+		isGameRunning = false;
+		isLevelOver = true;
+		discardSnapshot();
+	}
 
+	/**
+	 * Deletes the saved snapshot, if there is one.
+	 */
+	private void discardSnapshot() {
 		try {
-			// Dynamically load the next level using reflection
-			Class<?> levelClass = Class.forName(levelName);
-			LevelParent nextLevel = (LevelParent) levelClass
-					.getConstructor(double.class, double.class)
-					.newInstance(getScreenHeight(), getScreenWidth());
+			LevelSnapshot.delete(LevelSnapshot.DEFAULT_PATH);
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Failed to delete the level snapshot.", e);
+		}
+	}
 
-			// Initialize and set the next scene
-			Scene nextScene = nextLevel.initializeScene();
-			stage.setScene(nextScene);  // Set the new level's scene
-			stage.setFullScreen(true);  // Set fullscreen after setting the scene
+	/**
+	 * Completes this level and requests a transition to the next one.
+	 * <p>
+	 * This method stops the current level's game loop and publishes a {@link LevelCompletedEvent} naming the next
+	 * level. The listener responsible for level transitions loads the next level and disposes this one.
+	 *
+	 * @param levelName The fully qualified name of the class representing the next level to load.
+	 */
+	public void goToNextLevel(String levelName) {
+		endLevel(); // Stop the current level's timeline (game loop)
+		eventBus.publishLevelCompleted(levelName);
+	}
 
-			// Start the game loop for the new level
-			nextLevel.startGame();
+	/**
+	 * Releases everything this level holds so that it can be garbage collected once it is no longer displayed.
+	 * <p>
+	 * This method stops and clears the game loop timeline, removes the key handlers installed on the background and
+	 * the scene, removes all event listeners, disposes every actor (stopping their invincibility and flashing timers),
+	 * clears the actor lists and removes all nodes from the root group. Calling it more than once has no effect.
+	 */
+	public void dispose() {
+		if (isDisposed) {
+			return;
+		}
+		isDisposed = true;
+		isGameRunning = false;
+
+		timeline.stop();
+		timeline.getKeyFrames().clear();
+		stopSimulation();
+		if (frameClock != null) {
+			frameClock.stop();
+		}
 
-		}  catch (Exception e) {
-			LOGGER.log(Level.SEVERE, "Failed to load level: " + levelName, e);
+		scene.setOnKeyPressed(null);
+		scene.setOnKeyReleased(null);
+		if (window != null) {
+			window.removeEventHandler(WindowEvent.WINDOW_CLOSE_REQUEST, suspendOnClose);
+			window = null;
 		}
+		eventBus.clear();
+
+		actors.clear(ActiveActorDestructible::dispose);
+
+		sprites.dispose();
+		root.getChildren().clear();
+	}
+
+	/**
+	 * Returns whether this level has been disposed.
+	 *
+	 * @return {@code true} if {@link #dispose()} has been called, otherwise {@code false}.
+	 */
+	public boolean isDisposed() {
+		return isDisposed;
 	}
 
 	/**
@@ -218,21 +555,49 @@ public abstract class LevelParent extends Observable {
 	 * This method is called during each game loop cycle. It handles spawning new enemy units, updating positions of all
 	 * actors, generating enemy fire, checking for collisions, and updating the game state, such as the kill count and level view.
 	 * If the game is paused, no updates are made.
+	 * <p>
+	 * Once the level is running, a tick allocates nothing unless something is actually spawned or destroyed: the
+	 * phases iterate the actor lists by index, remove destroyed actors in place and test collisions without
+	 * creating bounds objects.
 	 */
 	private void updateScene() {
-		spawnEnemyUnits();
-		updateActors();
-		generateEnemyFire();
-		updateNumberOfEnemies();
-		handleEnemyPenetration();
-		handleUserProjectileCollisions();
-		handleEnemyProjectileCollisions();
-		handlePlaneCollisions();
-		handleProjectileCollisions();
-		removeAllDestroyedActors();
-		updateKillCount();
-		updateLevelView();
-		checkIfGameOver();
+		long tickStart = System.nanoTime();
+		for (TickPhase phase : TICK_PHASES) {
+			runTickPhase(phase);
+			if (!isGameRunning) {
+				break; // Paused, won or lost during this tick
+			}
+		}
+		if (autopilot != null) {
+			autopilot.tickCompleted(System.nanoTime() - tickStart);
+		}
+	}
+
+	/**
+	 * Runs a single phase of the game loop tick.
+	 * <p>
+	 * The game loop runs every phase in order; running them one at a time lets tests and profilers measure them
+	 * separately.
+	 *
+	 * @param phase The phase to run.
+	 */
+	public void runTickPhase(TickPhase phase) {
+		switch (phase) {
+			case INPUT -> handleInput();
+			case SPAWN -> spawnEnemyUnits();
+			case UPDATE_ACTORS -> updateActors();
+			case ENEMY_FIRE -> generateEnemyFire();
+			case PENETRATION -> handleEnemyPenetration();
+			case COLLISIONS -> {
+				handleUserProjectileCollisions();
+				handleEnemyProjectileCollisions();
+				handlePlaneCollisions();
+				handleProjectileCollisions();
+			}
+			case CLEANUP -> removeAllDestroyedActors();
+			case VIEW -> updateLevelView();
+			case GAME_OVER -> checkIfGameOver();
+		}
 	}
 
 
@@ -253,26 +618,64 @@ public abstract class LevelParent extends Observable {
 	}
 
 	/**
-	 * Initializes the background image for the game, setting up its size, focus, and key event handlers.
+	 * Subscribes the level's own listeners to its event bus.
+	 * <p>
+	 * Kills are scored from {@link ActorDestroyedEvent}s, and the level view subscribes to the events it displays.
+	 */
+	private void initializeEventListeners() {
+		eventBus.subscribe(ActorDestroyedEvent.class, this::scoreKill);
+		levelView.attach(eventBus, user);
+	}
+
+	/**
+	 * Credits the user with a kill when an enemy plane is shot down or rammed.
+	 * <p>
+	 * Enemies that fly past the user's defenses are not counted.
+	 *
+	 * @param event The destruction event.
+	 */
+	private void scoreKill(ActorDestroyedEvent event) {
+		if (event.getCause() != DestructionCause.PENETRATION
+				&& event.getActor() != user
+				&& event.getActor() instanceof FighterPlane) {
+			user.incrementKillCount();
+		}
+	}
+
+	/**
+	 * Initializes the background image for the game, setting up its size and focus.
 	 * <p>
-	 * This method adjusts the background to fit the screen size, ensures the background can receive keyboard focus,
-	 * and adds event handlers to handle key presses and releases, such as moving the user plane and firing projectiles.
+	 * This method adjusts the background to fit the screen size and ensures the background can receive keyboard focus.
+	 * Key presses and releases are handled by the scene, which records them in the level's {@link InputState}.
 	 */
 	private void initializeBackground() {
 		background.setFocusTraversable(true);
 		background.setFitHeight(screenHeight);
 		background.setFitWidth(screenWidth);
-		background.setOnKeyPressed(e -> {
-			KeyCode kc = e.getCode();
-			if (kc == KeyCode.UP) user.moveUp();
-			if (kc == KeyCode.DOWN) user.moveDown();
-			if (kc == KeyCode.SPACE) fireProjectile();
-		});
-		background.setOnKeyReleased(e -> {
-			KeyCode kc = e.getCode();
-			if (kc == KeyCode.UP || kc == KeyCode.DOWN) user.stop();
-		});
 		root.getChildren().add(background);
+		sprites.attach(); // Actors are drawn above the background and below the HUD
+	}
+
+	/**
+	 * Applies a rendering quality chosen by the level's {@link QualityGovernor}.
+	 * <p>
+	 * The sprite layer is given the quality's resolution, the level view shows or hides its decorations, and the
+	 * background image is hidden in favour of a flat fill of its average colour when the quality calls for a simple
+	 * background. Flashing is read by the planes themselves from {@link QualityGovernor#getCurrentQuality()}.
+	 *
+	 * @param quality The quality to apply.
+	 */
+	private void applyQuality(QualityLevel quality) {
+		sprites.setResolutionScale(quality.getResolutionScale());
+		levelView.setDecorationsShown(quality.areDecorationsShown());
+		if (!quality.isBackgroundDetailed() && backgroundFill == null) {
+			// Decoding to a single pixel averages the whole image
+			PixelReader pixel = SpriteCache.get(backgroundImageName, 1, 1).getPixelReader();
+			int argb = pixel == null ? 0 : pixel.getArgb(0, 0);
+			backgroundFill = Color.rgb((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF, 1.0);
+			scene.setFill(backgroundFill);
+		}
+		background.setVisible(quality.isBackgroundDetailed());
 	}
 
 	/**
@@ -286,8 +689,126 @@ public abstract class LevelParent extends Observable {
 			return;
 		}
 		ActiveActorDestructible projectile = user.fireProjectile();
-		root.getChildren().add(projectile);
-		userProjectiles.add(projectile);
+		if (!admit(ActorBudget.Category.USER_PROJECTILES, userProjectiles, userProjectiles.size(), projectile)) {
+			return;
+		}
+		addUserProjectile(projectile);
+		eventBus.publishProjectileFired(user, projectile);
+		Telemetry.record(TelemetryType.SHOT_FIRED, userProjectiles.size());
+	}
+
+	/**
+	 * Adds a projectile fired by the user to the game.
+	 *
+	 * @param projectile The projectile to add.
+	 */
+	void addUserProjectile(ActiveActorDestructible projectile) {
+		attachActor(projectile, Team.FRIENDLY, ActorType.PROJECTILE);
+		if (projectile instanceof Projectile launched) {
+			launched.launch(tick);
+		}
+		sprites.add(projectile);
+	}
+
+	/**
+	 * Adds a projectile fired by an enemy to the game.
+	 * <p>
+	 * The projectile is launched from where it is at the current tick, and the ticks during which it will cross the
+	 * user's plane are scheduled, since the plane never leaves its x.
+	 *
+	 * @param projectile The projectile to add.
+	 * @throws IllegalArgumentException If the projectile is not a {@link Projectile}.
+	 */
+	void addEnemyProjectile(ActiveActorDestructible projectile) {
+		if (!(projectile instanceof Projectile launched)) {
+			throw new IllegalArgumentException("Enemy projectiles must be projectiles: " + projectile);
+		}
+		attachActor(projectile, Team.ENEMY, ActorType.PROJECTILE);
+		launched.launch(tick);
+		userCrossings.add(launched.getHandle(), tick, launched.getOriginX(), launched.getCollisionWidth(),
+				launched.getVelocity());
+		sprites.add(projectile);
+	}
+
+	/**
+	 * Checks a new actor against its category's budget, applying the category's overflow policy if the budget is full.
+	 * <p>
+	 * Dropping the oldest destroys the first actor of the category still alive, without scoring it; the lists keep
+	 * actors in the order they were added, so this is the oldest. Merging hands the new projectile's hit to the live
+	 * projectile of the category nearest to it. Either falls back to refusing when there is no actor to drop or merge
+	 * into. Every overflow is counted, and recorded in the telemetry.
+	 *
+	 * @param category   The new actor's budget category.
+	 * @param actors     The category's actors in play, oldest first. Bosses among them are never dropped.
+	 * @param actorCount The number of actors in play that count towards the budget.
+	 * @param actor      The new actor.
+	 * @return {@code true} if the new actor should be added.
+	 */
+	private boolean admit(ActorBudget.Category category, List<ActiveActorDestructible> actors, int actorCount,
+						  ActiveActorDestructible actor) {
+		if (!budget.isFull(category, actorCount)) {
+			return true;
+		}
+		ActorBudget.OverflowPolicy policy = budget.getPolicy(category);
+		boolean admitted = false;
+		if (policy == ActorBudget.OverflowPolicy.DROP_OLDEST) {
+			ActiveActorDestructible oldest = null;
+			for (int i = 0; i < actors.size() && oldest == null; i++) {
+				ActiveActorDestructible candidate = actors.get(i);
+				if (!candidate.isDestroyed() && !(candidate instanceof Boss)) {
+					oldest = candidate;
+				}
+			}
+			if (oldest != null) {
+				oldest.destroy(); // Removed with the other destroyed actors at the end of the tick
+				admitted = true;
+			} else {
+				policy = ActorBudget.OverflowPolicy.REFUSE;
+			}
+		} else if (policy == ActorBudget.OverflowPolicy.MERGE) {
+			Projectile nearest = null;
+			double nearestDistance = Double.MAX_VALUE;
+			for (int i = 0; i < actors.size(); i++) {
+				if (actors.get(i) instanceof Projectile candidate && !candidate.isDestroyed()) {
+					double dx = candidate.getCollisionX() - actor.getCollisionX();
+					double dy = candidate.getCollisionY() - actor.getCollisionY();
+					if (dx * dx + dy * dy < nearestDistance) {
+						nearestDistance = dx * dx + dy * dy;
+						nearest = candidate;
+					}
+				}
+			}
+			if (nearest != null && actor instanceof Projectile merged) {
+				nearest.merge(merged);
+			} else {
+				policy = ActorBudget.OverflowPolicy.REFUSE;
+			}
+		}
+		budget.recordHit(category, policy);
+		Telemetry.record(TelemetryType.BUDGET_EXCEEDED, category.ordinal());
+		return admitted;
+	}
+
+	/**
+	 * Returns the budget bounding the number of live actors in this level, whose limits and policies may be changed.
+	 *
+	 * @return The level's actor budget.
+	 */
+	public ActorBudget getActorBudget() {
+		return budget;
+	}
+
+	/**
+	 * Registers an actor with this level and attaches it to the level's event bus and random number generator.
+	 *
+	 * @param actor The actor joining the level.
+	 * @param team  The side the actor fights on.
+	 * @param type  What kind of actor it is.
+	 */
+	private void attachActor(ActiveActorDestructible actor, Team team, ActorType type) {
+		actor.setEventBus(eventBus);
+		actor.setRandom(random);
+		actors.register(actor, team, type);
 	}
 
 
@@ -295,67 +816,102 @@ public abstract class LevelParent extends Observable {
 	 * Generates enemy projectiles by firing from each enemy unit.
 	 * <p>
 	 * This method iterates through all the enemy units and attempts to fire a projectile for each. The generated
-	 * projectiles are passed to the {@link #spawnEnemyProjectile(ActiveActorDestructible)} method for handling.
+	 * projectiles are passed to the {@link #spawnEnemyProjectile(ActiveActorDestructible, ActiveActorDestructible)}
+	 * method for handling.
 	 */
 	private void generateEnemyFire() {
-		enemyUnits.forEach(enemy -> spawnEnemyProjectile(((FighterPlane) enemy).fireProjectile()));
+		for (int i = 0; i < enemyUnits.size(); i++) {
+			if (enemyUnits.get(i) instanceof FighterPlane enemy) {
+				spawnEnemyProjectile(enemy, enemy.fireProjectile());
+			}
+		}
 	}
 
 	/**
 	 * Spawns an enemy projectile and adds it to the game.
 	 * <p>
 	 * If the provided projectile is not {@code null}, it is added to the root node of the scene and added to the
-	 * list of enemy projectiles.
+	 * list of enemy projectiles, and a projectile-fired event is published.
 	 *
+	 * @param shooter    The enemy that fired the projectile.
 	 * @param projectile The projectile to spawn.
 	 */
-	private void spawnEnemyProjectile(ActiveActorDestructible projectile) {
-		if (projectile != null) {
-			root.getChildren().add(projectile);
-			enemyProjectiles.add(projectile);
+	private void spawnEnemyProjectile(ActiveActorDestructible shooter, ActiveActorDestructible projectile) {
+		if (projectile != null
+				&& admit(ActorBudget.Category.ENEMY_PROJECTILES, enemyProjectiles, enemyProjectiles.size(), projectile)) {
+			addEnemyProjectile(projectile);
+			eventBus.publishProjectileFired(shooter, projectile);
 		}
 	}
 
 	/**
 	 * Updates all actors in the game by calling their respective update methods.
 	 * <p>
-	 * This method updates the position and state of all friendly units, enemy units, user projectiles, and enemy
-	 * projectiles.
+	 * This method starts a new tick and updates the position and state of all friendly units, enemy units, user
+	 * projectiles, and enemy projectiles.
 	 */
 	private void updateActors() {
-		friendlyUnits.forEach(ActiveActorDestructible::updateActor);
-		enemyUnits.forEach(ActiveActorDestructible::updateActor);
-		userProjectiles.forEach(ActiveActorDestructible::updateActor);
-		enemyProjectiles.forEach(ActiveActorDestructible::updateActor);
+		tick++;
+		updateActors(friendlyUnits);
+		updateActors(enemyUnits);
+		moveProjectiles(userProjectiles);
+		moveProjectiles(enemyProjectiles);
+	}
+
+	/**
+	 * Updates every actor in the provided list.
+	 *
+	 * @param actors The actors to update.
+	 */
+	private static void updateActors(List<ActiveActorDestructible> actors) {
+		for (int i = 0; i < actors.size(); i++) {
+			actors.get(i).updateActor();
+		}
+	}
+
+	/**
+	 * Moves every projectile in the provided list to where it is at the current tick.
+	 * <p>
+	 * A projectile that has flown further off the screen than any target can be is destroyed, without being scored,
+	 * since it can no longer hit anything. Otherwise missed shots would stay in play for the rest of the level and
+	 * fill the projectile budgets.
+	 *
+	 * @param projectiles The projectiles to move.
+	 */
+	private void moveProjectiles(List<ActiveActorDestructible> projectiles) {
+		for (int i = 0; i < projectiles.size(); i++) {
+			ActiveActorDestructible actor = projectiles.get(i);
+			if (!(actor instanceof Projectile projectile)) {
+				actor.updateActor();
+				continue;
+			}
+			projectile.moveTo(tick);
+			double x = projectile.getCollisionX();
+			if (x + projectile.getCollisionWidth() < -Projectile.CULL_MARGIN || x > screenWidth + Projectile.CULL_MARGIN) {
+				projectile.destroy(); // Removed with the other destroyed actors at the end of the tick
+			}
+		}
 	}
 
 	/**
 	 * Removes all destroyed actors from the game.
 	 * <p>
-	 * This method checks all friendly units, enemy units, user projectiles, and enemy projectiles to determine which
-	 * ones are destroyed and removes them from the game scene and the respective lists.
+	 * The registry drops every destroyed actor from its sets, keeping the survivors in order, and each removed actor
+	 * is then taken out of the scene and disposed so that its timers stop. Nothing is allocated when no actor was
+	 * destroyed.
 	 */
 	private void removeAllDestroyedActors() {
-		removeDestroyedActors(friendlyUnits);
-		removeDestroyedActors(enemyUnits);
-		removeDestroyedActors(userProjectiles);
-		removeDestroyedActors(enemyProjectiles);
+		actors.removeDestroyed(releaseActor);
 	}
 
 	/**
-	 * Removes destroyed actors from the provided list and the game scene.
-	 * <p>
-	 * This method filters the provided list to find all destroyed actors, removes them from the root scene, and
-	 * then removes them from the list.
+	 * Removes an actor that has left play from the scene and disposes it.
 	 *
-	 * @param actors The list of actors to check and remove destroyed ones from.
+	 * @param actor The removed actor.
 	 */
-	private void removeDestroyedActors(List<ActiveActorDestructible> actors) {
-		List<ActiveActorDestructible> destroyedActors = actors.stream()
-				.filter(ActiveActorDestructible::isDestroyed)  // Filter destroyed actors
-				.toList();  // Collect them into a List (using the method reference toList())
-		root.getChildren().removeAll(destroyedActors);
-		actors.removeAll(destroyedActors);
+	private void releaseActor(ActiveActorDestructible actor) {
+		sprites.remove(actor);
+		actor.dispose();
 	}
 
 	/**
@@ -365,27 +921,41 @@ public abstract class LevelParent extends Observable {
 	 * both actors will take damage.
 	 */
 	private void handlePlaneCollisions() {
-		handleCollisions(friendlyUnits, enemyUnits);
+		handleCollisions(friendlyUnits, enemyUnits, DestructionCause.PLANE_COLLISION);
 	}
 
 	/**
 	 * Handles collisions between user projectiles and enemy units.
 	 * <p>
 	 * This method checks for collisions between all user projectiles and enemy units. If any two actors intersect,
-	 * both actors will take damage.
+	 * both actors will take damage. The hits are recorded in the telemetry.
 	 */
 	private void handleUserProjectileCollisions() {
-		handleCollisions(userProjectiles, enemyUnits);
+		int hits = handleCollisions(userProjectiles, enemyUnits, DestructionCause.PROJECTILE_HIT);
+		if (hits > 0) {
+			Telemetry.record(TelemetryType.HIT, hits);
+		}
 	}
 
 	/**
-	 * Handles collisions between enemy projectiles and friendly units.
+	 * Handles collisions between enemy projectiles and the user's plane, the only friendly unit.
 	 * <p>
-	 * This method checks for collisions between all enemy projectiles and friendly units. If any two actors intersect,
-	 * both actors will take damage.
+	 * The plane only moves vertically, so only the projectiles whose scheduled crossing of its x includes this tick
+	 * are tested, rather than every projectile in flight. Each one that intersects the plane damages it and is damaged
+	 * in turn, in order of the projectiles' ids, and destroyed actors take no part, as in {@link #handleCollisions}.
 	 */
 	private void handleEnemyProjectileCollisions() {
-		handleCollisions(enemyProjectiles, friendlyUnits);
+		userCrossings.advanceTo(tick);
+		if (!isInPlay(user) || user.isDestroyed()) {
+			return;
+		}
+		for (int i = 0; i < userCrossings.getActiveCount(); i++) {
+			ActiveActorDestructible projectile = actors.get(userCrossings.getActive(i));
+			if (projectile != null && !projectile.isDestroyed() && user.intersects(projectile)) {
+				damageActor(user, DestructionCause.PROJECTILE_HIT, hitsLandedBy(projectile));
+				damageActor(projectile, DestructionCause.PROJECTILE_HIT, hitsLandedBy(user));
+			}
+		}
 	}
 
 	/**
@@ -395,66 +965,134 @@ public abstract class LevelParent extends Observable {
 	 * both actors will take damage.
 	 */
 	private void handleProjectileCollisions() {
-		handleCollisions(userProjectiles, enemyProjectiles);
+		handleCollisions(userProjectiles, enemyProjectiles, DestructionCause.PROJECTILE_HIT);
 	}
 
 	/**
 	 * Handles collisions between two lists of actors.
 	 * <p>
-	 * This method checks all pairs of actors between the two provided lists to see if their bounding boxes intersect.
-	 * If they do, both actors will take damage.
+	 * Collisions are handled in two phases. First the {@link ContactDetector} finds every intersecting pair, in
+	 * parallel when there are many actors. Then each pair damages both of its actors once, with the pairs taken in
+	 * order of the actors' ids, so the outcome (which hits land on an invincible plane, which hit destroys an actor)
+	 * does not depend on the order of the lists or on how detection was scheduled.
+	 * <p>
+	 * Actors destroyed before the collisions are handled, such as one dropped to keep within the actor budget, take
+	 * no part; an actor destroyed by one of these collisions still takes part in the others.
 	 *
 	 * @param actors1 The first list of actors to check for collisions.
 	 * @param actors2 The second list of actors to check for collisions.
+	 * @param cause   What destroys an actor if one of these collisions does.
+	 * @return The number of collisions.
 	 */
-	private void handleCollisions(List<ActiveActorDestructible> actors1, List<ActiveActorDestructible> actors2) {
-		for (ActiveActorDestructible actor : actors2) {
-			for (ActiveActorDestructible otherActor : actors1) {
-				if (actor.getBoundsInParent().intersects(otherActor.getBoundsInParent())) {
-					actor.takeDamage();
-					otherActor.takeDamage();
-				}
+	private int handleCollisions(List<ActiveActorDestructible> actors1, List<ActiveActorDestructible> actors2,
+								 DestructionCause cause) {
+		contactDetector.clear();
+		if (firstBoxActors.length < actors2.size()) {
+			firstBoxActors = new int[actors2.size() * 2];
+		}
+		if (secondBoxActors.length < actors1.size()) {
+			secondBoxActors = new int[actors1.size() * 2];
+		}
+		int firstBoxes = 0;
+		for (int i = 0; i < actors2.size(); i++) {
+			if (!actors2.get(i).isDestroyed()) {
+				firstBoxActors[firstBoxes++] = i;
+				addCollisionBox(actors2.get(i), true);
 			}
 		}
+		int secondBoxes = 0;
+		for (int i = 0; i < actors1.size(); i++) {
+			if (!actors1.get(i).isDestroyed()) {
+				secondBoxActors[secondBoxes++] = i;
+				addCollisionBox(actors1.get(i), false);
+			}
+		}
+		int collisions = contactDetector.detect();
+		for (int i = 0; i < collisions; i++) {
+			ActiveActorDestructible first = actors2.get(firstBoxActors[contactDetector.getFirst(i)]);
+			ActiveActorDestructible second = actors1.get(secondBoxActors[contactDetector.getSecond(i)]);
+			damageActor(first, cause, hitsLandedBy(second));
+			damageActor(second, cause, hitsLandedBy(first));
+		}
+		return collisions;
+	}
+
+	/**
+	 * Adds an actor's bounds to one of the contact detector's groups.
+	 */
+	private void addCollisionBox(ActiveActorDestructible actor, boolean first) {
+		if (first) {
+			contactDetector.addFirst(actor.getHandle(), actor.getCollisionX(), actor.getCollisionY(),
+					actor.getCollisionWidth(), actor.getCollisionHeight());
+		} else {
+			contactDetector.addSecond(actor.getHandle(), actor.getCollisionX(), actor.getCollisionY(),
+					actor.getCollisionWidth(), actor.getCollisionHeight());
+		}
+	}
+
+	/**
+	 * Applies one hit to an actor and publishes an {@link ActorDestroyedEvent} if the hit destroyed it.
+	 *
+	 * @param actor The actor to damage.
+	 * @param cause The cause reported if the actor is destroyed.
+	 */
+	private void damageActor(ActiveActorDestructible actor, DestructionCause cause) {
+		damageActor(actor, cause, 1);
+	}
+
+	/**
+	 * Applies the hits of one strike to an actor, and publishes an {@link ActorDestroyedEvent} if they destroyed it.
+	 *
+	 * @param actor The actor to damage.
+	 * @param cause The cause reported if the actor is destroyed.
+	 * @param hits  The number of hits, at least 1.
+	 */
+	private void damageActor(ActiveActorDestructible actor, DestructionCause cause, int hits) {
+		boolean wasDestroyed = actor.isDestroyed();
+		actor.takeHits(hits);
+		if (!wasDestroyed && actor.isDestroyed()) {
+			eventBus.publishActorDestroyed(actor, cause);
+		}
+	}
+
+	/**
+	 * Returns the hits an actor lands on what it collides with: those a projectile carries, or one.
+	 */
+	private static int hitsLandedBy(ActiveActorDestructible actor) {
+		return actor instanceof Projectile projectile ? projectile.getHits() : 1;
 	}
 
 	/**
 	 * Checks if an enemy unit has penetrated the user's defenses.
 	 * <p>
 	 * This method checks if any of the enemy units have crossed a threshold, meaning they have penetrated the user's
-	 * defenses. If so, the user takes damage, and the enemy unit is destroyed.
+	 * defenses. If so, the user takes damage, and the enemy unit is destroyed. The destruction is published with
+	 * {@link DestructionCause#PENETRATION} so that it is not scored as a kill.
 	 */
 	private void handleEnemyPenetration() {
-		for (ActiveActorDestructible enemy : enemyUnits) {
-			if (enemyHasPenetratedDefenses(enemy)) {
-				user.takeDamage();
+		for (int i = 0; i < enemyUnits.size(); i++) {
+			ActiveActorDestructible enemy = enemyUnits.get(i);
+			if (enemyHasPenetratedDefenses(enemy) && !enemy.isDestroyed()) {
+				damageActor(user, DestructionCause.PENETRATION);
 				enemy.destroy();
-				user.decrementKillCount();
+				eventBus.publishActorDestroyed(enemy, DestructionCause.PENETRATION);
 			}
 		}
 	}
 
-
 	/**
-	 * Updates the level view to reflect the user's current health.
+	 * Applies the changes the level view has recorded from this tick's events.
 	 * <p>
-	 * This method removes hearts from the level view based on the user's current health, providing visual feedback
-	 * of the player's remaining health.
+	 * The view only touches the scene graph for values that changed, so this costs nothing on quiet ticks.
 	 */
 	private void updateLevelView() {
-		levelView.removeHearts(user.getHealth());
-	}
-
-	/**
-	 * Updates the player's kill count based on the number of enemies that have been destroyed.
-	 * <p>
-	 * This method compares the current number of enemies with the remaining enemies and increments the kill count
-	 * for each enemy destroyed.
-	 */
-	private void updateKillCount() {
-		for (int i = 0; i < currentNumberOfEnemies - enemyUnits.size(); i++) {
-			user.incrementKillCount();
+		if (budget.getTotalHits() != shownBudgetHits) {
+			shownBudgetHits = budget.getTotalHits();
+			levelView.updateBudget(budget.getHandled(ActorBudget.OverflowPolicy.REFUSE),
+					budget.getHandled(ActorBudget.OverflowPolicy.DROP_OLDEST),
+					budget.getHandled(ActorBudget.OverflowPolicy.MERGE));
 		}
+		levelView.refresh();
 	}
 
 	/**
@@ -472,23 +1110,23 @@ public abstract class LevelParent extends Observable {
 	/**
 	 * Handles the event when the user wins the game.
 	 * <p>
-	 * This method stops the game loop, displays the win image on the level view, and sets the game state to not running.
+	 * This method stops the game loop, sets the game state to not running, and publishes a {@link LevelCompletedEvent}
+	 * with no next level, in response to which the level view displays the win image.
 	 */
 	protected void winGame() {
-		timeline.stop();
-		levelView.showWinImage();
-		isGameRunning = false;
+		endLevel();
+		eventBus.publishLevelCompleted(null);
 	}
 
 	/**
 	 * Handles the event when the user loses the game.
 	 * <p>
-	 * This method stops the game loop, displays the game over image on the level view, and sets the game state to not running.
+	 * This method stops the game loop, sets the game state to not running, and publishes a {@link LevelFailedEvent},
+	 * in response to which the level view displays the game over image.
 	 */
 	protected void loseGame() {
-		timeline.stop();
-		levelView.showGameOverImage();
-		isGameRunning = false;
+		endLevel();
+		eventBus.publishLevelFailed();
 	}
 
 	/**
@@ -502,6 +1140,59 @@ public abstract class LevelParent extends Observable {
 		return user;
 	}
 
+	/**
+	 * Retrieves the random number generator used for this level's gameplay decisions.
+	 * <p>
+	 * Spawning and enemy fire draw from this generator so that its state can be saved in a {@link LevelSnapshot}.
+	 *
+	 * @return The level's random number generator.
+	 */
+	protected GameRandom getRandom() {
+		return random;
+	}
+
+	/**
+	 * Retrieves the boss of this level.
+	 * <p>
+	 * Levels with a boss override this so that a restored snapshot puts the level's own boss back into play.
+	 *
+	 * @return The level's boss, or {@code null} if the level has none.
+	 */
+	protected Boss getBoss() {
+		return null;
+	}
+
+	/**
+	 * @return The projectiles fired by the user that are in play.
+	 */
+	List<ActiveActorDestructible> getUserProjectiles() {
+		return userProjectiles;
+	}
+
+	/**
+	 * @return The projectiles fired by enemies that are in play.
+	 */
+	List<ActiveActorDestructible> getEnemyProjectiles() {
+		return enemyProjectiles;
+	}
+
+	/**
+	 * Brings the level view up to date after a snapshot has been restored into this level.
+	 */
+	void onSnapshotRestored() {
+		levelView.synchronize(getBoss());
+		levelView.refresh();
+	}
+
+	/**
+	 * Retrieves the event bus on which this level publishes its gameplay events.
+	 *
+	 * @return The level's event bus.
+	 */
+	public GameEventBus getEventBus() {
+		return eventBus;
+	}
+
 	/**
 	 * Retrieves the root group of the game scene.
 	 * <p>
@@ -514,6 +1205,13 @@ public abstract class LevelParent extends Observable {
 		return root;
 	}
 
+	/**
+	 * Shows the user's plane. Levels call this from {@link #initializeFriendlyUnits()}.
+	 */
+	protected void showUser() {
+		sprites.add(user);
+	}
+
 	/**
 	 * Retrieves the current number of enemies in the game.
 	 * <p>
@@ -526,17 +1224,56 @@ public abstract class LevelParent extends Observable {
 		return enemyUnits.size();
 	}
 
+	/**
+	 * Returns whether an actor is in play in this level. This is a constant-time check of the actor's handle.
+	 *
+	 * @param actor The actor.
+	 * @return {@code true} if the actor has been added to this level and not yet removed.
+	 */
+	protected boolean isInPlay(ActiveActorDestructible actor) {
+		return actors.get(actor.getHandle()) == actor;
+	}
+
+	/**
+	 * Returns the registry of the actors in play, for typed queries such as all bosses.
+	 *
+	 * @return The level's actor registry.
+	 */
+	protected ActorRegistry getActors() {
+		return actors;
+	}
+
 	/**
 	 * Adds an enemy unit to the game.
 	 * <p>
 	 * This method adds the given enemy unit to both the list of enemy units and the root group of the game scene,
 	 * allowing the enemy to appear and be updated in the game.
 	 *
+	 * Enemies other than bosses count towards the level's {@link ActorBudget}, which may refuse the enemy.
+	 *
 	 * @param enemy The enemy unit to add.
+	 * @return {@code true} if the enemy was added.
 	 */
-	protected void addEnemyUnit(ActiveActorDestructible enemy) {
-		enemyUnits.add(enemy);
-		root.getChildren().add(enemy);
+	protected boolean addEnemyUnit(ActiveActorDestructible enemy) {
+		if (!(enemy instanceof Boss) && !admit(ActorBudget.Category.ENEMIES, enemyUnits,
+				enemyUnits.size() - actors.ofType(ActorType.BOSS).size(), enemy)) {
+			return false;
+		}
+		attachActor(enemy, Team.ENEMY, enemy instanceof Boss ? ActorType.BOSS : ActorType.PLANE);
+		sprites.add(enemy);
+		return true;
+	}
+
+	/**
+	 * Adds a boss to the game together with its shield image.
+	 * <p>
+	 * Levels may call this several times to field more than one boss at once.
+	 *
+	 * @param boss The boss to add.
+	 */
+	protected void addBoss(Boss boss) {
+		addEnemyUnit(boss);
+		sprites.add(boss.getShieldImage());
 	}
 
 	/**
@@ -572,15 +1309,6 @@ public abstract class LevelParent extends Observable {
 		return user.isDestroyed();
 	}
 
-	/**
-	 * Updates the current number of active enemies in the game.
-	 * <p>
-	 * This method updates the variable tracking the number of enemies based on the size of the enemy units list.
-	 */
-	private void updateNumberOfEnemies() {
-		currentNumberOfEnemies = enemyUnits.size();
-	}
-
 	/**
 	 * Sets the mini menu for the game.
 	 * <p>
@@ -595,27 +1323,80 @@ public abstract class LevelParent extends Observable {
 	/**
 	 * Handles key press events during the game.
 	 * <p>
-	 * This method listens for key presses and triggers the appropriate action based on the key pressed.
+	 * While the game is running the press is only recorded, and acted on by the next tick's {@link TickPhase#INPUT}
+	 * phase. While the mini menu is shown the game loop is stopped, so the pause key resumes the game immediately.
 	 *
 	 * @param event The key event to handle.
 	 */
 	private void handleKeyPress(KeyEvent event) {
-		if (event.getCode() == KeyCode.P) {
-			toggleMiniMenu();
+		if (MiniMenu.isVisible()) {
+			if (event.getCode() == GameAction.PAUSE.getKey()) {
+				resumeGame();
+			}
+			return;
+		}
+		input.keyPressed(event);
+		if (simulationRunner != null) {
+			forwardInput();
 		}
 	}
 
 	/**
-	 * Toggles the visibility of the mini menu.
-	 * <p>
-	 * This method either shows or hides the mini menu, depending on its current visibility state.
-	 * It also pauses or resumes the game based on the mini menu's state.
+	 * Handles key release events during the game by recording them.
+	 *
+	 * @param event The key event to handle.
 	 */
-	private void toggleMiniMenu() {
-		if (MiniMenu.isVisible()) {
-			resumeGame();
-		} else {
+	private void handleKeyRelease(KeyEvent event) {
+		input.keyReleased(event);
+		if (simulationRunner != null) {
+			forwardInput();
+		}
+	}
+
+	/**
+	 * Acts on the player's input once per tick: a buffered press of the pause key pauses the game, the held movement
+	 * keys set the user plane's direction, and holding fire fires whenever the weapon's cooldown allows. However fast
+	 * the keyboard repeats, the user fires at most once per cooldown, and a tap of fire shorter than a tick still
+	 * fires.
+	 */
+	private void handleInput() {
+		if (autopilot != null) {
+			autopilot.steer(user, enemyUnits, enemyProjectiles, input);
+		}
+		if (input.consumePress(GameAction.PAUSE)) {
 			pauseGame();
+			return;
+		}
+		user.move(input.getVerticalDirection());
+		if (input.tryAct(GameAction.FIRE, user.getWeaponCooldown())) {
+			fireProjectile();
+		}
+	}
+
+	/**
+	 * Forwards changes in the player's input to the simulation, which samples them on its own thread. The level has no
+	 * game loop tick of its own in this mode, so a press of the pause key pauses the game as soon as it is recorded.
+	 * A tap of fire is forwarded as a start and a stop, which the simulation turns into one shot.
+	 */
+	private void forwardInput() {
+		if (input.consumePress(GameAction.PAUSE) && isGameRunning) {
+			pauseGame();
+			return;
+		}
+		int direction = input.getVerticalDirection();
+		if (direction != simulatedDirection) {
+			simulatedDirection = direction;
+			simulationRunner.offer(direction < 0 ? InputCommand.MOVE_UP
+					: direction > 0 ? InputCommand.MOVE_DOWN : InputCommand.STOP);
+		}
+		boolean tapped = input.consumePress(GameAction.FIRE);
+		boolean firing = input.isHeld(GameAction.FIRE);
+		if (tapped && !firing && !simulatedFiring) { // Pressed and released since the last forward
+			simulationRunner.offer(InputCommand.START_FIRING);
+			simulationRunner.offer(InputCommand.STOP_FIRING);
+		} else if (firing != simulatedFiring) {
+			simulatedFiring = firing;
+			simulationRunner.offer(firing ? InputCommand.START_FIRING : InputCommand.STOP_FIRING);
 		}
 	}
 
@@ -623,11 +1404,19 @@ public abstract class LevelParent extends Observable {
 	 * Pauses the game and displays the mini menu.
 	 * <p>
 	 * This method stops the game loop, halts the timeline, and displays the mini menu, effectively pausing the game.
+	 * The paused level is suspended to a snapshot, so the run survives the application being closed.
 	 */
 	private void pauseGame() {
 		isGameRunning = false;
 		timeline.pause();
+		input.reset(); // Releases may go unseen while the menu has the focus
+		if (simulationRunner != null) {
+			forwardInput();
+			simulationRunner.setPaused(true);
+		}
 		MiniMenu.showMenu();
+		Telemetry.record(TelemetryType.PAUSED, telemetryId);
+		suspend();
 	}
 
 	/**
@@ -637,20 +1426,30 @@ public abstract class LevelParent extends Observable {
 	 */
 	protected void resumeGame() {
 		isGameRunning = true;
-		timeline.play();
+		if (simulationRunner != null) {
+			simulationRunner.setPaused(false);
+		} else {
+			timeline.play();
+		}
 		MiniMenu.hideMenu();
+		Telemetry.record(TelemetryType.RESUMED, telemetryId);
 	}
 
 	/**
 	 * Stops the current game and returns to the main menu.
 	 * <p>
-	 * This method halts the game loop, stops the timeline, and transitions to the main menu screen.
+	 * This method halts the game loop, stops the timeline, and transitions to the main menu screen. The run is
+	 * abandoned, so its snapshot is discarded.
+	 *
+	 * @return The controller of the main menu now shown, through which a new game can be started.
 	 */
-	protected void returnToMainMenu() {
+	public MainMenuController returnToMainMenu() {
 		// Stop the game and return to the main menu
-		timeline.stop();
+		endLevel();
 		Stage stage = (Stage) scene.getWindow();
 		ScreenManager screenManager = new ScreenManager(stage);
-		screenManager.showMainMenu();
+		MainMenuController menu = screenManager.showMainMenu();
+		dispose();
+		return menu;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,284 @@
+package com.example.demo.Level;
+
+import com.example.demo.Actor.ActiveActorDestructible;
+import com.example.demo.Actor.Planes.Boss;
+import com.example.demo.Actor.Planes.EnemyPlane;
+import com.example.demo.Actor.Projectiles.BossProjectile;
+import com.example.demo.Actor.Projectiles.EnemyProjectile;
+import com.example.demo.Actor.Projectiles.UserProjectile;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Captures the complete state of a running level in a compact binary form and restores it into a fresh level.
+ * <p>
+ * A snapshot holds the level class, the state of the level's random number generator, the user's plane and one record
+ * per live actor (enemy planes, bosses and projectiles). Each actor writes its own fields through
+ * {@link ActiveActorDestructible#writeState(ByteBuffer)}; the snapshot only adds a one-byte kind in front of each
+ * record so that the right actor can be created on restore. Restored actors take their sprites from the
+ * {@link com.example.demo.Display.SpriteCache}, so restoring a level decodes no image that is already loaded.
+ * <p>
+ * Layout (big-endian), version 2:
+ * <pre>
+ * int    magic ("CW24")
+ * short  version
+ * short  length of the level class name, followed by its UTF-8 bytes
+ * long   random number generator state
+ * ...    user plane record
+ * int    number of actor records, followed by (byte kind, actor record) pairs
+ * </pre>
+ * Every actor record starts with the actor's layout and translation as four floats. A plane's record goes on with a
+ * short for its health and a long for the time left on its invincibility, followed by the user's kill count or the
+ * boss's script and shield state. A projectile's record goes on with an int holding the hits it lands, which is more
+ * than 1 once other projectiles have been merged into it; version 1 projectile records had no hit count.
+ * Capturing writes into a buffer that is reused between snapshots, so that suspending on pause or on exit does not
+ * allocate.
+ */
+public final class LevelSnapshot {
+
+	/** Where a suspended run is kept between launches. */
+	public static final Path DEFAULT_PATH = Paths.get(System.getProperty("user.home"), ".cw2024", "suspend.bin");
+
+	private static final int MAGIC = 0x43573234; // "CW24"
+	private static final short VERSION = 2; // 2: projectiles carry their merged hits
+	private static final int INITIAL_CAPACITY = 16 * 1024;
+
+	private static final byte ENEMY_PLANE = 1;
+	private static final byte BOSS = 2;
+	private static final byte USER_PROJECTILE = 3;
+	private static final byte ENEMY_PROJECTILE = 4;
+	private static final byte BOSS_PROJECTILE = 5;
+
+	private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_CAPACITY);
+
+	/**
+	 * Writes the state of the level into the reusable buffer.
+	 * <p>
+	 * The buffer doubles in size if the level does not fit; after that, captures of a level of similar size do not
+	 * allocate.
+	 *
+	 * @param level The level to capture.
+	 * @return The buffer holding the snapshot, positioned at its start and limited to its end. It is overwritten by
+	 *         the next capture.
+	 */
+	public ByteBuffer capture(LevelParent level) {
+		while (true) {
+			buffer.clear();
+			try {
+				writeLevel(level, buffer);
+				return buffer.flip();
+			} catch (BufferOverflowException e) {
+				buffer = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+			}
+		}
+	}
+
+	/**
+	 * Captures the level and writes the snapshot to a file.
+	 * <p>
+	 * The snapshot is written to a temporary file next to the target and then moved over it, so an interrupted write
+	 * never leaves a truncated snapshot behind.
+	 *
+	 * @param level The level to capture.
+	 * @param path  The file to write.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public void save(LevelParent level, Path path) throws IOException {
+		ByteBuffer data = capture(level);
+		Path directory = path.toAbsolutePath().getParent();
+		if (directory != null) {
+			Files.createDirectories(directory);
+		}
+		Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (data.hasRemaining()) {
+				channel.write(data);
+			}
+		}
+		try {
+			Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Reads a snapshot file and checks its header.
+	 *
+	 * @param path The file to read.
+	 * @return A buffer holding the snapshot, ready to be passed to {@link #levelClassName(ByteBuffer)} and
+	 *         {@link #restore(LevelParent, ByteBuffer)}.
+	 * @throws IOException If the file cannot be read or is not a snapshot of a supported version.
+	 */
+	public static ByteBuffer read(Path path) throws IOException {
+		ByteBuffer data;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("Snapshot too large: " + path);
+			}
+			data = ByteBuffer.allocate((int) size);
+			while (data.hasRemaining() && channel.read(data) >= 0) {
+				// Keep reading until the whole file is in the buffer
+			}
+		}
+		data.flip();
+		if (data.remaining() < Integer.BYTES + Short.BYTES || data.getInt(0) != MAGIC) {
+			throw new IOException("Not a level snapshot: " + path);
+		}
+		if (data.getShort(Integer.BYTES) != VERSION) {
+			throw new IOException("Unsupported snapshot version " + data.getShort(Integer.BYTES) + ": " + path);
+		}
+		return data;
+	}
+
+	/**
+	 * Deletes a snapshot file, if there is one.
+	 *
+	 * @param path The file to delete.
+	 * @throws IOException If the file exists but cannot be deleted.
+	 */
+	public static void delete(Path path) throws IOException {
+		Files.deleteIfExists(path);
+	}
+
+	/**
+	 * Returns the class of the level a snapshot was taken from, without consuming the buffer.
+	 *
+	 * @param data The snapshot.
+	 * @return The fully qualified name of the level class.
+	 */
+	public static String levelClassName(ByteBuffer data) {
+		ByteBuffer header = data.duplicate();
+		header.position(Integer.BYTES + Short.BYTES);
+		byte[] name = new byte[header.getShort()];
+		header.get(name);
+		return new String(name, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Restores a snapshot into a level whose scene has been initialized but whose game has not been started yet.
+	 * <p>
+	 * The level must be a fresh instance of the class named in the snapshot. Actors are added to the level as if they
+	 * had been spawned, and the level view is brought up to date.
+	 *
+	 * @param level The level to restore into.
+	 * @param data  The snapshot, as returned by {@link #read(Path)} or {@link #capture(LevelParent)}.
+	 * @throws IllegalArgumentException If the snapshot was taken from another level class or is corrupt.
+	 */
+	public static void restore(LevelParent level, ByteBuffer data) {
+		String className = levelClassName(data);
+		if (!className.equals(level.getClass().getName())) {
+			throw new IllegalArgumentException("Snapshot of " + className + " cannot be restored into "
+					+ level.getClass().getName());
+		}
+		ByteBuffer in = data.duplicate();
+		in.position(Integer.BYTES + Short.BYTES + Short.BYTES + className.getBytes(StandardCharsets.UTF_8).length);
+
+		level.getRandom().setState(in.getLong());
+		level.getUser().readState(in);
+
+		int count = in.getInt();
+		for (int i = 0; i < count; i++) {
+			byte kind = in.get();
+			switch (kind) {
+				case ENEMY_PLANE -> {
+					EnemyPlane enemy = new EnemyPlane(0, 0);
+					enemy.readState(in);
+					level.addEnemyUnit(enemy);
+				}
+				case BOSS -> {
+					Boss levelBoss = level.getBoss();
+					Boss boss = levelBoss != null && !level.isInPlay(levelBoss) ? levelBoss : new Boss();
+					boss.readState(in);
+					level.addBoss(boss);
+				}
+				case USER_PROJECTILE -> restoreProjectile(new UserProjectile(0, 0), in, level, true);
+				case ENEMY_PROJECTILE -> restoreProjectile(new EnemyProjectile(0, 0), in, level, false);
+				case BOSS_PROJECTILE -> restoreProjectile(new BossProjectile(0, 0), in, level, false);
+				default -> throw new IllegalArgumentException("Unknown actor kind in snapshot: " + kind);
+			}
+		}
+		level.onSnapshotRestored();
+	}
+
+	/**
+	 * Reads a projectile's state and adds it to the level.
+	 */
+	private static void restoreProjectile(ActiveActorDestructible projectile, ByteBuffer in, LevelParent level,
+										  boolean fromUser) {
+		projectile.readState(in);
+		if (fromUser) {
+			level.addUserProjectile(projectile);
+		} else {
+			level.addEnemyProjectile(projectile);
+		}
+	}
+
+	/**
+	 * Writes the header, the generator state, the user and every live actor of the level.
+	 */
+	private static void writeLevel(LevelParent level, ByteBuffer out) {
+		byte[] className = level.getClass().getName().getBytes(StandardCharsets.UTF_8);
+		out.putInt(MAGIC);
+		out.putShort(VERSION);
+		out.putShort((short) className.length);
+		out.put(className);
+		out.putLong(level.getRandom().getState());
+		level.getUser().writeState(out);
+
+		int countPosition = out.position();
+		out.putInt(0);
+		int count = writeActors(level.enemyUnits, out)
+				+ writeActors(level.getUserProjectiles(), out)
+				+ writeActors(level.getEnemyProjectiles(), out);
+		out.putInt(countPosition, count);
+	}
+
+	/**
+	 * Writes one record per live actor in the list and returns the number of records written.
+	 * Destroyed actors, which the level is about to remove, are skipped.
+	 */
+	private static int writeActors(List<ActiveActorDestructible> actors, ByteBuffer out) {
+		int count = 0;
+		for (int i = 0; i < actors.size(); i++) {
+			ActiveActorDestructible actor = actors.get(i);
+			byte kind = kindOf(actor);
+			if (kind != 0 && !actor.isDestroyed()) {
+				out.put(kind);
+				actor.writeState(out);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the record kind for an actor, or zero for actors that cannot be snapshotted.
+	 */
+	private static byte kindOf(ActiveActorDestructible actor) {
+		if (actor instanceof Boss) {
+			return BOSS;
+		} else if (actor instanceof EnemyPlane) {
+			return ENEMY_PLANE;
+		} else if (actor instanceof UserProjectile) {
+			return USER_PROJECTILE;
+		} else if (actor instanceof BossProjectile) {
+			return BOSS_PROJECTILE;
+		} else if (actor instanceof EnemyProjectile) {
+			return ENEMY_PROJECTILE;
+		}
+		return 0;
+	}
+}
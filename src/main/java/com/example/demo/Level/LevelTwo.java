@@ -2,6 +2,7 @@ package com.example.demo.Level;
 
 import com.example.demo.Display.MiniMenu;
 import com.example.demo.Actor.Planes.Boss;
+import com.example.demo.Simulation.SimulationRules;
 
 /**
  * Represents the second level in the game, {@code LevelTwo}.
@@ -14,6 +15,12 @@ public class LevelTwo extends LevelParent {
 	private static final String BACKGROUND_IMAGE_NAME = "/com/example/demo/images/background2.jpg";
 	private static final String NEXT_LEVEL = "com.example.demo.Level.LevelThree";
 	private static final int PLAYER_INITIAL_HEALTH = 5;
+
+	/**
+	 * The rules LevelTwo is simulated by.
+	 */
+	public static final SimulationRules SIMULATION_RULES = new SimulationRules(PLAYER_INITIAL_HEALTH, 0, 0, true, 0, NEXT_LEVEL);
+
 	private final Boss boss;
 
 	/**
@@ -47,7 +54,7 @@ public class LevelTwo extends LevelParent {
 	 */
 	@Override
 	protected void initializeFriendlyUnits() {
-		getRoot().getChildren().add(getUser());
+		showUser();
 	}
 
 	/**
@@ -72,11 +79,20 @@ public class LevelTwo extends LevelParent {
 	@Override
 	protected void spawnEnemyUnits() {
 		if (getCurrentNumberOfEnemies() == 0) {
-			addEnemyUnit(boss);
-			getRoot().getChildren().add(boss.getShieldImage());
+			addBoss(boss);
 		}
 	}
 
+	/**
+	 * Retrieves the boss of this level, so that a restored snapshot brings it back into play.
+	 *
+	 * @return The level's boss.
+	 */
+	@Override
+	protected Boss getBoss() {
+		return boss;
+	}
+
 	/**
 	 * Instantiates the level view for this level.
 	 * <p>
@@ -89,4 +105,14 @@ public class LevelTwo extends LevelParent {
 	protected LevelView instantiateLevelView() {
 		return new LevelViewLevelTwo(getRoot(), PLAYER_INITIAL_HEALTH);
 	}
+
+	/**
+	 * Describes LevelTwo for the threaded simulation: a lone boss whose defeat advances to the next level.
+	 *
+	 * @return The rules LevelTwo is simulated by.
+	 */
+	@Override
+	protected SimulationRules getSimulationRules() {
+		return SIMULATION_RULES;
+	}
 }
@@ -1,18 +1,40 @@
 package com.example.demo.Level;
 
+import com.example.demo.Actor.Planes.Boss;
+import com.example.demo.Actor.Planes.UserPlane;
 import com.example.demo.Display.GameOverImage;
 import com.example.demo.Display.HeartDisplay;
 import com.example.demo.Display.WinImage;
+import com.example.demo.Event.ActorDestroyedEvent;
+import com.example.demo.Event.DamageTakenEvent;
+import com.example.demo.Event.GameEventBus;
+import com.example.demo.Event.LevelCompletedEvent;
+import com.example.demo.Event.LevelFailedEvent;
 import javafx.scene.Group;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
 
 /**
  * Handles the visual representation of the game state, including the player's heart display,
- * win screen, and game-over screen.
+ * kill counter, win screen, and game-over screen.
+ * <p>
+ * The view is retained: it subscribes to the level's event bus, records incoming changes and marks them dirty,
+ * and {@link #refresh()} only touches the scene graph for values that actually changed. When nothing happened
+ * during a tick, a refresh costs a few flag checks.
  */
 public class LevelView {
 
 	private static final double HEART_DISPLAY_X_POSITION = 5;
 	private static final double HEART_DISPLAY_Y_POSITION = 25;
+	private static final double KILL_COUNTER_X_POSITION = 10;
+	private static final double KILL_COUNTER_Y_POSITION = 110;
+	private static final double KILL_COUNTER_FONT_SIZE = 28;
+	private static final String KILL_COUNTER_PREFIX = "Kills: ";
+	private static final double ROLLBACK_STATS_X_POSITION = 10;
+	private static final double ROLLBACK_STATS_Y_POSITION = 140;
+	private static final double ROLLBACK_STATS_FONT_SIZE = 16;
+	private static final double BUDGET_STATS_Y_POSITION = 160;
 	private static final int WIN_IMAGE_X_POSITION = 355;
 	private static final int WIN_IMAGE_Y_POSITION = 175;
 	private static final int LOSS_SCREEN_X_POSITION = -160;
@@ -22,6 +44,18 @@ public class LevelView {
 	private final WinImage winImage;
 	private final GameOverImage gameOverImage;
 	private final HeartDisplay heartDisplay;
+	private final Text killCounter;
+	private Text rollbackStats; // Created when a networked level first reports its rollbacks
+	private Text budgetStats; // Created when an actor first meets a full budget
+	private boolean decorationsShown = true;
+
+	private UserPlane user;
+	private int heartsRemaining;
+	private int kills;
+	private boolean heartsDirty;
+	private boolean killsDirty;
+	private int rollbackTicks = -1;
+	private long resimulationMicros = -1;
 
 	/**
 	 * Constructs a new LevelView for the specified game level.
@@ -34,13 +68,172 @@ public class LevelView {
 		this.heartDisplay = new HeartDisplay(HEART_DISPLAY_X_POSITION, HEART_DISPLAY_Y_POSITION, heartsToDisplay);
 		this.winImage = new WinImage(WIN_IMAGE_X_POSITION, WIN_IMAGE_Y_POSITION);
 		this.gameOverImage = new GameOverImage(LOSS_SCREEN_X_POSITION, LOSS_SCREEN_Y_POSITION);
+		this.killCounter = new Text(KILL_COUNTER_X_POSITION, KILL_COUNTER_Y_POSITION, KILL_COUNTER_PREFIX + 0);
+		this.killCounter.setFont(Font.font(KILL_COUNTER_FONT_SIZE));
+		this.killCounter.setFill(Color.WHITE);
+		this.heartsRemaining = heartsToDisplay;
+	}
+
+	/**
+	 * Subscribes the view to the level's events.
+	 * <p>
+	 * Damage to the user marks the hearts dirty, destroyed actors mark the kill counter dirty, and level completion
+	 * or failure shows the matching end screen immediately.
+	 *
+	 * @param eventBus The level's event bus.
+	 * @param user     The user's plane, whose health and kills are displayed.
+	 */
+	public void attach(GameEventBus eventBus, UserPlane user) {
+		this.user = user;
+		eventBus.subscribe(DamageTakenEvent.class, this::onDamageTaken);
+		eventBus.subscribe(ActorDestroyedEvent.class, event -> {
+			kills = user.getNumberOfKills();
+			killsDirty = true;
+		});
+		eventBus.subscribe(LevelCompletedEvent.class, event -> {
+			if (event.isGameWon()) {
+				showWinImage();
+			}
+		});
+		eventBus.subscribe(LevelFailedEvent.class, event -> showGameOverImage());
 	}
 
 	/**
-	 * Displays the heart container on the screen.
+	 * Records damage taken by a plane. Subclasses can override this to track other planes, such as bosses.
+	 *
+	 * @param event The damage event.
+	 */
+	protected void onDamageTaken(DamageTakenEvent event) {
+		if (event.getActor() == user) {
+			heartsRemaining = event.getRemainingHealth();
+			heartsDirty = true;
+		}
+	}
+
+	/**
+	 * Marks every displayed value dirty from the current state of the planes, rather than from events.
+	 * <p>
+	 * This is used after a level has been restored from a snapshot, when no events describe how that state was reached.
+	 *
+	 * @param boss The level's boss, or {@code null} if the level has none.
+	 */
+	public void synchronize(Boss boss) {
+		heartsRemaining = user.getHealth();
+		kills = user.getNumberOfKills();
+		heartsDirty = true;
+		killsDirty = true;
+	}
+
+	/**
+	 * Shows the given hearts and kills, for levels whose state is kept by a simulation rather than by the actors.
+	 * Only values that changed are applied to the scene graph.
+	 *
+	 * @param heartsRemaining The number of hearts remaining for the player.
+	 * @param kills           The number of kills.
+	 */
+	public void update(int heartsRemaining, int kills) {
+		if (heartsRemaining != this.heartsRemaining) {
+			this.heartsRemaining = heartsRemaining;
+			heartsDirty = true;
+		}
+		if (kills != this.kills) {
+			this.kills = kills;
+			killsDirty = true;
+		}
+		refresh();
+	}
+
+	/**
+	 * Shows the given boss status, for levels whose state is kept by a simulation. Views without a boss display
+	 * ignore it.
+	 *
+	 * @param healthFraction The boss's remaining health as a fraction of its starting health.
+	 * @param shielded       Whether the boss's shield is up.
+	 */
+	public void updateBoss(double healthFraction, boolean shielded) {
+	}
+
+	/**
+	 * Shows how much the level's rollback session re-simulates, for levels played online with rollback. The text is
+	 * added the first time this is called, and only updated when the rounded values change.
+	 *
+	 * @param lastRollbackTicks         The number of ticks re-simulated by the latest rollback.
+	 * @param resimulationMicrosPerTick The average time taken to re-simulate one tick, in microseconds.
+	 */
+	public void updateRollback(int lastRollbackTicks, double resimulationMicrosPerTick) {
+		long micros = Math.round(resimulationMicrosPerTick);
+		if (lastRollbackTicks == rollbackTicks && micros == resimulationMicros) {
+			return;
+		}
+		rollbackTicks = lastRollbackTicks;
+		resimulationMicros = micros;
+		if (rollbackStats == null) {
+			rollbackStats = new Text(ROLLBACK_STATS_X_POSITION, ROLLBACK_STATS_Y_POSITION, "");
+			rollbackStats.setFont(Font.font(ROLLBACK_STATS_FONT_SIZE));
+			rollbackStats.setFill(Color.WHITE);
+			rollbackStats.setVisible(decorationsShown);
+			root.getChildren().add(rollbackStats);
+		}
+		rollbackStats.setText("Rollback: " + rollbackTicks + " ticks, " + resimulationMicros + " \u00b5s/tick");
+	}
+
+	/**
+	 * Shows how many actors have met a full {@link ActorBudget}, by how they were handled. The text is added the first
+	 * time this is called; the level only calls it when the counts change.
+	 *
+	 * @param refused The number of actors not added.
+	 * @param dropped The number of oldest actors dropped to make room.
+	 * @param merged  The number of projectiles merged into others.
+	 */
+	public void updateBudget(long refused, long dropped, long merged) {
+		if (budgetStats == null) {
+			budgetStats = new Text(ROLLBACK_STATS_X_POSITION, BUDGET_STATS_Y_POSITION, "");
+			budgetStats.setFont(Font.font(ROLLBACK_STATS_FONT_SIZE));
+			budgetStats.setFill(Color.WHITE);
+			budgetStats.setVisible(decorationsShown);
+			root.getChildren().add(budgetStats);
+		}
+		budgetStats.setText("Budget: " + refused + " refused, " + dropped + " dropped, " + merged + " merged");
+	}
+
+	/**
+	 * Shows or hides the decorative parts of the view: those that repeat what the scene already shows, or report on
+	 * the game rather than play it, such as the rollback and budget statistics. Hidden while rendering quality is
+	 * lowered.
+	 *
+	 * @param shown Whether to show them.
+	 */
+	public void setDecorationsShown(boolean shown) {
+		decorationsShown = shown;
+		if (rollbackStats != null) {
+			rollbackStats.setVisible(shown);
+		}
+		if (budgetStats != null) {
+			budgetStats.setVisible(shown);
+		}
+	}
+
+	/**
+	 * Applies all changes recorded since the last refresh to the scene graph.
+	 * <p>
+	 * This is called once per tick; values that did not change are not touched.
+	 */
+	public void refresh() {
+		if (heartsDirty) {
+			heartDisplay.showHearts(heartsRemaining);
+			heartsDirty = false;
+		}
+		if (killsDirty) {
+			killCounter.setText(KILL_COUNTER_PREFIX + kills);
+			killsDirty = false;
+		}
+	}
+
+	/**
+	 * Displays the heart container and the kill counter on the screen.
 	 */
 	public void showHeartDisplay() {
-		root.getChildren().add(heartDisplay.getContainer());
+		root.getChildren().addAll(heartDisplay.getContainer(), killCounter);
 	}
 
 	/**
@@ -64,9 +257,6 @@ public class LevelView {
 	 * @param heartsRemaining The number of hearts remaining for the player.
 	 */
 	public void removeHearts(int heartsRemaining) {
-		int currentNumberOfHearts = heartDisplay.getContainer().getChildren().size();
-		for (int i = 0; i < currentNumberOfHearts - heartsRemaining; i++) {
-			heartDisplay.removeHeart();
-		}
+		heartDisplay.showHearts(heartsRemaining);
 	}
 }
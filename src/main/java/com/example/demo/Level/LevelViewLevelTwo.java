@@ -1,25 +1,46 @@
 package com.example.demo.Level;
 
+import com.example.demo.Actor.Planes.Boss;
+import com.example.demo.Actor.Planes.UserPlane;
 import com.example.demo.Display.ShieldImage;
+import com.example.demo.Event.DamageTakenEvent;
+import com.example.demo.Event.GameEventBus;
+import com.example.demo.Event.ShieldChangedEvent;
 import javafx.scene.Group;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
 
 /**
- * Represents the view for Level Two of the game, displaying hearts and the shield image.
- * This class is responsible for adding the shield image to the root group and managing the heart display.
+ * Represents the view for the boss levels of the game, displaying hearts, the boss's health bar and its shield status.
+ * This class adds the boss status to the root group along with the hearts, above the level's background, and updates
+ * it only when the boss takes damage or its shield changes.
  */
 public class LevelViewLevelTwo extends LevelView {
 
-	// Constant values for the shield image position
-	private static final int SHIELD_X_POSITION = 1150;
-	private static final int SHIELD_Y_POSITION = 500;
+	// Constant values for the boss status position and size
+	private static final double BOSS_BAR_X_POSITION = 1100;
+	private static final double BOSS_BAR_Y_POSITION = 40;
+	private static final double BOSS_BAR_WIDTH = 400;
+	private static final double BOSS_BAR_HEIGHT = 20;
+	private static final int SHIELD_X_POSITION = 1510;
+	private static final int SHIELD_Y_POSITION = 10;
+	private static final double SHIELD_ICON_SCALE = 0.5;
 
 	// Instance variables
 	private final Group root;
-	private final ShieldImage shieldImage;
+	private final Rectangle bossHealthBackground;
+	private final Rectangle bossHealthBar;
+	private final ShieldImage shieldIcon;
+
+	private double bossHealthFraction;
+	private boolean bossShielded;
+	private boolean bossHealthDirty;
+	private boolean bossShieldDirty;
+	private boolean decorationsShown = true;
 
 	/**
-	 * Constructs a LevelView for Level Two with the specified root group and hearts to display.
-	 * Initializes the shield image at the predefined position and adds it to the root group.
+	 * Constructs a LevelView for a boss level with the specified root group and hearts to display.
+	 * Initializes the boss health bar and shield indicator, which are added to the root group with the hearts.
 	 *
 	 * @param root           The root group where the images will be added.
 	 * @param heartsToDisplay The number of hearts to display for the player.
@@ -27,15 +48,119 @@ public class LevelViewLevelTwo extends LevelView {
 	public LevelViewLevelTwo(Group root, int heartsToDisplay) {
 		super(root, heartsToDisplay);
 		this.root = root;
-		this.shieldImage = new ShieldImage(SHIELD_X_POSITION, SHIELD_Y_POSITION);
-		addImagesToRoot();
+		this.bossHealthBackground = new Rectangle(BOSS_BAR_X_POSITION, BOSS_BAR_Y_POSITION, BOSS_BAR_WIDTH, BOSS_BAR_HEIGHT);
+		this.bossHealthBackground.setFill(Color.DARKRED);
+		this.bossHealthBar = new Rectangle(BOSS_BAR_X_POSITION, BOSS_BAR_Y_POSITION, BOSS_BAR_WIDTH, BOSS_BAR_HEIGHT);
+		this.bossHealthBar.setFill(Color.RED);
+		this.shieldIcon = new ShieldImage(SHIELD_X_POSITION, SHIELD_Y_POSITION);
+		this.shieldIcon.setScaleX(SHIELD_ICON_SCALE);
+		this.shieldIcon.setScaleY(SHIELD_ICON_SCALE);
+		this.bossHealthFraction = 1.0;
+	}
+
+	/**
+	 * Displays the heart container, the kill counter, the boss health bar and the shield indicator on the screen.
+	 * The level calls this once its background is in place, so the boss status is drawn above it.
+	 */
+	@Override
+	public void showHeartDisplay() {
+		super.showHeartDisplay();
+		root.getChildren().addAll(bossHealthBackground, bossHealthBar, shieldIcon);
+	}
+
+	/**
+	 * Subscribes the view to the level's events, including the boss's shield changes.
+	 *
+	 * @param eventBus The level's event bus.
+	 * @param user     The user's plane, whose health and kills are displayed.
+	 */
+	@Override
+	public void attach(GameEventBus eventBus, UserPlane user) {
+		super.attach(eventBus, user);
+		eventBus.subscribe(ShieldChangedEvent.class, event -> {
+			bossShielded = event.isShielded();
+			bossShieldDirty = true;
+		});
+	}
+
+	/**
+	 * Records damage taken by the user or by a boss.
+	 *
+	 * @param event The damage event.
+	 */
+	@Override
+	protected void onDamageTaken(DamageTakenEvent event) {
+		super.onDamageTaken(event);
+		if (event.getActor() instanceof Boss boss) {
+			bossHealthFraction = Math.max(0, (double) event.getRemainingHealth() / boss.getMaxHealth());
+			bossHealthDirty = true;
+		}
+	}
+
+	/**
+	 * Marks the hearts, kill counter, boss health bar and shield icon dirty from the current state of the planes.
+	 *
+	 * @param boss The level's boss, or {@code null} if the level has none.
+	 */
+	@Override
+	public void synchronize(Boss boss) {
+		super.synchronize(boss);
+		if (boss != null) {
+			bossHealthFraction = Math.max(0, (double) boss.getHealth() / boss.getMaxHealth());
+			bossShielded = boss.isShielded;
+			bossHealthDirty = true;
+			bossShieldDirty = true;
+		}
+	}
+
+	/**
+	 * Shows the given boss status on the health bar and shield icon.
+	 *
+	 * @param healthFraction The boss's remaining health as a fraction of its starting health.
+	 * @param shielded       Whether the boss's shield is up.
+	 */
+	@Override
+	public void updateBoss(double healthFraction, boolean shielded) {
+		if (healthFraction != bossHealthFraction) {
+			bossHealthFraction = healthFraction;
+			bossHealthDirty = true;
+		}
+		if (shielded != bossShielded) {
+			bossShielded = shielded;
+			bossShieldDirty = true;
+		}
+		refresh();
+	}
+
+	/**
+	 * Shows or hides the decorations, including the shield icon, which repeats the shield drawn around the boss.
+	 *
+	 * @param shown Whether to show them.
+	 */
+	@Override
+	public void setDecorationsShown(boolean shown) {
+		super.setDecorationsShown(shown);
+		shieldIcon.setVisible(shown && bossShielded);
+		decorationsShown = shown;
 	}
 
 	/**
-	 * Adds the shield image to the root group.
-	 * This method ensures that the shield image is visible on the screen.
+	 * Applies the recorded heart, kill, boss health and shield changes to the scene graph.
 	 */
-	private void addImagesToRoot() {
-		root.getChildren().add(shieldImage);
+	@Override
+	public void refresh() {
+		super.refresh();
+		if (bossHealthDirty) {
+			bossHealthBar.setWidth(BOSS_BAR_WIDTH * bossHealthFraction);
+			bossHealthDirty = false;
+		}
+		if (bossShieldDirty) {
+			if (bossShielded && decorationsShown) {
+				shieldIcon.showShield();
+			} else {
+				shieldIcon.hideShield();
+			}
+			bossShieldDirty = false;
+		}
 	}
 }
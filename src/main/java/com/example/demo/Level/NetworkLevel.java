@@ -0,0 +1,204 @@
+package com.example.demo.Level;
+
+import com.example.demo.Display.SpriteAtlas;
+import com.example.demo.Display.SpriteCache;
+import com.example.demo.Ecs.Archetype;
+import com.example.demo.Ecs.Component;
+import com.example.demo.Ecs.EcsGame;
+import com.example.demo.Ecs.EcsWorld;
+import com.example.demo.Ecs.Field;
+import com.example.demo.Input.InputState;
+import com.example.demo.Network.NetworkSession;
+import com.example.demo.Network.PlayerInput;
+import com.example.demo.Network.RollbackSession;
+import com.example.demo.Simulation.EntityKind;
+import com.example.demo.Simulation.Fixed;
+import com.example.demo.Simulation.Outcome;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.image.ImageView;
+import javafx.util.Duration;
+
+/**
+ * A level played online against a peer: a {@link NetworkSession} keeps a two-player {@link EcsGame} in step with the
+ * peer's copy, and the level drives the session from its game loop and shows the game.
+ * <p>
+ * Each tick of the game loop samples the local player's controls, hands them to the session and updates it once. The
+ * game's entities are then drawn with sprites pooled by {@link EntityKind}: sprites of one kind are interchangeable,
+ * so each tick places the first sprites of each pool on the entities of that kind and hides the rest, and the scene
+ * graph only grows when more entities of a kind are in play than ever before. A {@link LevelView} shows the local
+ * player's hearts and kills and, when the session is a {@link RollbackSession}, how much its rollbacks re-simulate.
+ * <p>
+ * Once the game is won or lost the level shows the end screen but keeps exchanging inputs, so that a peer still
+ * waiting for the last ticks' inputs can finish too. It stops when the peers' games are found to have diverged or the
+ * transport fails.
+ */
+public class NetworkLevel {
+
+	private static final Logger LOGGER = Logger.getLogger(NetworkLevel.class.getName());
+	private static final String BACKGROUND_IMAGE_NAME = "/com/example/demo/images/background1.jpg";
+	private static final int SPRITE_MASK = Component.mask(Component.POSITION, Component.SPRITE);
+	private static final int INITIAL_POOL_SIZE = 16;
+	private static final double INVINCIBLE_OPACITY = 0.5;
+	private static final EntityKind[] KINDS = EntityKind.values();
+
+	private final NetworkSession session;
+	private final int localPlayer;
+	private final Group root = new Group();
+	private final Group entities = new Group();
+	private final Scene scene;
+	private final LevelView levelView;
+	private final InputState input = new InputState();
+	private final Timeline timeline = new Timeline();
+	private final ImageView[][] sprites = new ImageView[KINDS.length][INITIAL_POOL_SIZE];
+	private final int[] spriteCounts = new int[KINDS.length]; // Sprites created for each kind
+	private final int[] spritesUsed = new int[KINDS.length]; // Sprites placed on an entity this tick
+
+	private Outcome shownOutcome = Outcome.RUNNING;
+
+	/**
+	 * Constructs a level showing a session's game.
+	 *
+	 * @param session      The session keeping the game in step with the peer.
+	 * @param localPlayer  The player controlled on this side, as given to the session.
+	 * @param playerHealth The health each player starts with, shown as hearts.
+	 * @param screenHeight The height of the screen.
+	 * @param screenWidth  The width of the screen.
+	 * @throws IllegalArgumentException If the background image resource is not found.
+	 */
+	public NetworkLevel(NetworkSession session, int localPlayer, int playerHealth, double screenHeight,
+						double screenWidth) {
+		this.session = session;
+		this.localPlayer = localPlayer;
+		ImageView background = new ImageView(SpriteCache.get(BACKGROUND_IMAGE_NAME, screenWidth, screenHeight));
+		background.setFitWidth(screenWidth);
+		background.setFitHeight(screenHeight);
+		root.getChildren().addAll(background, entities);
+		this.scene = new Scene(root, screenWidth, screenHeight);
+		this.levelView = new LevelView(root, playerHealth);
+		timeline.setCycleCount(Timeline.INDEFINITE);
+		timeline.getKeyFrames().add(new KeyFrame(Duration.millis(LevelParent.MILLISECOND_DELAY), e -> tick()));
+	}
+
+	/**
+	 * @return The scene the level is shown in.
+	 */
+	public Scene getScene() {
+		return scene;
+	}
+
+	/**
+	 * Starts listening to the keyboard and running the game loop.
+	 */
+	public void start() {
+		scene.setOnKeyPressed(input::keyPressed);
+		scene.setOnKeyReleased(input::keyReleased);
+		levelView.showHeartDisplay();
+		draw();
+		timeline.play();
+	}
+
+	/**
+	 * Stops the game loop and stops listening to the keyboard. The session's transport is left open.
+	 */
+	public void stop() {
+		timeline.stop();
+		scene.setOnKeyPressed(null);
+		scene.setOnKeyReleased(null);
+	}
+
+	/**
+	 * Runs one tick of the game loop: updates the session with the local controls and shows the result.
+	 */
+	private void tick() {
+		session.setLocalInput(PlayerInput.sample(input));
+		try {
+			session.update();
+		} catch (IOException e) {
+			LOGGER.log(Level.SEVERE, "Lost the connection to the peer.", e);
+			stop();
+			return;
+		}
+		if (session.isDesynced()) {
+			LOGGER.severe("The peers' games diverged at tick " + session.getDesyncTick());
+			stop();
+			return;
+		}
+		EcsGame game = session.getGame();
+		draw();
+		levelView.update(game.getHealth(localPlayer), game.getKills(localPlayer));
+		if (session instanceof RollbackSession rollback) {
+			levelView.updateRollback(rollback.getLastRollbackTicks(), rollback.getResimulationMicrosPerTick());
+		}
+		if (shownOutcome == Outcome.RUNNING && game.getOutcome() != Outcome.RUNNING) {
+			shownOutcome = game.getOutcome();
+			if (shownOutcome == Outcome.WON) {
+				levelView.showWinImage();
+			} else {
+				levelView.showGameOverImage();
+			}
+		}
+	}
+
+	/**
+	 * Places a sprite on every entity of the game and hides the sprites left over.
+	 */
+	private void draw() {
+		EcsGame game = session.getGame();
+		EcsWorld world = game.getWorld();
+		boolean flashOn = (game.getTick() & 4) != 0;
+		Arrays.fill(spritesUsed, 0);
+		for (int a = 0; a < world.getArchetypeCount(); a++) {
+			Archetype archetype = world.getArchetype(a);
+			if (!archetype.has(SPRITE_MASK)) {
+				continue;
+			}
+			int[] x = archetype.column(Field.X);
+			int[] y = archetype.column(Field.Y);
+			int[] kind = archetype.column(Field.KIND);
+			int[] invincibleTicks = archetype.has(Component.INVINCIBILITY.bit())
+					? archetype.column(Field.INVINCIBLE_TICKS) : null;
+			for (int i = 0, n = archetype.size(); i < n; i++) {
+				ImageView sprite = nextSprite(kind[i]);
+				sprite.setLayoutX(Fixed.toPixels(x[i]));
+				sprite.setLayoutY(Fixed.toPixels(y[i]));
+				boolean flashing = invincibleTicks != null && invincibleTicks[i] > 0 && flashOn;
+				sprite.setOpacity(flashing ? INVINCIBLE_OPACITY : 1.0);
+			}
+		}
+		for (int k = 0; k < KINDS.length; k++) {
+			for (int i = spritesUsed[k]; i < spriteCounts[k]; i++) {
+				sprites[k][i].setVisible(false);
+			}
+		}
+	}
+
+	/**
+	 * Takes the next unused sprite of a kind for this tick, creating one if every sprite of the kind is in use.
+	 */
+	private ImageView nextSprite(int kindOrdinal) {
+		int index = spritesUsed[kindOrdinal]++;
+		if (index == spriteCounts[kindOrdinal]) {
+			if (index == sprites[kindOrdinal].length) {
+				sprites[kindOrdinal] = Arrays.copyOf(sprites[kindOrdinal], index * 2);
+			}
+			EntityKind kind = EntityKind.of(kindOrdinal);
+			ImageView sprite = new ImageView();
+			SpriteAtlas.show(sprite, kind.getImagePath(), 0, kind.getImageHeight());
+			sprite.setFitHeight(kind.getImageHeight());
+			sprite.setPreserveRatio(true);
+			entities.getChildren().add(sprite);
+			sprites[kindOrdinal][index] = sprite;
+			spriteCounts[kindOrdinal]++;
+		}
+		ImageView sprite = sprites[kindOrdinal][index];
+		sprite.setVisible(true);
+		return sprite;
+	}
+}
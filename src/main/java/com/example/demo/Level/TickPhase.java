@@ -0,0 +1,37 @@
+package com.example.demo.Level;
+
+/**
+ * The phases of a level's game loop tick, in the order {@link LevelParent} runs them.
+ * <p>
+ * Each phase can also be run on its own through {@link LevelParent#runTickPhase(TickPhase)}, which lets tests and
+ * profilers measure the phases separately.
+ */
+public enum TickPhase {
+
+	/** The player's held keys and buffered key presses are acted on. */
+	INPUT,
+
+	/** New enemies are spawned. */
+	SPAWN,
+
+	/** Every actor moves and updates its state. */
+	UPDATE_ACTORS,
+
+	/** Enemies decide whether to fire. */
+	ENEMY_FIRE,
+
+	/** Enemies that flew past the user damage the user. */
+	PENETRATION,
+
+	/** Planes and projectiles that touch damage each other. */
+	COLLISIONS,
+
+	/** Destroyed actors are removed from the scene. */
+	CLEANUP,
+
+	/** The level view applies this tick's changes. */
+	VIEW,
+
+	/** The level checks whether it has been won or lost. */
+	GAME_OVER
+}
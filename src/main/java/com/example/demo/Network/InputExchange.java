@@ -0,0 +1,222 @@
+package com.example.demo.Network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * The input and checksum exchange shared by {@link LockstepSession} and {@link RollbackSession}.
+ * <p>
+ * It keeps the local player's inputs by tick, the remote player's inputs as they arrive, and both players' checksums.
+ * Every packet carries all the local inputs the peer has not acknowledged yet, so a lost datagram is made up by the
+ * next one, and the latest local checksum the session has recorded. Checksums from the peer are compared with the
+ * local ones for the same tick, and the first tick at which they differ is reported as a desync.
+ */
+final class InputExchange {
+
+	/** Ticks of inputs and checksums kept; more than twice the longest input delay or rollback. */
+	static final int HISTORY = 128;
+
+	/** A tick that is never used. */
+	static final long NO_TICK = -1;
+
+	private static final Logger LOGGER = Logger.getLogger(InputExchange.class.getName());
+	private static final int HISTORY_MASK = HISTORY - 1;
+	private static final int MAX_INPUTS_PER_PACKET = 64;
+	private static final byte VERSION = 1;
+	private static final int HEADER_SIZE = 1 + 1 + 8 + 8 + 1 + 8 + 8;
+	private static final int PACKET_SIZE = HEADER_SIZE + MAX_INPUTS_PER_PACKET;
+
+	private final Transport transport;
+	private final int localPlayer;
+	private final int remotePlayer;
+
+	private final int[] localInputs = new int[HISTORY];
+	private final int[] remoteInputs = new int[HISTORY];
+	private final long[] remoteInputTicks = new long[HISTORY];
+	private final long[] localChecksums = new long[HISTORY];
+	private final long[] localChecksumTicks = new long[HISTORY];
+	private final long[] remoteChecksums = new long[HISTORY];
+	private final long[] remoteChecksumTicks = new long[HISTORY];
+	private final byte[] sendBytes = new byte[PACKET_SIZE];
+	private final byte[] receiveBytes = new byte[PACKET_SIZE];
+	private final ByteBuffer sendBuffer = ByteBuffer.wrap(sendBytes);
+	private final ByteBuffer receiveBuffer = ByteBuffer.wrap(receiveBytes);
+
+	private long scheduledTick; // Latest tick with a local input
+	private long remoteContiguousTick; // Latest tick up to which every remote input has arrived
+	private long acknowledgedTick; // Latest tick up to which the peer has every local input
+	private long checksumTick = NO_TICK; // Latest tick with a local checksum
+	private long desyncTick = NO_TICK;
+
+	/**
+	 * Starts an exchange before the given tick. Neither player can have pressed anything for the ticks covered by the
+	 * input delay, so those inputs are known to be empty on both sides.
+	 *
+	 * @param transport   The transport connected to the peer.
+	 * @param localPlayer The player controlled on this side, 0 or 1.
+	 * @param firstTick   The first tick to be exchanged.
+	 * @param inputDelay  How many ticks ahead local inputs are scheduled.
+	 */
+	InputExchange(Transport transport, int localPlayer, long firstTick, int inputDelay) {
+		this.transport = transport;
+		this.localPlayer = localPlayer;
+		this.remotePlayer = 1 - localPlayer;
+		Arrays.fill(remoteInputTicks, NO_TICK);
+		Arrays.fill(localChecksumTicks, NO_TICK);
+		Arrays.fill(remoteChecksumTicks, NO_TICK);
+		for (long tick = firstTick; tick < firstTick + inputDelay; tick++) {
+			localInputs[slot(tick)] = PlayerInput.NONE;
+			remoteInputs[slot(tick)] = PlayerInput.NONE;
+			remoteInputTicks[slot(tick)] = tick;
+		}
+		scheduledTick = firstTick + inputDelay - 1;
+		remoteContiguousTick = scheduledTick;
+		acknowledgedTick = scheduledTick;
+	}
+
+	/**
+	 * Schedules the local input for the tick after the latest scheduled one.
+	 *
+	 * @param input The held controls.
+	 */
+	void scheduleNext(int input) {
+		scheduledTick++;
+		localInputs[slot(scheduledTick)] = input;
+	}
+
+	long getScheduledTick() {
+		return scheduledTick;
+	}
+
+	int getLocalInput(long tick) {
+		return localInputs[slot(tick)];
+	}
+
+	boolean hasRemoteInput(long tick) {
+		return remoteInputTicks[slot(tick)] == tick;
+	}
+
+	int getRemoteInput(long tick) {
+		return remoteInputs[slot(tick)];
+	}
+
+	/**
+	 * @return The latest tick up to which every remote input has arrived.
+	 */
+	long getRemoteContiguousTick() {
+		return remoteContiguousTick;
+	}
+
+	/**
+	 * Records the checksum of a tick that will not change any more, and compares it with the peer's if it has arrived.
+	 *
+	 * @param tick     The tick.
+	 * @param checksum The game's checksum after the tick.
+	 */
+	void recordChecksum(long tick, long checksum) {
+		localChecksums[slot(tick)] = checksum;
+		localChecksumTicks[slot(tick)] = tick;
+		checksumTick = tick;
+		if (remoteChecksumTicks[slot(tick)] == tick) {
+			compareChecksums(tick, checksum, remoteChecksums[slot(tick)]);
+		}
+	}
+
+	/**
+	 * Sends every input the peer has not acknowledged, and the latest recorded checksum.
+	 *
+	 * @throws IOException If the transport failed.
+	 */
+	void send() throws IOException {
+		long firstTick = Math.max(acknowledgedTick + 1, scheduledTick - MAX_INPUTS_PER_PACKET + 1);
+		int count = (int) (scheduledTick - firstTick + 1);
+		sendBuffer.clear();
+		sendBuffer.put(VERSION).put((byte) localPlayer).putLong(remoteContiguousTick).putLong(firstTick)
+				.put((byte) count);
+		for (long tick = firstTick; tick <= scheduledTick; tick++) {
+			sendBuffer.put((byte) localInputs[slot(tick)]);
+		}
+		sendBuffer.putLong(checksumTick).putLong(checksumTick == NO_TICK ? 0 : localChecksums[slot(checksumTick)]);
+		transport.send(sendBytes, sendBuffer.position());
+	}
+
+	/**
+	 * Reads every waiting packet from the peer, ignoring malformed ones.
+	 *
+	 * @param currentTick The latest tick the game has run.
+	 * @return The earliest tick whose remote input arrived in these packets, or {@link #NO_TICK} if none did.
+	 * @throws IOException If the transport failed.
+	 */
+	long receive(long currentTick) throws IOException {
+		long earliest = NO_TICK;
+		int length;
+		while ((length = transport.receive(receiveBytes)) >= 0) {
+			if (length < HEADER_SIZE) {
+				continue;
+			}
+			receiveBuffer.clear().limit(length);
+			if (receiveBuffer.get() != VERSION || receiveBuffer.get() != remotePlayer) {
+				continue;
+			}
+			long acknowledged = receiveBuffer.getLong();
+			long firstTick = receiveBuffer.getLong();
+			int count = receiveBuffer.get() & 0xFF;
+			if (length != HEADER_SIZE + count) {
+				continue;
+			}
+			acknowledgedTick = Math.max(acknowledgedTick, Math.min(acknowledged, scheduledTick));
+			for (long tick = firstTick; tick < firstTick + count; tick++) {
+				int input = receiveBuffer.get();
+				// Inputs already known, or so far ahead that they would overwrite unused ones, are dropped
+				if (tick > remoteContiguousTick && tick <= currentTick + HISTORY / 2 && !hasRemoteInput(tick)
+						&& PlayerInput.isValid(input)) {
+					remoteInputs[slot(tick)] = input;
+					remoteInputTicks[slot(tick)] = tick;
+					earliest = earliest == NO_TICK ? tick : Math.min(earliest, tick);
+				}
+			}
+			while (hasRemoteInput(remoteContiguousTick + 1)) {
+				remoteContiguousTick++;
+			}
+			receiveChecksum(receiveBuffer.getLong(), receiveBuffer.getLong(), currentTick);
+		}
+		return earliest;
+	}
+
+	/**
+	 * Compares a checksum from the peer with the local one for the same tick, or keeps it until that tick is recorded.
+	 */
+	private void receiveChecksum(long tick, long checksum, long currentTick) {
+		if (tick <= 0 || tick < currentTick - HISTORY / 2) {
+			return;
+		}
+		if (localChecksumTicks[slot(tick)] == tick) {
+			compareChecksums(tick, localChecksums[slot(tick)], checksum);
+		} else {
+			remoteChecksums[slot(tick)] = checksum;
+			remoteChecksumTicks[slot(tick)] = tick;
+		}
+	}
+
+	private void compareChecksums(long tick, long local, long remote) {
+		if (local != remote && (desyncTick == NO_TICK || tick < desyncTick)) {
+			if (desyncTick == NO_TICK) {
+				LOGGER.warning("Desync detected at tick " + tick);
+			}
+			desyncTick = tick;
+		}
+	}
+
+	/**
+	 * @return The first tick at which the peers' checksums differed, or {@link #NO_TICK} if they never have.
+	 */
+	long getDesyncTick() {
+		return desyncTick;
+	}
+
+	private static int slot(long tick) {
+		return (int) (tick & HISTORY_MASK);
+	}
+}
@@ -0,0 +1,143 @@
+package com.example.demo.Network;
+
+import com.example.demo.Ecs.EcsGame;
+import java.io.IOException;
+
+/**
+ * Keeps a two-player {@link EcsGame} in lockstep with a peer running the same game.
+ * <p>
+ * Both peers create their game with the same rules and seed. The game only uses fixed-point positions, its own seeded
+ * random generator and tick counts for timers, so applying the same inputs on the same ticks gives bit-identical games.
+ * Each tick, the local player's held controls are scheduled {@code inputDelay} ticks ahead and sent to the peer; the
+ * game only steps once both players' inputs for the next tick are known, so a late packet stalls the game instead of
+ * letting it diverge. The delay hides the round trip: with a delay longer than the latency, the peer's inputs arrive
+ * before they are needed and the game never waits.
+ * <p>
+ * Lost packets are made up by the next ones, and the peers exchange the checksum of every tick to detect a desync
+ * (see {@link InputExchange}). A session is not thread-safe; it is meant to be updated once per tick by the game loop.
+ */
+public class LockstepSession implements NetworkSession {
+
+	/** The default input delay, in ticks: 150 ms at the game loop's 50 ms tick. */
+	public static final int DEFAULT_INPUT_DELAY = 3;
+
+	/** The longest input delay allowed, in ticks. */
+	public static final int MAX_INPUT_DELAY = 32;
+
+	private final EcsGame game;
+	private final InputExchange exchange;
+	private final int localPlayer;
+	private final int inputDelay;
+
+	private int heldInput;
+	private long stalls;
+
+	/**
+	 * Constructs a session for one of the two players of a game.
+	 *
+	 * @param game        The game, created with two players and the same rules and seed as the peer's.
+	 * @param transport   The transport connected to the peer.
+	 * @param localPlayer The player controlled on this side, 0 or 1; the peer must control the other.
+	 * @param inputDelay  How many ticks ahead local inputs are scheduled, from 0 to {@link #MAX_INPUT_DELAY}; both peers
+	 *                    must use the same delay.
+	 * @throws IllegalArgumentException If the game does not have two players, or the player or delay is out of range.
+	 */
+	public LockstepSession(EcsGame game, Transport transport, int localPlayer, int inputDelay) {
+		checkArguments(game, localPlayer, inputDelay, MAX_INPUT_DELAY);
+		this.game = game;
+		this.exchange = new InputExchange(transport, localPlayer, game.getTick() + 1, inputDelay);
+		this.localPlayer = localPlayer;
+		this.inputDelay = inputDelay;
+	}
+
+	/**
+	 * Checks the arguments shared by the two kinds of session.
+	 */
+	static void checkArguments(EcsGame game, int localPlayer, int inputDelay, int maxInputDelay) {
+		if (game.getPlayerCount() != 2) {
+			throw new IllegalArgumentException("Network play needs a two-player game: " + game.getPlayerCount());
+		}
+		if (localPlayer != 0 && localPlayer != 1) {
+			throw new IllegalArgumentException("Local player must be 0 or 1: " + localPlayer);
+		}
+		if (inputDelay < 0 || inputDelay > maxInputDelay) {
+			throw new IllegalArgumentException("Input delay must be between 0 and " + maxInputDelay + ": "
+					+ inputDelay);
+		}
+	}
+
+	/**
+	 * Sets the controls the local player holds, sampled by the next {@link #update()}.
+	 *
+	 * @param input The held controls, as {@link PlayerInput} bits.
+	 */
+	@Override
+	public void setLocalInput(int input) {
+		heldInput = input;
+	}
+
+	/**
+	 * Exchanges inputs with the peer and runs the next tick if both players' inputs for it are known.
+	 *
+	 * @return {@code true} if the game stepped, {@code false} if it is waiting for the peer.
+	 * @throws IOException If the transport failed.
+	 */
+	@Override
+	public boolean update() throws IOException {
+		exchange.receive(game.getTick());
+		long nextTick = game.getTick() + 1;
+		if (exchange.getScheduledTick() < nextTick + inputDelay) {
+			exchange.scheduleNext(heldInput);
+		}
+		exchange.send();
+		if (!exchange.hasRemoteInput(nextTick)) {
+			stalls++;
+			return false;
+		}
+		PlayerInput.apply(game, localPlayer, exchange.getLocalInput(nextTick));
+		PlayerInput.apply(game, 1 - localPlayer, exchange.getRemoteInput(nextTick));
+		game.step();
+		exchange.recordChecksum(nextTick, game.checksum());
+		return true;
+	}
+
+	/**
+	 * @return The game kept in lockstep.
+	 */
+	@Override
+	public EcsGame getGame() {
+		return game;
+	}
+
+	/**
+	 * @return The input delay, in ticks.
+	 */
+	@Override
+	public int getInputDelay() {
+		return inputDelay;
+	}
+
+	/**
+	 * @return Whether the peers' games have been found to differ.
+	 */
+	@Override
+	public boolean isDesynced() {
+		return exchange.getDesyncTick() != InputExchange.NO_TICK;
+	}
+
+	/**
+	 * @return The first tick at which the peers' checksums differed, or {@code -1} if they never have.
+	 */
+	@Override
+	public long getDesyncTick() {
+		return exchange.getDesyncTick();
+	}
+
+	/**
+	 * @return The number of updates that could not step because the peer's input had not arrived.
+	 */
+	@Override
+	public long getStalls() {
+		return stalls;
+	}
+}
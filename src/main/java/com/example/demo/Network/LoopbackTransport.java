@@ -0,0 +1,55 @@
+package com.example.demo.Network;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A {@link Transport} between two peers in the same process, for local play and tests. Packets are copied into a
+ * queue and never lost; both ends may be used from different threads.
+ */
+public class LoopbackTransport implements Transport {
+
+	private final Queue<byte[]> incoming;
+	private final Queue<byte[]> outgoing;
+	private volatile boolean closed;
+
+	private LoopbackTransport(Queue<byte[]> incoming, Queue<byte[]> outgoing) {
+		this.incoming = incoming;
+		this.outgoing = outgoing;
+	}
+
+	/**
+	 * Creates two connected ends.
+	 *
+	 * @return The two ends; packets sent from either are received by the other.
+	 */
+	public static LoopbackTransport[] pair() {
+		Queue<byte[]> first = new ConcurrentLinkedQueue<>();
+		Queue<byte[]> second = new ConcurrentLinkedQueue<>();
+		return new LoopbackTransport[] {new LoopbackTransport(first, second), new LoopbackTransport(second, first)};
+	}
+
+	@Override
+	public void send(byte[] data, int length) {
+		if (!closed) {
+			outgoing.add(Arrays.copyOf(data, length));
+		}
+	}
+
+	@Override
+	public int receive(byte[] buffer) {
+		byte[] packet = incoming.poll();
+		if (packet == null) {
+			return -1;
+		}
+		int length = Math.min(packet.length, buffer.length);
+		System.arraycopy(packet, 0, buffer, 0, length);
+		return length;
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+	}
+}
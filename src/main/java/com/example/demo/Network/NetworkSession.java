@@ -0,0 +1,51 @@
+package com.example.demo.Network;
+
+import com.example.demo.Ecs.EcsGame;
+import java.io.IOException;
+
+/**
+ * Keeps a two-player {@link EcsGame} in step with a peer's copy of the same game, whether by waiting for the peer's
+ * inputs ({@link LockstepSession}) or by predicting them and rolling back ({@link RollbackSession}).
+ */
+public interface NetworkSession {
+
+	/**
+	 * Sets the controls the local player holds, sampled by the next {@link #update()}.
+	 *
+	 * @param input The held controls, as {@link PlayerInput} bits.
+	 */
+	void setLocalInput(int input);
+
+	/**
+	 * Exchanges inputs with the peer and runs the next tick if the session allows it.
+	 *
+	 * @return {@code true} if the game stepped, {@code false} if it is waiting for the peer.
+	 * @throws IOException If the transport failed.
+	 */
+	boolean update() throws IOException;
+
+	/**
+	 * @return The game kept in step with the peer.
+	 */
+	EcsGame getGame();
+
+	/**
+	 * @return The input delay, in ticks.
+	 */
+	int getInputDelay();
+
+	/**
+	 * @return Whether the peers' games have been found to differ.
+	 */
+	boolean isDesynced();
+
+	/**
+	 * @return The first tick at which the peers' checksums differed, or {@code -1} if they never have.
+	 */
+	long getDesyncTick();
+
+	/**
+	 * @return The number of updates that could not step because of the peer.
+	 */
+	long getStalls();
+}
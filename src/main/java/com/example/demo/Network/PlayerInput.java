@@ -0,0 +1,73 @@
+package com.example.demo.Network;
+
+import com.example.demo.Ecs.EcsGame;
+import com.example.demo.Input.GameAction;
+import com.example.demo.Input.InputState;
+import com.example.demo.Simulation.InputCommand;
+
+/**
+ * A player's controls for one tick, packed into the bits of an {@code int} so they can be exchanged between peers.
+ */
+public final class PlayerInput {
+
+	/** No control is held. */
+	public static final int NONE = 0;
+
+	/** Move up is held. */
+	public static final int UP = 1;
+
+	/** Move down is held. */
+	public static final int DOWN = 1 << 1;
+
+	/** Fire is held, or was tapped since the last sample. */
+	public static final int FIRE = 1 << 2;
+
+	private static final int ALL = UP | DOWN | FIRE;
+
+	private PlayerInput() {
+	}
+
+	/**
+	 * Samples the held controls, as a level does once per tick. A tap of fire since the last sample counts as fire
+	 * held for this tick, so that it is not lost between ticks.
+	 *
+	 * @param state The state of the local player's controls.
+	 * @return The held controls as bits.
+	 */
+	public static int sample(InputState state) {
+		int input = NONE;
+		if (state.isHeld(GameAction.MOVE_UP)) {
+			input |= UP;
+		}
+		if (state.isHeld(GameAction.MOVE_DOWN)) {
+			input |= DOWN;
+		}
+		if (state.consumePress(GameAction.FIRE) | state.isHeld(GameAction.FIRE)) { // Always consume the press
+			input |= FIRE;
+		}
+		return input;
+	}
+
+	/**
+	 * Applies a player's controls for the next tick to a game. Holding both directions stops the plane, as it does in a
+	 * level.
+	 *
+	 * @param game   The game.
+	 * @param player The player.
+	 * @param input  The held controls as bits.
+	 */
+	public static void apply(EcsGame game, int player, int input) {
+		int direction = ((input & DOWN) != 0 ? 1 : 0) - ((input & UP) != 0 ? 1 : 0);
+		game.apply(player, direction < 0 ? InputCommand.MOVE_UP
+				: direction > 0 ? InputCommand.MOVE_DOWN : InputCommand.STOP);
+		game.apply(player, (input & FIRE) != 0 ? InputCommand.START_FIRING : InputCommand.STOP_FIRING);
+	}
+
+	/**
+	 * @param input Bits received from a peer.
+	 * @return {@code true} if only known controls are set.
+	 */
+	static boolean isValid(int input) {
+		return (input & ~ALL) == 0;
+	}
+}
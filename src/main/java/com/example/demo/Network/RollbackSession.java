@@ -0,0 +1,232 @@
+package com.example.demo.Network;
+
+import com.example.demo.Ecs.EcsGame;
+import com.example.demo.Ecs.EcsSnapshot;
+import com.example.demo.Simulation.Outcome;
+import java.io.IOException;
+
+/**
+ * Keeps a two-player {@link EcsGame} in step with a peer without waiting for the peer's inputs, by predicting them and
+ * rolling back when a prediction turns out wrong.
+ * <p>
+ * Like a {@link LockstepSession}, both peers run the same deterministic game and exchange inputs scheduled a few ticks
+ * ahead, but the game steps every update. When the peer's input for the next tick has not arrived, the session assumes
+ * the peer still holds what it held on the latest tick whose input is known. After every tick the game is saved into a
+ * ring of {@link EcsSnapshot}s. When a late input differs from the one that was predicted, the game is restored to the
+ * snapshot before that tick and the ticks since are run again with the corrected input, all within the same update.
+ * The game runs at most {@link #MAX_ROLLBACK} ticks ahead of the peer's latest known input; beyond that it waits, as a
+ * lockstep game would, so a rollback never re-simulates more than that many ticks.
+ * <p>
+ * Checksums are exchanged for ticks whose inputs are all known, since predicted ticks may still change. The time spent
+ * re-simulating is measured, so it can be shown to the player. A session is not thread-safe; it is meant to be
+ * updated once per frame by the game loop.
+ */
+public class RollbackSession implements NetworkSession {
+
+	/** The most ticks re-simulated by one rollback. */
+	public static final int MAX_ROLLBACK = 8;
+
+	/** The default input delay, in ticks; a short delay makes most predictions right. */
+	public static final int DEFAULT_INPUT_DELAY = 1;
+
+	private static final int SNAPSHOTS = MAX_ROLLBACK + 1; // The states after the last MAX_ROLLBACK ticks and before
+
+	private final EcsGame game;
+	private final InputExchange exchange;
+	private final int localPlayer;
+	private final int remotePlayer;
+	private final int inputDelay;
+	private final EcsSnapshot[] snapshots = new EcsSnapshot[SNAPSHOTS];
+	private final int[] predictedInputs = new int[InputExchange.HISTORY]; // Remote input each tick was run with
+	private final long[] checksums = new long[InputExchange.HISTORY];
+
+	private int heldInput;
+	private long confirmedTick; // Latest tick whose checksum has been recorded
+	private long stalls;
+	private long rollbacks;
+	private int lastRollbackTicks;
+	private long resimulatedTicks;
+	private long resimulationNanos;
+
+	/**
+	 * Constructs a session for one of the two players of a game.
+	 *
+	 * @param game        The game, created with two players and the same rules and seed as the peer's.
+	 * @param transport   The transport connected to the peer.
+	 * @param localPlayer The player controlled on this side, 0 or 1; the peer must control the other.
+	 * @param inputDelay  How many ticks ahead local inputs are scheduled, from 0 to {@link #MAX_ROLLBACK}; both peers
+	 *                    must use the same delay.
+	 * @throws IllegalArgumentException If the game does not have two players, or the player or delay is out of range.
+	 */
+	public RollbackSession(EcsGame game, Transport transport, int localPlayer, int inputDelay) {
+		LockstepSession.checkArguments(game, localPlayer, inputDelay, MAX_ROLLBACK);
+		this.game = game;
+		this.exchange = new InputExchange(transport, localPlayer, game.getTick() + 1, inputDelay);
+		this.localPlayer = localPlayer;
+		this.remotePlayer = 1 - localPlayer;
+		this.inputDelay = inputDelay;
+		for (int i = 0; i < SNAPSHOTS; i++) {
+			snapshots[i] = new EcsSnapshot();
+		}
+		confirmedTick = game.getTick();
+		game.save(snapshot(game.getTick()));
+	}
+
+	/**
+	 * Sets the controls the local player holds, sampled by the next {@link #update()}.
+	 *
+	 * @param input The held controls, as {@link PlayerInput} bits.
+	 */
+	@Override
+	public void setLocalInput(int input) {
+		heldInput = input;
+	}
+
+	/**
+	 * Exchanges inputs with the peer, rolls back and re-simulates if a late input changed the past, and runs the next
+	 * tick unless the game is too far ahead of the peer.
+	 *
+	 * @return {@code true} if the game stepped, {@code false} if it is waiting for the peer or is over.
+	 * @throws IOException If the transport failed.
+	 */
+	@Override
+	public boolean update() throws IOException {
+		long currentTick = game.getTick();
+		long arrived = exchange.receive(currentTick);
+		if (arrived != InputExchange.NO_TICK) {
+			for (long tick = arrived; tick <= currentTick; tick++) {
+				if (exchange.hasRemoteInput(tick) && exchange.getRemoteInput(tick) != predictedInputs[slot(tick)]) {
+					resimulate(tick, currentTick);
+					break;
+				}
+			}
+		}
+		long nextTick = currentTick + 1;
+		if (exchange.getScheduledTick() < nextTick + inputDelay) {
+			exchange.scheduleNext(heldInput);
+		}
+		long confirmable = Math.min(exchange.getRemoteContiguousTick(), currentTick);
+		while (confirmedTick < confirmable) {
+			confirmedTick++;
+			exchange.recordChecksum(confirmedTick, checksums[slot(confirmedTick)]);
+		}
+		exchange.send();
+		if (game.getOutcome() != Outcome.RUNNING) {
+			return false;
+		}
+		if (nextTick - exchange.getRemoteContiguousTick() > MAX_ROLLBACK) {
+			stalls++;
+			return false;
+		}
+		advance(nextTick);
+		return true;
+	}
+
+	/**
+	 * Restores the game to the end of the tick before {@code from} and runs the ticks up to {@code to} again with the
+	 * inputs known now.
+	 */
+	private void resimulate(long from, long to) {
+		long start = System.nanoTime();
+		game.restore(snapshot(from - 1));
+		for (long tick = from; tick <= to; tick++) {
+			advance(tick);
+		}
+		resimulationNanos += System.nanoTime() - start;
+		int ticks = (int) (to - from + 1);
+		resimulatedTicks += ticks;
+		lastRollbackTicks = ticks;
+		rollbacks++;
+	}
+
+	/**
+	 * Runs one tick with the local input and the remote input, or its prediction, and saves the result.
+	 */
+	private void advance(long tick) {
+		int remoteInput = exchange.hasRemoteInput(tick) ? exchange.getRemoteInput(tick)
+				: exchange.getRemoteInput(exchange.getRemoteContiguousTick());
+		predictedInputs[slot(tick)] = remoteInput;
+		PlayerInput.apply(game, localPlayer, exchange.getLocalInput(tick));
+		PlayerInput.apply(game, remotePlayer, remoteInput);
+		game.step();
+		checksums[slot(tick)] = game.checksum();
+		game.save(snapshot(tick));
+	}
+
+	private EcsSnapshot snapshot(long tick) {
+		return snapshots[(int) (tick % SNAPSHOTS)];
+	}
+
+	private static int slot(long tick) {
+		return (int) (tick & (InputExchange.HISTORY - 1));
+	}
+
+	/**
+	 * @return The game kept in step with the peer.
+	 */
+	@Override
+	public EcsGame getGame() {
+		return game;
+	}
+
+	/**
+	 * @return The input delay, in ticks.
+	 */
+	@Override
+	public int getInputDelay() {
+		return inputDelay;
+	}
+
+	/**
+	 * @return Whether the peers' games have been found to differ.
+	 */
+	@Override
+	public boolean isDesynced() {
+		return exchange.getDesyncTick() != InputExchange.NO_TICK;
+	}
+
+	/**
+	 * @return The first tick at which the peers' checksums differed, or {@code -1} if they never have.
+	 */
+	@Override
+	public long getDesyncTick() {
+		return exchange.getDesyncTick();
+	}
+
+	/**
+	 * @return The number of updates that could not step because the game was too far ahead of the peer.
+	 */
+	@Override
+	public long getStalls() {
+		return stalls;
+	}
+
+	/**
+	 * @return The number of rollbacks so far.
+	 */
+	public long getRollbacks() {
+		return rollbacks;
+	}
+
+	/**
+	 * @return The number of ticks re-simulated by the latest rollback, or 0 if there has been none.
+	 */
+	public int getLastRollbackTicks() {
+		return lastRollbackTicks;
+	}
+
+	/**
+	 * @return The total number of ticks re-simulated.
+	 */
+	public long getResimulatedTicks() {
+		return resimulatedTicks;
+	}
+
+	/**
+	 * @return The average time taken to re-simulate one tick, including restoring the snapshot, in microseconds, or 0
+	 * if nothing has been re-simulated.
+	 */
+	public double getResimulationMicrosPerTick() {
+		return resimulatedTicks == 0 ? 0 : resimulationNanos / 1000.0 / resimulatedTicks;
+	}
+}
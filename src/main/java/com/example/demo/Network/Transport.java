@@ -0,0 +1,28 @@
+package com.example.demo.Network;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Carries packets between two peers. Packets may be lost, but each arrives whole; neither method blocks.
+ */
+public interface Transport extends Closeable {
+
+	/**
+	 * Sends a packet to the peer.
+	 *
+	 * @param data   The buffer holding the packet.
+	 * @param length The length of the packet, from the start of the buffer.
+	 * @throws IOException If the packet could not be sent.
+	 */
+	void send(byte[] data, int length) throws IOException;
+
+	/**
+	 * Takes the next packet received from the peer, if any.
+	 *
+	 * @param buffer The buffer the packet is copied into; packets longer than the buffer are truncated.
+	 * @return The length of the packet, or {@code -1} if no packet is waiting.
+	 * @throws IOException If receiving failed.
+	 */
+	int receive(byte[] buffer) throws IOException;
+}
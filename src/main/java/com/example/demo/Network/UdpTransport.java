@@ -0,0 +1,90 @@
+package com.example.demo.Network;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * A {@link Transport} over UDP on the loopback interface, standing in for play between two machines. Each end binds
+ * its own port and is then connected to the other's. Datagrams may be lost or reordered like on a real network, which
+ * the lockstep protocol tolerates by resending unacknowledged inputs.
+ */
+public class UdpTransport implements Transport {
+
+	private static final int MAX_DATAGRAM = 1472; // Fits an Ethernet frame without fragmenting
+
+	private final DatagramChannel channel;
+	private final ByteBuffer sendBuffer = ByteBuffer.allocate(MAX_DATAGRAM);
+	private final ByteBuffer receiveBuffer = ByteBuffer.allocate(MAX_DATAGRAM);
+
+	/**
+	 * Binds a non-blocking datagram channel on the loopback interface.
+	 *
+	 * @param localPort The port to bind, or 0 for any free port.
+	 * @throws IOException If the port could not be bound.
+	 */
+	public UdpTransport(int localPort) throws IOException {
+		channel = DatagramChannel.open();
+		channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), localPort));
+		channel.configureBlocking(false);
+	}
+
+	/**
+	 * Connects to the peer, so packets are sent to it and only its packets are received.
+	 *
+	 * @param remotePort The port the peer has bound.
+	 * @throws IOException If the channel could not be connected.
+	 */
+	public void connect(int remotePort) throws IOException {
+		channel.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), remotePort));
+	}
+
+	/**
+	 * @return The port this end is bound to.
+	 * @throws IOException If the channel is closed.
+	 */
+	public int getLocalPort() throws IOException {
+		return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+	}
+
+	/**
+	 * Sends a packet. A peer that has not bound its port yet loses the packet, as on a real network.
+	 */
+	@Override
+	public void send(byte[] data, int length) throws IOException {
+		if (length > MAX_DATAGRAM) {
+			throw new IllegalArgumentException("Packet too long for one datagram: " + length);
+		}
+		sendBuffer.clear();
+		sendBuffer.put(data, 0, length).flip();
+		try {
+			channel.write(sendBuffer);
+		} catch (PortUnreachableException e) {
+			// The peer is not listening yet; the next packet will carry the same inputs
+		}
+	}
+
+	@Override
+	public int receive(byte[] buffer) throws IOException {
+		receiveBuffer.clear();
+		try {
+			if (channel.receive(receiveBuffer) == null) {
+				return -1;
+			}
+		} catch (PortUnreachableException e) {
+			return -1;
+		}
+		receiveBuffer.flip();
+		int length = Math.min(receiveBuffer.remaining(), buffer.length);
+		receiveBuffer.get(buffer, 0, length);
+		return length;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,215 @@
+package com.example.demo.Server;
+
+import com.example.demo.Engine.GameRandom;
+import com.example.demo.Simulation.InputCommand;
+import com.example.demo.Simulation.Outcome;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * A client that plays many matches on a {@link MatchServer} at once, to measure how the server holds up under load.
+ * <p>
+ * All the connections are served by one thread and one selector, like the server's own. Each connection joins a
+ * level, reads the states the server sends and, every few states, sends a random input as a player mashing keys
+ * would. The generator records the gap between consecutive states of each match, which is the tick rate a player
+ * would experience, and counts the matches that were played to the end.
+ */
+public class LoadGenerator {
+
+	private static final long SELECT_TIMEOUT_MILLIS = 10;
+	private static final int STATES_PER_INPUT = 4;
+	private static final InputCommand[] COMMANDS = InputCommand.values();
+	private static final Logger LOGGER = Logger.getLogger(LoadGenerator.class.getName());
+
+	private final InetSocketAddress server;
+	private final int matchCount;
+	private final GameRandom random;
+	private final TickHistogram stateGaps = new TickHistogram();
+
+	private int connected;
+	private int finished;
+	private long states;
+	private long inputs;
+
+	/**
+	 * Constructs a generator. Nothing is sent until {@link #run(long)} is called.
+	 *
+	 * @param server     The server's address.
+	 * @param matchCount The number of matches to play at once.
+	 * @param seed       Seeds the matches and the inputs, so runs can be repeated.
+	 * @throws IllegalArgumentException If the match count is not positive.
+	 */
+	public LoadGenerator(InetSocketAddress server, int matchCount, long seed) {
+		if (matchCount < 1) {
+			throw new IllegalArgumentException("Match count must be positive: " + matchCount);
+		}
+		this.server = server;
+		this.matchCount = matchCount;
+		this.random = new GameRandom(seed);
+	}
+
+	/**
+	 * Connects every match, plays until the time is up or every match has finished, then disconnects.
+	 *
+	 * @param durationMillis How long to play, in milliseconds.
+	 * @throws IOException If a connection could not be opened or failed.
+	 */
+	public void run(long durationMillis) throws IOException {
+		try (Selector selector = Selector.open()) {
+			for (int i = 0; i < matchCount; i++) {
+				SocketChannel channel = SocketChannel.open(server);
+				channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+				channel.configureBlocking(false);
+				Connection connection = new Connection();
+				connection.output.clear();
+				ServerProtocol.putJoin(connection.output, 1 + i % ServerProtocol.getLevelCount(), random.nextLong());
+				connection.output.flip();
+				channel.write(connection.output);
+				channel.register(selector, SelectionKey.OP_READ, connection);
+				connected++;
+			}
+
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+			while (finished < matchCount && System.nanoTime() < deadline) {
+				selector.select(this::read, SELECT_TIMEOUT_MILLIS);
+			}
+			for (SelectionKey key : selector.keys()) {
+				key.channel().close();
+			}
+		}
+	}
+
+	/**
+	 * Reads the states that have arrived on a connection and answers some of them with an input.
+	 */
+	private void read(SelectionKey key) {
+		SocketChannel channel = (SocketChannel) key.channel();
+		Connection connection = (Connection) key.attachment();
+		try {
+			if (channel.read(connection.input) < 0) {
+				key.cancel();
+				channel.close();
+				return;
+			}
+			long now = System.nanoTime();
+			ByteBuffer input = connection.input.flip();
+			while (input.remaining() >= ServerProtocol.STATE_LENGTH) {
+				if (input.get() != ServerProtocol.STATE) {
+					throw new IOException("Unexpected message from the server");
+				}
+				input.getLong(); // The tick
+				Outcome outcome = ServerProtocol.outcomeOf(input.get());
+				input.position(input.position() + 12); // Health, kills and entities
+				states++;
+				if (connection.lastStateNanos != 0) {
+					stateGaps.record(now - connection.lastStateNanos);
+				}
+				connection.lastStateNanos = now;
+				if (outcome != Outcome.RUNNING) {
+					finished++;
+					key.cancel();
+					channel.close();
+					return;
+				}
+				if (++connection.statesSinceInput == STATES_PER_INPUT) {
+					connection.statesSinceInput = 0;
+					sendInput(channel, connection);
+				}
+			}
+			input.compact();
+		} catch (IOException | IllegalArgumentException e) {
+			LOGGER.warning("Connection to the match server failed: " + e);
+			key.cancel();
+			try {
+				channel.close();
+			} catch (IOException closeFailure) {
+				// Already broken
+			}
+		}
+	}
+
+	private void sendInput(SocketChannel channel, Connection connection) throws IOException {
+		if (connection.output.hasRemaining()) {
+			channel.write(connection.output); // Finish the previous input first
+			if (connection.output.hasRemaining()) {
+				return;
+			}
+		}
+		connection.output.clear();
+		ServerProtocol.putInput(connection.output, COMMANDS[random.nextInt(COMMANDS.length)]);
+		connection.output.flip();
+		channel.write(connection.output);
+		inputs++;
+	}
+
+	/**
+	 * @return The number of matches that were connected.
+	 */
+	public int getConnected() {
+		return connected;
+	}
+
+	/**
+	 * @return The number of matches that were won or lost before the run ended.
+	 */
+	public int getFinished() {
+		return finished;
+	}
+
+	/**
+	 * @return The number of states received across all matches.
+	 */
+	public long getStates() {
+		return states;
+	}
+
+	/**
+	 * @return The number of inputs sent across all matches.
+	 */
+	public long getInputs() {
+		return inputs;
+	}
+
+	/**
+	 * @return The time between consecutive states of a match, as received.
+	 */
+	public TickHistogram getStateGaps() {
+		return stateGaps;
+	}
+
+	/**
+	 * Plays matches against a server and prints what the clients experienced.
+	 *
+	 * @param args The server's host and port, the number of matches and the run's length in seconds, all optional.
+	 * @throws IOException If the server could not be reached.
+	 */
+	public static void main(String[] args) throws IOException {
+		String host = args.length > 0 ? args[0] : "localhost";
+		int port = args.length > 1 ? Integer.parseInt(args[1]) : MatchServer.DEFAULT_PORT;
+		int matches = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+		long seconds = args.length > 3 ? Long.parseLong(args[3]) : 30;
+		LoadGenerator generator = new LoadGenerator(new InetSocketAddress(host, port), matches, System.nanoTime());
+		generator.run(TimeUnit.SECONDS.toMillis(seconds));
+		System.out.printf("%d matches connected, %d finished, %d states (%.0f/s), %d inputs; state gaps %s%n",
+				generator.getConnected(), generator.getFinished(), generator.getStates(),
+				generator.getStates() / (double) seconds, generator.getInputs(), generator.getStateGaps());
+	}
+
+	/**
+	 * One match's connection: the bytes of the state being read and of the input being sent.
+	 */
+	private static final class Connection {
+
+		private final ByteBuffer input = ByteBuffer.allocate(ServerProtocol.STATE_LENGTH * 64);
+		private final ByteBuffer output = ByteBuffer.allocate(ServerProtocol.JOIN_LENGTH);
+		private long lastStateNanos;
+		private int statesSinceInput;
+	}
+}
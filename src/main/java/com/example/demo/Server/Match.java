@@ -0,0 +1,192 @@
+package com.example.demo.Server;
+
+import com.example.demo.Simulation.InputCommand;
+import com.example.demo.Simulation.InputQueue;
+import com.example.demo.Simulation.Outcome;
+import com.example.demo.Simulation.SimulationWorld;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * One client's match on the server: the authoritative world, the inputs waiting for its next tick and its tick
+ * metrics.
+ * <p>
+ * The server's I/O thread offers the client's inputs; the match's ticks run on the server's scheduler, one at a time
+ * though not always on the same thread, drain them, step the world and write its state straight to the client's
+ * socket. A state that the socket cannot take whole is finished on the next tick, and the ticks in between send
+ * nothing, so a slow client falls behind on states rather than holding up the scheduler.
+ */
+public class Match {
+
+	private static final int INPUT_CAPACITY = 64;
+
+	private final int id;
+	private final int level;
+	private final SimulationWorld world;
+	private final SocketChannel channel;
+	private final MatchServer server;
+	private final InputQueue inputs = new InputQueue(INPUT_CAPACITY);
+	private final ByteBuffer output = ByteBuffer.allocate(ServerProtocol.STATE_LENGTH);
+	private final TickHistogram stepTimes = new TickHistogram();
+	private final TickHistogram lateness = new TickHistogram();
+	private final long tickNanos;
+	private final long firstTickNanos;
+
+	private volatile ScheduledFuture<?> future;
+	private volatile boolean finished;
+	private long ticks;
+	private long skippedStates;
+	private long droppedInputs; // Written by the I/O thread only
+
+	/**
+	 * Constructs a match. It does not tick until the server schedules it to start at {@code firstTickNanos}.
+	 */
+	Match(int id, int level, SimulationWorld world, SocketChannel channel, MatchServer server, long tickNanos,
+		  long firstTickNanos) {
+		this.id = id;
+		this.level = level;
+		this.world = world;
+		this.channel = channel;
+		this.server = server;
+		this.tickNanos = tickNanos;
+		this.firstTickNanos = firstTickNanos;
+		this.output.limit(0);
+	}
+
+	/**
+	 * Records the handle that cancels the match's ticks. Called by the server right after scheduling the match.
+	 */
+	void scheduled(ScheduledFuture<?> future) {
+		this.future = future;
+		if (finished) {
+			future.cancel(false); // The match ended before the handle was known
+		}
+	}
+
+	/**
+	 * Queues a command from the client for the next tick. Called on the server's I/O thread.
+	 */
+	void offer(InputCommand command) {
+		if (!inputs.offer(command)) {
+			droppedInputs++;
+		}
+	}
+
+	/**
+	 * Runs one tick: applies the queued inputs, steps the world, sends its state and records how late the tick
+	 * started and how long it took. Once the match is won or lost it stops ticking, leaving the client to close the
+	 * connection after reading the final state.
+	 */
+	void tick() {
+		if (finished) {
+			return;
+		}
+		long start = System.nanoTime();
+		lateness.record(start - (firstTickNanos + ticks * tickNanos));
+		InputCommand command;
+		while ((command = inputs.poll()) != null) {
+			world.apply(command);
+		}
+		world.step();
+		ticks++;
+		boolean over = world.getOutcome() != Outcome.RUNNING;
+		try {
+			send();
+		} catch (IOException e) {
+			over = true; // The client is gone; the I/O thread will notice and remove the match
+		}
+		stepTimes.record(System.nanoTime() - start);
+		if (over) {
+			finish();
+		}
+	}
+
+	/**
+	 * Writes the world's state, or the rest of an earlier state if the socket did not take all of it.
+	 */
+	private void send() throws IOException {
+		if (output.hasRemaining()) {
+			channel.write(output);
+			if (output.hasRemaining()) {
+				skippedStates++;
+				return;
+			}
+		}
+		output.clear();
+		ServerProtocol.putState(output, world);
+		output.flip();
+		channel.write(output);
+	}
+
+	/**
+	 * Stops the match's ticks. Safe to call from any thread, more than once.
+	 */
+	void finish() {
+		synchronized (this) {
+			if (finished) {
+				return;
+			}
+			finished = true;
+		}
+		server.matchFinished(this);
+		ScheduledFuture<?> handle = future;
+		if (handle != null) {
+			handle.cancel(false);
+		}
+	}
+
+	/**
+	 * @return The match's id, unique on its server.
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * @return The level number the match plays.
+	 */
+	public int getLevel() {
+		return level;
+	}
+
+	/**
+	 * @return Whether the match has stopped ticking because it was won or lost or its client left.
+	 */
+	public boolean isFinished() {
+		return finished;
+	}
+
+	/**
+	 * @return How long each tick took to run, from draining the inputs to sending the state.
+	 */
+	public TickHistogram getStepTimes() {
+		return stepTimes;
+	}
+
+	/**
+	 * @return How long after its due time each tick started, which grows when the scheduler is overloaded.
+	 */
+	public TickHistogram getLateness() {
+		return lateness;
+	}
+
+	/**
+	 * @return The number of ticks whose state was not sent because the client had not read the previous one.
+	 */
+	public long getSkippedStates() {
+		return skippedStates;
+	}
+
+	/**
+	 * @return The number of inputs dropped because the client sent more than a tick's worth.
+	 */
+	long getDroppedInputs() {
+		return droppedInputs;
+	}
+
+	SocketChannel getChannel() {
+		return channel;
+	}
+}
@@ -0,0 +1,339 @@
+package com.example.demo.Server;
+
+import com.example.demo.Simulation.SimulationRules;
+import com.example.demo.Simulation.SimulationWorld;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A headless server hosting one authoritative match per connected client, without JavaFX.
+ * <p>
+ * A single I/O thread owns a selector over every client socket: it accepts connections, reads the clients' join and
+ * input messages without blocking and hands inputs to their matches. Each match then holds one slot on a shared
+ * scheduler, which ticks it at a fixed rate on a small pool of threads; the tick steps the match's
+ * {@link SimulationWorld} and writes the resulting state back to its client (see {@link Match}). A match therefore
+ * costs a world, a few buffers and a scheduler entry rather than a thread, which lets one JVM host thousands of them.
+ * <p>
+ * Every match records how long its ticks take and how late they start; {@link #report()} summarises them across the
+ * server.
+ */
+public class MatchServer implements Runnable {
+
+	public static final int DEFAULT_PORT = 7777;
+	public static final long DEFAULT_TICK_MILLIS = 50; // The rate the levels tick at
+	private static final long SELECT_TIMEOUT_MILLIS = 100;
+	private static final long REPORT_SECONDS = 10;
+	private static final Logger LOGGER = Logger.getLogger(MatchServer.class.getName());
+
+	private final ServerSocketChannel serverChannel;
+	private final Selector selector;
+	private final ScheduledThreadPoolExecutor scheduler;
+	private final long tickNanos;
+	private final Thread thread;
+	private final Map<Integer, Match> matches = new ConcurrentHashMap<>();
+	private final AtomicLong finishedMatches = new AtomicLong();
+	private final TickHistogram retiredStepTimes = new TickHistogram(); // Written by the I/O thread only
+	private final TickHistogram retiredLateness = new TickHistogram();
+	private int nextMatchId; // Used by the I/O thread only
+
+	private volatile boolean running;
+
+	/**
+	 * Binds the server's socket on all interfaces. The server accepts no clients until {@link #start()} is called.
+	 *
+	 * @param port        The port to listen on, or 0 for any free port.
+	 * @param tickThreads The number of threads ticking the matches.
+	 * @param tickMillis  The time between a match's ticks, in milliseconds.
+	 * @throws IOException              If the port could not be bound.
+	 * @throws IllegalArgumentException If there are no tick threads or the tick time is not positive.
+	 */
+	public MatchServer(int port, int tickThreads, long tickMillis) throws IOException {
+		if (tickThreads < 1) {
+			throw new IllegalArgumentException("At least one tick thread is needed: " + tickThreads);
+		}
+		if (tickMillis < 1) {
+			throw new IllegalArgumentException("Tick time must be positive: " + tickMillis);
+		}
+		this.tickNanos = tickMillis * 1_000_000L;
+		this.serverChannel = ServerSocketChannel.open();
+		this.serverChannel.bind(new InetSocketAddress(port), 1024);
+		this.serverChannel.configureBlocking(false);
+		this.selector = Selector.open();
+		this.serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+		AtomicInteger threadCount = new AtomicInteger();
+		this.scheduler = new ScheduledThreadPoolExecutor(tickThreads, task -> {
+			Thread tickThread = new Thread(task, "match-tick-" + threadCount.incrementAndGet());
+			tickThread.setDaemon(true);
+			return tickThread;
+		});
+		this.scheduler.setRemoveOnCancelPolicy(true); // Finished matches leave the scheduler's queue at once
+		this.thread = new Thread(this, "match-server-io");
+		this.thread.setDaemon(true);
+	}
+
+	/**
+	 * Starts the I/O thread.
+	 */
+	public void start() {
+		running = true;
+		thread.start();
+	}
+
+	/**
+	 * Stops accepting and ticking, closes every client connection and waits for the I/O thread to finish.
+	 *
+	 * @throws InterruptedException If interrupted while waiting.
+	 */
+	public void stop() throws InterruptedException {
+		running = false;
+		selector.wakeup();
+		if (thread.isAlive() && thread != Thread.currentThread()) {
+			thread.join();
+		}
+		scheduler.shutdownNow();
+		scheduler.awaitTermination(1, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * @return The port the server listens on.
+	 * @throws IOException If the server's socket is closed.
+	 */
+	public int getPort() throws IOException {
+		return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+	}
+
+	/**
+	 * Serves clients until the server is stopped. Runs on the server's I/O thread.
+	 */
+	@Override
+	public void run() {
+		try {
+			while (running) {
+				selector.select(this::handle, SELECT_TIMEOUT_MILLIS);
+			}
+		} catch (IOException e) {
+			LOGGER.log(Level.SEVERE, "Match server selector failed", e);
+		} finally {
+			for (SelectionKey key : selector.keys()) {
+				if (key.attachment() instanceof Client) {
+					disconnect(key);
+				}
+			}
+			try {
+				selector.close();
+				serverChannel.close();
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING, "Could not close the match server's sockets", e);
+			}
+		}
+	}
+
+	/**
+	 * Handles one ready key: a new connection or data from a client.
+	 */
+	private void handle(SelectionKey key) {
+		try {
+			if (key.isAcceptable()) {
+				accept();
+			} else if (key.isReadable()) {
+				read(key);
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			LOGGER.log(Level.FINE, "Dropping client", e);
+			disconnect(key);
+		}
+	}
+
+	private void accept() throws IOException {
+		SocketChannel channel;
+		while ((channel = serverChannel.accept()) != null) {
+			channel.configureBlocking(false);
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true); // States are small and due at once
+			channel.register(selector, SelectionKey.OP_READ, new Client());
+		}
+	}
+
+	/**
+	 * Reads what a client has sent and handles every complete message in it.
+	 *
+	 * @throws IllegalArgumentException If the client broke the protocol.
+	 */
+	private void read(SelectionKey key) throws IOException {
+		SocketChannel channel = (SocketChannel) key.channel();
+		Client client = (Client) key.attachment();
+		if (channel.read(client.input) < 0) {
+			disconnect(key);
+			return;
+		}
+		ByteBuffer input = client.input.flip();
+		while (input.hasRemaining()) {
+			byte type = input.get(input.position());
+			int length = ServerProtocol.clientMessageLength(type);
+			if (length < 0) {
+				throw new IllegalArgumentException("Unknown message type: " + type);
+			}
+			if (input.remaining() < length) {
+				break;
+			}
+			input.get();
+			if (type == ServerProtocol.JOIN) {
+				if (client.match != null) {
+					throw new IllegalArgumentException("Client joined twice");
+				}
+				int level = input.get();
+				client.match = join(channel, level, input.getLong());
+			} else {
+				if (client.match == null) {
+					throw new IllegalArgumentException("Input before joining");
+				}
+				client.match.offer(ServerProtocol.getInput(input));
+			}
+		}
+		input.compact();
+	}
+
+	/**
+	 * Starts a client's match and schedules its ticks.
+	 */
+	private Match join(SocketChannel channel, int level, long seed) {
+		SimulationRules rules = ServerProtocol.rulesOf(level);
+		SimulationWorld world = new SimulationWorld(rules, ServerProtocol.SCREEN_HEIGHT, ServerProtocol.SCREEN_WIDTH,
+				seed);
+		long firstTick = System.nanoTime() + tickNanos;
+		Match match = new Match(nextMatchId++, level, world, channel, this, tickNanos, firstTick);
+		matches.put(match.getId(), match);
+		match.scheduled(scheduler.scheduleAtFixedRate(match::tick, firstTick - System.nanoTime(), tickNanos,
+				TimeUnit.NANOSECONDS));
+		return match;
+	}
+
+	/**
+	 * Closes a client's connection and retires its match, keeping the match's metrics in the server's totals.
+	 */
+	private void disconnect(SelectionKey key) {
+		key.cancel();
+		try {
+			key.channel().close();
+		} catch (IOException e) {
+			LOGGER.log(Level.FINE, "Could not close a client", e);
+		}
+		Object attachment = key.attachment();
+		if (attachment instanceof Client client && client.match != null) {
+			Match match = client.match;
+			client.match = null;
+			match.finish();
+			matches.remove(match.getId());
+			retiredStepTimes.add(match.getStepTimes());
+			retiredLateness.add(match.getLateness());
+		}
+	}
+
+	/**
+	 * Counts a match that has stopped ticking. Called once per match, from whichever thread stopped it.
+	 */
+	void matchFinished(Match match) {
+		finishedMatches.incrementAndGet();
+	}
+
+	/**
+	 * @return The number of matches whose clients are still connected, whether or not the matches are still ticking.
+	 */
+	public int getMatchCount() {
+		return matches.size();
+	}
+
+	/**
+	 * @return The number of matches that have stopped ticking.
+	 */
+	public long getFinishedMatches() {
+		return finishedMatches.get();
+	}
+
+	/**
+	 * @return A live view of the matches whose clients are still connected.
+	 */
+	public Collection<Match> getMatches() {
+		return Collections.unmodifiableCollection(matches.values());
+	}
+
+	/**
+	 * Returns the tick times of every match the server has hosted, as one histogram.
+	 *
+	 * @return A new histogram; the matches' own keep counting.
+	 */
+	public TickHistogram getStepTimes() {
+		TickHistogram total = new TickHistogram();
+		total.add(retiredStepTimes);
+		for (Match match : matches.values()) {
+			total.add(match.getStepTimes());
+		}
+		return total;
+	}
+
+	/**
+	 * Returns how late the ticks of every match the server has hosted started, as one histogram.
+	 *
+	 * @return A new histogram; the matches' own keep counting.
+	 */
+	public TickHistogram getLateness() {
+		TickHistogram total = new TickHistogram();
+		total.add(retiredLateness);
+		for (Match match : matches.values()) {
+			total.add(match.getLateness());
+		}
+		return total;
+	}
+
+	/**
+	 * @return A one-line summary of the server's matches and tick metrics, for logging.
+	 */
+	public String report() {
+		return String.format("matches=%d connected, %d finished; tick %s; late %s", getMatchCount(),
+				getFinishedMatches(), getStepTimes(), getLateness());
+	}
+
+	/**
+	 * Runs a server until the process is killed, logging a report every ten seconds.
+	 *
+	 * @param args The port, the number of tick threads and the tick time in milliseconds, all optional.
+	 * @throws Exception If the server could not start.
+	 */
+	public static void main(String[] args) throws Exception {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		long tickMillis = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_TICK_MILLIS;
+		MatchServer server = new MatchServer(port, threads, tickMillis);
+		server.start();
+		LOGGER.info("Match server listening on port " + server.getPort() + " with " + threads + " tick threads");
+		while (true) {
+			Thread.sleep(TimeUnit.SECONDS.toMillis(REPORT_SECONDS));
+			LOGGER.info(server.report());
+		}
+	}
+
+	/**
+	 * A connected client: the bytes of its unfinished message and its match, once it has joined.
+	 */
+	private static final class Client {
+
+		private final ByteBuffer input = ByteBuffer.allocate(64);
+		private Match match;
+	}
+}
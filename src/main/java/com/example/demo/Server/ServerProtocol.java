@@ -0,0 +1,132 @@
+package com.example.demo.Server;
+
+import com.example.demo.Level.LevelFour;
+import com.example.demo.Level.LevelOne;
+import com.example.demo.Level.LevelThree;
+import com.example.demo.Level.LevelTwo;
+import com.example.demo.Simulation.InputCommand;
+import com.example.demo.Simulation.Outcome;
+import com.example.demo.Simulation.SimulationRules;
+import com.example.demo.Simulation.SimulationWorld;
+import java.nio.ByteBuffer;
+
+/**
+ * The messages exchanged between the match server and its clients over a TCP stream, all of fixed length and in
+ * network byte order:
+ * <ul>
+ *   <li>{@link #JOIN}: the level number (one byte, 1 to 4) and the match's seed (eight bytes). Sent once, first, and
+ *   starts the client's match.</li>
+ *   <li>{@link #INPUT}: the ordinal of an {@link InputCommand} (one byte), applied at the start of the next tick.</li>
+ *   <li>{@link #STATE}: sent by the server after every tick: the tick (eight bytes), the outcome's ordinal (one
+ *   byte), the user's health, the kills and the number of entities (four bytes each).</li>
+ * </ul>
+ */
+public final class ServerProtocol {
+
+	public static final byte JOIN = 1;
+	public static final byte INPUT = 2;
+	public static final byte STATE = 3;
+
+	public static final int JOIN_LENGTH = 10;
+	public static final int INPUT_LENGTH = 2;
+	public static final int STATE_LENGTH = 22;
+
+	/**
+	 * The screen every match is simulated on, the size the game window opens at.
+	 */
+	public static final double SCREEN_HEIGHT = 900;
+	public static final double SCREEN_WIDTH = 1600;
+
+	private static final SimulationRules[] LEVELS = {
+			LevelOne.SIMULATION_RULES, LevelTwo.SIMULATION_RULES, LevelThree.SIMULATION_RULES, LevelFour.SIMULATION_RULES
+	};
+	private static final InputCommand[] COMMANDS = InputCommand.values();
+	private static final Outcome[] OUTCOMES = Outcome.values();
+
+	private ServerProtocol() {
+	}
+
+	/**
+	 * @return The number of levels a client can join.
+	 */
+	public static int getLevelCount() {
+		return LEVELS.length;
+	}
+
+	/**
+	 * Returns the rules of a level.
+	 *
+	 * @param level The level number, from 1.
+	 * @return The level's rules.
+	 * @throws IllegalArgumentException If there is no such level.
+	 */
+	public static SimulationRules rulesOf(int level) {
+		if (level < 1 || level > LEVELS.length) {
+			throw new IllegalArgumentException("No such level: " + level);
+		}
+		return LEVELS[level - 1];
+	}
+
+	/**
+	 * Returns the length of the message starting with the given type byte, sent by a client.
+	 *
+	 * @param type The message's first byte.
+	 * @return The message's length including the type, or -1 if clients do not send messages of that type.
+	 */
+	static int clientMessageLength(byte type) {
+		return switch (type) {
+			case JOIN -> JOIN_LENGTH;
+			case INPUT -> INPUT_LENGTH;
+			default -> -1;
+		};
+	}
+
+	/**
+	 * Writes a join message.
+	 */
+	public static void putJoin(ByteBuffer buffer, int level, long seed) {
+		buffer.put(JOIN).put((byte) level).putLong(seed);
+	}
+
+	/**
+	 * Writes an input message.
+	 */
+	public static void putInput(ByteBuffer buffer, InputCommand command) {
+		buffer.put(INPUT).put((byte) command.ordinal());
+	}
+
+	/**
+	 * Reads the command of an input message whose type byte has been read.
+	 *
+	 * @throws IllegalArgumentException If the ordinal is not a command's.
+	 */
+	static InputCommand getInput(ByteBuffer buffer) {
+		int ordinal = buffer.get();
+		if (ordinal < 0 || ordinal >= COMMANDS.length) {
+			throw new IllegalArgumentException("No such command: " + ordinal);
+		}
+		return COMMANDS[ordinal];
+	}
+
+	/**
+	 * Writes the state of a world after a tick.
+	 */
+	static void putState(ByteBuffer buffer, SimulationWorld world) {
+		buffer.put(STATE).putLong(world.getTick()).put((byte) world.getOutcome().ordinal())
+				.putInt(world.getUserHealth()).putInt(world.getKills()).putInt(world.getEntityCount());
+	}
+
+	/**
+	 * Returns the outcome a state message carries.
+	 *
+	 * @param ordinal The message's outcome byte.
+	 * @return The outcome.
+	 * @throws IllegalArgumentException If the ordinal is not an outcome's.
+	 */
+	public static Outcome outcomeOf(int ordinal) {
+		if (ordinal < 0 || ordinal >= OUTCOMES.length) {
+			throw new IllegalArgumentException("No such outcome: " + ordinal);
+		}
+		return OUTCOMES[ordinal];
+	}
+}
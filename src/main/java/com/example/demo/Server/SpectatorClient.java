@@ -0,0 +1,130 @@
+package com.example.demo.Server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Receives a {@link SpectatorServer}'s stream on a background thread and hands the newest frames to a
+ * {@link StateDecoder} on the reader's thread.
+ * <p>
+ * Only the latest keyframe and the latest delta are kept, since a delta is coded against its keyframe alone: a reader
+ * that polls less often than the server ticks skips the deltas in between instead of falling behind.
+ */
+public class SpectatorClient implements Runnable {
+
+	private static final int BUFFER_BYTES = 1 << 16;
+	private static final Logger LOGGER = Logger.getLogger(SpectatorClient.class.getName());
+
+	private final SocketChannel channel;
+	private final Thread thread;
+	private final AtomicReference<ByteBuffer> pendingKeyframe = new AtomicReference<>();
+	private final AtomicReference<ByteBuffer> pendingDelta = new AtomicReference<>();
+	private volatile boolean connected = true;
+	private volatile long receivedBytes;
+
+	/**
+	 * Connects to a spectator server. Frames are not received until {@link #start()} is called.
+	 *
+	 * @param address The server's address.
+	 * @throws IOException If the server could not be reached.
+	 */
+	public SpectatorClient(InetSocketAddress address) throws IOException {
+		this.channel = SocketChannel.open(address);
+		this.thread = new Thread(this, "spectator-client");
+		this.thread.setDaemon(true);
+	}
+
+	/**
+	 * Starts the receiving thread.
+	 */
+	public void start() {
+		thread.start();
+	}
+
+	/**
+	 * Disconnects from the server.
+	 *
+	 * @throws IOException If the connection could not be closed.
+	 */
+	public void close() throws IOException {
+		connected = false;
+		channel.close();
+	}
+
+	/**
+	 * Receives frames until the connection closes.
+	 */
+	@Override
+	public void run() {
+		ByteBuffer stream = ByteBuffer.allocate(BUFFER_BYTES);
+		try {
+			while (connected) {
+				int read = channel.read(stream);
+				if (read < 0) {
+					break;
+				}
+				receivedBytes += read;
+				stream.flip();
+				ByteBuffer frame;
+				while ((frame = StateDecoder.nextFrame(stream)) != null) {
+					ByteBuffer copy = ByteBuffer.allocate(frame.remaining()).put(frame).flip();
+					if (StateDecoder.isKeyframe(copy)) {
+						pendingKeyframe.set(copy);
+						pendingDelta.set(null); // Coded against an older keyframe
+					} else {
+						pendingDelta.set(copy);
+					}
+				}
+				if (stream.position() == 0 && stream.limit() == stream.capacity()) {
+					stream = ByteBuffer.allocate(stream.capacity() * 2).put(stream); // A frame larger than the buffer
+				} else {
+					stream.compact();
+				}
+			}
+		} catch (IOException | IllegalArgumentException e) {
+			if (connected) {
+				LOGGER.log(Level.WARNING, "Spectator stream failed", e);
+			}
+		} finally {
+			connected = false;
+		}
+	}
+
+	/**
+	 * Decodes the frames that have arrived since the last call. Must only be called from one thread.
+	 *
+	 * @param decoder The decoder to update.
+	 * @return {@code true} if the decoder's state changed.
+	 */
+	public boolean poll(StateDecoder decoder) {
+		boolean updated = false;
+		ByteBuffer keyframe = pendingKeyframe.getAndSet(null);
+		if (keyframe != null) {
+			updated = decoder.decode(keyframe);
+		}
+		ByteBuffer delta = pendingDelta.getAndSet(null);
+		if (delta != null) {
+			updated |= decoder.decode(delta);
+		}
+		return updated;
+	}
+
+	/**
+	 * @return Whether the stream is still open.
+	 */
+	public boolean isConnected() {
+		return connected;
+	}
+
+	/**
+	 * @return The number of bytes received so far.
+	 */
+	public long getReceivedBytes() {
+		return receivedBytes;
+	}
+}
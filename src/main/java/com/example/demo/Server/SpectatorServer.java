@@ -0,0 +1,430 @@
+package com.example.demo.Server;
+
+import com.example.demo.Simulation.SimulationWorld;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Streams a running world to any number of spectators over TCP, encoded by a {@link StateEncoder}.
+ * <p>
+ * The simulation thread {@link #publish(SimulationWorld) publishes} each tick: the tick is encoded once into a direct
+ * buffer, and every spectator is sent that same buffer through its own read-only duplicate, so the bytes are never
+ * copied per spectator. The buffers are kept in a pool of frames and reused: a spectator holds the frame it is sending
+ * until it has been written, and the publisher only overwrites a frame that no spectator holds and that is neither the
+ * latest frame nor the latest keyframe. The pool grows only while more frames are held at once than ever before, so
+ * once every spectator has connected, publishing allocates no direct memory. A single I/O thread serves every spectator with one selector. Because each delta is coded
+ * against the latest keyframe, a spectator that has not finished writing one frame simply skips to the newest frame
+ * when it is ready again, sending the keyframe first if it has not had it; a slow spectator therefore sees fewer ticks
+ * but never holds up the others or the simulation.
+ * <p>
+ * Setting the {@value #PORT_PROPERTY} system property makes threaded levels stream themselves on that port.
+ */
+public class SpectatorServer implements Runnable {
+
+	/**
+	 * The system property holding the port threaded levels stream to spectators on, if set.
+	 */
+	public static final String PORT_PROPERTY = "cw2024.spectatorPort";
+	public static final int DEFAULT_KEYFRAME_INTERVAL = 20; // One second at the levels' tick rate
+	private static final long SELECT_TIMEOUT_MILLIS = 100;
+	private static final int INITIAL_FRAMES = 4; // The latest frame, its keyframe, one being sent and one being written
+	private static final int INITIAL_FRAME_CAPACITY = 4096;
+	private static final Logger LOGGER = Logger.getLogger(SpectatorServer.class.getName());
+	private static SpectatorServer shared;
+
+	private final ServerSocketChannel serverChannel;
+	private final Selector selector;
+	private final StateEncoder encoder;
+	private final Thread thread;
+	private final ByteBuffer discard = ByteBuffer.allocate(64); // Used by the I/O thread only
+	private Frame[] frames = new Frame[INITIAL_FRAMES]; // Used by the publishing thread only
+	private int frameCount;
+	private int nextFrame;
+	private Frame lastKeyframe;
+	private long nextSequence;
+
+	private volatile Frame latest;
+	private volatile int viewerCount;
+	private volatile boolean running;
+	private long sentFrames; // Written by the I/O thread only
+	private long skippedFrames;
+
+	/**
+	 * Binds the server's socket. Nothing is served until {@link #start()} is called.
+	 *
+	 * @param port             The port to listen on, or 0 for any free port.
+	 * @param keyframeInterval The number of ticks between keyframes.
+	 * @throws IOException If the port could not be bound.
+	 */
+	public SpectatorServer(int port, int keyframeInterval) throws IOException {
+		this.encoder = new StateEncoder(keyframeInterval);
+		this.serverChannel = ServerSocketChannel.open();
+		this.serverChannel.bind(new InetSocketAddress(port));
+		this.serverChannel.configureBlocking(false);
+		this.selector = Selector.open();
+		this.serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+		this.thread = new Thread(this, "spectator-server");
+		this.thread.setDaemon(true);
+	}
+
+	/**
+	 * Returns the server threaded levels stream to, starting it on first use.
+	 *
+	 * @return The server, or {@code null} if the {@value #PORT_PROPERTY} property is not set or the port could not
+	 *         be bound.
+	 */
+	public static synchronized SpectatorServer fromProperty() {
+		String port = System.getProperty(PORT_PROPERTY);
+		if (shared == null && port != null) {
+			try {
+				shared = new SpectatorServer(Integer.parseInt(port), DEFAULT_KEYFRAME_INTERVAL);
+				shared.start();
+				LOGGER.info("Streaming to spectators on port " + shared.getPort());
+			} catch (IOException | NumberFormatException e) {
+				LOGGER.log(Level.WARNING, "Could not start the spectator server on port " + port, e);
+				System.clearProperty(PORT_PROPERTY); // Do not retry for every level
+			}
+		}
+		return shared;
+	}
+
+	/**
+	 * Starts the I/O thread.
+	 */
+	public void start() {
+		running = true;
+		thread.start();
+	}
+
+	/**
+	 * Disconnects every spectator and waits for the I/O thread to finish.
+	 *
+	 * @throws InterruptedException If interrupted while waiting.
+	 */
+	public void stop() throws InterruptedException {
+		running = false;
+		selector.wakeup();
+		if (thread.isAlive() && thread != Thread.currentThread()) {
+			thread.join();
+		}
+	}
+
+	/**
+	 * @return The port the server listens on.
+	 * @throws IOException If the server's socket is closed.
+	 */
+	public int getPort() throws IOException {
+		return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+	}
+
+	/**
+	 * Encodes the world's current tick and sends it to every spectator. Must only be called from one thread at a
+	 * time, the one that steps the world.
+	 *
+	 * @param world The world, just after a tick.
+	 */
+	public void publish(SimulationWorld world) {
+		ByteBuffer encoded = encoder.encode(world);
+		Frame frame = claimFrame();
+		frame.write(encoded, nextSequence++, encoder.isKeyframe() ? frame : lastKeyframe);
+		if (encoder.isKeyframe()) {
+			lastKeyframe = frame;
+		}
+		latest = frame;
+		if (viewerCount > 0) {
+			selector.wakeup();
+		}
+	}
+
+	/**
+	 * Takes a frame that no spectator holds and that is neither the latest frame nor the latest keyframe, adding one to
+	 * the pool if every frame is in use.
+	 */
+	private Frame claimFrame() {
+		for (int i = 0; i < frameCount; i++) {
+			Frame frame = frames[nextFrame];
+			nextFrame = (nextFrame + 1) % frameCount;
+			if (frame != latest && frame != lastKeyframe && frame.claim()) {
+				return frame;
+			}
+		}
+		if (frameCount == frames.length) {
+			frames = Arrays.copyOf(frames, frameCount * 2);
+		}
+		Frame frame = new Frame();
+		frame.claim();
+		frames[frameCount++] = frame;
+		return frame;
+	}
+
+	/**
+	 * Serves spectators until the server is stopped. Runs on the server's I/O thread.
+	 */
+	@Override
+	public void run() {
+		long pumped = -1;
+		try {
+			while (running) {
+				selector.select(this::handle, SELECT_TIMEOUT_MILLIS);
+				Frame frame = latest;
+				if (frame != null && frame.sequence != pumped) {
+					pumped = frame.sequence;
+					for (SelectionKey key : selector.keys()) {
+						if (key.isValid() && key.attachment() instanceof Viewer viewer && !viewer.isSending()) {
+							trySend(key, viewer);
+						}
+					}
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.log(Level.SEVERE, "Spectator server selector failed", e);
+		} finally {
+			for (SelectionKey key : selector.keys()) {
+				close(key);
+			}
+			try {
+				selector.close();
+			} catch (IOException e) {
+				LOGGER.log(Level.WARNING, "Could not close the spectator server", e);
+			}
+		}
+	}
+
+	private void handle(SelectionKey key) {
+		try {
+			if (key.isAcceptable()) {
+				SocketChannel channel;
+				while ((channel = serverChannel.accept()) != null) {
+					channel.configureBlocking(false);
+					SelectionKey viewerKey = channel.register(selector, SelectionKey.OP_READ, new Viewer());
+					viewerCount++;
+					trySend(viewerKey, (Viewer) viewerKey.attachment()); // Starts with the latest keyframe
+				}
+				return;
+			}
+			if (key.isReadable() && ((SocketChannel) key.channel()).read(discard.clear()) < 0) {
+				close(key); // Spectators send nothing; this is the end of the stream
+				return;
+			}
+			if (key.isValid() && key.isWritable()) {
+				send(key, (Viewer) key.attachment());
+			}
+		} catch (IOException e) {
+			LOGGER.log(Level.FINE, "Dropping spectator", e);
+			close(key);
+		}
+	}
+
+	private void trySend(SelectionKey key, Viewer viewer) {
+		try {
+			send(key, viewer);
+		} catch (IOException e) {
+			LOGGER.log(Level.FINE, "Dropping spectator", e);
+			close(key);
+		}
+	}
+
+	/**
+	 * Finishes the spectator's current frame and then moves it on to the newest one, writing until the socket is
+	 * full or the spectator is up to date.
+	 */
+	private void send(SelectionKey key, Viewer viewer) throws IOException {
+		SocketChannel channel = (SocketChannel) key.channel();
+		while (true) {
+			if (viewer.isSending()) {
+				channel.write(viewer.sending);
+				if (viewer.isSending()) {
+					key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+					return;
+				}
+				sentFrames++;
+			}
+			viewer.release();
+			Frame frame = acquireLatest();
+			if (frame == null || frame.sequence == viewer.sequence) {
+				if (frame != null) {
+					frame.release();
+				}
+				key.interestOps(SelectionKey.OP_READ);
+				return;
+			}
+			Frame keyframe = frame.keyframe;
+			long keyframeSequence = frame.keyframeSequence;
+			if (viewer.keyframeSequence != keyframeSequence) {
+				if (keyframe != frame) {
+					frame.release();
+					if (!keyframe.acquire(keyframeSequence)) {
+						continue; // Already overwritten, so a newer keyframe has been published
+					}
+					frame = keyframe;
+				}
+				viewer.keyframeSequence = keyframeSequence;
+			} else if (viewer.sequence >= 0) {
+				skippedFrames += frame.sequence - viewer.sequence - 1;
+			}
+			viewer.sequence = frame.sequence;
+			viewer.frame = frame;
+			viewer.sending = frame.data.duplicate();
+		}
+	}
+
+	/**
+	 * Takes hold of the latest frame, so that it is not overwritten while it is being sent.
+	 *
+	 * @return The frame, or {@code null} if nothing has been published yet.
+	 */
+	private Frame acquireLatest() {
+		while (true) {
+			Frame frame = latest;
+			if (frame == null || frame.acquire(frame.sequence)) {
+				return frame;
+			}
+		}
+	}
+
+	private void close(SelectionKey key) {
+		if (key.attachment() instanceof Viewer viewer) {
+			viewer.release();
+			viewerCount--;
+			key.attach(null);
+		}
+		key.cancel();
+		try {
+			key.channel().close();
+		} catch (IOException e) {
+			LOGGER.log(Level.FINE, "Could not close a spectator", e);
+		}
+	}
+
+	/**
+	 * @return The number of spectators connected.
+	 */
+	public int getViewerCount() {
+		return viewerCount;
+	}
+
+	/**
+	 * @return The number of frames written in full to spectators.
+	 */
+	public long getSentFrames() {
+		return sentFrames;
+	}
+
+	/**
+	 * @return The number of frames in the pool, each holding a direct buffer.
+	 */
+	public int getFrameCount() {
+		return frameCount;
+	}
+
+	/**
+	 * @return The number of deltas spectators skipped because they were still writing an earlier frame.
+	 */
+	public long getSkippedFrames() {
+		return skippedFrames;
+	}
+
+	/**
+	 * An encoded tick, shared by every spectator, with the keyframe it is coded against.
+	 * <p>
+	 * Frames are reused, so a frame's sequence number tells which tick it holds. A spectator
+	 * {@link #acquire(long) acquires} a frame for the tick it expects before reading it, and the publisher only
+	 * {@link #claim() claims} a frame to overwrite once no spectator holds it.
+	 */
+	private static final class Frame {
+
+		private final AtomicInteger holders = new AtomicInteger(); // Spectators sending it, or -1 while it is written
+		private ByteBuffer buffer; // Written by the publisher
+		private ByteBuffer data; // Read-only view of the buffer, duplicated for each spectator
+		private volatile long sequence = -1;
+		private Frame keyframe; // This frame, for a keyframe
+		private long keyframeSequence;
+
+		/**
+		 * Takes the frame for writing if no spectator holds it.
+		 */
+		private boolean claim() {
+			return holders.compareAndSet(0, -1);
+		}
+
+		/**
+		 * Writes an encoded tick into the claimed frame, growing its buffer if needed, and releases it for reading.
+		 */
+		private void write(ByteBuffer encoded, long sequence, Frame keyframe) {
+			if (buffer == null || buffer.capacity() < encoded.remaining()) {
+				int capacity = INITIAL_FRAME_CAPACITY;
+				while (capacity < encoded.remaining()) {
+					capacity *= 2;
+				}
+				buffer = ByteBuffer.allocateDirect(capacity);
+				data = buffer.asReadOnlyBuffer();
+			}
+			buffer.clear();
+			buffer.put(encoded);
+			data.clear().limit(buffer.position());
+			this.keyframe = keyframe;
+			this.keyframeSequence = keyframe == this ? sequence : keyframe.sequence;
+			this.sequence = sequence;
+			holders.set(0);
+		}
+
+		/**
+		 * Holds the frame for sending if it still holds the expected tick.
+		 *
+		 * @return {@code false} if the frame is being written or holds another tick.
+		 */
+		private boolean acquire(long expectedSequence) {
+			int current;
+			do {
+				current = holders.get();
+				if (current < 0) {
+					return false;
+				}
+			} while (!holders.compareAndSet(current, current + 1));
+			if (sequence != expectedSequence) {
+				release();
+				return false;
+			}
+			return true;
+		}
+
+		private void release() {
+			holders.decrementAndGet();
+		}
+	}
+
+	/**
+	 * A spectator's progress through the stream.
+	 */
+	private static final class Viewer {
+
+		private ByteBuffer sending;
+		private Frame frame; // The frame being sent, held until it has been written
+		private long keyframeSequence = -1;
+		private long sequence = -1;
+
+		private boolean isSending() {
+			return sending != null && sending.hasRemaining();
+		}
+
+		/**
+		 * Lets go of the frame that was being sent.
+		 */
+		private void release() {
+			if (frame != null) {
+				frame.release();
+				frame = null;
+			}
+			sending = null;
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package com.example.demo.Server;
+
+import com.example.demo.Display.SpriteAtlas;
+import com.example.demo.Simulation.EntityKind;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.image.ImageView;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+/**
+ * Rebuilds a game's scene inside a {@link Group} from a {@link SpectatorClient}'s stream alone, without simulating.
+ * <p>
+ * Like {@link com.example.demo.Simulation.SimulationView}, the view decodes the newest frames once per pulse and
+ * matches the decoded entities with its nodes by id in one merge pass, creating, moving and removing nodes as
+ * entities appear, move and disappear. Every entity, the user's plane included, gets its own sprite, and a line of
+ * text shows the user's health and kills.
+ */
+public class SpectatorView {
+
+	private static final double INVINCIBLE_OPACITY = 0.5;
+	private static final double STATUS_X_POSITION = 10;
+	private static final double STATUS_Y_POSITION = 30;
+	private static final double STATUS_FONT_SIZE = 20;
+
+	private final SpectatorClient client;
+	private final Scene scene;
+	private final Group root;
+	private final StateDecoder decoder = new StateDecoder();
+	private final Text status = new Text(STATUS_X_POSITION, STATUS_Y_POSITION, "Waiting for the stream");
+	private final Runnable pulseListener = this::onPulse;
+
+	private int nodeCount;
+	private int[] nodeIds = new int[64];
+	private Node[] nodes = new Node[64];
+	private int[] nextIds = new int[64];
+	private Node[] nextNodes = new Node[64];
+	private boolean attached;
+
+	/**
+	 * Constructs a view of a spectator stream.
+	 *
+	 * @param client The client receiving the stream.
+	 * @param scene  The scene whose pulses drive the view.
+	 * @param root   The group the entity nodes are added to.
+	 */
+	public SpectatorView(SpectatorClient client, Scene scene, Group root) {
+		this.client = client;
+		this.scene = scene;
+		this.root = root;
+		this.status.setFont(Font.font(STATUS_FONT_SIZE));
+	}
+
+	/**
+	 * Starts applying frames on every pulse.
+	 */
+	public void attach() {
+		if (!attached) {
+			attached = true;
+			root.getChildren().add(status);
+			scene.addPreLayoutPulseListener(pulseListener);
+			Platform.requestNextPulse();
+		}
+	}
+
+	/**
+	 * Stops applying frames and removes every node the view added.
+	 */
+	public void detach() {
+		if (attached) {
+			attached = false;
+			scene.removePreLayoutPulseListener(pulseListener);
+			root.getChildren().remove(status);
+		}
+		for (int i = 0; i < nodeCount; i++) {
+			root.getChildren().remove(nodes[i]);
+			nodes[i] = null;
+		}
+		nodeCount = 0;
+	}
+
+	private void onPulse() {
+		if (!attached) {
+			return;
+		}
+		if (client.poll(decoder)) {
+			apply();
+			status.setText("Tick " + decoder.getTick() + "   Health " + decoder.getUserHealth() + "   Kills "
+					+ decoder.getKills() + (decoder.isBossShielded() ? "   Boss shielded" : ""));
+		} else if (!client.isConnected()) {
+			status.setText("Stream ended");
+		}
+		Platform.requestNextPulse();
+	}
+
+	/**
+	 * Matches the decoded entities with the existing nodes by id and updates the scene graph accordingly.
+	 */
+	private void apply() {
+		int count = decoder.getCount();
+		if (nextIds.length < count) {
+			nextIds = new int[count * 2];
+			nextNodes = new Node[count * 2];
+		}
+		int existing = 0;
+		for (int i = 0; i < count; i++) {
+			int id = decoder.getId(i);
+			while (existing < nodeCount && nodeIds[existing] < id) {
+				root.getChildren().remove(nodes[existing]); // The entity is gone
+				nodes[existing++] = null;
+			}
+			Node node;
+			if (existing < nodeCount && nodeIds[existing] == id) {
+				node = nodes[existing];
+				nodes[existing++] = null;
+			} else {
+				node = create(decoder.getKind(i));
+			}
+			node.setLayoutX(decoder.getX(i));
+			node.setLayoutY(decoder.getY(i));
+			node.setOpacity(decoder.isInvincible(i) && (decoder.getTick() & 4) != 0 ? INVINCIBLE_OPACITY : 1.0);
+			nextIds[i] = id;
+			nextNodes[i] = node;
+		}
+		while (existing < nodeCount) {
+			root.getChildren().remove(nodes[existing]);
+			nodes[existing++] = null;
+		}
+
+		int[] swapIds = nodeIds;
+		Node[] swapNodes = nodes;
+		nodeIds = nextIds;
+		nodes = nextNodes;
+		nextIds = swapIds;
+		nextNodes = swapNodes;
+		nodeCount = count;
+	}
+
+	private Node create(EntityKind kind) {
+		ImageView node = new ImageView();
+		SpriteAtlas.show(node, kind.getImagePath(), 0, kind.getImageHeight());
+		node.setFitHeight(kind.getImageHeight());
+		node.setPreserveRatio(true);
+		root.getChildren().add(node);
+		return node;
+	}
+}
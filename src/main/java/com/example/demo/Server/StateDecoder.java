@@ -0,0 +1,313 @@
+package com.example.demo.Server;
+
+import com.example.demo.Simulation.EntityKind;
+import com.example.demo.Simulation.Outcome;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Rebuilds the state of a world from the frames of a {@link StateEncoder}.
+ * <p>
+ * The decoder keeps the last keyframe it was given and applies each delta to it, so it can decode any delta coded
+ * against that keyframe, in any order; deltas against a keyframe it has not seen are refused. Entities are listed by
+ * ascending id, like a {@link com.example.demo.Simulation.WorldSnapshot}'s. A decoder is not thread-safe.
+ */
+public class StateDecoder {
+
+	private final Entities key = new Entities();
+	private Entities current = new Entities();
+	private Entities next = new Entities();
+	private long keyTick = -1;
+
+	private long tick = -1;
+	private int userHealth;
+	private int kills;
+	private Outcome outcome = Outcome.RUNNING;
+	private boolean bossShielded;
+
+	// The sections of the delta being applied
+	private int[] removedIds = new int[64];
+	private final Entities spawned = new Entities();
+	private int[] changedIds = new int[64];
+	private int[] changedMasks = new int[64];
+	private int[] changedX = new int[64];
+	private int[] changedY = new int[64];
+	private int[] changedHealth = new int[64];
+
+	/**
+	 * Returns whether a frame is a keyframe, without decoding it.
+	 *
+	 * @param frame A frame, without its length prefix.
+	 * @return {@code true} for a keyframe, {@code false} for a delta.
+	 */
+	public static boolean isKeyframe(ByteBuffer frame) {
+		return frame.get(frame.position()) == StateEncoder.KEYFRAME;
+	}
+
+	/**
+	 * Reads the next whole frame from a stream of length-prefixed frames.
+	 *
+	 * @param stream A buffer in read mode holding the stream's next bytes.
+	 * @return The frame, without its prefix, or {@code null} if it has not fully arrived.
+	 * @throws IllegalArgumentException If the stream is malformed.
+	 */
+	public static ByteBuffer nextFrame(ByteBuffer stream) {
+		return Varint.nextFrame(stream);
+	}
+
+	/**
+	 * Decodes a frame into the current state.
+	 *
+	 * @param frame A frame, without its length prefix; its position is advanced past it.
+	 * @return {@code true} if the state was updated, {@code false} if the frame is a delta against a keyframe this
+	 *         decoder does not have.
+	 * @throws IllegalArgumentException If the frame is malformed.
+	 */
+	public boolean decode(ByteBuffer frame) {
+		byte type = frame.get();
+		if (type != StateEncoder.KEYFRAME && type != StateEncoder.DELTA) {
+			throw new IllegalArgumentException("Unknown frame type: " + type);
+		}
+		long frameTick = Varint.getUnsigned(frame);
+		int frameUserHealth = Varint.getSignedInt(frame);
+		int frameKills = Varint.getUnsignedInt(frame);
+		int outcomeOrdinal = frame.get();
+		int flags = frame.get();
+		if (type == StateEncoder.KEYFRAME) {
+			readEntities(frame, key);
+			keyTick = frameTick;
+			current.copy(key);
+		} else {
+			if (Varint.getUnsigned(frame) != keyTick) {
+				return false;
+			}
+			applyDelta(frame);
+		}
+		tick = frameTick;
+		userHealth = frameUserHealth;
+		kills = frameKills;
+		outcome = ServerProtocol.outcomeOf(outcomeOrdinal);
+		bossShielded = (flags & StateEncoder.BOSS_SHIELDED_FLAG) != 0;
+		return true;
+	}
+
+	private static void readEntities(ByteBuffer frame, Entities entities) {
+		int count = Varint.getUnsignedInt(frame);
+		entities.ensureCapacity(count);
+		int id = -1;
+		for (int i = 0; i < count; i++) {
+			id += Varint.getUnsignedInt(frame);
+			entities.ids[i] = id;
+			entities.kinds[i] = frame.get();
+			entities.x[i] = Varint.getSignedInt(frame);
+			entities.y[i] = Varint.getSignedInt(frame);
+			entities.health[i] = Varint.getSignedInt(frame);
+		}
+		entities.count = count;
+	}
+
+	/**
+	 * Reads a delta's sections and merges them with the keyframe into the current state.
+	 */
+	private void applyDelta(ByteBuffer frame) {
+		int removedCount = Varint.getUnsignedInt(frame);
+		if (removedIds.length < removedCount) {
+			removedIds = new int[Math.max(removedCount, removedIds.length * 2)];
+		}
+		int id = -1;
+		for (int r = 0; r < removedCount; r++) {
+			id += Varint.getUnsignedInt(frame);
+			removedIds[r] = id;
+		}
+		readEntities(frame, spawned);
+		int changedCount = Varint.getUnsignedInt(frame);
+		if (changedIds.length < changedCount) {
+			int capacity = Math.max(changedCount, changedIds.length * 2);
+			changedIds = new int[capacity];
+			changedMasks = new int[capacity];
+			changedX = new int[capacity];
+			changedY = new int[capacity];
+			changedHealth = new int[capacity];
+		}
+		id = -1;
+		for (int c = 0; c < changedCount; c++) {
+			id += Varint.getUnsignedInt(frame);
+			changedIds[c] = id;
+			int mask = frame.get();
+			changedMasks[c] = mask;
+			changedX[c] = (mask & StateEncoder.CHANGED_X) != 0 ? Varint.getSignedInt(frame) : 0;
+			changedY[c] = (mask & StateEncoder.CHANGED_Y) != 0 ? Varint.getSignedInt(frame) : 0;
+			changedHealth[c] = (mask & StateEncoder.CHANGED_HEALTH) != 0 ? Varint.getSignedInt(frame) : 0;
+		}
+
+		next.ensureCapacity(key.count - removedCount + spawned.count);
+		int out = 0;
+		int removedIndex = 0;
+		int changedIndex = 0;
+		int spawnedIndex = 0;
+		for (int k = 0; k < key.count; k++) {
+			int keyId = key.ids[k];
+			while (spawnedIndex < spawned.count && spawned.ids[spawnedIndex] < keyId) {
+				next.set(out++, spawned, spawnedIndex++);
+			}
+			if (removedIndex < removedCount && removedIds[removedIndex] == keyId) {
+				removedIndex++;
+				continue;
+			}
+			next.set(out, key, k);
+			if (changedIndex < changedCount && changedIds[changedIndex] == keyId) {
+				int mask = changedMasks[changedIndex];
+				next.x[out] += changedX[changedIndex];
+				next.y[out] += changedY[changedIndex];
+				next.health[out] += changedHealth[changedIndex];
+				if ((mask & StateEncoder.CHANGED_INVINCIBLE) != 0) {
+					next.kinds[out] ^= (byte) StateEncoder.INVINCIBLE_FLAG;
+				}
+				changedIndex++;
+			}
+			out++;
+		}
+		while (spawnedIndex < spawned.count) {
+			next.set(out++, spawned, spawnedIndex++);
+		}
+		if (removedIndex != removedCount || changedIndex != changedCount) {
+			throw new IllegalArgumentException("Delta refers to entities missing from its keyframe");
+		}
+		next.count = out;
+		Entities swap = current;
+		current = next;
+		next = swap;
+	}
+
+	/**
+	 * @return The tick of the last frame decoded, or -1 before the first keyframe.
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	/**
+	 * @return The number of entities.
+	 */
+	public int getCount() {
+		return current.count;
+	}
+
+	/**
+	 * @param index The index of an entity.
+	 * @return The entity's id.
+	 */
+	public int getId(int index) {
+		return current.ids[index];
+	}
+
+	/**
+	 * @param index The index of an entity.
+	 * @return The entity's kind.
+	 */
+	public EntityKind getKind(int index) {
+		return EntityKind.of(current.kinds[index] & (StateEncoder.INVINCIBLE_FLAG - 1));
+	}
+
+	/**
+	 * @param index The index of an entity.
+	 * @return The entity's horizontal position, in pixels, to a quarter of a pixel.
+	 */
+	public double getX(int index) {
+		return (double) current.x[index] / StateEncoder.QUANTA_PER_PIXEL;
+	}
+
+	/**
+	 * @param index The index of an entity.
+	 * @return The entity's vertical position, in pixels, to a quarter of a pixel.
+	 */
+	public double getY(int index) {
+		return (double) current.y[index] / StateEncoder.QUANTA_PER_PIXEL;
+	}
+
+	/**
+	 * @param index The index of an entity.
+	 * @return The entity's remaining health.
+	 */
+	public int getHealth(int index) {
+		return current.health[index];
+	}
+
+	/**
+	 * @param index The index of an entity.
+	 * @return Whether the entity is invincible.
+	 */
+	public boolean isInvincible(int index) {
+		return (current.kinds[index] & StateEncoder.INVINCIBLE_FLAG) != 0;
+	}
+
+	/**
+	 * @return The user's health.
+	 */
+	public int getUserHealth() {
+		return userHealth;
+	}
+
+	/**
+	 * @return The number of enemies the user has destroyed.
+	 */
+	public int getKills() {
+		return kills;
+	}
+
+	/**
+	 * @return Whether the boss's shield is up.
+	 */
+	public boolean isBossShielded() {
+		return bossShielded;
+	}
+
+	/**
+	 * @return Whether the level is still running, won or lost.
+	 */
+	public Outcome getOutcome() {
+		return outcome;
+	}
+
+	/**
+	 * A list of entities in parallel arrays, with positions in quanta and invincibility in the kind's top bit.
+	 */
+	private static final class Entities {
+
+		private int count;
+		private int[] ids = new int[64];
+		private byte[] kinds = new byte[64];
+		private int[] x = new int[64];
+		private int[] y = new int[64];
+		private int[] health = new int[64];
+
+		private void ensureCapacity(int capacity) {
+			if (ids.length < capacity) {
+				int size = Math.max(capacity, ids.length * 2);
+				ids = Arrays.copyOf(ids, size);
+				kinds = Arrays.copyOf(kinds, size);
+				x = Arrays.copyOf(x, size);
+				y = Arrays.copyOf(y, size);
+				health = Arrays.copyOf(health, size);
+			}
+		}
+
+		private void set(int index, Entities from, int fromIndex) {
+			ids[index] = from.ids[fromIndex];
+			kinds[index] = from.kinds[fromIndex];
+			x[index] = from.x[fromIndex];
+			y[index] = from.y[fromIndex];
+			health[index] = from.health[fromIndex];
+		}
+
+		private void copy(Entities from) {
+			ensureCapacity(from.count);
+			System.arraycopy(from.ids, 0, ids, 0, from.count);
+			System.arraycopy(from.kinds, 0, kinds, 0, from.count);
+			System.arraycopy(from.x, 0, x, 0, from.count);
+			System.arraycopy(from.y, 0, y, 0, from.count);
+			System.arraycopy(from.health, 0, health, 0, from.count);
+			count = from.count;
+		}
+	}
+}
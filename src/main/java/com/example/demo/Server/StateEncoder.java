@@ -0,0 +1,274 @@
+package com.example.demo.Server;
+
+import com.example.demo.Simulation.Fixed;
+import com.example.demo.Simulation.SimulationWorld;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Encodes a {@link SimulationWorld} tick by tick into a compact stream that a viewer can rebuild the scene from
+ * without simulating anything.
+ * <p>
+ * Every few ticks the encoder emits a keyframe listing every entity in full. The ticks in between are deltas against
+ * that keyframe, not against the previous tick: entities destroyed since the keyframe, entities spawned since, and the
+ * fields of the remaining ones that differ from the keyframe, each as a zigzag varint of the difference. A viewer
+ * therefore needs only the latest keyframe and the latest delta to show the current tick, so one that falls behind can
+ * skip deltas, and one that joins late waits at most one keyframe interval. Positions are quantised to a quarter of a
+ * pixel before encoding, and entities are listed by ascending id, so ids are coded as gaps.
+ * <p>
+ * Each frame is prefixed with its length as a varint. Its layout is:
+ * <pre>
+ * type (1 byte: KEYFRAME or DELTA)   tick   user health   kills   outcome (1 byte)   flags (1 byte)
+ * keyframe: count, then per entity: id gap, kind and invincibility (1 byte), x, y, health
+ * delta:    keyframe tick, removed count and id gaps, spawned count and full entities,
+ *           changed count, then per entity: id gap, field mask (1 byte), the masked fields' differences
+ * </pre>
+ */
+public class StateEncoder {
+
+	static final byte KEYFRAME = 1;
+	static final byte DELTA = 2;
+	static final int QUANTUM_SHIFT = Fixed.SHIFT - 2; // Quarter pixels
+	static final int QUANTA_PER_PIXEL = 1 << (Fixed.SHIFT - QUANTUM_SHIFT);
+	static final int INVINCIBLE_FLAG = 0x80;
+	static final int BOSS_SHIELDED_FLAG = 1;
+	static final int CHANGED_X = 1;
+	static final int CHANGED_Y = 2;
+	static final int CHANGED_HEALTH = 4;
+	static final int CHANGED_INVINCIBLE = 8;
+
+	private static final int HEADER_BYTES = 64;
+	private static final int ENTITY_BYTES = 1 + 4 * Varint.MAX_LENGTH;
+
+	private final int keyframeInterval;
+	private ByteBuffer output = ByteBuffer.allocate(4096);
+
+	// The last keyframe, which deltas are coded against
+	private SimulationWorld keyWorld;
+	private long keyTick = -1;
+	private int keyCount;
+	private int[] keyIds = new int[64];
+	private byte[] keyKinds = new byte[64];
+	private int[] keyX = new int[64];
+	private int[] keyY = new int[64];
+	private int[] keyHealth = new int[64];
+
+	// The merge of the keyframe with the current tick, reused between deltas
+	private int[] removed = new int[64];
+	private int[] spawned = new int[64];
+	private int[] changed = new int[64];
+	private int[] changedKey = new int[64];
+	private int[] changedMask = new int[64];
+
+	private boolean lastKeyframe;
+
+	/**
+	 * Constructs an encoder.
+	 *
+	 * @param keyframeInterval The number of ticks between keyframes.
+	 * @throws IllegalArgumentException If the interval is not positive.
+	 */
+	public StateEncoder(int keyframeInterval) {
+		if (keyframeInterval < 1) {
+			throw new IllegalArgumentException("Keyframe interval must be positive: " + keyframeInterval);
+		}
+		this.keyframeInterval = keyframeInterval;
+	}
+
+	/**
+	 * Encodes the world's current tick. A keyframe is emitted every interval, and whenever the world is a different one
+	 * from the last keyframe's, as when the next level starts.
+	 *
+	 * @param world The world, which must be read on its own thread.
+	 * @return A buffer in read mode holding the length-prefixed frame, valid until the next call.
+	 */
+	public ByteBuffer encode(SimulationWorld world) {
+		int count = world.getEntityCount();
+		lastKeyframe = world != keyWorld || world.getTick() < keyTick || world.getTick() - keyTick >= keyframeInterval;
+		ensureCapacity(HEADER_BYTES + (count + (lastKeyframe ? 0 : keyCount)) * ENTITY_BYTES);
+		output.clear();
+		output.position(Varint.MAX_LENGTH); // Room for the length, written last
+		if (lastKeyframe) {
+			writeKeyframe(world);
+		} else {
+			writeDelta(world);
+		}
+		int end = output.position();
+		int length = end - Varint.MAX_LENGTH;
+		int prefix = unsignedLength(length);
+		int start = Varint.MAX_LENGTH - prefix;
+		output.position(start);
+		Varint.putUnsigned(output, length);
+		return output.limit(end).position(start);
+	}
+
+	/**
+	 * @return Whether the last frame encoded was a keyframe.
+	 */
+	public boolean isKeyframe() {
+		return lastKeyframe;
+	}
+
+	private void writeHeader(byte type, SimulationWorld world) {
+		output.put(type);
+		Varint.putUnsigned(output, world.getTick());
+		Varint.putSigned(output, world.getUserHealth());
+		Varint.putUnsigned(output, world.getKills());
+		output.put((byte) world.getOutcome().ordinal());
+		output.put((byte) (world.isBossShielded() ? BOSS_SHIELDED_FLAG : 0));
+	}
+
+	/**
+	 * Writes every entity in full and makes this tick the keyframe later deltas refer to.
+	 */
+	private void writeKeyframe(SimulationWorld world) {
+		writeHeader(KEYFRAME, world);
+		int count = world.getEntityCount();
+		if (keyIds.length < count) {
+			int capacity = Math.max(count, keyIds.length * 2);
+			keyIds = Arrays.copyOf(keyIds, capacity);
+			keyKinds = Arrays.copyOf(keyKinds, capacity);
+			keyX = Arrays.copyOf(keyX, capacity);
+			keyY = Arrays.copyOf(keyY, capacity);
+			keyHealth = Arrays.copyOf(keyHealth, capacity);
+		}
+		Varint.putUnsigned(output, count);
+		int previousId = -1;
+		for (int i = 0; i < count; i++) {
+			keyIds[i] = world.getId(i);
+			keyKinds[i] = kindByte(world, i);
+			keyX[i] = world.getX(i) >> QUANTUM_SHIFT;
+			keyY[i] = world.getY(i) >> QUANTUM_SHIFT;
+			keyHealth[i] = world.getHealth(i);
+			Varint.putUnsigned(output, keyIds[i] - previousId);
+			previousId = keyIds[i];
+			output.put(keyKinds[i]);
+			Varint.putSigned(output, keyX[i]);
+			Varint.putSigned(output, keyY[i]);
+			Varint.putSigned(output, keyHealth[i]);
+		}
+		keyCount = count;
+		keyTick = world.getTick();
+		keyWorld = world;
+	}
+
+	/**
+	 * Matches the world's entities with the keyframe's by id and writes what differs.
+	 */
+	private void writeDelta(SimulationWorld world) {
+		int count = world.getEntityCount();
+		if (removed.length < keyCount) {
+			removed = new int[Math.max(keyCount, removed.length * 2)];
+		}
+		if (spawned.length < count) {
+			int capacity = Math.max(count, spawned.length * 2);
+			spawned = new int[capacity];
+			changed = new int[capacity];
+			changedKey = new int[capacity];
+			changedMask = new int[capacity];
+		}
+		int removedCount = 0;
+		int spawnedCount = 0;
+		int changedCount = 0;
+		int key = 0;
+		for (int i = 0; i < count; i++) {
+			int id = world.getId(i);
+			while (key < keyCount && keyIds[key] < id) {
+				removed[removedCount++] = key++;
+			}
+			if (key < keyCount && keyIds[key] == id) {
+				int mask = changes(world, i, key);
+				if (mask != 0) {
+					changed[changedCount] = i;
+					changedKey[changedCount] = key;
+					changedMask[changedCount++] = mask;
+				}
+				key++;
+			} else {
+				spawned[spawnedCount++] = i;
+			}
+		}
+		while (key < keyCount) {
+			removed[removedCount++] = key++;
+		}
+
+		writeHeader(DELTA, world);
+		Varint.putUnsigned(output, keyTick);
+		Varint.putUnsigned(output, removedCount);
+		int previousId = -1;
+		for (int r = 0; r < removedCount; r++) {
+			Varint.putUnsigned(output, keyIds[removed[r]] - previousId);
+			previousId = keyIds[removed[r]];
+		}
+		Varint.putUnsigned(output, spawnedCount);
+		previousId = -1;
+		for (int s = 0; s < spawnedCount; s++) {
+			int i = spawned[s];
+			Varint.putUnsigned(output, world.getId(i) - previousId);
+			previousId = world.getId(i);
+			output.put(kindByte(world, i));
+			Varint.putSigned(output, world.getX(i) >> QUANTUM_SHIFT);
+			Varint.putSigned(output, world.getY(i) >> QUANTUM_SHIFT);
+			Varint.putSigned(output, world.getHealth(i));
+		}
+		Varint.putUnsigned(output, changedCount);
+		previousId = -1;
+		for (int c = 0; c < changedCount; c++) {
+			int i = changed[c];
+			int k = changedKey[c];
+			int mask = changedMask[c];
+			Varint.putUnsigned(output, world.getId(i) - previousId);
+			previousId = world.getId(i);
+			output.put((byte) mask);
+			if ((mask & CHANGED_X) != 0) {
+				Varint.putSigned(output, (world.getX(i) >> QUANTUM_SHIFT) - keyX[k]);
+			}
+			if ((mask & CHANGED_Y) != 0) {
+				Varint.putSigned(output, (world.getY(i) >> QUANTUM_SHIFT) - keyY[k]);
+			}
+			if ((mask & CHANGED_HEALTH) != 0) {
+				Varint.putSigned(output, world.getHealth(i) - keyHealth[k]);
+			}
+		}
+	}
+
+	/**
+	 * Returns which fields of an entity differ from its keyframe entry; invincibility is a flag, so a set bit means
+	 * it has flipped.
+	 */
+	private int changes(SimulationWorld world, int index, int key) {
+		int mask = 0;
+		if (world.getX(index) >> QUANTUM_SHIFT != keyX[key]) {
+			mask |= CHANGED_X;
+		}
+		if (world.getY(index) >> QUANTUM_SHIFT != keyY[key]) {
+			mask |= CHANGED_Y;
+		}
+		if (world.getHealth(index) != keyHealth[key]) {
+			mask |= CHANGED_HEALTH;
+		}
+		if (world.isInvincible(index) != ((keyKinds[key] & INVINCIBLE_FLAG) != 0)) {
+			mask |= CHANGED_INVINCIBLE;
+		}
+		return mask;
+	}
+
+	private static byte kindByte(SimulationWorld world, int index) {
+		return (byte) (world.getKind(index).ordinal() | (world.isInvincible(index) ? INVINCIBLE_FLAG : 0));
+	}
+
+	private static int unsignedLength(int value) {
+		int length = 1;
+		while ((value & ~0x7F) != 0) {
+			value >>>= 7;
+			length++;
+		}
+		return length;
+	}
+
+	private void ensureCapacity(int bytes) {
+		if (output.capacity() < bytes + Varint.MAX_LENGTH) {
+			output = ByteBuffer.allocate(Math.max(bytes + Varint.MAX_LENGTH, output.capacity() * 2));
+		}
+	}
+}
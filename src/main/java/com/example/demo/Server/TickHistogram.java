@@ -0,0 +1,135 @@
+package com.example.demo.Server;
+
+/**
+ * A fixed-size histogram of durations in nanoseconds, precise to a quarter of a power of two.
+ * <p>
+ * Each power of two is split into four buckets, so a reported percentile is at most 25% above the true value, and the
+ * whole histogram is a few hundred bytes however many values it counts; the server keeps two per match. Values are
+ * recorded by one thread at a time and may be read by any thread: the writer updates its bucket before publishing the
+ * new count with a volatile write, so a reader that reads the count first never sees fewer values in the buckets.
+ */
+public class TickHistogram {
+
+	private static final int SUB_BUCKETS = 4;
+	private static final int MAX_EXPONENT = 40; // About 18 minutes; longer values are counted in the last bucket
+	private static final int BUCKETS = (MAX_EXPONENT + 1) * SUB_BUCKETS;
+
+	private final long[] buckets = new long[BUCKETS];
+	private volatile long count;
+	private volatile long max;
+	private long total;
+
+	/**
+	 * Counts a duration. Must only be called by one thread at a time.
+	 *
+	 * @param nanos The duration; negative durations are counted as zero.
+	 */
+	public void record(long nanos) {
+		long value = Math.max(0, nanos);
+		buckets[indexOf(value)]++;
+		total += value;
+		if (value > max) {
+			max = value;
+		}
+		count = count + 1;
+	}
+
+	/**
+	 * Adds the counts of another histogram to this one, for example to summarise every match.
+	 *
+	 * @param other The histogram to add.
+	 */
+	public void add(TickHistogram other) {
+		long otherCount = other.count;
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets[i] += other.buckets[i];
+		}
+		total += other.total;
+		max = Math.max(max, other.max);
+		count = count + otherCount;
+	}
+
+	/**
+	 * @return The number of durations counted.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return The longest duration counted, in nanoseconds.
+	 */
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * @return The mean duration in nanoseconds, or 0 if none were counted.
+	 */
+	public double getMean() {
+		long counted = count;
+		return counted == 0 ? 0 : (double) total / counted;
+	}
+
+	/**
+	 * Returns the duration below which the given fraction of the counted durations lie.
+	 *
+	 * @param fraction The fraction, between 0 and 1; 0.99 gives the 99th percentile.
+	 * @return The upper bound of the bucket holding that percentile, in nanoseconds, or 0 if none were counted.
+	 * @throws IllegalArgumentException If the fraction is outside [0, 1].
+	 */
+	public long getPercentile(double fraction) {
+		if (fraction < 0 || fraction > 1) {
+			throw new IllegalArgumentException("Fraction must be between 0 and 1: " + fraction);
+		}
+		long counted = count;
+		if (counted == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(fraction * counted));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += buckets[i];
+			if (seen >= rank) {
+				return Math.min(upperBoundOf(i), max);
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Maps a value to its bucket: values below four get one bucket each, and every larger power of two is split into
+	 * four by the two bits after the leading one.
+	 */
+	static int indexOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		if (exponent > MAX_EXPONENT) {
+			return BUCKETS - 1;
+		}
+		return (exponent - 1) * SUB_BUCKETS + (int) ((value >>> (exponent - 2)) & (SUB_BUCKETS - 1));
+	}
+
+	/**
+	 * Returns the largest value that maps to a bucket.
+	 */
+	static long upperBoundOf(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int exponent = index / SUB_BUCKETS + 1;
+		long width = 1L << (exponent - 2);
+		return (SUB_BUCKETS + index % SUB_BUCKETS) * width + width - 1;
+	}
+
+	/**
+	 * @return The median, 99th percentile and maximum in microseconds, for logging.
+	 */
+	@Override
+	public String toString() {
+		return String.format("p50=%dus p99=%dus max=%dus n=%d", getPercentile(0.5) / 1000, getPercentile(0.99) / 1000,
+				getMax() / 1000, getCount());
+	}
+}
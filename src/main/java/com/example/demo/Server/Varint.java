@@ -0,0 +1,99 @@
+package com.example.demo.Server;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Variable-length integer coding for the spectator stream: seven bits per byte, least significant first, with the top
+ * bit set on every byte but the last. Signed values are zigzag-coded first, so small negative deltas stay as short as
+ * small positive ones.
+ */
+final class Varint {
+
+	/**
+	 * The most bytes a long takes.
+	 */
+	static final int MAX_LENGTH = 10;
+
+	private Varint() {
+	}
+
+	static void putUnsigned(ByteBuffer buffer, long value) {
+		while ((value & ~0x7FL) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	static void putSigned(ByteBuffer buffer, long value) {
+		putUnsigned(buffer, (value << 1) ^ (value >> 63));
+	}
+
+	/**
+	 * @throws IllegalArgumentException If the value runs past the buffer or is longer than a long.
+	 */
+	static long getUnsigned(ByteBuffer buffer) {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			if (!buffer.hasRemaining()) {
+				throw new IllegalArgumentException("Truncated varint");
+			}
+			byte next = buffer.get();
+			value |= (long) (next & 0x7F) << shift;
+			if (next >= 0) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Varint too long");
+	}
+
+	static long getSigned(ByteBuffer buffer) {
+		long zigzag = getUnsigned(buffer);
+		return (zigzag >>> 1) ^ -(zigzag & 1);
+	}
+
+	static int getUnsignedInt(ByteBuffer buffer) {
+		long value = getUnsigned(buffer);
+		if (value > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Value out of range: " + value);
+		}
+		return (int) value;
+	}
+
+	static int getSignedInt(ByteBuffer buffer) {
+		long value = getSigned(buffer);
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Value out of range: " + value);
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Reads the length-prefixed frame at the start of a buffer, if it has arrived whole.
+	 *
+	 * @param stream A buffer in read mode holding the start of the stream.
+	 * @return A slice holding the frame, with the stream advanced past it, or {@code null} with the stream unchanged
+	 *         if the frame is incomplete.
+	 * @throws IllegalArgumentException If the length is malformed.
+	 */
+	static ByteBuffer nextFrame(ByteBuffer stream) {
+		int start = stream.position();
+		int length;
+		try {
+			length = getUnsignedInt(stream);
+		} catch (IllegalArgumentException e) {
+			if (stream.position() - start < MAX_LENGTH && !stream.hasRemaining()) {
+				stream.position(start); // The length itself is incomplete
+				return null;
+			}
+			throw e;
+		}
+		if (stream.remaining() < length) {
+			stream.position(start);
+			return null;
+		}
+		ByteBuffer frame = stream.slice(stream.position(), length);
+		stream.position(stream.position() + length);
+		return frame;
+	}
+}
@@ -0,0 +1,115 @@
+package com.example.demo.Simulation;
+
+import com.example.demo.Actor.ActiveActor;
+import com.example.demo.Actor.Planes.Boss;
+import com.example.demo.Actor.Planes.EnemyPlane;
+import com.example.demo.Actor.Planes.UserPlane;
+import com.example.demo.Actor.Projectiles.BossProjectile;
+import com.example.demo.Actor.Projectiles.EnemyProjectile;
+import com.example.demo.Actor.Projectiles.UserProjectile;
+import com.example.demo.Display.SpriteCache;
+
+/**
+ * The kinds of entity in a {@link SimulationWorld}, with the constants each kind shares with its actor class.
+ * <p>
+ * Every constant is taken from the actor class itself. Sizes are the on-screen sizes of the actors' sprites (their
+ * image height and the width that preserves the source image's aspect ratio, read from its header as
+ * {@link ActiveActor} does), so the simulation collides entities exactly as the scene graph would without decoding
+ * any image.
+ */
+public enum EntityKind {
+
+	USER(UserPlane.IMAGE_NAME, UserPlane.IMAGE_HEIGHT, 0, 0),
+	ENEMY_PLANE(EnemyPlane.IMAGE_NAME, EnemyPlane.IMAGE_HEIGHT, EnemyPlane.HORIZONTAL_VELOCITY,
+			EnemyPlane.INITIAL_HEALTH),
+	BOSS(Boss.IMAGE_NAME, Boss.IMAGE_HEIGHT, 0, Boss.HEALTH),
+	USER_PROJECTILE(UserProjectile.IMAGE_NAME, UserProjectile.IMAGE_HEIGHT, UserProjectile.HORIZONTAL_VELOCITY, 1),
+	ENEMY_PROJECTILE(EnemyProjectile.IMAGE_NAME, EnemyProjectile.IMAGE_HEIGHT, EnemyProjectile.HORIZONTAL_VELOCITY,
+			1),
+	BOSS_PROJECTILE(BossProjectile.IMAGE_NAME, BossProjectile.IMAGE_HEIGHT, BossProjectile.HORIZONTAL_VELOCITY, 1);
+
+	private static final EntityKind[] VALUES = values();
+
+	private final String imagePath;
+	private final int imageHeight;
+	private final int width;
+	private final int height;
+	private final int velocityX;
+	private final int health;
+
+	EntityKind(String imageName, int imageHeight, int velocityX, int health) {
+		this.imagePath = ActiveActor.IMAGE_LOCATION + imageName;
+		this.imageHeight = imageHeight;
+		this.width = Fixed.of((double) SpriteCache.getSourceWidth(imagePath) * imageHeight
+				/ SpriteCache.getSourceHeight(imagePath));
+		this.height = Fixed.of(imageHeight);
+		this.velocityX = Fixed.of(velocityX);
+		this.health = health;
+	}
+
+	/**
+	 * Returns the kind with the given ordinal without allocating.
+	 *
+	 * @param ordinal The ordinal of the kind.
+	 * @return The matching kind.
+	 */
+	public static EntityKind of(int ordinal) {
+		return VALUES[ordinal];
+	}
+
+	/**
+	 * @return The resource path of the sprite drawn for this kind.
+	 */
+	public String getImagePath() {
+		return imagePath;
+	}
+
+	/**
+	 * @return The height the sprite is drawn at, in pixels.
+	 */
+	public int getImageHeight() {
+		return imageHeight;
+	}
+
+	/**
+	 * @return The width of the hitbox, in fixed point.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return The height of the hitbox, in fixed point.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * @return The horizontal distance moved per tick, in fixed point.
+	 */
+	public int getVelocityX() {
+		return velocityX;
+	}
+
+	/**
+	 * @return The health an entity of this kind starts with.
+	 */
+	public int getHealth() {
+		return health;
+	}
+
+	/**
+	 * @return {@code true} for the user's plane and the user's projectiles.
+	 */
+	public boolean isFriendly() {
+		return this == USER || this == USER_PROJECTILE;
+	}
+
+	/**
+	 * @return {@code true} for every kind of projectile.
+	 */
+	public boolean isProjectile() {
+		return this == USER_PROJECTILE || this == ENEMY_PROJECTILE || this == BOSS_PROJECTILE;
+	}
+}
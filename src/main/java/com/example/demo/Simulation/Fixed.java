@@ -0,0 +1,39 @@
+package com.example.demo.Simulation;
+
+/**
+ * Helpers for the fixed-point numbers used for positions and sizes in a {@link SimulationWorld}.
+ * <p>
+ * A fixed-point value is an {@code int} holding a number of pixels multiplied by {@link #ONE}. Integer arithmetic
+ * gives the same result on every machine, so two worlds fed the same inputs stay identical bit for bit.
+ */
+public final class Fixed {
+
+	/** Number of fractional bits. */
+	public static final int SHIFT = 8;
+
+	/** The fixed-point value of one pixel. */
+	public static final int ONE = 1 << SHIFT;
+
+	private Fixed() {
+	}
+
+	/**
+	 * Converts a number of pixels to fixed point, rounding to the nearest representable value.
+	 *
+	 * @param pixels The number of pixels.
+	 * @return The fixed-point value.
+	 */
+	public static int of(double pixels) {
+		return (int) Math.round(pixels * ONE);
+	}
+
+	/**
+	 * Converts a fixed-point value to pixels.
+	 *
+	 * @param value The fixed-point value.
+	 * @return The number of pixels.
+	 */
+	public static double toPixels(int value) {
+		return (double) value / ONE;
+	}
+}
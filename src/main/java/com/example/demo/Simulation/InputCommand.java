@@ -0,0 +1,26 @@
+package com.example.demo.Simulation;
+
+/**
+ * The user's inputs, as forwarded from the key handlers to a {@link SimulationWorld}. Each command changes what the
+ * user is doing until another command changes it again.
+ */
+public enum InputCommand {
+
+	MOVE_UP,
+	MOVE_DOWN,
+	STOP,
+	START_FIRING,
+	STOP_FIRING;
+
+	private static final InputCommand[] VALUES = values();
+
+	/**
+	 * Returns the command with the given ordinal without allocating.
+	 *
+	 * @param ordinal The ordinal of the command.
+	 * @return The matching command.
+	 */
+	public static InputCommand of(int ordinal) {
+		return VALUES[ordinal];
+	}
+}
@@ -0,0 +1,64 @@
+package com.example.demo.Simulation;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, lock-free queue carrying {@link InputCommand}s from one producer thread to one consumer thread.
+ * <p>
+ * The FX thread offers commands from its key handlers and the simulation thread drains them at the start of each
+ * tick. Commands are stored as their ordinals in a preallocated array; the producer publishes each one by advancing
+ * the tail with a release write, and the consumer frees slots by advancing the head the same way, so neither side
+ * ever locks or allocates.
+ */
+public class InputQueue {
+
+	private final int[] commands;
+	private final int mask;
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+
+	/**
+	 * Constructs a queue with the given capacity.
+	 *
+	 * @param capacity The number of commands the queue holds; must be a power of two.
+	 * @throws IllegalArgumentException If the capacity is not a positive power of two.
+	 */
+	public InputQueue(int capacity) {
+		if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+		}
+		this.commands = new int[capacity];
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * Adds a command. Must only be called by the producer thread.
+	 *
+	 * @param command The command to add.
+	 * @return {@code true} if the command was added, {@code false} if the queue was full.
+	 */
+	public boolean offer(InputCommand command) {
+		long currentTail = tail.getPlain();
+		if (currentTail - head.getAcquire() == commands.length) {
+			return false;
+		}
+		commands[(int) (currentTail & mask)] = command.ordinal();
+		tail.setRelease(currentTail + 1);
+		return true;
+	}
+
+	/**
+	 * Removes the oldest command. Must only be called by the consumer thread.
+	 *
+	 * @return The oldest command, or {@code null} if the queue is empty.
+	 */
+	public InputCommand poll() {
+		long currentHead = head.getPlain();
+		if (currentHead == tail.getAcquire()) {
+			return null;
+		}
+		InputCommand command = InputCommand.of(commands[(int) (currentHead & mask)]);
+		head.setRelease(currentHead + 1);
+		return command;
+	}
+}
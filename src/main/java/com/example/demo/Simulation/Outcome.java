@@ -0,0 +1,16 @@
+package com.example.demo.Simulation;
+
+/**
+ * The state of play in a {@link SimulationWorld}.
+ */
+public enum Outcome {
+
+	/** The level is still being played. */
+	RUNNING,
+
+	/** The user met the level's win condition. */
+	WON,
+
+	/** The user's plane was destroyed. */
+	LOST
+}
@@ -0,0 +1,80 @@
+package com.example.demo.Simulation;
+
+/**
+ * The rules a {@link SimulationWorld} plays a level by: what spawns, and what wins the level.
+ * <p>
+ * Each level that can be simulated describes itself with one of these, mirroring its own spawning and game-over
+ * logic.
+ */
+public class SimulationRules {
+
+	private final int playerHealth;
+	private final int maxEnemies;
+	private final double spawnProbability;
+	private final boolean withBoss;
+	private final int killTarget;
+	private final String nextLevel;
+
+	/**
+	 * Constructs the rules of a level.
+	 *
+	 * @param playerHealth     The health the user starts with.
+	 * @param maxEnemies       The number of enemies, including any boss, below which new enemy planes may spawn.
+	 * @param spawnProbability The chance per missing enemy and tick that an enemy plane spawns.
+	 * @param withBoss         Whether the level has a boss, whose defeat wins the level.
+	 * @param killTarget       The number of kills that wins the level, or zero if kills do not win it.
+	 * @param nextLevel        The fully qualified class name of the next level, or {@code null} if winning this level
+	 *                         wins the game.
+	 */
+	public SimulationRules(int playerHealth, int maxEnemies, double spawnProbability, boolean withBoss, int killTarget,
+						   String nextLevel) {
+		this.playerHealth = playerHealth;
+		this.maxEnemies = maxEnemies;
+		this.spawnProbability = spawnProbability;
+		this.withBoss = withBoss;
+		this.killTarget = killTarget;
+		this.nextLevel = nextLevel;
+	}
+
+	/**
+	 * @return The health the user starts with.
+	 */
+	public int getPlayerHealth() {
+		return playerHealth;
+	}
+
+	/**
+	 * @return The number of enemies below which new enemy planes may spawn.
+	 */
+	public int getMaxEnemies() {
+		return maxEnemies;
+	}
+
+	/**
+	 * @return The chance per missing enemy and tick that an enemy plane spawns.
+	 */
+	public double getSpawnProbability() {
+		return spawnProbability;
+	}
+
+	/**
+	 * @return Whether the level has a boss.
+	 */
+	public boolean isWithBoss() {
+		return withBoss;
+	}
+
+	/**
+	 * @return The number of kills that wins the level, or zero if kills do not win it.
+	 */
+	public int getKillTarget() {
+		return killTarget;
+	}
+
+	/**
+	 * @return The class name of the next level, or {@code null} if this is the last level.
+	 */
+	public String getNextLevel() {
+		return nextLevel;
+	}
+}
@@ -0,0 +1,179 @@
+package com.example.demo.Simulation;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs a {@link SimulationWorld} on a dedicated thread at a fixed tick rate and publishes each tick's state.
+ * <p>
+ * Inputs reach the world through an {@link InputQueue}. After each tick the world is copied into a
+ * {@link WorldSnapshot}, which is published by swapping it with the shared one: three snapshots rotate between the
+ * simulation thread (writing), the shared slot (latest published) and the reader (being applied), so the simulation
+ * never waits for the reader and the reader always sees a complete tick.
+ * <p>
+ * If a tick throws, the runner logs the failure, stops ticking and reports it to its failure listener, so that the
+ * reader is not left waiting on a world that will never be decided.
+ */
+public class SimulationRunner implements Runnable {
+
+	private static final Logger LOGGER = Logger.getLogger(SimulationRunner.class.getName());
+	private static final int INPUT_CAPACITY = 256;
+
+	private final SimulationWorld world;
+	private final long tickNanos;
+	private final InputQueue inputs = new InputQueue(INPUT_CAPACITY);
+	private final AtomicReference<WorldSnapshot> published = new AtomicReference<>(new WorldSnapshot());
+	private final Thread thread;
+	private WorldSnapshot back = new WorldSnapshot(); // Owned by the simulation thread
+	private WorldSnapshot front = new WorldSnapshot(); // Owned by the reader
+	private Consumer<SimulationWorld> tickListener;
+	private Consumer<Throwable> failureListener;
+
+	private volatile Throwable failure;
+	private volatile boolean running;
+	private volatile boolean paused;
+
+	/**
+	 * Constructs a runner for a world. The runner does nothing until {@link #start()} is called.
+	 *
+	 * @param world       The world to run.
+	 * @param tickMillis  The time between ticks, in milliseconds.
+	 */
+	public SimulationRunner(SimulationWorld world, long tickMillis) {
+		this.world = world;
+		this.tickNanos = tickMillis * 1_000_000L;
+		this.thread = new Thread(this, "simulation");
+		this.thread.setDaemon(true);
+	}
+
+	/**
+	 * Sets a listener called on the simulation thread after every tick, with the world just stepped, for example to
+	 * stream it to spectators. Must be set before {@link #start()}.
+	 *
+	 * @param tickListener The listener, which must not keep the world or read it from another thread.
+	 */
+	public void setTickListener(Consumer<SimulationWorld> tickListener) {
+		this.tickListener = tickListener;
+	}
+
+	/**
+	 * Sets a listener called on the simulation thread if a tick throws, after which the runner stops. Must be set
+	 * before {@link #start()}.
+	 *
+	 * @param failureListener The listener, given what the tick threw.
+	 */
+	public void setFailureListener(Consumer<Throwable> failureListener) {
+		this.failureListener = failureListener;
+	}
+
+	/**
+	 * @return What a tick threw, stopping the runner, or {@code null} if no tick has failed.
+	 */
+	public Throwable getFailure() {
+		return failure;
+	}
+
+	/**
+	 * Starts the simulation thread.
+	 */
+	public void start() {
+		running = true;
+		thread.start();
+	}
+
+	/**
+	 * Stops the simulation thread and waits for it to finish.
+	 *
+	 * @throws InterruptedException If interrupted while waiting.
+	 */
+	public void stop() throws InterruptedException {
+		running = false;
+		LockSupport.unpark(thread);
+		if (thread.isAlive() && thread != Thread.currentThread()) {
+			thread.join();
+		}
+	}
+
+	/**
+	 * Pauses or resumes ticking. Inputs offered while paused are applied when the world resumes.
+	 *
+	 * @param paused Whether the world should be paused.
+	 */
+	public void setPaused(boolean paused) {
+		this.paused = paused;
+		LockSupport.unpark(thread);
+	}
+
+	/**
+	 * Forwards an input to the world. Must only be called from a single thread, normally the FX thread.
+	 *
+	 * @param command The input.
+	 * @return {@code true} if the input was queued, {@code false} if the queue was full.
+	 */
+	public boolean offer(InputCommand command) {
+		return inputs.offer(command);
+	}
+
+	/**
+	 * Returns the most recently published snapshot. Must only be called from a single reader thread, normally the FX
+	 * thread; the returned snapshot stays valid until the next call.
+	 *
+	 * @return The latest snapshot, which may be the same one as on the previous call.
+	 */
+	public WorldSnapshot latest() {
+		if (published.get().getTick() > front.getTick()) {
+			front = published.getAndSet(front);
+		}
+		return front;
+	}
+
+	/**
+	 * Ticks the world at a fixed rate until stopped, publishing a snapshot after every tick. A tick that throws stops
+	 * the runner and is reported to the failure listener.
+	 */
+	@Override
+	public void run() {
+		try {
+			tickUntilStopped();
+		} catch (RuntimeException | Error e) {
+			running = false;
+			failure = e;
+			LOGGER.log(Level.SEVERE, "The simulation failed at tick " + world.getTick() + ".", e);
+			if (failureListener != null) {
+				failureListener.accept(e);
+			}
+		}
+	}
+
+	private void tickUntilStopped() {
+		long nextTick = System.nanoTime() + tickNanos;
+		while (running) {
+			long wait = nextTick - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+				continue;
+			}
+			if (paused) {
+				nextTick = System.nanoTime() + tickNanos;
+				continue;
+			}
+			InputCommand command;
+			while ((command = inputs.poll()) != null) {
+				world.apply(command);
+			}
+			world.step();
+			back.fill(world);
+			back = published.getAndSet(back);
+			if (tickListener != null) {
+				tickListener.accept(world);
+			}
+			nextTick += tickNanos;
+			if (world.getOutcome() != Outcome.RUNNING) {
+				running = false;
+			}
+		}
+	}
+}
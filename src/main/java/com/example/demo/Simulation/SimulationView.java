@@ -0,0 +1,172 @@
+package com.example.demo.Simulation;
+
+import com.example.demo.Display.SpriteAtlas;
+import com.example.demo.Display.SpriteLayer;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.image.ImageView;
+
+/**
+ * Shows a world run by a {@link SimulationRunner} by applying its snapshots to scene graph nodes on the FX thread.
+ * <p>
+ * The view registers a pre-layout pulse listener on the scene, so the latest snapshot is applied once per frame,
+ * right before the frame is laid out and rendered, however long the simulation's ticks take. It keeps one node per
+ * entity, ordered by entity id like the snapshots, and matches the two lists in a single merge pass: nodes are created
+ * for new entities, moved for existing ones and removed for entities that are gone. The user's plane is shown with the
+ * node the level already displays. Nodes are drawn through the level's {@link SpriteLayer}, so they stay above the
+ * background and below the HUD as the level's actors do.
+ */
+public class SimulationView {
+
+	private static final double INVINCIBLE_OPACITY = 0.5;
+
+	private final SimulationRunner runner;
+	private final Scene scene;
+	private final SpriteLayer sprites;
+	private final ImageView userNode;
+	private final Consumer<WorldSnapshot> onTick;
+	private final Runnable pulseListener = this::onPulse;
+
+	private int nodeCount;
+	private int[] nodeIds = new int[64];
+	private ImageView[] nodes = new ImageView[64];
+	private int[] nextIds = new int[64];
+	private ImageView[] nextNodes = new ImageView[64];
+	private long appliedTick = -1;
+	private boolean attached;
+
+	/**
+	 * Constructs a view of a runner's world.
+	 *
+	 * @param runner   The runner whose snapshots are shown.
+	 * @param scene    The scene whose pulses drive the view.
+	 * @param sprites  The layer the entity nodes are drawn through.
+	 * @param userNode The node showing the user's plane, already drawn by the layer.
+	 * @param onTick   Called on the FX thread after each new snapshot has been applied, for example to update the HUD.
+	 */
+	public SimulationView(SimulationRunner runner, Scene scene, SpriteLayer sprites, ImageView userNode,
+						  Consumer<WorldSnapshot> onTick) {
+		this.runner = runner;
+		this.scene = scene;
+		this.sprites = sprites;
+		this.userNode = userNode;
+		this.onTick = onTick;
+	}
+
+	/**
+	 * Starts applying snapshots on every pulse.
+	 */
+	public void attach() {
+		if (!attached) {
+			attached = true;
+			scene.addPreLayoutPulseListener(pulseListener);
+			Platform.requestNextPulse();
+		}
+	}
+
+	/**
+	 * Stops applying snapshots and removes every entity node from the scene.
+	 */
+	public void detach() {
+		if (attached) {
+			attached = false;
+			scene.removePreLayoutPulseListener(pulseListener);
+		}
+		for (int i = 0; i < nodeCount; i++) {
+			if (nodes[i] != userNode) {
+				sprites.remove(nodes[i]);
+			}
+			nodes[i] = null;
+		}
+		nodeCount = 0;
+	}
+
+	/**
+	 * Applies the latest snapshot if it is newer than the one shown, and asks for another pulse so that the view
+	 * keeps following the simulation even when nothing else in the scene changes.
+	 */
+	private void onPulse() {
+		if (!attached) {
+			return;
+		}
+		WorldSnapshot snapshot = runner.latest();
+		if (snapshot.getTick() > appliedTick) {
+			apply(snapshot);
+			appliedTick = snapshot.getTick();
+			onTick.accept(snapshot);
+		}
+		if (attached) {
+			Platform.requestNextPulse();
+		}
+	}
+
+	/**
+	 * Matches the snapshot's entities with the existing nodes by id and updates the scene graph accordingly.
+	 */
+	private void apply(WorldSnapshot snapshot) {
+		int count = snapshot.getCount();
+		if (nextIds.length < count) {
+			nextIds = new int[count * 2];
+			nextNodes = new ImageView[count * 2];
+		}
+		int existing = 0;
+		for (int i = 0; i < count; i++) {
+			int id = snapshot.getId(i);
+			while (existing < nodeCount && nodeIds[existing] < id) {
+				remove(nodes[existing]); // The entity is gone
+				nodes[existing++] = null;
+			}
+			ImageView node;
+			if (existing < nodeCount && nodeIds[existing] == id) {
+				node = nodes[existing];
+				nodes[existing++] = null;
+			} else {
+				node = create(snapshot.getKind(i));
+			}
+			node.setLayoutX(snapshot.getX(i));
+			node.setLayoutY(snapshot.getY(i));
+			node.setOpacity(snapshot.isInvincible(i) && (snapshot.getTick() & 4) != 0 ? INVINCIBLE_OPACITY : 1.0);
+			nextIds[i] = id;
+			nextNodes[i] = node;
+		}
+		while (existing < nodeCount) {
+			remove(nodes[existing]);
+			nodes[existing++] = null;
+		}
+
+		int[] swapIds = nodeIds;
+		ImageView[] swapNodes = nodes;
+		nodeIds = nextIds;
+		nodes = nextNodes;
+		nextIds = swapIds;
+		nextNodes = swapNodes;
+		nodeCount = count;
+	}
+
+	/**
+	 * Creates the node for a new entity and adds it to the sprite layer.
+	 */
+	private ImageView create(EntityKind kind) {
+		if (kind == EntityKind.USER) {
+			userNode.setTranslateX(0);
+			userNode.setTranslateY(0);
+			return userNode;
+		}
+		ImageView node = new ImageView();
+		SpriteAtlas.show(node, kind.getImagePath(), 0, kind.getImageHeight());
+		node.setFitHeight(kind.getImageHeight());
+		node.setPreserveRatio(true);
+		sprites.add(node);
+		return node;
+	}
+
+	/**
+	 * Removes the node of an entity that is gone.
+	 */
+	private void remove(ImageView node) {
+		if (node != userNode) {
+			sprites.remove(node);
+		}
+	}
+}
@@ -0,0 +1,567 @@
+package com.example.demo.Simulation;
+
+import com.example.demo.Actor.Planes.Boss;
+import com.example.demo.Actor.Planes.BossScript;
+import com.example.demo.Actor.Planes.EnemyPlane;
+import com.example.demo.Actor.Planes.FighterPlane;
+import com.example.demo.Actor.Planes.UserPlane;
+import com.example.demo.Actor.Projectiles.Projectile;
+import com.example.demo.Engine.Cooldown;
+import com.example.demo.Engine.ContactDetector;
+import com.example.demo.Engine.GameRandom;
+import com.example.demo.Level.LevelParent;
+import java.util.Arrays;
+
+/**
+ * A model of a level that plays the game without touching the scene graph.
+ * <p>
+ * The world stores every entity in parallel arrays (kind, position, health, remaining invincibility) with positions
+ * in {@link Fixed} point, and {@link #step()} runs one tick of the same rules the actor classes and
+ * {@link com.example.demo.Level.LevelParent} implement: spawning, movement, enemy and boss fire, penetration,
+ * collisions, removal of destroyed entities and the win and loss checks. All randomness comes from a single
+ * {@link GameRandom} and the boss is driven by a {@link BossScript}, so a world is fully determined by its seed and the
+ * inputs it is given.
+ * <p>
+ * Entities keep the order in which they were created, and each has an id that is never reused, so observers can match
+ * entities between ticks. The user's plane is always entity 0. A world is not thread-safe; it is meant to be owned by
+ * one simulation thread.
+ */
+public class SimulationWorld {
+
+	private static final int INITIAL_CAPACITY = 64;
+	private static final int USER = 0;
+	private static final int USER_X = Fixed.of(UserPlane.INITIAL_X_POSITION);
+	private static final int USER_Y = Fixed.of(UserPlane.INITIAL_Y_POSITION);
+	private static final int USER_VELOCITY = Fixed.of(UserPlane.VERTICAL_VELOCITY);
+	private static final int USER_PROJECTILE_X = Fixed.of(UserPlane.PROJECTILE_X_POSITION);
+	private static final int USER_PROJECTILE_Y_OFFSET = Fixed.of(UserPlane.PROJECTILE_Y_POSITION_OFFSET);
+	private static final int Y_UPPER_BOUND = Fixed.of(FighterPlane.Y_UPPER_BOUND);
+	private static final int Y_LOWER_BOUND = Fixed.of(FighterPlane.Y_LOWER_BOUND);
+	private static final int BOSS_X = Fixed.of(Boss.INITIAL_X_POSITION);
+	private static final int BOSS_Y = Fixed.of(Boss.INITIAL_Y_POSITION);
+	private static final int BOSS_PROJECTILE_X_OFFSET = Fixed.of(Boss.PROJECTILE_X_POSITION_OFFSET);
+	private static final int BOSS_PROJECTILE_Y_OFFSET = Fixed.of(Boss.PROJECTILE_Y_POSITION_OFFSET);
+	private static final int ENEMY_PROJECTILE_X_OFFSET = Fixed.of(EnemyPlane.PROJECTILE_X_POSITION_OFFSET);
+	private static final int ENEMY_PROJECTILE_Y_OFFSET = Fixed.of(EnemyPlane.PROJECTILE_Y_POSITION_OFFSET);
+	private static final double COLLISION_CELL_SIZE = Fixed.of(128);
+	private static final int CULL_MARGIN = Fixed.of(Projectile.CULL_MARGIN);
+
+	private final SimulationRules rules;
+	private final int screenWidth;
+	private final double enemyMaximumY;
+	private final GameRandom random;
+	private final ContactDetector contactDetector;
+	private int[] firstIndices = new int[INITIAL_CAPACITY]; // Entity of each box added to the contact detector
+	private int[] secondIndices = new int[INITIAL_CAPACITY];
+
+	private int count;
+	private int[] ids = new int[INITIAL_CAPACITY];
+	private EntityKind[] kinds = new EntityKind[INITIAL_CAPACITY];
+	private int[] originX = new int[INITIAL_CAPACITY];
+	private int[] x = new int[INITIAL_CAPACITY];
+	private int[] y = new int[INITIAL_CAPACITY];
+	private int[] health = new int[INITIAL_CAPACITY];
+	private int[] invincibleTicks = new int[INITIAL_CAPACITY];
+	private boolean[] destroyed = new boolean[INITIAL_CAPACITY];
+
+	private int nextId;
+	private long tick;
+	private int userDirection;
+	private boolean userFiring;
+	private boolean userFireRequested; // A start of firing not yet acted on, so that a tap within a tick still fires
+	private final Cooldown weaponCooldown = new Cooldown(UserPlane.DEFAULT_FIRE_COOLDOWN_TICKS);
+	private int kills;
+	private Outcome outcome = Outcome.RUNNING;
+
+	private BossScript bossScript;
+	private boolean bossSpawned;
+	private boolean bossShielded;
+	private int bossShieldFrames;
+
+	/**
+	 * Constructs a world for a level, with the user's plane in its starting position.
+	 *
+	 * @param rules        The rules of the level.
+	 * @param screenHeight The height of the screen, in pixels.
+	 * @param screenWidth  The width of the screen, in pixels.
+	 * @param seed         The seed for every random decision in the world.
+	 */
+	public SimulationWorld(SimulationRules rules, double screenHeight, double screenWidth, long seed) {
+		this.rules = rules;
+		this.screenWidth = Fixed.of(screenWidth);
+		this.enemyMaximumY = screenHeight - LevelParent.SCREEN_HEIGHT_ADJUSTMENT;
+		this.random = new GameRandom(seed);
+		this.contactDetector = new ContactDetector(Fixed.of(screenWidth), Fixed.of(screenHeight), COLLISION_CELL_SIZE);
+		spawn(EntityKind.USER, USER_X, USER_Y);
+		health[USER] = rules.getPlayerHealth();
+	}
+
+	/**
+	 * Applies one of the user's inputs. Inputs are sampled by the next tick, as a level samples its held keys.
+	 *
+	 * @param command The input to apply.
+	 */
+	public void apply(InputCommand command) {
+		if (outcome != Outcome.RUNNING) {
+			return;
+		}
+		switch (command) {
+			case MOVE_UP -> userDirection = -1;
+			case MOVE_DOWN -> userDirection = 1;
+			case STOP -> userDirection = 0;
+			case START_FIRING -> {
+				userFiring = true;
+				userFireRequested = true;
+			}
+			case STOP_FIRING -> userFiring = false;
+		}
+	}
+
+	/**
+	 * Runs one tick of the game. Does nothing once the level has been won or lost.
+	 */
+	public void step() {
+		if (outcome != Outcome.RUNNING) {
+			return;
+		}
+		tick++;
+		fireUserWeapon();
+		spawnEnemies();
+		updateEntities();
+		generateEnemyFire();
+		handleEnemyPenetration();
+		handleCollisions();
+		removeDestroyedEntities();
+		checkIfGameOver();
+	}
+
+	/**
+	 * Fires a user projectile if fire is held, or was started since the last shot, and the weapon's cooldown allows it.
+	 */
+	private void fireUserWeapon() {
+		if ((userFiring || userFireRequested) && weaponCooldown.tryUse()) {
+			userFireRequested = false;
+			spawn(EntityKind.USER_PROJECTILE, USER_PROJECTILE_X, y[USER] + USER_PROJECTILE_Y_OFFSET);
+		}
+	}
+
+	/**
+	 * Spawns enemy planes while there are fewer enemies than the rules allow, and the boss once.
+	 */
+	private void spawnEnemies() {
+		if (rules.isWithBoss() && !bossSpawned) {
+			bossScript = new BossScript(random.nextLong(), Boss.defaultPhases());
+			spawn(EntityKind.BOSS, BOSS_X, BOSS_Y);
+			bossSpawned = true;
+		}
+		int enemies = countEnemies();
+		for (int i = 0; i < rules.getMaxEnemies() - enemies; i++) {
+			if (random.nextDouble() < rules.getSpawnProbability()) {
+				spawn(EntityKind.ENEMY_PLANE, screenWidth, Fixed.of(random.nextDouble() * enemyMaximumY));
+			}
+		}
+	}
+
+	/**
+	 * Moves every entity and counts down invincibility and the boss's shield. Projectiles that fly further off the
+	 * screen than {@link Projectile#CULL_MARGIN} are destroyed, as a level culls them.
+	 */
+	private void updateEntities() {
+		for (int i = 0; i < count; i++) {
+			if (invincibleTicks[i] > 0) {
+				invincibleTicks[i]--;
+			}
+			switch (kinds[i]) {
+				case USER -> {
+					moveVertically(i, USER_VELOCITY * userDirection);
+					weaponCooldown.tick();
+				}
+				case BOSS -> {
+					moveVertically(i, Fixed.of(bossScript.nextMove()));
+					updateBossShield();
+				}
+				default -> {
+					x[i] += kinds[i].getVelocityX();
+					if (kinds[i].isProjectile() && isOffScreen(i)) {
+						destroyed[i] = true;
+					}
+				}
+			}
+		}
+	}
+
+	private boolean isOffScreen(int index) {
+		return x[index] + kinds[index].getWidth() < -CULL_MARGIN || x[index] > screenWidth + CULL_MARGIN;
+	}
+
+	/**
+	 * Moves an entity vertically, cancelling the move if it would leave the vertical bounds.
+	 */
+	private void moveVertically(int index, int distance) {
+		int newY = y[index] + distance;
+		if (newY >= Y_UPPER_BOUND && newY <= Y_LOWER_BOUND) {
+			y[index] = newY;
+		}
+	}
+
+	/**
+	 * Raises and lowers the boss's shield following its script.
+	 */
+	private void updateBossShield() {
+		if (bossShielded) {
+			bossShieldFrames++;
+		} else if (bossScript.nextShield()) {
+			bossShielded = true;
+		}
+		if (bossShieldFrames >= bossScript.getCurrentPhase().getMaxFramesWithShield()) {
+			bossShielded = false;
+			bossShieldFrames = 0;
+		}
+	}
+
+	/**
+	 * Lets every enemy plane and the boss decide whether to fire.
+	 */
+	private void generateEnemyFire() {
+		int enemies = count; // Projectiles spawned below do not fire themselves
+		for (int i = 0; i < enemies; i++) {
+			if (kinds[i] == EntityKind.ENEMY_PLANE && random.nextDouble() < EnemyPlane.FIRE_RATE) {
+				spawn(EntityKind.ENEMY_PROJECTILE, x[i] + ENEMY_PROJECTILE_X_OFFSET, y[i] + ENEMY_PROJECTILE_Y_OFFSET);
+			} else if (kinds[i] == EntityKind.BOSS && bossScript.nextFire()) {
+				spawn(EntityKind.BOSS_PROJECTILE, x[i] + BOSS_PROJECTILE_X_OFFSET, y[i] + BOSS_PROJECTILE_Y_OFFSET);
+			}
+		}
+	}
+
+	/**
+	 * Destroys enemy planes that flew a screen width past where they spawned, damaging the user for each.
+	 * These enemies are not scored as kills.
+	 */
+	private void handleEnemyPenetration() {
+		for (int i = 0; i < count; i++) {
+			if (isEnemyPlane(i) && !destroyed[i] && Math.abs(x[i] - originX[i]) > screenWidth) {
+				damage(USER, false);
+				destroyed[i] = true;
+			}
+		}
+	}
+
+	/**
+	 * Damages every pair of touching entities, in the same order as the level's collision handlers.
+	 */
+	private void handleCollisions() {
+		collide(EntityKind.USER_PROJECTILE, true);
+		collideEnemyProjectilesWithUser();
+		collide(EntityKind.USER, true);
+		collideProjectiles();
+	}
+
+	/**
+	 * Damages each entity of the given friendly kind together with every enemy plane or boss it touches.
+	 */
+	private void collide(EntityKind friendlyKind, boolean scoresKills) {
+		int first = 0;
+		int second = 0;
+		contactDetector.clear();
+		for (int i = 0; i < count; i++) {
+			if (isEnemyPlane(i)) {
+				firstIndices[first++] = i;
+				addCollisionBox(i, true);
+			} else if (kinds[i] == friendlyKind) {
+				secondIndices[second++] = i;
+				addCollisionBox(i, false);
+			}
+		}
+		int contacts = contactDetector.detect();
+		for (int i = 0; i < contacts; i++) {
+			damage(firstIndices[contactDetector.getFirst(i)], scoresKills);
+			damage(secondIndices[contactDetector.getSecond(i)], false);
+		}
+	}
+
+	/**
+	 * Damages the user and every enemy or boss projectile that touches it.
+	 */
+	private void collideEnemyProjectilesWithUser() {
+		for (int i = 0; i < count; i++) {
+			if (isEnemyProjectile(i) && intersects(i, USER)) {
+				damage(USER, false);
+				damage(i, false);
+			}
+		}
+	}
+
+	/**
+	 * Destroys user projectiles together with the enemy projectiles they touch.
+	 */
+	private void collideProjectiles() {
+		int first = 0;
+		int second = 0;
+		contactDetector.clear();
+		for (int i = 0; i < count; i++) {
+			if (isEnemyProjectile(i)) {
+				firstIndices[first++] = i;
+				addCollisionBox(i, true);
+			} else if (kinds[i] == EntityKind.USER_PROJECTILE) {
+				secondIndices[second++] = i;
+				addCollisionBox(i, false);
+			}
+		}
+		int contacts = contactDetector.detect();
+		for (int i = 0; i < contacts; i++) {
+			damage(firstIndices[contactDetector.getFirst(i)], false);
+			damage(secondIndices[contactDetector.getSecond(i)], false);
+		}
+	}
+
+	/**
+	 * Adds an entity's bounds to one of the contact detector's groups. Contacts are ordered by entity id, which is the
+	 * order the entities are stored in, so they are applied in the same order as a nested loop over the entities.
+	 */
+	private void addCollisionBox(int index, boolean first) {
+		EntityKind kind = kinds[index];
+		if (first) {
+			contactDetector.addFirst(ids[index], x[index], y[index], kind.getWidth(), kind.getHeight());
+		} else {
+			contactDetector.addSecond(ids[index], x[index], y[index], kind.getWidth(), kind.getHeight());
+		}
+	}
+
+	/**
+	 * Takes one point of health from an entity unless it is invincible or a shielded boss. A plane that survives is
+	 * made invincible for {@link FighterPlane#INVINCIBILITY_TICKS}; a projectile is destroyed by any hit.
+	 *
+	 * @param index       The entity to damage.
+	 * @param scoresKills Whether destroying an enemy with this hit counts as a kill.
+	 */
+	private void damage(int index, boolean scoresKills) {
+		if (destroyed[index] || invincibleTicks[index] > 0
+				|| (kinds[index] == EntityKind.BOSS && bossShielded)) {
+			return;
+		}
+		health[index]--;
+		if (kinds[index] == EntityKind.BOSS) {
+			bossScript.updatePhase(health[index]);
+		}
+		if (health[index] <= 0) {
+			destroyed[index] = true;
+			if (scoresKills && isEnemyPlane(index)) {
+				kills++;
+			}
+		} else if (!kinds[index].isProjectile()) {
+			invincibleTicks[index] = FighterPlane.INVINCIBILITY_TICKS;
+		}
+	}
+
+	/**
+	 * Removes destroyed entities, keeping the others in order. The user's plane is never removed.
+	 */
+	private void removeDestroyedEntities() {
+		int kept = 1;
+		for (int i = 1; i < count; i++) {
+			if (!destroyed[i]) {
+				if (kept != i) {
+					copy(i, kept);
+				}
+				kept++;
+			}
+		}
+		for (int i = kept; i < count; i++) {
+			kinds[i] = null;
+		}
+		count = kept;
+	}
+
+	/**
+	 * Ends the level if the user has been destroyed or has met the level's win condition.
+	 */
+	private void checkIfGameOver() {
+		if (destroyed[USER]) {
+			outcome = Outcome.LOST;
+		} else if (rules.getKillTarget() > 0 && kills >= rules.getKillTarget()) {
+			outcome = Outcome.WON;
+		} else if (bossSpawned && bossIndex() < 0) {
+			outcome = Outcome.WON;
+		}
+	}
+
+	/**
+	 * Adds an entity, growing the arrays if needed.
+	 */
+	private void spawn(EntityKind kind, int spawnX, int spawnY) {
+		if (count == ids.length) {
+			grow();
+		}
+		ids[count] = nextId++;
+		kinds[count] = kind;
+		originX[count] = spawnX;
+		x[count] = spawnX;
+		y[count] = spawnY;
+		health[count] = kind.getHealth();
+		invincibleTicks[count] = 0;
+		destroyed[count] = false;
+		count++;
+	}
+
+	private void copy(int from, int to) {
+		ids[to] = ids[from];
+		kinds[to] = kinds[from];
+		originX[to] = originX[from];
+		x[to] = x[from];
+		y[to] = y[from];
+		health[to] = health[from];
+		invincibleTicks[to] = invincibleTicks[from];
+		destroyed[to] = destroyed[from];
+	}
+
+	private void grow() {
+		int capacity = ids.length * 2;
+		ids = Arrays.copyOf(ids, capacity);
+		kinds = Arrays.copyOf(kinds, capacity);
+		originX = Arrays.copyOf(originX, capacity);
+		x = Arrays.copyOf(x, capacity);
+		y = Arrays.copyOf(y, capacity);
+		health = Arrays.copyOf(health, capacity);
+		invincibleTicks = Arrays.copyOf(invincibleTicks, capacity);
+		firstIndices = Arrays.copyOf(firstIndices, capacity);
+		secondIndices = Arrays.copyOf(secondIndices, capacity);
+		destroyed = Arrays.copyOf(destroyed, capacity);
+	}
+
+	private boolean intersects(int a, int b) {
+		return x[b] + kinds[b].getWidth() >= x[a] && y[b] + kinds[b].getHeight() >= y[a]
+				&& x[b] <= x[a] + kinds[a].getWidth() && y[b] <= y[a] + kinds[a].getHeight();
+	}
+
+	private boolean isEnemyPlane(int index) {
+		return kinds[index] == EntityKind.ENEMY_PLANE || kinds[index] == EntityKind.BOSS;
+	}
+
+	private boolean isEnemyProjectile(int index) {
+		return kinds[index] == EntityKind.ENEMY_PROJECTILE || kinds[index] == EntityKind.BOSS_PROJECTILE;
+	}
+
+	private int countEnemies() {
+		int enemies = 0;
+		for (int i = 0; i < count; i++) {
+			if (isEnemyPlane(i)) {
+				enemies++;
+			}
+		}
+		return enemies;
+	}
+
+	private int bossIndex() {
+		for (int i = 0; i < count; i++) {
+			if (kinds[i] == EntityKind.BOSS) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return The number of ticks run so far.
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	/**
+	 * @return The number of entities, including the user's plane.
+	 */
+	public int getEntityCount() {
+		return count;
+	}
+
+	/**
+	 * @param index The index of an entity, from 0 to {@link #getEntityCount()} exclusive.
+	 * @return The entity's id, which is never reused.
+	 */
+	public int getId(int index) {
+		return ids[index];
+	}
+
+	/**
+	 * @param index The index of an entity.
+	 * @return The entity's kind.
+	 */
+	public EntityKind getKind(int index) {
+		return kinds[index];
+	}
+
+	/**
+	 * @param index The index of an entity.
+	 * @return The entity's horizontal position, in fixed point.
+	 */
+	public int getX(int index) {
+		return x[index];
+	}
+
+	/**
+	 * @param index The index of an entity.
+	 * @return The entity's vertical position, in fixed point.
+	 */
+	public int getY(int index) {
+		return y[index];
+	}
+
+	/**
+	 * @param index The index of an entity.
+	 * @return The entity's remaining health.
+	 */
+	public int getHealth(int index) {
+		return health[index];
+	}
+
+	/**
+	 * @param index The index of an entity.
+	 * @return Whether the entity is currently invincible.
+	 */
+	public boolean isInvincible(int index) {
+		return invincibleTicks[index] > 0;
+	}
+
+	/**
+	 * @return The user's remaining health.
+	 */
+	public int getUserHealth() {
+		return health[USER];
+	}
+
+	/**
+	 * @return The number of enemies the user has destroyed.
+	 */
+	public int getKills() {
+		return kills;
+	}
+
+	/**
+	 * @return The boss's remaining health as a fraction of its starting health, or zero if there is no boss in play.
+	 */
+	public double getBossHealthFraction() {
+		int boss = bossIndex();
+		return boss < 0 ? 0 : (double) Math.max(0, health[boss]) / EntityKind.BOSS.getHealth();
+	}
+
+	/**
+	 * @return Whether the boss's shield is up.
+	 */
+	public boolean isBossShielded() {
+		return bossShielded;
+	}
+
+	/**
+	 * @return The state of play.
+	 */
+	public Outcome getOutcome() {
+		return outcome;
+	}
+
+	/**
+	 * @return The rules the world plays by.
+	 */
+	public SimulationRules getRules() {
+		return rules;
+	}
+}
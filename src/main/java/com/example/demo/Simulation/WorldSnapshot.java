@@ -0,0 +1,146 @@
+package com.example.demo.Simulation;
+
+import java.util.Arrays;
+
+/**
+ * The state of a {@link SimulationWorld} at the end of a tick, as handed from the simulation thread to the FX thread.
+ * <p>
+ * A snapshot is filled by the simulation thread and then published; from then on it is only read, until the
+ * {@link SimulationRunner} hands it back to the simulation thread for reuse, which only happens after the reader has
+ * moved on to a newer snapshot. Snapshots are recycled this way so that publishing a tick does not allocate.
+ * Entities are listed in the world's order, which is ascending by id.
+ */
+public final class WorldSnapshot {
+
+	private long tick = -1;
+	private int count;
+	private int[] ids = new int[0];
+	private byte[] kinds = new byte[0];
+	private float[] x = new float[0];
+	private float[] y = new float[0];
+	private boolean[] invincible = new boolean[0];
+	private int userHealth;
+	private int kills;
+	private double bossHealthFraction;
+	private boolean bossShielded;
+	private Outcome outcome = Outcome.RUNNING;
+
+	/**
+	 * Copies the current state of the world into this snapshot.
+	 *
+	 * @param world The world to copy.
+	 */
+	void fill(SimulationWorld world) {
+		count = world.getEntityCount();
+		if (ids.length < count) {
+			int capacity = Math.max(count, ids.length * 2);
+			ids = Arrays.copyOf(ids, capacity);
+			kinds = Arrays.copyOf(kinds, capacity);
+			x = Arrays.copyOf(x, capacity);
+			y = Arrays.copyOf(y, capacity);
+			invincible = Arrays.copyOf(invincible, capacity);
+		}
+		for (int i = 0; i < count; i++) {
+			ids[i] = world.getId(i);
+			kinds[i] = (byte) world.getKind(i).ordinal();
+			x[i] = (float) Fixed.toPixels(world.getX(i));
+			y[i] = (float) Fixed.toPixels(world.getY(i));
+			invincible[i] = world.isInvincible(i);
+		}
+		tick = world.getTick();
+		userHealth = world.getUserHealth();
+		kills = world.getKills();
+		bossHealthFraction = world.getBossHealthFraction();
+		bossShielded = world.isBossShielded();
+		outcome = world.getOutcome();
+	}
+
+	/**
+	 * @return The tick this snapshot was taken at, or -1 for a snapshot that has never been filled.
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	/**
+	 * @return The number of entities.
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * @param index The index of an entity.
+	 * @return The entity's id.
+	 */
+	public int getId(int index) {
+		return ids[index];
+	}
+
+	/**
+	 * @param index The index of an entity.
+	 * @return The entity's kind.
+	 */
+	public EntityKind getKind(int index) {
+		return EntityKind.of(kinds[index]);
+	}
+
+	/**
+	 * @param index The index of an entity.
+	 * @return The entity's horizontal position, in pixels.
+	 */
+	public float getX(int index) {
+		return x[index];
+	}
+
+	/**
+	 * @param index The index of an entity.
+	 * @return The entity's vertical position, in pixels.
+	 */
+	public float getY(int index) {
+		return y[index];
+	}
+
+	/**
+	 * @param index The index of an entity.
+	 * @return Whether the entity is invincible.
+	 */
+	public boolean isInvincible(int index) {
+		return invincible[index];
+	}
+
+	/**
+	 * @return The user's health.
+	 */
+	public int getUserHealth() {
+		return userHealth;
+	}
+
+	/**
+	 * @return The number of enemies the user has destroyed.
+	 */
+	public int getKills() {
+		return kills;
+	}
+
+	/**
+	 * @return The boss's remaining health as a fraction of its starting health, or 0 if there is no boss.
+	 */
+	public double getBossHealthFraction() {
+		return bossHealthFraction;
+	}
+
+	/**
+	 * @return Whether the boss's shield is up.
+	 */
+	public boolean isBossShielded() {
+		return bossShielded;
+	}
+
+	/**
+	 * @return Whether the level is still running, won or lost.
+	 */
+	public Outcome getOutcome() {
+		return outcome;
+	}
+}
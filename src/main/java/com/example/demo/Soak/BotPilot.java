@@ -0,0 +1,177 @@
+package com.example.demo.Soak;
+
+import com.example.demo.Actor.ActiveActorDestructible;
+import com.example.demo.Input.GameAction;
+import com.example.demo.Input.InputState;
+import com.example.demo.Level.Autopilot;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An autopilot that plays well enough to keep a level busy: it fires without pause, dodges the enemy projectiles
+ * heading for it and otherwise lines up with the nearest enemy plane.
+ * <p>
+ * Each tick the bot scores moving up, staying put and moving down by how many of the projectiles ahead would reach
+ * the user's plane where that move would take it, nearer projectiles counting more, and takes the safest move. When
+ * every move is equally safe it closes on the nearest enemy's height instead, holding still within a small dead band
+ * so that it does not jitter around the target. The threats can also be given directly, without actors, through
+ * {@link #clearThreats()}, {@link #addProjectile(double, double, double)}, {@link #addEnemy(double, double)} and
+ * {@link #chooseDirection(double, double, double)}.
+ */
+public class BotPilot implements Autopilot {
+
+	private static final double USER_SPEED = 8; // Pixels per tick, as UserPlane moves
+	private static final double USER_TOP_BOUND = 0;
+	private static final double USER_BOTTOM_BOUND = 750; // UserPlane's lowest top edge
+	private static final double PROJECTILE_SPEED = 15; // The fastest enemy projectile, so arrivals are never late
+	private static final double HORIZON = 450; // Projectiles further ahead are ignored
+	private static final double MARGIN = 6; // Clearance kept around each projectile
+	private static final double USER_LENGTH = 120; // Projectiles this far behind the user's front have passed it
+	private static final double DEAD_BAND = 10;
+
+	private double[] projectileX = new double[32];
+	private double[] projectileTop = new double[32];
+	private double[] projectileBottom = new double[32];
+	private int projectileCount;
+	private double[] enemyCentre = new double[16];
+	private int enemyCount;
+
+	/**
+	 * Holds fire and the move chosen from the enemy units and projectiles in play.
+	 */
+	@Override
+	public void steer(ActiveActorDestructible user, List<ActiveActorDestructible> enemyUnits,
+					  List<ActiveActorDestructible> enemyProjectiles, InputState input) {
+		clearThreats();
+		for (ActiveActorDestructible projectile : enemyProjectiles) {
+			double top = projectile.getCollisionY();
+			addProjectile(projectile.getCollisionX(), top, top + projectile.getCollisionHeight());
+		}
+		double userX = user.getCollisionX();
+		for (ActiveActorDestructible enemy : enemyUnits) {
+			if (enemy.getCollisionX() > userX) {
+				double top = enemy.getCollisionY();
+				addEnemy(top, top + enemy.getCollisionHeight());
+			}
+		}
+		double userTop = user.getCollisionY();
+		int direction = chooseDirection(userX + user.getCollisionWidth(), userTop,
+				userTop + user.getCollisionHeight());
+
+		input.press(GameAction.FIRE);
+		if (direction < 0) {
+			input.release(GameAction.MOVE_DOWN);
+			input.press(GameAction.MOVE_UP);
+		} else if (direction > 0) {
+			input.release(GameAction.MOVE_UP);
+			input.press(GameAction.MOVE_DOWN);
+		} else {
+			input.release(GameAction.MOVE_UP);
+			input.release(GameAction.MOVE_DOWN);
+		}
+	}
+
+	/**
+	 * Forgets the threats given since the last call.
+	 */
+	public void clearThreats() {
+		projectileCount = 0;
+		enemyCount = 0;
+	}
+
+	/**
+	 * Adds an enemy projectile flying towards the user.
+	 *
+	 * @param x      The projectile's left edge.
+	 * @param top    The projectile's top edge.
+	 * @param bottom The projectile's bottom edge.
+	 */
+	public void addProjectile(double x, double top, double bottom) {
+		if (projectileCount == projectileX.length) {
+			projectileX = Arrays.copyOf(projectileX, projectileCount * 2);
+			projectileTop = Arrays.copyOf(projectileTop, projectileCount * 2);
+			projectileBottom = Arrays.copyOf(projectileBottom, projectileCount * 2);
+		}
+		projectileX[projectileCount] = x;
+		projectileTop[projectileCount] = top;
+		projectileBottom[projectileCount] = bottom;
+		projectileCount++;
+	}
+
+	/**
+	 * Adds an enemy plane ahead of the user, which the bot lines up with if it is the nearest in height.
+	 *
+	 * @param top    The enemy's top edge.
+	 * @param bottom The enemy's bottom edge.
+	 */
+	public void addEnemy(double top, double bottom) {
+		if (enemyCount == enemyCentre.length) {
+			enemyCentre = Arrays.copyOf(enemyCentre, enemyCount * 2);
+		}
+		enemyCentre[enemyCount++] = (top + bottom) / 2;
+	}
+
+	/**
+	 * Chooses the user's move against the threats given since {@link #clearThreats()}.
+	 *
+	 * @param userFront  The user's right edge, which projectiles reach first.
+	 * @param userTop    The user's top edge.
+	 * @param userBottom The user's bottom edge.
+	 * @return -1 to move up, 1 to move down or 0 to stay put.
+	 */
+	public int chooseDirection(double userFront, double userTop, double userBottom) {
+		double upDanger = danger(-1, userFront, userTop, userBottom);
+		double stayDanger = danger(0, userFront, userTop, userBottom);
+		double downDanger = danger(1, userFront, userTop, userBottom);
+		double userCentre = (userTop + userBottom) / 2;
+		if (upDanger != stayDanger || downDanger != stayDanger) {
+			if (stayDanger <= upDanger && stayDanger <= downDanger) {
+				return 0;
+			}
+			return upDanger < downDanger ? -1 : downDanger < upDanger ? 1 : towardsEnemy(userCentre, -1);
+		}
+		return towardsEnemy(userCentre, 0);
+	}
+
+	/**
+	 * Returns the move towards the nearest enemy's height.
+	 *
+	 * @param tie The move to make when no enemy is ahead or the user is already level with one.
+	 */
+	private int towardsEnemy(double userCentre, int tie) {
+		if (enemyCount == 0) {
+			return tie;
+		}
+		double offset = enemyCentre[0] - userCentre;
+		for (int i = 1; i < enemyCount; i++) {
+			if (Math.abs(enemyCentre[i] - userCentre) < Math.abs(offset)) {
+				offset = enemyCentre[i] - userCentre;
+			}
+		}
+		if (Math.abs(offset) <= DEAD_BAND) {
+			return tie;
+		}
+		return offset < 0 ? -1 : 1;
+	}
+
+	/**
+	 * Sums the danger of the projectiles ahead that would hit the user after it had moved in a direction until they
+	 * arrived, each weighted by how soon it would arrive.
+	 */
+	private double danger(int direction, double userFront, double userTop, double userBottom) {
+		double danger = 0;
+		for (int i = 0; i < projectileCount; i++) {
+			double distance = projectileX[i] - userFront;
+			if (distance < -USER_LENGTH || distance > HORIZON) {
+				continue; // Already past the user or too far away to matter yet
+			}
+			double ticks = Math.max(0, distance) / PROJECTILE_SPEED;
+			double shift = direction * USER_SPEED * ticks;
+			shift = Math.max(USER_TOP_BOUND - userTop, Math.min(USER_BOTTOM_BOUND - userTop, shift));
+			if (userTop + shift < projectileBottom[i] + MARGIN && userBottom + shift > projectileTop[i] - MARGIN) {
+				danger += 1 / (1 + ticks);
+			}
+		}
+		return danger;
+	}
+}
@@ -0,0 +1,138 @@
+package com.example.demo.Soak;
+
+import com.example.demo.Actor.ActiveActorDestructible;
+import com.example.demo.Event.LevelCompletedEvent;
+import com.example.demo.Event.LevelFailedEvent;
+import com.example.demo.Input.InputState;
+import com.example.demo.Level.Autopilot;
+import com.example.demo.Level.LevelParent;
+import java.util.List;
+import java.util.logging.Logger;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+/**
+ * Plays the game unattended for hours, restarting it whenever it ends, and watches for resources that leak.
+ * <p>
+ * The harness installs itself as the {@link Autopilot} of every level and lets a {@link BotPilot} steer. When a game
+ * is lost or won it returns to the main menu and starts a new game from there, as a player would, so that the whole
+ * cycle of building and disposing levels is exercised. A {@link SoakMonitor} is sampled at a fixed interval on the FX
+ * thread; when the run is over the monitor's report is logged and the run passes if no measure trended upward.
+ */
+public class SoakHarness implements Autopilot {
+
+	private static final Logger LOGGER = Logger.getLogger(SoakHarness.class.getName());
+
+	private final Stage stage;
+	private final BotPilot bot = new BotPilot();
+	private final SoakMonitor monitor;
+	private final Timeline sampler = new Timeline();
+	private int levelsStarted;
+	private int gamesLost;
+	private int gamesWon;
+
+	/**
+	 * Creates a harness for a run of a number of samples.
+	 *
+	 * @param stage          The stage the game is shown on.
+	 * @param sampleCount    The number of samples to take; the run ends after the last.
+	 * @param sampleMillis   The time between samples in milliseconds.
+	 * @param warmUpSamples  The number of first samples left out of trends.
+	 * @throws IllegalArgumentException If there would be no samples after the warm-up, or the interval is not positive.
+	 */
+	public SoakHarness(Stage stage, int sampleCount, long sampleMillis, int warmUpSamples) {
+		if (sampleCount <= warmUpSamples || sampleMillis <= 0) {
+			throw new IllegalArgumentException("Need samples after the warm-up at a positive interval: " + sampleCount
+					+ " samples every " + sampleMillis + " ms, " + warmUpSamples + " for warm-up");
+		}
+		this.stage = stage;
+		this.monitor = new SoakMonitor(warmUpSamples);
+		sampler.setCycleCount(sampleCount);
+		sampler.getKeyFrames().add(new KeyFrame(Duration.millis(sampleMillis), e -> sample()));
+	}
+
+	/**
+	 * Installs the harness on the levels started from now on and starts sampling.
+	 *
+	 * @param onFinished Called on the FX thread once the last sample has been taken and the report logged.
+	 */
+	public void start(Runnable onFinished) {
+		LevelParent.installAutopilot(this);
+		sampler.setOnFinished(e -> {
+			LevelParent.installAutopilot(null);
+			LOGGER.info(() -> String.format("Soak run over after %d levels, %d games lost and %d won%n%s",
+					levelsStarted, gamesLost, gamesWon, monitor.report()));
+			onFinished.run();
+		});
+		sampler.play();
+	}
+
+	/**
+	 * Restarts the game through the main menu whenever the level ends it.
+	 */
+	@Override
+	public void levelStarted(LevelParent level) {
+		levelsStarted++;
+		level.getEventBus().subscribe(LevelFailedEvent.class, event -> {
+			gamesLost++;
+			restart(level);
+		});
+		level.getEventBus().subscribe(LevelCompletedEvent.class, event -> {
+			if (event.isGameWon()) {
+				gamesWon++;
+				restart(level);
+			}
+		});
+	}
+
+	@Override
+	public void steer(ActiveActorDestructible user, List<ActiveActorDestructible> enemyUnits,
+					  List<ActiveActorDestructible> enemyProjectiles, InputState input) {
+		bot.steer(user, enemyUnits, enemyProjectiles, input);
+	}
+
+	@Override
+	public void tickCompleted(long nanos) {
+		monitor.recordTick(nanos);
+	}
+
+	/**
+	 * @return Whether the run so far shows no measure trending upward.
+	 */
+	public boolean isPassing() {
+		return monitor.getUpwardTrends().isEmpty();
+	}
+
+	/**
+	 * @return The monitor the harness samples.
+	 */
+	public SoakMonitor getMonitor() {
+		return monitor;
+	}
+
+	/**
+	 * Returns to the main menu and starts a new game, once the tick that ended the level has finished with it.
+	 */
+	private void restart(LevelParent level) {
+		Platform.runLater(() -> {
+			if (!level.isDisposed()) {
+				level.returnToMainMenu().startGame();
+			}
+		});
+	}
+
+	private void sample() {
+		Scene scene = stage.getScene();
+		monitor.sample(scene == null ? null : scene.getRoot());
+		int last = monitor.getSampleCount() - 1;
+		LOGGER.fine(() -> String.format("Sample %d: %,d heap bytes, %d nodes, %d timers, tick p99 %d us", last,
+				monitor.getSample(last, SoakMonitor.Measure.HEAP_BYTES),
+				monitor.getSample(last, SoakMonitor.Measure.SCENE_NODES),
+				monitor.getSample(last, SoakMonitor.Measure.RUNNING_TIMERS),
+				monitor.getSample(last, SoakMonitor.Measure.TICK_P99_NANOS) / 1000));
+	}
+}
@@ -0,0 +1,199 @@
+package com.example.demo.Soak;
+
+import com.example.demo.Display.CountedAnimationTimer;
+import com.example.demo.Server.TickHistogram;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+/**
+ * Samples the game's resource use at regular intervals during a long run and finds the measures that trend upward.
+ * <p>
+ * Each sample records the heap in use just after a garbage collection, the number of nodes in the scene graph, the
+ * number of {@link CountedAnimationTimer}s running and the median and 99th percentile of the ticks timed since the
+ * previous sample. A leak shows as a steady rise in one of them over the run, while gameplay makes them all swing from
+ * sample to sample, so a measure is judged by the least-squares slope of its samples after a warm-up: it trends
+ * upward if the line rises over the run by more than its tolerance, a fraction of the measure's mean or a fixed floor,
+ * whichever is larger. Samples and tick times must be given on one thread, normally the FX application thread.
+ */
+public class SoakMonitor {
+
+	/**
+	 * The measures taken in each sample, with how much each may rise over a run before it counts as a trend.
+	 */
+	public enum Measure {
+		HEAP_BYTES(0.10, 4 << 20),
+		SCENE_NODES(0.10, 20),
+		RUNNING_TIMERS(0.10, 2),
+		TICK_P50_NANOS(0.25, 200_000),
+		TICK_P99_NANOS(0.25, 1_000_000);
+
+		private final double relativeTolerance;
+		private final double absoluteTolerance;
+
+		Measure(double relativeTolerance, double absoluteTolerance) {
+			this.relativeTolerance = relativeTolerance;
+			this.absoluteTolerance = absoluteTolerance;
+		}
+	}
+
+	private static final Measure[] MEASURES = Measure.values();
+	private static final int MINIMUM_TREND_SAMPLES = 3;
+
+	private final int warmUpSamples;
+	private final List<long[]> samples = new ArrayList<>();
+	private TickHistogram ticks = new TickHistogram();
+
+	/**
+	 * Creates a monitor.
+	 *
+	 * @param warmUpSamples The number of first samples left out of trends, while caches fill and code is compiled.
+	 * @throws IllegalArgumentException If the number is negative.
+	 */
+	public SoakMonitor(int warmUpSamples) {
+		if (warmUpSamples < 0) {
+			throw new IllegalArgumentException("Warm-up sample count must not be negative: " + warmUpSamples);
+		}
+		this.warmUpSamples = warmUpSamples;
+	}
+
+	/**
+	 * Counts the duration of a tick of the game loop towards the next sample.
+	 *
+	 * @param nanos The tick's duration in nanoseconds.
+	 */
+	public void recordTick(long nanos) {
+		ticks.record(nanos);
+	}
+
+	/**
+	 * Takes a sample of the running game, collecting garbage first so that only reachable objects are counted.
+	 *
+	 * @param root The root of the scene graph being shown, or {@code null} if there is none.
+	 */
+	public void sample(Parent root) {
+		Runtime runtime = Runtime.getRuntime();
+		System.gc();
+		long heap = runtime.totalMemory() - runtime.freeMemory();
+		long nodes = root == null ? 0 : countNodes(root);
+		addSample(heap, nodes, CountedAnimationTimer.getRunningCount(), ticks.getPercentile(0.5),
+				ticks.getPercentile(0.99));
+		ticks = new TickHistogram();
+	}
+
+	/**
+	 * Adds a sample taken elsewhere.
+	 *
+	 * @param heapBytes    The heap in use after a garbage collection.
+	 * @param sceneNodes   The number of nodes in the scene graph.
+	 * @param timers       The number of animation timers running.
+	 * @param tickP50Nanos The median tick time since the previous sample.
+	 * @param tickP99Nanos The 99th percentile tick time since the previous sample.
+	 */
+	public void addSample(long heapBytes, long sceneNodes, long timers, long tickP50Nanos, long tickP99Nanos) {
+		samples.add(new long[] {heapBytes, sceneNodes, timers, tickP50Nanos, tickP99Nanos});
+	}
+
+	/**
+	 * @return The number of samples taken.
+	 */
+	public int getSampleCount() {
+		return samples.size();
+	}
+
+	/**
+	 * @param index  The index of a sample.
+	 * @param measure A measure.
+	 * @return The measure's value in the sample.
+	 */
+	public long getSample(int index, Measure measure) {
+		return samples.get(index)[measure.ordinal()];
+	}
+
+	/**
+	 * Returns how much a measure rises over the samples after the warm-up, following their least-squares line.
+	 *
+	 * @param measure A measure.
+	 * @return The rise from the first sample after the warm-up to the last, or 0 with too few samples to tell.
+	 */
+	public double getRise(Measure measure) {
+		int first = warmUpSamples;
+		int n = samples.size() - first;
+		if (n < MINIMUM_TREND_SAMPLES) {
+			return 0;
+		}
+		double meanX = (n - 1) / 2.0;
+		double meanY = getMean(measure);
+		double covariance = 0;
+		double variance = 0;
+		for (int i = 0; i < n; i++) {
+			double dx = i - meanX;
+			covariance += dx * (getSample(first + i, measure) - meanY);
+			variance += dx * dx;
+		}
+		return covariance / variance * (n - 1);
+	}
+
+	/**
+	 * Returns the measures whose rise over the run is beyond their tolerance.
+	 *
+	 * @return The measures trending upward, none if the run looks steady.
+	 */
+	public List<Measure> getUpwardTrends() {
+		if (samples.size() - warmUpSamples < MINIMUM_TREND_SAMPLES) {
+			return Collections.emptyList();
+		}
+		List<Measure> trends = new ArrayList<>();
+		for (Measure measure : MEASURES) {
+			double tolerance = Math.max(measure.relativeTolerance * getMean(measure), measure.absoluteTolerance);
+			if (getRise(measure) > tolerance) {
+				trends.add(measure);
+			}
+		}
+		return trends;
+	}
+
+	/**
+	 * Describes the run: each measure's first and last sample after the warm-up, its rise and whether it trends.
+	 *
+	 * @return The report, one line per measure.
+	 */
+	public String report() {
+		StringBuilder report = new StringBuilder();
+		report.append(samples.size()).append(" samples, ").append(warmUpSamples).append(" for warm-up\n");
+		if (samples.size() - warmUpSamples < MINIMUM_TREND_SAMPLES) {
+			return report.append("Too few samples to find trends\n").toString();
+		}
+		List<Measure> trends = getUpwardTrends();
+		for (Measure measure : MEASURES) {
+			report.append(String.format("%-15s %,15d -> %,15d  rise %,15.0f%s%n", measure,
+					getSample(warmUpSamples, measure), getSample(samples.size() - 1, measure), getRise(measure),
+					trends.contains(measure) ? "  TRENDING UP" : ""));
+		}
+		return report.toString();
+	}
+
+	private double getMean(Measure measure) {
+		double total = 0;
+		for (int i = warmUpSamples; i < samples.size(); i++) {
+			total += getSample(i, measure);
+		}
+		return total / (samples.size() - warmUpSamples);
+	}
+
+	/**
+	 * Counts the nodes in a scene graph, its root included.
+	 *
+	 * @param root The root of the graph.
+	 * @return The number of nodes.
+	 */
+	public static int countNodes(Parent root) {
+		int count = 1;
+		for (Node child : root.getChildrenUnmodifiable()) {
+			count += child instanceof Parent parent ? countNodes(parent) : 1;
+		}
+		return count;
+	}
+}
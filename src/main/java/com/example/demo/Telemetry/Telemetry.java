@@ -0,0 +1,100 @@
+package com.example.demo.Telemetry;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Entry point for recording gameplay telemetry.
+ * <p>
+ * Producers call {@link #record(TelemetryType, int)} from the game loop. The call only places a fixed-size record in a
+ * preallocated {@link TelemetryRing}, so it never allocates, blocks or touches the disk; a {@link TelemetryWriter}
+ * thread writes the records to compressed logs in the background. If the writer falls behind and the ring fills up,
+ * new records are dropped and counted rather than stalling the game.
+ * <p>
+ * Until {@link #start(Path)} is called, recording does nothing, so actors and levels created in tests are unaffected.
+ */
+public final class Telemetry {
+
+	/** Where the logs are written by default. */
+	public static final Path DEFAULT_DIRECTORY = Paths.get(System.getProperty("user.home"), ".cw2024", "telemetry");
+
+	private static final int CAPACITY = 8192;
+	private static final TelemetryRing RING = new TelemetryRing(CAPACITY);
+	private static final List<String> LEVEL_NAMES = new CopyOnWriteArrayList<>();
+	private static volatile TelemetryWriter writer;
+
+	private Telemetry() {
+	}
+
+	/**
+	 * Starts writing telemetry logs to the given directory. Does nothing if telemetry is already running.
+	 *
+	 * @param directory The directory for the logs.
+	 */
+	public static synchronized void start(Path directory) {
+		if (writer == null) {
+			TelemetryWriter newWriter = new TelemetryWriter(RING, directory, LEVEL_NAMES);
+			newWriter.start();
+			writer = newWriter;
+		}
+	}
+
+	/**
+	 * Writes every record already recorded, closes the log and stops recording.
+	 *
+	 * @throws InterruptedException If interrupted while waiting for the writer to finish.
+	 */
+	public static synchronized void stop() throws InterruptedException {
+		TelemetryWriter runningWriter = writer;
+		if (runningWriter != null) {
+			writer = null;
+			runningWriter.close();
+		}
+	}
+
+	/**
+	 * Records a gameplay event, or drops it if the ring is full.
+	 *
+	 * @param type  The kind of record.
+	 * @param value The record's value; its meaning is described by each {@link TelemetryType}.
+	 */
+	public static void record(TelemetryType type, int value) {
+		if (writer != null) {
+			RING.offer(System.nanoTime(), type.ordinal(), value);
+		}
+	}
+
+	/**
+	 * Returns the id under which a level appears in level and pause records, registering the name on first use.
+	 * <p>
+	 * Levels call this once when they are created, so that records can carry the level as an {@code int}.
+	 *
+	 * @param levelName The level's name.
+	 * @return The level's id.
+	 */
+	public static synchronized int levelId(String levelName) {
+		int id = LEVEL_NAMES.indexOf(levelName);
+		if (id < 0) {
+			LEVEL_NAMES.add(levelName);
+			id = LEVEL_NAMES.size() - 1;
+		}
+		return id;
+	}
+
+	/**
+	 * @return The number of records dropped because the ring was full.
+	 */
+	public static long getDroppedCount() {
+		return RING.getDroppedCount();
+	}
+
+	/**
+	 * @return The number of records written by the current writer, or zero if telemetry is not running.
+	 */
+	public static long getWrittenCount() {
+		TelemetryWriter runningWriter = writer;
+		return runningWriter != null ? runningWriter.getWrittenCount() : 0;
+	}
+}
@@ -0,0 +1,117 @@
+package com.example.demo.Telemetry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free queue of fixed-size telemetry records.
+ * <p>
+ * Records are stored in preallocated parallel arrays (timestamp, type, value), so offering a record never allocates.
+ * Any number of threads may offer records; a single consumer drains them. Each slot carries a sequence number that
+ * tells producers when the slot is free and the consumer when it has been filled, which is the bounded queue design
+ * described by Dmitry Vyukov.
+ * <p>
+ * When the queue is full the new record is dropped and counted, so a stalled consumer can never block the game loop.
+ */
+public class TelemetryRing {
+
+	private final int mask;
+	private final long[] timestamps;
+	private final int[] types;
+	private final int[] values;
+	private final AtomicLongArray sequences;
+	private final AtomicLong tail = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private long head; // Only touched by the consumer
+
+	/**
+	 * Constructs a ring with the given capacity.
+	 *
+	 * @param capacity The number of records the ring holds; must be a power of two.
+	 * @throws IllegalArgumentException If the capacity is not a positive power of two.
+	 */
+	public TelemetryRing(int capacity) {
+		if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+		}
+		this.mask = capacity - 1;
+		this.timestamps = new long[capacity];
+		this.types = new int[capacity];
+		this.values = new int[capacity];
+		this.sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * Adds a record, or drops it if the ring is full.
+	 *
+	 * @param timestamp The time of the record, from {@link System#nanoTime()}.
+	 * @param type      The ordinal of the record's {@link TelemetryType}.
+	 * @param value     The record's value.
+	 * @return {@code true} if the record was added, {@code false} if it was dropped.
+	 */
+	public boolean offer(long timestamp, int type, int value) {
+		long position = tail.get();
+		while (true) {
+			int index = (int) (position & mask);
+			long difference = sequences.getAcquire(index) - position;
+			if (difference == 0) {
+				if (tail.compareAndSet(position, position + 1)) {
+					timestamps[index] = timestamp;
+					types[index] = type;
+					values[index] = value;
+					sequences.setRelease(index, position + 1);
+					return true;
+				}
+				position = tail.get();
+			} else if (difference < 0) {
+				dropped.incrementAndGet(); // The consumer has not freed this slot yet: the ring is full
+				return false;
+			} else {
+				position = tail.get(); // Another producer claimed this slot first
+			}
+		}
+	}
+
+	/**
+	 * Moves up to {@code max} records into the given arrays, oldest first. Must only be called by the consumer.
+	 *
+	 * @param timestampsOut Receives the timestamps.
+	 * @param typesOut      Receives the type ordinals.
+	 * @param valuesOut     Receives the values.
+	 * @param max           The maximum number of records to move.
+	 * @return The number of records moved.
+	 */
+	public int drain(long[] timestampsOut, int[] typesOut, int[] valuesOut, int max) {
+		int count = 0;
+		while (count < max) {
+			int index = (int) (head & mask);
+			if (sequences.getAcquire(index) != head + 1) {
+				break; // Not filled yet
+			}
+			timestampsOut[count] = timestamps[index];
+			typesOut[count] = types[index];
+			valuesOut[count] = values[index];
+			sequences.setRelease(index, head + mask + 1);
+			head++;
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * @return The number of records dropped because the ring was full.
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	/**
+	 * @return The number of records the ring holds.
+	 */
+	public int getCapacity() {
+		return mask + 1;
+	}
+}
@@ -0,0 +1,54 @@
+package com.example.demo.Telemetry;
+
+/**
+ * The kinds of gameplay records written to the telemetry log.
+ * <p>
+ * Every record carries a timestamp and a single {@code int} value whose meaning depends on the type.
+ */
+public enum TelemetryType {
+
+	/** The user fired a projectile. The value is the number of user projectiles in play. */
+	SHOT_FIRED,
+
+	/** User projectiles hit enemies. The value is the number of hits in the tick. */
+	HIT,
+
+	/** The user's plane took damage. The value is its remaining health. */
+	USER_DAMAGE_TAKEN,
+
+	/** An enemy plane or boss took damage. The value is its remaining health. */
+	ENEMY_DAMAGE_TAKEN,
+
+	/** The user was credited with a kill. The value is the user's kill count. */
+	KILL,
+
+	/** A level started. The value is the level's id, see {@link Telemetry#levelId(String)}. */
+	LEVEL_STARTED,
+
+	/** A level ended. The value is the time since it started, in milliseconds. */
+	LEVEL_ENDED,
+
+	/** The game was paused. The value is the level's id. */
+	PAUSED,
+
+	/** The game was resumed. The value is the level's id. */
+	RESUMED,
+
+	/** An actor met a full budget. The value is the ordinal of its {@code ActorBudget.Category}. */
+	BUDGET_EXCEEDED,
+
+	/** Written by the log itself: records were dropped because the buffer was full. The value is how many. */
+	DROPPED;
+
+	private static final TelemetryType[] VALUES = values();
+
+	/**
+	 * Returns the type with the given ordinal without allocating.
+	 *
+	 * @param ordinal The ordinal of the type.
+	 * @return The matching type.
+	 */
+	static TelemetryType of(int ordinal) {
+		return VALUES[ordinal];
+	}
+}
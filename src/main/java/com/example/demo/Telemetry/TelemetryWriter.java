@@ -0,0 +1,215 @@
+package com.example.demo.Telemetry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Drains a {@link TelemetryRing} on a background thread and writes the records to rotating, gzip-compressed logs.
+ * <p>
+ * Records are drained in batches and written as comma-separated lines ({@code milliseconds,TYPE,value}), with the
+ * level name appended to level and pause records. A file is closed and a new one started once it holds
+ * {@link #MAX_FILE_BYTES} of uncompressed text, and only the newest {@link #MAX_FILES} logs are kept. Records the ring
+ * had to drop are reported in the log as {@link TelemetryType#DROPPED} lines.
+ */
+class TelemetryWriter implements Runnable {
+
+	private static final Logger LOGGER = Logger.getLogger(TelemetryWriter.class.getName());
+	private static final int BATCH_SIZE = 512;
+	private static final long IDLE_PARK_NANOS = 50_000_000L;
+	static final long MAX_FILE_BYTES = 4L * 1024 * 1024;
+	static final int MAX_FILES = 8;
+	static final String FILE_PREFIX = "telemetry-";
+	static final String FILE_SUFFIX = ".csv.gz";
+	private static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	private final TelemetryRing ring;
+	private final Path directory;
+	private final List<String> levelNames;
+	private final long originNanos;
+	private final String sessionName;
+	private final long[] timestamps = new long[BATCH_SIZE];
+	private final int[] types = new int[BATCH_SIZE];
+	private final int[] values = new int[BATCH_SIZE];
+	private final StringBuilder line = new StringBuilder(64);
+	private final Thread thread;
+
+	private volatile boolean running;
+	private volatile long writtenCount;
+	private long reportedDrops;
+	private Writer out;
+	private long fileBytes;
+	private int fileIndex;
+
+	/**
+	 * Constructs a writer for the given ring. The writer does nothing until {@link #start()} is called.
+	 *
+	 * @param ring       The ring to drain.
+	 * @param directory  The directory the logs are written to; it is created if needed.
+	 * @param levelNames The level names, indexed by the ids used in level and pause records.
+	 */
+	TelemetryWriter(TelemetryRing ring, Path directory, List<String> levelNames) {
+		this.ring = ring;
+		this.directory = directory;
+		this.levelNames = levelNames;
+		this.originNanos = System.nanoTime();
+		this.sessionName = LocalDateTime.now().format(FILE_TIME_FORMAT);
+		this.reportedDrops = ring.getDroppedCount();
+		this.thread = new Thread(this, "telemetry-writer");
+		this.thread.setDaemon(true);
+		this.thread.setPriority(Thread.MIN_PRIORITY);
+	}
+
+	/**
+	 * Starts the background thread.
+	 */
+	void start() {
+		running = true;
+		thread.start();
+	}
+
+	/**
+	 * Stops the background thread after it has written every record already in the ring, and closes the log.
+	 *
+	 * @throws InterruptedException If interrupted while waiting for the thread to finish.
+	 */
+	void close() throws InterruptedException {
+		running = false;
+		LockSupport.unpark(thread);
+		thread.join();
+	}
+
+	/**
+	 * @return The number of records written to the logs so far.
+	 */
+	long getWrittenCount() {
+		return writtenCount;
+	}
+
+	/**
+	 * Drains the ring until the writer is closed, then writes what is left and closes the log.
+	 */
+	@Override
+	public void run() {
+		try {
+			while (true) {
+				int count = ring.drain(timestamps, types, values, BATCH_SIZE);
+				if (count > 0) {
+					writeBatch(count);
+					continue;
+				}
+				reportDrops();
+				if (out != null) {
+					out.flush(); // Make everything written so far readable while the ring is idle
+				}
+				if (!running) {
+					break;
+				}
+				LockSupport.parkNanos(IDLE_PARK_NANOS);
+			}
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Telemetry log disabled after a write failure.", e);
+		} finally {
+			closeFile();
+		}
+	}
+
+	/**
+	 * Writes a batch of drained records, rotating the log when it is full.
+	 */
+	private void writeBatch(int count) throws IOException {
+		for (int i = 0; i < count; i++) {
+			writeRecord(timestamps[i], TelemetryType.of(types[i]), values[i]);
+		}
+		writtenCount += count;
+	}
+
+	/**
+	 * Writes a {@link TelemetryType#DROPPED} record if the ring dropped records since the last report.
+	 */
+	private void reportDrops() throws IOException {
+		long drops = ring.getDroppedCount();
+		if (drops != reportedDrops) {
+			writeRecord(System.nanoTime(), TelemetryType.DROPPED, (int) Math.min(Integer.MAX_VALUE, drops - reportedDrops));
+			reportedDrops = drops;
+		}
+	}
+
+	/**
+	 * Formats one record as a line and writes it to the current log.
+	 */
+	private void writeRecord(long timestamp, TelemetryType type, int value) throws IOException {
+		if (out == null || fileBytes >= MAX_FILE_BYTES) {
+			rotate();
+		}
+		line.setLength(0);
+		line.append((timestamp - originNanos) / 1_000_000L).append(',').append(type.name()).append(',').append(value);
+		if ((type == TelemetryType.LEVEL_STARTED || type == TelemetryType.PAUSED || type == TelemetryType.RESUMED)
+				&& value >= 0 && value < levelNames.size()) {
+			line.append(',').append(levelNames.get(value));
+		}
+		line.append('\n');
+		out.append(line);
+		fileBytes += line.length();
+	}
+
+	/**
+	 * Closes the current log, opens the next one and deletes the oldest logs beyond {@link #MAX_FILES}.
+	 */
+	private void rotate() throws IOException {
+		closeFile();
+		Files.createDirectories(directory);
+		Path file = directory.resolve(String.format("%s%s-%03d%s", FILE_PREFIX, sessionName, fileIndex++, FILE_SUFFIX));
+		out = new BufferedWriter(new OutputStreamWriter(
+				new GZIPOutputStream(Files.newOutputStream(file), true), StandardCharsets.UTF_8));
+		fileBytes = 0;
+		out.write("# CW2024 telemetry, session " + sessionName + ", times in milliseconds since session start\n");
+		deleteOldFiles();
+	}
+
+	/**
+	 * Deletes the oldest logs so that at most {@link #MAX_FILES} remain. File names sort by time.
+	 */
+	private void deleteOldFiles() throws IOException {
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+			stream.forEach(files::add);
+		}
+		if (files.size() <= MAX_FILES) {
+			return;
+		}
+		Collections.sort(files);
+		for (int i = 0; i < files.size() - MAX_FILES; i++) {
+			Files.deleteIfExists(files.get(i));
+		}
+	}
+
+	/**
+	 * Closes the current log, which finishes its gzip stream.
+	 */
+	private void closeFile() {
+		if (out == null) {
+			return;
+		}
+		try {
+			out.close();
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Failed to close the telemetry log.", e);
+		}
+		out = null;
+	}
+}
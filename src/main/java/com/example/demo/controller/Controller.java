@@ -1,33 +1,55 @@
 package com.example.demo.controller;
 
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.util.Observable;
-import java.util.Observer;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.function.Consumer;
 
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.stage.Stage;
+import com.example.demo.Event.GameEventListener;
+import com.example.demo.Event.LevelCompletedEvent;
 import com.example.demo.Level.LevelParent;
+import com.example.demo.Level.LevelSnapshot;
 
 /**
  * The Controller class manages the flow of the game, specifically the navigation
- * between levels. It listens for updates from levels (using the Observer pattern)
- * and handles the dynamic creation and transition to different levels.
+ * between levels. It subscribes to each level's {@link LevelCompletedEvent} on the level's
+ * event bus and handles the dynamic creation and transition to different levels.
  */
-public class Controller implements Observer {
+public class Controller implements GameEventListener<LevelCompletedEvent> {
 
 	private static final String LEVEL_ONE_CLASS_NAME = "com.example.demo.Level.LevelOne"; // The class name for level one
 	private final Stage stage; // The stage to display the scenes on
+	private final double screenHeight; // The height passed to every level
+	private final double screenWidth; // The width passed to every level
+	private LevelParent currentLevel; // The level currently displayed, if any
 
 	/**
 	 * Constructs a new Controller with the given Stage to control the game's scenes.
+	 * Levels are sized to the stage's current dimensions.
 	 *
 	 * @param stage the Stage object used to display the game scenes.
 	 */
 	public Controller(Stage stage) {
+		this(stage, stage.getHeight(), stage.getWidth());
+	}
+
+	/**
+	 * Constructs a new Controller with the given Stage and level dimensions.
+	 *
+	 * @param stage        the Stage object used to display the game scenes.
+	 * @param screenHeight the height passed to every level.
+	 * @param screenWidth  the width passed to every level.
+	 */
+	public Controller(Stage stage, double screenHeight, double screenWidth) {
 		this.stage = stage;
+		this.screenHeight = screenHeight;
+		this.screenWidth = screenWidth;
 	}
 
 	/**
@@ -48,9 +70,26 @@ public class Controller implements Observer {
 		goToLevel(LEVEL_ONE_CLASS_NAME); // Load the first level
 	}
 
+	/**
+	 * Resumes a suspended run by restoring the level saved in a snapshot file.
+	 * <p>
+	 * The level named in the snapshot is created as usual, the snapshot is restored into it before its game loop
+	 * starts, and play continues from there, including later level transitions.
+	 *
+	 * @param snapshotPath the snapshot file to resume from.
+	 * @throws IOException if the snapshot cannot be read or is not a supported snapshot.
+	 * @throws ReflectiveOperationException if the level class named in the snapshot cannot be instantiated.
+	 * @throws IllegalArgumentException if the snapshot is corrupt.
+	 */
+	public void resumeGame(Path snapshotPath) throws IOException, ReflectiveOperationException {
+		ByteBuffer snapshot = LevelSnapshot.read(snapshotPath);
+		stage.show(); // Show the game stage
+		goToLevel(LevelSnapshot.levelClassName(snapshot), level -> LevelSnapshot.restore(level, snapshot));
+	}
+
 	/**
 	 * Navigates to the specified level class by its name, creates an instance of it,
-	 * and sets it as the current scene on the stage.
+	 * and sets it as the current scene on the stage. The previously displayed level is disposed.
 	 *
 	 * @param className the fully qualified name of the level class to transition to.
 	 * @throws ClassNotFoundException if the class for the level cannot be found.
@@ -63,6 +102,28 @@ public class Controller implements Observer {
 	 */
 	private void goToLevel(String className) throws ClassNotFoundException, NoSuchMethodException, SecurityException,
 			InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+		goToLevel(className, level -> { });
+	}
+
+	/**
+	 * Navigates to the specified level class, letting the caller prepare the level after its scene has been
+	 * initialized and before its game starts.
+	 * <p>
+	 * If the preparation fails, the new level is disposed and the current level stays on screen.
+	 *
+	 * @param className the fully qualified name of the level class to transition to.
+	 * @param prepare   the preparation applied to the new level, such as restoring a snapshot.
+	 * @throws ClassNotFoundException if the class for the level cannot be found.
+	 * @throws NoSuchMethodException if the constructor for the level class is not found.
+	 * @throws SecurityException if there is a security violation during reflection.
+	 * @throws InstantiationException if there is an issue instantiating the level class.
+	 * @throws IllegalAccessException if there is illegal access during reflection.
+	 * @throws IllegalArgumentException if the constructor has incorrect arguments.
+	 * @throws InvocationTargetException if the constructor throws an exception.
+	 */
+	private void goToLevel(String className, Consumer<LevelParent> prepare) throws ClassNotFoundException,
+			NoSuchMethodException, SecurityException, InstantiationException, IllegalAccessException,
+			IllegalArgumentException, InvocationTargetException {
 		// Load the class dynamically via reflection
 		Class<?> myClass = Class.forName(className);
 
@@ -70,31 +131,47 @@ public class Controller implements Observer {
 		Constructor<?> constructor = myClass.getConstructor(double.class, double.class);
 
 		// Create a new instance of the level class
-		LevelParent myLevel = (LevelParent) constructor.newInstance(stage.getHeight(), stage.getWidth());
+		LevelParent myLevel = (LevelParent) constructor.newInstance(screenHeight, screenWidth);
 
-		// Add this controller as an observer to the level (so we can listen for level changes)
-		myLevel.addObserver(this);
+		// Subscribe to the level's completion events (so we can listen for level changes)
+		myLevel.getEventBus().subscribe(LevelCompletedEvent.class, this);
 
 		// Initialize the scene and set it on the stage
 		Scene scene = myLevel.initializeScene();
+		try {
+			prepare.accept(myLevel);
+		} catch (RuntimeException e) {
+			myLevel.dispose();
+			throw e;
+		}
 		stage.setScene(scene);
+		stage.setFullScreen(true); // Set fullscreen after setting the scene
 
 		// Start the level's game logic
 		myLevel.startGame();
+
+		// Release the previous level now that it is no longer displayed
+		if (currentLevel != null) {
+			currentLevel.dispose();
+		}
+		currentLevel = myLevel;
 	}
 
 	/**
-	 * Called when an update is received from the observable object (level).
-	 * This method handles level transitions based on the level's update.
+	 * Called when a level publishes a {@link LevelCompletedEvent}.
+	 * This method loads the next level named by the event; when the game has been won there is no next level
+	 * and the completed level stays on screen.
 	 *
-	 * @param arg0 the observable object (the level) sending the update.
-	 * @param arg1 the object passed by the level, which contains the next level class name.
+	 * @param event the completion event, which contains the next level class name.
 	 */
 	@Override
-	public void update(Observable arg0, Object arg1) {
+	public void onEvent(LevelCompletedEvent event) {
+		if (event.isGameWon()) {
+			return;
+		}
 		try {
-			// Go to the next level specified by the update (next level class name)
-			goToLevel((String) arg1);
+			// Go to the next level specified by the event (next level class name)
+			goToLevel(event.getNextLevel());
 		} catch (ClassNotFoundException | NoSuchMethodException | SecurityException | InstantiationException
 				 | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
 			// Display an error if an exception occurs during the level transition
@@ -1,6 +1,9 @@
 package com.example.demo.controller;
 
 import com.example.demo.Display.ScreenManager;
+import com.example.demo.Display.SpriteCache;
+import com.example.demo.Telemetry.Telemetry;
+import java.util.logging.Logger;
 import javafx.application.Application;
 import javafx.stage.Stage;
 
@@ -10,6 +13,8 @@ import javafx.stage.Stage;
  */
 public class Main extends Application {
 
+	private static final Logger LOGGER = Logger.getLogger(Main.class.getName());
+
 	/**
 	 * The start method is the entry point for the JavaFX application. It initializes
  	 * the primary stage and sets up the screen manager to manage the main menu.
@@ -18,6 +23,9 @@ public class Main extends Application {
 	 */
 	@Override
 	public void start(Stage primaryStage) {
+		// Record gameplay telemetry in the background for this session
+		Telemetry.start(Telemetry.DEFAULT_DIRECTORY);
+
 		// Create the ScreenManager to manage the screen size and fullscreen
 		ScreenManager screenManager = new ScreenManager(primaryStage);
 
@@ -25,6 +33,19 @@ public class Main extends Application {
 		screenManager.showMainMenu();  // Show the main menu
 	}
 
+	/**
+	 * Called when the application exits. Writes the remaining telemetry records and closes the telemetry log, and
+	 * reports how much texture memory decoding sprites at their display size saved.
+	 *
+	 * @throws InterruptedException if interrupted while the telemetry log is being closed
+	 */
+	@Override
+	public void stop() throws InterruptedException {
+		Telemetry.stop();
+		LOGGER.info(() -> String.format("Sprites held %,d bytes of texture at scale %d, %,d bytes less than at full size",
+				SpriteCache.getTextureBytes(), SpriteCache.getScale(), SpriteCache.getTextureBytesSaved()));
+	}
+
 	/**
 	 * The main method serves as the entry point for running the JavaFX application.
 	 * It launches the application by calling the launch() method from the Application class.
@@ -2,13 +2,20 @@ package com.example.demo.controller;
 
 import com.example.demo.Display.Tutorial;
 import com.example.demo.Display.ScreenManager;
+import com.example.demo.Level.LevelSnapshot;
 import javafx.fxml.FXML;
-import com.example.demo.Level.LevelOne;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Controller for the main menu of the game.
  */
 public class MainMenuController {
+    private static final double SCREEN_HEIGHT = 900;
+    private static final double SCREEN_WIDTH = 1600;
+    private static final Logger LOGGER = Logger.getLogger(MainMenuController.class.getName());
     private ScreenManager screenManager;
 
     /**
@@ -21,15 +28,40 @@ public class MainMenuController {
     }
 
     /**
-     * Start the game by loading and starting LevelOne.
+     * Start the game by resuming the suspended run, if there is one, or by loading and starting LevelOne.
+     * <p>
+     * The game is run through a {@link Controller}, which moves between levels as each one is completed.
+     * A snapshot that cannot be restored is discarded and a new game is started instead.
      */
     @FXML
     public void startGame() {
+        Controller controller = new Controller(screenManager.getStage(), SCREEN_HEIGHT, SCREEN_WIDTH); // Pass screen dimensions
+        if (Files.exists(LevelSnapshot.DEFAULT_PATH)) {
+            try {
+                controller.resumeGame(LevelSnapshot.DEFAULT_PATH); // Continue the suspended run
+                return;
+            } catch (IOException | ReflectiveOperationException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Discarding a level snapshot that could not be restored.", e);
+                discardSnapshot();
+            }
+        }
         // Start LevelOne
-        LevelOne levelOne = new LevelOne(900, 1600); // Pass screen dimensions
-        screenManager.getStage().setFullScreen(true); // Enable fullscreen
-        screenManager.setScene(levelOne.initializeScene()); // Set LevelOne scene
-        levelOne.startGame(); // Start game loop
+        try {
+            controller.launchGame(); // Show LevelOne and start its game loop
+        } catch (ReflectiveOperationException e) {
+            LOGGER.log(Level.SEVERE, "Failed to start the game.", e);
+        }
+    }
+
+    /**
+     * Delete the saved level snapshot.
+     */
+    private void discardSnapshot() {
+        try {
+            LevelSnapshot.delete(LevelSnapshot.DEFAULT_PATH);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to delete the level snapshot.", e);
+        }
     }
 
     /**
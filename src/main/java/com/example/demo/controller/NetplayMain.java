@@ -0,0 +1,94 @@
+package com.example.demo.controller;
+
+import com.example.demo.Ecs.EcsGame;
+import com.example.demo.Level.LevelThree;
+import com.example.demo.Level.NetworkLevel;
+import com.example.demo.Network.LockstepSession;
+import com.example.demo.Network.NetworkSession;
+import com.example.demo.Network.RollbackSession;
+import com.example.demo.Network.UdpTransport;
+import com.example.demo.Server.ServerProtocol;
+import com.example.demo.Simulation.SimulationRules;
+import java.io.IOException;
+import java.util.List;
+import javafx.application.Application;
+import javafx.stage.Stage;
+
+/**
+ * Plays the third level's rules with a second player in another instance of the game, over UDP on this machine.
+ * <p>
+ * The arguments are this instance's port, the peer's port, the player flown here (0 or 1), the session type
+ * ({@code rollback}, the default, or {@code lockstep}) and the game's seed. Both instances must be given the same
+ * session type and seed and opposite players, for example {@code 7001 7002 0} and {@code 7002 7001 1}.
+ */
+public class NetplayMain extends Application {
+
+	private static final String ROLLBACK = "rollback";
+	private static final String LOCKSTEP = "lockstep";
+	private static final long DEFAULT_SEED = 2024;
+	private static final SimulationRules RULES = LevelThree.SIMULATION_RULES;
+
+	private UdpTransport transport;
+	private NetworkLevel level;
+
+	/**
+	 * Connects to the peer and starts the networked level.
+	 *
+	 * @param primaryStage the stage the level is shown on
+	 * @throws IOException if this instance's port could not be bound
+	 */
+	@Override
+	public void start(Stage primaryStage) throws IOException {
+		List<String> args = getParameters().getRaw();
+		if (args.size() < 3) {
+			throw new IllegalArgumentException(
+					"Usage: NetplayMain <local port> <remote port> <player 0 or 1> [rollback|lockstep] [seed]");
+		}
+		int localPort = Integer.parseInt(args.get(0));
+		int remotePort = Integer.parseInt(args.get(1));
+		int player = Integer.parseInt(args.get(2));
+		String type = args.size() > 3 ? args.get(3) : ROLLBACK;
+		long seed = args.size() > 4 ? Long.parseLong(args.get(4)) : DEFAULT_SEED;
+
+		transport = new UdpTransport(localPort);
+		transport.connect(remotePort);
+		EcsGame game = new EcsGame(RULES, ServerProtocol.SCREEN_HEIGHT, ServerProtocol.SCREEN_WIDTH, seed, 2);
+		NetworkSession session = switch (type) {
+			case ROLLBACK -> new RollbackSession(game, transport, player, RollbackSession.DEFAULT_INPUT_DELAY);
+			case LOCKSTEP -> new LockstepSession(game, transport, player, LockstepSession.DEFAULT_INPUT_DELAY);
+			default -> throw new IllegalArgumentException("Unknown session type: " + type);
+		};
+		level = new NetworkLevel(session, player, RULES.getPlayerHealth(), ServerProtocol.SCREEN_HEIGHT,
+				ServerProtocol.SCREEN_WIDTH);
+
+		primaryStage.setTitle("Player " + (player + 1) + " (" + type + ")");
+		primaryStage.setScene(level.getScene());
+		primaryStage.setResizable(false);
+		primaryStage.show();
+		level.start();
+	}
+
+	/**
+	 * Stops the level and closes the connection when the window closes.
+	 *
+	 * @throws IOException if the connection could not be closed
+	 */
+	@Override
+	public void stop() throws IOException {
+		if (level != null) {
+			level.stop();
+		}
+		if (transport != null) {
+			transport.close();
+		}
+	}
+
+	/**
+	 * Launches the networked level.
+	 *
+	 * @param args this instance's port, the peer's port, the local player, the session type and the seed
+	 */
+	public static void main(String[] args) {
+		launch(args);
+	}
+}
@@ -0,0 +1,53 @@
+package com.example.demo.controller;
+
+import com.example.demo.Display.ScreenManager;
+import com.example.demo.Soak.SoakHarness;
+import java.util.List;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+
+/**
+ * Runs the game unattended under a {@link SoakHarness} and exits with status 1 if a resource trended upward over the
+ * run, so that a leak fails an overnight build.
+ * <p>
+ * The arguments are the length of the run in hours, by default 8, and the time between samples in seconds, by default
+ * 60. The first five samples are left out of trends.
+ */
+public class SoakMain extends Application {
+
+	private static final double DEFAULT_HOURS = 8;
+	private static final double DEFAULT_SAMPLE_SECONDS = 60;
+	private static final int WARM_UP_SAMPLES = 5;
+
+	/**
+	 * Shows the main menu, starts a game from it and starts the harness, which keeps the game going until the run is
+	 * over.
+	 *
+	 * @param primaryStage the stage the game is shown on
+	 */
+	@Override
+	public void start(Stage primaryStage) {
+		List<String> args = getParameters().getRaw();
+		double hours = args.size() > 0 ? Double.parseDouble(args.get(0)) : DEFAULT_HOURS;
+		double sampleSeconds = args.size() > 1 ? Double.parseDouble(args.get(1)) : DEFAULT_SAMPLE_SECONDS;
+		int samples = (int) Math.round(hours * 3600 / sampleSeconds);
+
+		SoakHarness harness = new SoakHarness(primaryStage, samples, Math.round(sampleSeconds * 1000),
+				WARM_UP_SAMPLES);
+		harness.start(() -> {
+			Platform.exit();
+			System.exit(harness.isPassing() ? 0 : 1);
+		});
+		new ScreenManager(primaryStage).showMainMenu().startGame();
+	}
+
+	/**
+	 * Launches the soak run.
+	 *
+	 * @param args the length of the run in hours and the time between samples in seconds
+	 */
+	public static void main(String[] args) {
+		launch(args);
+	}
+}
@@ -0,0 +1,72 @@
+package com.example.demo.controller;
+
+import com.example.demo.Server.MatchServer;
+import com.example.demo.Server.ServerProtocol;
+import com.example.demo.Server.SpectatorClient;
+import com.example.demo.Server.SpectatorServer;
+import com.example.demo.Server.SpectatorView;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import javafx.application.Application;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+
+/**
+ * Watches a game streamed by a {@link SpectatorServer}, for example one started with
+ * {@code -Dcw2024.spectatorPort=7778} and the threaded simulation enabled.
+ * <p>
+ * The arguments are the streaming game's host and port, by default this machine and port 7778.
+ */
+public class SpectatorMain extends Application {
+
+	private static final int DEFAULT_PORT = MatchServer.DEFAULT_PORT + 1;
+
+	private SpectatorClient client;
+
+	/**
+	 * Connects to the stream and shows it in a window the size of the game's.
+	 *
+	 * @param primaryStage the stage the stream is shown on
+	 * @throws IOException if the streaming game could not be reached
+	 */
+	@Override
+	public void start(Stage primaryStage) throws IOException {
+		List<String> args = getParameters().getRaw();
+		String host = args.size() > 0 ? args.get(0) : "localhost";
+		int port = args.size() > 1 ? Integer.parseInt(args.get(1)) : DEFAULT_PORT;
+
+		client = new SpectatorClient(new InetSocketAddress(host, port));
+		Group root = new Group();
+		Scene scene = new Scene(root, ServerProtocol.SCREEN_WIDTH, ServerProtocol.SCREEN_HEIGHT, Color.LIGHTSKYBLUE);
+		new SpectatorView(client, scene, root).attach();
+		client.start();
+
+		primaryStage.setTitle("Spectating " + host + ":" + port);
+		primaryStage.setScene(scene);
+		primaryStage.show();
+	}
+
+	/**
+	 * Disconnects from the stream when the window closes.
+	 *
+	 * @throws IOException if the connection could not be closed
+	 */
+	@Override
+	public void stop() throws IOException {
+		if (client != null) {
+			client.close();
+		}
+	}
+
+	/**
+	 * Launches the spectator window.
+	 *
+	 * @param args the streaming game's host and port
+	 */
+	public static void main(String[] args) {
+		launch(args);
+	}
+}
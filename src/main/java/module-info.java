@@ -2,6 +2,7 @@ module com.example.demo {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.logging;
+    requires static jdk.management;
 
 
     exports com.example.demo.controller;
@@ -10,4 +11,13 @@ module com.example.demo {
     exports com.example.demo.Actor.Planes;
     exports com.example.demo.Actor.Projectiles;
     exports com.example.demo.Actor;
+    exports com.example.demo.Engine;
+    exports com.example.demo.Event;
+    exports com.example.demo.Telemetry;
+    exports com.example.demo.Simulation;
+    exports com.example.demo.Input;
+    exports com.example.demo.Ecs;
+    exports com.example.demo.Network;
+    exports com.example.demo.Server;
+    exports com.example.demo.Soak;
 }
\ No newline at end of file
@@ -0,0 +1,207 @@
+package com.example.demo;
+
+import com.example.demo.Actor.ActiveActorDestructible;
+import com.example.demo.Actor.Planes.EnemyPlane;
+import com.example.demo.Actor.Planes.UserPlane;
+import com.example.demo.Actor.Projectiles.EnemyProjectile;
+import com.example.demo.Actor.Team;
+import com.example.demo.Level.ActorBudget.Category;
+import com.example.demo.Level.ActorBudget.OverflowPolicy;
+import com.example.demo.Level.LevelParent;
+import com.example.demo.Level.LevelView;
+import com.example.demo.Level.TickPhase;
+import javafx.application.Platform;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives a level's actor budget through its game loop, checking what each overflow policy does to play.
+ */
+class ActorBudgetLevelTest {
+
+    private static final int USER_HEALTH = 5;
+
+    @BeforeAll
+    static void initJavaFX() throws InterruptedException {
+        // Initialize the JavaFX Toolkit
+        Thread thread = new Thread(() -> Platform.startup(() -> {}));
+        thread.setDaemon(true);
+        thread.start();
+        thread.join(); // Ensure JavaFX is initialized before proceeding
+    }
+
+    @Test
+    void testMergedProjectileLandsAllItsHits() throws Exception {
+        runOnFxThread(() -> {
+            BudgetLevel level = new BudgetLevel();
+            level.getActorBudget().setLimit(Category.ENEMY_PROJECTILES, 1, OverflowPolicy.MERGE);
+            level.spawnGunner(200, 360); // Flies into the user's plane
+            level.spawnGunner(900, 100); // Merged into the first
+            level.tick();
+            assertEquals(1, level.getActorBudget().getHandled(OverflowPolicy.MERGE));
+            assertEquals(1, level.enemyProjectileCount());
+
+            for (int i = 0; i < 20; i++) {
+                level.tick();
+            }
+            assertEquals(USER_HEALTH - 2, level.user().getHealth(),
+                    "Both hits should land, although the first makes the plane invincible");
+            assertEquals(0, level.enemyProjectileCount());
+            level.dispose();
+        });
+    }
+
+    @Test
+    void testDroppedProjectileCannotHitInTheTickItIsDropped() throws Exception {
+        runOnFxThread(() -> {
+            BudgetLevel level = new BudgetLevel();
+            level.getActorBudget().setLimit(Category.ENEMY_PROJECTILES, 1, OverflowPolicy.DROP_OLDEST);
+            level.spawnGunner(20, 360); // Fired on top of the user's plane
+            level.spawnGunner(900, 100); // Drops the first before collisions are handled
+            level.tick();
+            assertEquals(1, level.getActorBudget().getHandled(OverflowPolicy.DROP_OLDEST));
+            assertEquals(USER_HEALTH, level.user().getHealth());
+            assertEquals(1, level.enemyProjectileCount());
+            level.dispose();
+        });
+    }
+
+    @Test
+    void testRefusedEnemyIsNotSpawned() throws Exception {
+        runOnFxThread(() -> {
+            BudgetLevel level = new BudgetLevel();
+            level.getActorBudget().setLimit(Category.ENEMIES, 2, OverflowPolicy.REFUSE);
+            assertTrue(level.spawnGunner(-1, 0));
+            assertTrue(level.spawnGunner(-1, 0));
+            assertFalse(level.spawnGunner(-1, 0));
+            assertEquals(2, level.enemyCount());
+            assertEquals(1, level.getActorBudget().getHandled(OverflowPolicy.REFUSE));
+            level.dispose();
+        });
+    }
+
+    @Test
+    void testMissedProjectilesLeavePlay() throws Exception {
+        runOnFxThread(() -> {
+            BudgetLevel level = new BudgetLevel();
+            level.spawnGunner(-500, 100);
+            level.tick();
+            assertEquals(1, level.enemyProjectileCount());
+            level.tick();
+            assertEquals(0, level.enemyProjectileCount(), "A projectile past the edge of the screen should be culled");
+            assertEquals(0, level.getActorBudget().getTotalHits());
+            level.dispose();
+        });
+    }
+
+    /**
+     * A level that spawns nothing by itself and never ends.
+     */
+    private static class BudgetLevel extends LevelParent {
+
+        private static final String BACKGROUND_IMAGE_NAME = "/com/example/demo/images/background1.jpg";
+        private static final TickPhase[] PHASES = TickPhase.values();
+
+        BudgetLevel() {
+            super(BACKGROUND_IMAGE_NAME, 900, 1600, USER_HEALTH);
+            initializeScene();
+        }
+
+        /**
+         * Spawns a stationary enemy far from the user that fires once, from the given position, or never if the x
+         * is negative one.
+         */
+        boolean spawnGunner(double shotX, double shotY) {
+            return addEnemyUnit(new Gunner(shotX, shotY));
+        }
+
+        void tick() {
+            for (TickPhase phase : PHASES) {
+                runTickPhase(phase);
+            }
+        }
+
+        int enemyProjectileCount() {
+            return getActors().projectilesOf(Team.ENEMY).size();
+        }
+
+        int enemyCount() {
+            return getCurrentNumberOfEnemies();
+        }
+
+        UserPlane user() {
+            return getUser();
+        }
+
+        @Override
+        protected void initializeFriendlyUnits() {
+            showUser();
+        }
+
+        @Override
+        protected void checkIfGameOver() {
+        }
+
+        @Override
+        protected void spawnEnemyUnits() {
+        }
+
+        @Override
+        protected LevelView instantiateLevelView() {
+            return new LevelView(getRoot(), USER_HEALTH);
+        }
+    }
+
+    /**
+     * An enemy plane that stays where it is and fires a single projectile.
+     */
+    private static class Gunner extends EnemyPlane {
+
+        private final double shotX;
+        private final double shotY;
+        private boolean armed;
+
+        Gunner(double shotX, double shotY) {
+            super(1200, 700);
+            this.shotX = shotX;
+            this.shotY = shotY;
+            this.armed = shotX != -1;
+        }
+
+        @Override
+        public void updatePosition() {
+        }
+
+        @Override
+        public ActiveActorDestructible fireProjectile() {
+            if (!armed) {
+                return null;
+            }
+            armed = false;
+            return new EnemyProjectile(shotX, shotY);
+        }
+    }
+
+    private static void runOnFxThread(Runnable action) throws Exception {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                action.run();
+            } catch (Throwable t) {
+                failure.set(t);
+            } finally {
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(60, TimeUnit.SECONDS), "FX thread did not run the action in time");
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo;
+
+import com.example.demo.Level.ActorBudget;
+import com.example.demo.Level.ActorBudget.Category;
+import com.example.demo.Level.ActorBudget.OverflowPolicy;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActorBudgetTest {
+
+    @Test
+    void testDefaultsBoundEveryCategory() {
+        ActorBudget budget = new ActorBudget();
+        for (Category category : Category.values()) {
+            int limit = budget.getLimit(category);
+            assertTrue(limit > 0, category + " should have a limit");
+            assertFalse(budget.isFull(category, limit - 1));
+            assertTrue(budget.isFull(category, limit), "A category at its limit has no room");
+        }
+        assertEquals(OverflowPolicy.REFUSE, budget.getPolicy(Category.USER_PROJECTILES));
+        assertEquals(OverflowPolicy.MERGE, budget.getPolicy(Category.ENEMY_PROJECTILES));
+        assertEquals(OverflowPolicy.REFUSE, budget.getPolicy(Category.ENEMIES));
+    }
+
+    @Test
+    void testSystemPropertyOverridesLimitAndPolicy() {
+        String enemies = ActorBudget.BUDGET_PROPERTY_PREFIX + Category.ENEMIES.getPropertyName();
+        String projectiles = ActorBudget.BUDGET_PROPERTY_PREFIX + Category.ENEMY_PROJECTILES.getPropertyName();
+        try {
+            System.setProperty(enemies, "12, drop_oldest");
+            System.setProperty(projectiles, "not a number");
+            ActorBudget budget = new ActorBudget();
+            assertEquals(12, budget.getLimit(Category.ENEMIES));
+            assertEquals(OverflowPolicy.DROP_OLDEST, budget.getPolicy(Category.ENEMIES));
+            assertEquals(200, budget.getLimit(Category.ENEMY_PROJECTILES), "An invalid value should be ignored");
+
+            System.setProperty(enemies, "12,merge");
+            assertEquals(OverflowPolicy.REFUSE, new ActorBudget().getPolicy(Category.ENEMIES),
+                    "Planes cannot be merged, so the default should stand");
+        } finally {
+            System.clearProperty(enemies);
+            System.clearProperty(projectiles);
+        }
+    }
+
+    @Test
+    void testHitsAreCountedByCategoryAndPolicy() {
+        ActorBudget budget = new ActorBudget();
+        budget.recordHit(Category.USER_PROJECTILES, OverflowPolicy.REFUSE);
+        budget.recordHit(Category.ENEMY_PROJECTILES, OverflowPolicy.MERGE);
+        budget.recordHit(Category.ENEMY_PROJECTILES, OverflowPolicy.MERGE);
+        budget.recordHit(Category.ENEMY_PROJECTILES, OverflowPolicy.REFUSE); // Nothing to merge into
+
+        assertEquals(1, budget.getHits(Category.USER_PROJECTILES));
+        assertEquals(3, budget.getHits(Category.ENEMY_PROJECTILES));
+        assertEquals(0, budget.getHits(Category.ENEMIES));
+        assertEquals(2, budget.getHandled(OverflowPolicy.REFUSE));
+        assertEquals(2, budget.getHandled(OverflowPolicy.MERGE));
+        assertEquals(0, budget.getHandled(OverflowPolicy.DROP_OLDEST));
+        assertEquals(4, budget.getTotalHits());
+    }
+
+    @Test
+    void testMisuseIsRefused() {
+        ActorBudget budget = new ActorBudget();
+        assertThrows(IllegalArgumentException.class,
+                () -> budget.setLimit(Category.USER_PROJECTILES, 0, OverflowPolicy.REFUSE));
+        assertThrows(IllegalArgumentException.class, () -> budget.setLimit(Category.ENEMIES, 10, OverflowPolicy.MERGE));
+        budget.setLimit(Category.USER_PROJECTILES, 5, OverflowPolicy.MERGE);
+        assertEquals(5, budget.getLimit(Category.USER_PROJECTILES));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo;
+
+import com.example.demo.Actor.ActiveActorDestructible;
+import com.example.demo.Actor.ActorRegistry;
+import com.example.demo.Actor.ActorType;
+import com.example.demo.Actor.Planes.Boss;
+import com.example.demo.Actor.Planes.EnemyPlane;
+import com.example.demo.Actor.Projectiles.EnemyProjectile;
+import com.example.demo.Actor.Team;
+import java.util.List;
+import javafx.application.Platform;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActorRegistryTest {
+
+    @BeforeAll
+    static void initJavaFX() throws InterruptedException {
+        Thread thread = new Thread(() -> Platform.startup(() -> {}));
+        thread.setDaemon(true);
+        thread.start();
+        thread.join();
+    }
+
+    @Test
+    void testStaleHandlesNeverReferToNewActors() {
+        ActorRegistry registry = new ActorRegistry();
+        EnemyPlane first = new EnemyPlane(0, 0);
+        int handle = registry.register(first, Team.ENEMY, ActorType.PLANE);
+        assertSame(first, registry.get(handle), "A handle should refer to its actor");
+
+        assertTrue(registry.remove(handle));
+        EnemyPlane second = new EnemyPlane(0, 0);
+        int reused = registry.register(second, Team.ENEMY, ActorType.PLANE);
+        assertNotEquals(handle, reused, "A reused slot should get a new generation");
+        assertNull(registry.get(handle), "A stale handle should refer to nothing");
+        assertFalse(registry.contains(handle));
+        assertSame(second, registry.get(reused));
+    }
+
+    @Test
+    void testViewsFollowTeamsAndTypesInOrder() {
+        ActorRegistry registry = new ActorRegistry();
+        EnemyPlane enemy = new EnemyPlane(0, 0);
+        Boss boss = new Boss();
+        EnemyProjectile projectile = new EnemyProjectile(0, 0);
+        EnemyPlane destroyed = new EnemyPlane(0, 0);
+        EnemyPlane last = new EnemyPlane(0, 0);
+        registry.register(enemy, Team.ENEMY, ActorType.PLANE);
+        registry.register(boss, Team.ENEMY, ActorType.BOSS);
+        registry.register(projectile, Team.ENEMY, ActorType.PROJECTILE);
+        registry.register(destroyed, Team.ENEMY, ActorType.PLANE);
+        registry.register(last, Team.ENEMY, ActorType.PLANE);
+
+        assertEquals(List.of(enemy, boss, destroyed, last), registry.unitsOf(Team.ENEMY));
+        assertEquals(List.of(boss), registry.ofType(ActorType.BOSS));
+        assertEquals(List.of(projectile), registry.projectilesOf(Team.ENEMY));
+        assertTrue(registry.unitsOf(Team.FRIENDLY).isEmpty());
+        assertTrue(registry.unitsOf(Team.ENEMY).contains(boss));
+        assertFalse(registry.projectilesOf(Team.ENEMY).contains(boss));
+
+        destroyed.destroy();
+        int[] removed = new int[1];
+        registry.removeDestroyed(actor -> {
+            assertSame(destroyed, actor);
+            removed[0]++;
+        });
+        assertEquals(1, removed[0]);
+        assertEquals(List.of(enemy, boss, last), registry.unitsOf(Team.ENEMY),
+                "Removing destroyed actors should keep the others in order");
+        assertEquals(4, registry.size());
+        assertFalse(registry.contains(destroyed.getHandle()));
+        assertThrows(UnsupportedOperationException.class,
+                () -> registry.unitsOf(Team.ENEMY).add(new EnemyPlane(0, 0)), "Views should be read-only");
+    }
+}
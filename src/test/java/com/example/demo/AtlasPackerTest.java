@@ -0,0 +1,65 @@
+package com.example.demo;
+
+import com.example.demo.Display.AtlasPacker;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtlasPackerTest {
+
+    @Test
+    void testGameSpritesPackWithoutOverlapping() {
+        // The sprites at their 1x display sizes: planes, projectiles, shield and heart
+        int[][] sizes = {{154, 40}, {142, 50}, {222, 50}, {29, 7}, {77, 25}, {189, 75}, {75, 100}, {50, 50}};
+        AtlasPacker packer = new AtlasPacker(512, 1);
+        for (int[] size : sizes) {
+            packer.add(size[0], size[1]);
+        }
+        packer.pack();
+        assertNoOverlaps(packer, sizes, 512, 1);
+        assertTrue(packer.getHeight() <= 256, "Eight small sprites should fit in two shelves, not " + packer.getHeight());
+    }
+
+    @Test
+    void testRandomRectanglesPackWithoutOverlapping() {
+        Random random = new Random(5);
+        int[][] sizes = new int[200][];
+        AtlasPacker packer = new AtlasPacker(1024, 2);
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = new int[] {1 + random.nextInt(300), 1 + random.nextInt(120)};
+            assertEquals(i, packer.add(sizes[i][0], sizes[i][1]));
+        }
+        packer.pack();
+        assertNoOverlaps(packer, sizes, 1024, 2);
+    }
+
+    @Test
+    void testMisuseIsRefused() {
+        AtlasPacker packer = new AtlasPacker(100, 1);
+        assertThrows(IllegalArgumentException.class, () -> packer.add(99, 10), "Too wide once padded");
+        assertThrows(IllegalArgumentException.class, () -> packer.add(0, 10));
+        int index = packer.add(10, 10);
+        assertThrows(IllegalStateException.class, () -> packer.getX(index), "Not packed yet");
+        packer.pack();
+        assertThrows(IllegalStateException.class, () -> packer.add(10, 10));
+        assertThrows(IllegalStateException.class, packer::pack);
+    }
+
+    private static void assertNoOverlaps(AtlasPacker packer, int[][] sizes, int maxWidth, int padding) {
+        for (int i = 0; i < sizes.length; i++) {
+            int x = packer.getX(i);
+            int y = packer.getY(i);
+            assertTrue(x >= padding && y >= padding, "Rectangle " + i + " should be padded from the edges");
+            assertTrue(x + sizes[i][0] + padding <= maxWidth, "Rectangle " + i + " is outside the atlas");
+            assertTrue(y + sizes[i][1] + padding <= packer.getHeight(), "Rectangle " + i + " is below the atlas");
+            for (int j = 0; j < i; j++) {
+                boolean apart = x + sizes[i][0] + padding <= packer.getX(j) - padding
+                        || packer.getX(j) + sizes[j][0] + padding <= x - padding
+                        || y + sizes[i][1] + padding <= packer.getY(j) - padding
+                        || packer.getY(j) + sizes[j][1] + padding <= y - padding;
+                assertTrue(apart, "Rectangles " + i + " and " + j + " overlap or touch");
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo;
+
+import com.example.demo.Engine.BatchKernel;
+import com.example.demo.Engine.GameRandom;
+import com.example.demo.Simulation.EntityKind;
+import com.example.demo.Simulation.Fixed;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BatchKernelTest {
+
+    private static final EntityKind[] PROJECTILES =
+            {EntityKind.USER_PROJECTILE, EntityKind.ENEMY_PROJECTILE, EntityKind.BOSS_PROJECTILE};
+
+    @Test
+    void testVectorKernelMatchesScalarKernel() {
+        assumeTrue(BatchKernel.isVectorAvailable(), "Build with -Pvector to test the vector kernel");
+        // Counts that are not a multiple of the vector length exercise the scalar tail
+        for (int count : new int[] {0, 1, 7, 33, 1_001}) {
+            Projectiles scalar = new Projectiles(count, count);
+            Projectiles vector = new Projectiles(count, count);
+            int[] scalarHits = new int[count];
+            int[] vectorHits = new int[count];
+            for (int round = 0; round < 20; round++) {
+                BatchKernel.scalar().integrate(scalar.x, scalar.velocity, count);
+                BatchKernel.vector().integrate(vector.x, vector.velocity, count);
+                assertArrayEquals(scalar.x, vector.x);
+
+                int found = scalar.overlapUser(BatchKernel.scalar(), scalarHits);
+                assertEquals(found, vector.overlapUser(BatchKernel.vector(), vectorHits));
+                for (int i = 0; i < found; i++) {
+                    assertEquals(scalarHits[i], vectorHits[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testBestKernelIsVectorOnlyWhenAvailable() {
+        BatchKernel expected = BatchKernel.isVectorAvailable() ? BatchKernel.vector() : BatchKernel.scalar();
+        assertSame(expected, BatchKernel.best());
+    }
+
+    /**
+     * Projectiles of every kind held in primitive arrays, spread over the screen.
+     */
+    private static final class Projectiles {
+
+        private final int count;
+        private final int[] x;
+        private final int[] y;
+        private final int[] width;
+        private final int[] height;
+        private final int[] velocity;
+
+        Projectiles(int count, long seed) {
+            GameRandom random = new GameRandom(seed);
+            this.count = count;
+            x = new int[count];
+            y = new int[count];
+            width = new int[count];
+            height = new int[count];
+            velocity = new int[count];
+            for (int i = 0; i < count; i++) {
+                EntityKind kind = PROJECTILES[i % PROJECTILES.length];
+                x[i] = Fixed.of(random.nextDouble() * 1300);
+                y[i] = Fixed.of(random.nextDouble() * 750);
+                width[i] = kind.getWidth();
+                height[i] = kind.getHeight();
+                velocity[i] = kind.getVelocityX();
+            }
+        }
+
+        int overlapUser(BatchKernel kernel, int[] hits) {
+            return kernel.overlaps(x, y, width, height, count, Fixed.of(5), Fixed.of(350),
+                    EntityKind.USER.getWidth(), EntityKind.USER.getHeight(), hits);
+        }
+    }
+}
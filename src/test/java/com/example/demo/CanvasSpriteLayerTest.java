@@ -0,0 +1,137 @@
+package com.example.demo;
+
+import com.example.demo.Display.CanvasSpriteLayer;
+import com.example.demo.Display.CountedAnimationTimer;
+import com.example.demo.Display.SceneGraphSpriteLayer;
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CanvasSpriteLayerTest {
+
+    @BeforeAll
+    static void initJavaFX() throws InterruptedException {
+        // Initialize the JavaFX Toolkit
+        Thread thread = new Thread(() -> Platform.startup(() -> {}));
+        thread.setDaemon(true);
+        thread.start();
+        thread.join(); // Ensure JavaFX is initialized before proceeding
+    }
+
+    @Test
+    void testDrawnSizeFollowsImageViewLayout() {
+        ImageView view = new ImageView(new WritableImage(100, 50));
+        assertEquals(100, CanvasSpriteLayer.getDrawnWidth(view), 1e-9, "No fit size shows the image at its own size");
+        assertEquals(50, CanvasSpriteLayer.getDrawnHeight(view), 1e-9);
+
+        view.setFitWidth(40);
+        view.setFitHeight(40);
+        assertEquals(40, CanvasSpriteLayer.getDrawnWidth(view), 1e-9, "Both fit sizes stretch the image");
+        assertEquals(40, CanvasSpriteLayer.getDrawnHeight(view), 1e-9);
+
+        view.setPreserveRatio(true);
+        assertEquals(40, CanvasSpriteLayer.getDrawnWidth(view), 1e-9, "Preserving the ratio fits within both");
+        assertEquals(20, CanvasSpriteLayer.getDrawnHeight(view), 1e-9);
+
+        view.setFitWidth(0);
+        assertEquals(80, CanvasSpriteLayer.getDrawnWidth(view), 1e-9, "One fit size scales the other");
+        assertEquals(40, CanvasSpriteLayer.getDrawnHeight(view), 1e-9);
+
+        view.setPreserveRatio(false);
+        view.setFitHeight(0);
+        view.setViewport(new Rectangle2D(10, 10, 30, 20));
+        assertEquals(30, CanvasSpriteLayer.getDrawnWidth(view), 1e-9, "A viewport is shown at its own size");
+        assertEquals(20, CanvasSpriteLayer.getDrawnHeight(view), 1e-9);
+
+        assertEquals(0, CanvasSpriteLayer.getDrawnWidth(new ImageView()), 1e-9, "A view without an image draws nothing");
+    }
+
+    @Test
+    void testSpritesAreAddedRemovedAndDisposed() throws Exception {
+        Group root = new Group();
+        CanvasSpriteLayer layer = new CanvasSpriteLayer(root, 1600, 900);
+        int runningTimers = CountedAnimationTimer.getRunningCount();
+        runOnFxThread(() -> {
+            layer.attach();
+            layer.attach();
+            return null;
+        });
+        assertEquals(1, root.getChildren().size(), "Attaching twice should add one canvas");
+        assertSame(layer.getCanvas(), root.getChildren().get(0));
+        assertEquals(runningTimers + 1, CountedAnimationTimer.getRunningCount(), "The canvas should be redrawn");
+
+        ImageView first = new ImageView();
+        ImageView second = new ImageView();
+        layer.add(first);
+        layer.add(second);
+        layer.remove(first);
+        layer.remove(new ImageView());
+        assertEquals(1, layer.getSpriteCount(), "Removing a sprite that is not drawn should be ignored");
+        assertTrue(root.getChildren().contains(layer.getCanvas()));
+        assertFalse(root.getChildren().contains(second), "Sprites should stay out of the scene graph");
+
+        runOnFxThread(() -> {
+            layer.dispose();
+            return null;
+        });
+        assertEquals(0, layer.getSpriteCount());
+        assertTrue(root.getChildren().isEmpty(), "Disposing should remove the canvas");
+        assertEquals(runningTimers, CountedAnimationTimer.getRunningCount(), "Disposing should stop redrawing");
+        assertThrows(IllegalStateException.class, layer::attach);
+    }
+
+    @Test
+    void testSceneGraphSpritesStayBelowNodesAddedAfterAttaching() {
+        Group root = new Group();
+        ImageView background = new ImageView();
+        ImageView hud = new ImageView();
+        SceneGraphSpriteLayer layer = new SceneGraphSpriteLayer(root);
+        root.getChildren().add(background);
+        layer.attach();
+        layer.attach();
+        root.getChildren().add(hud);
+
+        ImageView sprite = new ImageView();
+        layer.add(sprite);
+        assertEquals(3, root.getChildren().size(), "Attaching twice should add one group");
+        assertSame(hud, root.getChildren().get(2), "Sprites added later should stay below the HUD");
+        assertSame(root.getChildren().get(1), sprite.getParent());
+
+        layer.remove(sprite);
+        assertNull(sprite.getParent());
+        layer.add(sprite);
+        layer.dispose();
+        assertNull(sprite.getParent());
+        assertEquals(2, root.getChildren().size(), "Disposing should remove the group");
+    }
+
+    private static <T> T runOnFxThread(Supplier<T> action) throws Exception {
+        AtomicReference<T> result = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                result.set(action.get());
+            } catch (Throwable t) {
+                failure.set(t);
+            } finally {
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "FX thread did not run the action in time");
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        return result.get();
+    }
+}
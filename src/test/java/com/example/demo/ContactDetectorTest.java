@@ -0,0 +1,106 @@
+package com.example.demo;
+
+import com.example.demo.Engine.ContactDetector;
+import com.example.demo.Engine.GameRandom;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContactDetectorTest {
+
+    private static final double WIDTH = 1300;
+    private static final double HEIGHT = 750;
+
+    @Test
+    void testContactsMatchNestedLoopInIdOrder() {
+        ContactDetector detector = new ContactDetector(WIDTH, HEIGHT, 128);
+        double[][] firstBoxes = randomBoxes(new GameRandom(1), 300);
+        double[][] secondBoxes = randomBoxes(new GameRandom(2), 300);
+        int[] firstIds = shuffledIds(new GameRandom(3), 300);
+        int[] secondIds = shuffledIds(new GameRandom(4), 300);
+        fill(detector, firstBoxes, firstIds, secondBoxes, secondIds);
+        int contacts = detector.detect();
+
+        int expected = 0;
+        for (int a = 0; a < firstBoxes.length; a++) {
+            for (int b = 0; b < secondBoxes.length; b++) {
+                if (overlap(firstBoxes[a], secondBoxes[b])) {
+                    expected++;
+                }
+            }
+        }
+        assertEquals(expected, contacts, "Every overlapping pair should be found exactly once");
+
+        for (int i = 1; i < contacts; i++) {
+            long previous = ((long) firstIds[detector.getFirst(i - 1)] << 32) | secondIds[detector.getSecond(i - 1)];
+            long current = ((long) firstIds[detector.getFirst(i)] << 32) | secondIds[detector.getSecond(i)];
+            assertTrue(previous < current, "Contacts should be ordered by the boxes' ids");
+        }
+    }
+
+    @Test
+    void testParallelDetectionMatchesSequentialDetection() {
+        ContactDetector sequential = new ContactDetector(WIDTH, HEIGHT, 64, new ForkJoinPool(1));
+        ContactDetector parallel = new ContactDetector(WIDTH, HEIGHT, 64, new ForkJoinPool(8));
+        sequential.setParallelThreshold(Integer.MAX_VALUE);
+        parallel.setParallelThreshold(0);
+        GameRandom random = new GameRandom(5);
+        for (int round = 0; round < 5; round++) {
+            double[][] firstBoxes = randomBoxes(random, 5000);
+            double[][] secondBoxes = randomBoxes(random, 5000);
+            int[] firstIds = shuffledIds(random, 5000);
+            int[] secondIds = shuffledIds(random, 5000);
+            fill(sequential, firstBoxes, firstIds, secondBoxes, secondIds);
+            fill(parallel, firstBoxes, firstIds, secondBoxes, secondIds);
+
+            int contacts = sequential.detect();
+            assertEquals(contacts, parallel.detect());
+            for (int i = 0; i < contacts; i++) {
+                assertEquals(sequential.getFirst(i), parallel.getFirst(i));
+                assertEquals(sequential.getSecond(i), parallel.getSecond(i));
+            }
+        }
+    }
+
+    private static void fill(ContactDetector detector, double[][] firstBoxes, int[] firstIds,
+                             double[][] secondBoxes, int[] secondIds) {
+        detector.clear();
+        for (int i = 0; i < firstBoxes.length; i++) {
+            double[] box = firstBoxes[i];
+            detector.addFirst(firstIds[i], box[0], box[1], box[2], box[3]);
+        }
+        for (int i = 0; i < secondBoxes.length; i++) {
+            double[] box = secondBoxes[i];
+            detector.addSecond(secondIds[i], box[0], box[1], box[2], box[3]);
+        }
+    }
+
+    private static double[][] randomBoxes(GameRandom random, int count) {
+        double[][] boxes = new double[count][];
+        for (int i = 0; i < count; i++) {
+            // Some boxes start off screen, as spawning enemies and escaping projectiles do
+            boxes[i] = new double[] {random.nextDouble() * (WIDTH + 400) - 200, random.nextDouble() * HEIGHT - 50,
+                    5 + random.nextDouble() * 200, 5 + random.nextDouble() * 70};
+        }
+        return boxes;
+    }
+
+    private static int[] shuffledIds(GameRandom random, int count) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i;
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = (int) (random.nextDouble() * (i + 1));
+            int swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        return ids;
+    }
+
+    private static boolean overlap(double[] a, double[] b) {
+        return b[0] + b[2] >= a[0] && b[1] + b[3] >= a[1] && b[0] <= a[0] + a[2] && b[1] <= a[1] + a[3];
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo;
+
+import com.example.demo.Actor.Projectiles.EnemyProjectile;
+import com.example.demo.Actor.Projectiles.UserProjectile;
+import com.example.demo.Engine.CrossingSchedule;
+import com.example.demo.Engine.GameRandom;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrossingScheduleTest {
+
+    private static final double BAND_MIN_X = 5;
+    private static final double BAND_MAX_X = 158.5;
+
+    @Test
+    void testEveryOverlapIsScheduledInIdOrder() {
+        GameRandom random = new GameRandom(7);
+        int count = 500;
+        long[] launchTicks = new long[count];
+        double[] origins = new double[count];
+        double[] widths = new double[count];
+        double[] velocities = new double[count];
+        CrossingSchedule schedule = new CrossingSchedule(BAND_MIN_X, BAND_MAX_X);
+        int ticks = 400;
+        int next = 0;
+        for (long tick = 0; tick < ticks; tick++) {
+            while (next < count && next * ticks / count <= tick) { // Launched over time, as a level would
+                launchTicks[next] = tick;
+                origins[next] = random.nextDouble() * 1600 - 100;
+                widths[next] = 10 + random.nextDouble() * 150;
+                velocities[next] = next % 10 == 0 ? 0 : (random.nextDouble() - 0.5) * 40;
+                schedule.add(next, tick, origins[next], widths[next], velocities[next]);
+                next++;
+            }
+            schedule.advanceTo(tick);
+
+            boolean[] active = new boolean[count];
+            for (int i = 0; i < schedule.getActiveCount(); i++) {
+                active[schedule.getActive(i)] = true;
+                if (i > 0) {
+                    assertTrue(schedule.getActive(i - 1) < schedule.getActive(i), "Active ids should be in order");
+                }
+            }
+            for (int id = 0; id < next; id++) {
+                double x = origins[id] + velocities[id] * (tick - launchTicks[id]);
+                if (x + widths[id] >= BAND_MIN_X && x <= BAND_MAX_X) {
+                    assertTrue(active[id], "Actor " + id + " overlaps the band at tick " + tick);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testActorsThatNeverReachTheBandAreNotKept() {
+        CrossingSchedule schedule = new CrossingSchedule(BAND_MIN_X, BAND_MAX_X);
+        assertFalse(schedule.add(1, 0, 300, 20, 15), "Moving away to the right");
+        assertFalse(schedule.add(2, 0, -100, 20, -10), "Moving away to the left");
+        assertFalse(schedule.add(3, 0, 300, 20, 0), "Standing still beside the band");
+        assertTrue(schedule.add(4, 0, 1000, 20, -10));
+        assertEquals(1, schedule.getPendingCount());
+
+        schedule.advanceTo(80); // The left edge is at 200: still short of the band
+        assertEquals(0, schedule.getActiveCount());
+        schedule.advanceTo(100);
+        assertEquals(1, schedule.getActiveCount());
+        schedule.advanceTo(120); // The right edge is at -180: past the band
+        assertEquals(0, schedule.getActiveCount());
+        assertEquals(0, schedule.getPendingCount());
+    }
+
+    @Test
+    void testProjectilePositionFollowsFromItsLaunch() {
+        EnemyProjectile enemyProjectile = new EnemyProjectile(200, 0);
+        enemyProjectile.launch(5);
+        enemyProjectile.moveTo(8);
+        assertEquals(170, enemyProjectile.getCollisionX(), 1e-9);
+        enemyProjectile.updateActor();
+        assertEquals(160, enemyProjectile.getCollisionX(), 1e-9);
+        assertEquals(100, enemyProjectile.getXAt(15), 1e-9, "Looking ahead should not move the projectile");
+        assertEquals(160, enemyProjectile.getCollisionX(), 1e-9);
+
+        UserProjectile userProjectile = new UserProjectile(110, 0);
+        for (int i = 0; i < 10; i++) {
+            userProjectile.updateActor();
+        }
+        assertEquals(260, userProjectile.getCollisionX(), 1e-9, "Stepping should match the closed form");
+    }
+}
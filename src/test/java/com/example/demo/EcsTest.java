@@ -0,0 +1,72 @@
+package com.example.demo;
+
+import com.example.demo.Ecs.EcsGame;
+import com.example.demo.Ecs.EcsWorld;
+import com.example.demo.Ecs.Field;
+import com.example.demo.Simulation.EntityKind;
+import com.example.demo.Simulation.Fixed;
+import com.example.demo.Simulation.InputCommand;
+import com.example.demo.Simulation.Outcome;
+import com.example.demo.Simulation.SimulationRules;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EcsTest {
+
+    private static final SimulationRules RULES = new SimulationRules(5, 5, 0.2, true, 0, null);
+    private static final SimulationRules NO_SPAWNS = new SimulationRules(Integer.MAX_VALUE, 0, 0, false, 0, null);
+    private static final InputCommand[] INPUTS = InputCommand.values();
+
+    @Test
+    void testGamesWithTheSameSeedStayIdentical() {
+        EcsGame first = new EcsGame(RULES, 750, 1300, 42);
+        EcsGame second = new EcsGame(RULES, 750, 1300, 42);
+        for (int tick = 0; tick < 2000 && first.getOutcome() == Outcome.RUNNING; tick++) {
+            if (tick % 7 == 0) {
+                InputCommand command = INPUTS[(tick / 7) % INPUTS.length];
+                first.apply(command);
+                second.apply(command);
+            }
+            first.step();
+            second.step();
+
+            assertEquals(first.getEntityCount(), second.getEntityCount(), "Entity counts diverged at tick " + tick);
+            assertEquals(first.getUserHealth(), second.getUserHealth());
+            assertEquals(first.getKills(), second.getKills());
+            assertEquals(first.getOutcome(), second.getOutcome());
+        }
+        assertNotEquals(Outcome.RUNNING, first.getOutcome(), "The level should end");
+    }
+
+    @Test
+    void testDestroyedEntitiesAreRemovedAndTheirHandlesGoStale() {
+        EcsGame game = new EcsGame(NO_SPAWNS, 750, 1300, 1);
+        EcsWorld world = game.getWorld();
+        int enemy = game.spawn(EntityKind.ENEMY_PLANE, Fixed.of(600), Fixed.of(300));
+        int projectile = game.spawn(EntityKind.USER_PROJECTILE, Fixed.of(600), Fixed.of(300));
+
+        game.step();
+
+        assertFalse(world.isAlive(projectile), "The projectile should be destroyed on hitting the enemy");
+        assertEquals(1, world.get(enemy, Field.HEALTH));
+        assertTrue(world.get(enemy, Field.INVINCIBLE_TICKS) > 0, "A surviving enemy should be invincible for a while");
+        int replacement = game.spawn(EntityKind.USER_PROJECTILE, 0, 0);
+        assertNotEquals(projectile, replacement, "A reused slot should get a new generation");
+        assertFalse(world.isAlive(projectile));
+    }
+
+    @Test
+    void testMissedProjectilesAreCulled() {
+        EcsGame game = new EcsGame(NO_SPAWNS, 750, 1300, 1);
+        int missed = game.spawn(EntityKind.ENEMY_PROJECTILE, Fixed.of(-390), Fixed.of(100));
+        int inPlay = game.spawn(EntityKind.ENEMY_PROJECTILE, Fixed.of(600), Fixed.of(100));
+
+        for (int tick = 0; tick < 10; tick++) {
+            game.step();
+        }
+
+        assertFalse(game.getWorld().isAlive(missed), "A projectile past the edge of the screen should be culled");
+        assertTrue(game.getWorld().isAlive(inPlay));
+    }
+}
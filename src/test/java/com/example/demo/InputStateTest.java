@@ -0,0 +1,75 @@
+package com.example.demo;
+
+import com.example.demo.Engine.Cooldown;
+import com.example.demo.Input.GameAction;
+import com.example.demo.Input.InputState;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputStateTest {
+
+    @Test
+    void testAutoRepeatDoesNotRepeatPresses() {
+        InputState input = new InputState();
+        input.press(GameAction.PAUSE);
+        input.press(GameAction.PAUSE); // Auto-repeat while held
+        input.press(GameAction.PAUSE);
+        assertTrue(input.consumePress(GameAction.PAUSE), "The first press should be buffered until handled");
+        assertFalse(input.consumePress(GameAction.PAUSE), "Repeats of a held key should not count as presses");
+
+        input.release(GameAction.PAUSE);
+        input.press(GameAction.PAUSE);
+        assertTrue(input.consumePress(GameAction.PAUSE), "A new press after a release should count");
+    }
+
+    @Test
+    void testHeldFireIsLimitedByCooldown() {
+        InputState input = new InputState();
+        Cooldown cooldown = new Cooldown(3);
+        int shots = 0;
+        for (int tick = 0; tick < 30; tick++) {
+            for (int repeat = 0; repeat < 20; repeat++) {
+                input.press(GameAction.FIRE); // Far faster than the tick rate
+            }
+            if (input.tryAct(GameAction.FIRE, cooldown)) {
+                shots++;
+            }
+            cooldown.tick();
+        }
+        assertEquals(10, shots, "Holding fire should fire once per cooldown");
+    }
+
+    @Test
+    void testTapShorterThanATickStillFires() {
+        InputState input = new InputState();
+        Cooldown cooldown = new Cooldown(3);
+        input.press(GameAction.FIRE);
+        input.release(GameAction.FIRE); // Released before the tick samples it
+        assertTrue(input.tryAct(GameAction.FIRE, cooldown), "A tap should fire once");
+        cooldown.tick();
+        assertFalse(input.tryAct(GameAction.FIRE, cooldown), "A tap should fire only once");
+
+        input.press(GameAction.FIRE); // Tapped during the cooldown
+        input.release(GameAction.FIRE);
+        int ticks = 0;
+        while (!input.tryAct(GameAction.FIRE, cooldown)) {
+            cooldown.tick();
+            ticks++;
+        }
+        assertEquals(2, ticks, "A tap during the cooldown should fire as soon as the cooldown ends");
+    }
+
+    @Test
+    void testOppositeDirectionsCancelOut() {
+        InputState input = new InputState();
+        input.press(GameAction.MOVE_UP);
+        assertEquals(-1, input.getVerticalDirection());
+        input.press(GameAction.MOVE_DOWN);
+        assertEquals(0, input.getVerticalDirection());
+        input.release(GameAction.MOVE_UP);
+        assertEquals(1, input.getVerticalDirection());
+        input.reset();
+        assertEquals(0, input.getVerticalDirection(), "Reset should release every key");
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.demo;
+
+import com.example.demo.Event.DamageTakenEvent;
+import com.example.demo.Level.LevelFour;
+import com.example.demo.Level.LevelOne;
+import com.example.demo.Level.LevelParent;
+import com.example.demo.Level.LevelThree;
+import com.example.demo.Level.LevelTwo;
+import com.example.demo.Level.TickPhase;
+import com.example.demo.Soak.BotPilot;
+import javafx.animation.Animation;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.image.ImageView;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelLifecycleTest {
+
+    private static final int CYCLES = 100;
+    private static final int WARM_UP_CYCLES = 10;
+    private static final int TICKS_PER_CYCLE = 300; // Long enough for the first enemies to reach the user
+    private static final long MAX_RETAINED_GROWTH_BYTES = 8L * 1024 * 1024;
+    private static final double SCREEN_HEIGHT = 900;
+    private static final double SCREEN_WIDTH = 1600;
+
+    @BeforeAll
+    static void initJavaFX() throws InterruptedException {
+        // Initialize the JavaFX Toolkit
+        Thread thread = new Thread(() -> Platform.startup(() -> {}));
+        thread.setDaemon(true);
+        thread.start();
+        thread.join(); // Ensure JavaFX is initialized before proceeding
+    }
+
+    @Test
+    void testDisposeIsIdempotent() throws Exception {
+        LevelParent level = runOnFxThread(() -> {
+            LevelOne levelOne = new LevelOne(SCREEN_HEIGHT, SCREEN_WIDTH);
+            levelOne.initializeScene();
+            levelOne.startGame();
+            levelOne.dispose();
+            levelOne.dispose();
+            return levelOne;
+        });
+        assertTrue(level.isDisposed(), "Level should report itself as disposed");
+        assertTrue(level.timeline.getKeyFrames().isEmpty(), "Disposed level should clear its game loop");
+    }
+
+    @Test
+    void testBossStatusIsDrawnAboveTheBackground() throws Exception {
+        List<Node> children = runOnFxThread(() -> {
+            LevelTwo levelTwo = new LevelTwo(SCREEN_HEIGHT, SCREEN_WIDTH);
+            Parent root = levelTwo.initializeScene().getRoot();
+            List<Node> nodes = new ArrayList<>(root.getChildrenUnmodifiable());
+            levelTwo.dispose();
+            return nodes;
+        });
+        int background = -1;
+        int bossHealthBar = -1;
+        for (int i = 0; i < children.size(); i++) {
+            Node node = children.get(i);
+            if (background < 0 && node instanceof ImageView image && image.getFitWidth() == SCREEN_WIDTH) {
+                background = i;
+            } else if (node instanceof Rectangle bar && Color.RED.equals(bar.getFill())) {
+                bossHealthBar = i;
+            }
+        }
+        assertTrue(background >= 0, "The level should show its background");
+        assertTrue(bossHealthBar > background, "The boss health bar should be drawn above the background");
+    }
+
+    @Test
+    void testLevelsAreCollectedAfterDispose() throws Exception {
+        List<WeakReference<LevelParent>> levels = new ArrayList<>();
+        Map<String, int[]> hits = new LinkedHashMap<>();
+        long baselineHeap = 0;
+
+        // The bot fires without pause, so enemies are hit as well as the user
+        LevelParent.installAutopilot(new BotPilot());
+        try {
+            for (int cycle = 0; cycle < CYCLES; cycle++) {
+                levels.add(cycleLevel(() -> new LevelOne(SCREEN_HEIGHT, SCREEN_WIDTH), hits));
+                levels.add(cycleLevel(() -> new LevelTwo(SCREEN_HEIGHT, SCREEN_WIDTH), hits));
+                levels.add(cycleLevel(() -> new LevelThree(SCREEN_HEIGHT, SCREEN_WIDTH), hits));
+                levels.add(cycleLevel(() -> new LevelFour(SCREEN_HEIGHT, SCREEN_WIDTH), hits));
+                if (cycle == WARM_UP_CYCLES) {
+                    baselineHeap = usedHeapAfterGc();
+                }
+            }
+        } finally {
+            LevelParent.installAutopilot(null);
+        }
+
+        long finalHeap = usedHeapAfterGc();
+        long retained = levels.stream().filter(reference -> reference.get() != null).count();
+
+        hits.forEach((level, count) -> assertTrue(count[0] > 0,
+                level + " should have landed hits, starting invincibility and flashing timers"));
+        assertEquals(0, retained, "Disposed levels should not stay reachable");
+        assertTrue(finalHeap - baselineHeap < MAX_RETAINED_GROWTH_BYTES,
+                "Retained heap should stay flat, grew by " + (finalHeap - baselineHeap) + " bytes");
+    }
+
+    /**
+     * Creates and starts a level on the FX thread, plays it for a while and disposes it, returning a weak reference to
+     * it. The hits taken by the level's planes are added to the count for its class.
+     * <p>
+     * The ticks are run directly rather than by the timeline, so that a hundred cycles of each level stay quick. No
+     * pulse runs while they do, so the invincibility and flashing timers the hits start are still running when the
+     * level is disposed.
+     */
+    private WeakReference<LevelParent> cycleLevel(Supplier<LevelParent> factory, Map<String, int[]> hits)
+            throws Exception {
+        return runOnFxThread(() -> {
+            LevelParent level = factory.get();
+            int[] count = hits.computeIfAbsent(level.getClass().getSimpleName(), name -> new int[1]);
+            level.getEventBus().subscribe(DamageTakenEvent.class, event -> count[0]++);
+            level.initializeScene();
+            level.startGame();
+            for (int tick = 0; tick < TICKS_PER_CYCLE && level.timeline.getStatus() == Animation.Status.RUNNING;
+                 tick++) {
+                for (TickPhase phase : TickPhase.values()) {
+                    level.runTickPhase(phase);
+                }
+            }
+            level.dispose();
+            return new WeakReference<>(level);
+        });
+    }
+
+    private static <T> T runOnFxThread(Supplier<T> action) throws Exception {
+        AtomicReference<T> result = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                result.set(action.get());
+            } catch (Throwable t) {
+                failure.set(t);
+            } finally {
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "FX thread did not run the action in time");
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        return result.get();
+    }
+
+    private static long usedHeapAfterGc() throws Exception {
+        // Let queued pulses finish so stopped animations leave the master timer
+        runOnFxThread(() -> null);
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.demo;
+
+import com.example.demo.Actor.ActiveActorDestructible;
+import com.example.demo.Actor.Planes.Boss;
+import com.example.demo.Actor.Planes.FighterPlane;
+import com.example.demo.Actor.Planes.UserPlane;
+import com.example.demo.Actor.Projectiles.Projectile;
+import com.example.demo.Actor.Team;
+import com.example.demo.Level.LevelFour;
+import com.example.demo.Level.LevelSnapshot;
+import javafx.application.Platform;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelSnapshotTest {
+
+    private static final double SCREEN_HEIGHT = 900;
+    private static final double SCREEN_WIDTH = 1600;
+    private static final int CAPTURES = 200;
+    private static final long MAX_SAVE_NANOS = 1_000_000L;
+
+    @BeforeAll
+    static void initJavaFX() throws InterruptedException {
+        // Initialize the JavaFX Toolkit
+        Thread thread = new Thread(() -> Platform.startup(() -> {}));
+        thread.setDaemon(true);
+        thread.start();
+        thread.join(); // Ensure JavaFX is initialized before proceeding
+    }
+
+    @Test
+    void testSnapshotRoundTrip() throws Exception {
+        InspectableLevel original = startLevel();
+
+        List<List<String>> states = runOnFxThread(() -> {
+            original.timeline.pause();
+            ByteBuffer snapshot = new LevelSnapshot().capture(original);
+            assertEquals(InspectableLevel.class.getName(), LevelSnapshot.levelClassName(snapshot));
+
+            InspectableLevel restored = new InspectableLevel();
+            restored.initializeScene();
+            LevelSnapshot.restore(restored, snapshot);
+
+            List<List<String>> result = List.of(original.describe(), restored.describe());
+            original.dispose();
+            restored.dispose();
+            return result;
+        });
+
+        assertTrue(states.get(0).size() > 2, "The level should have actors besides the user to snapshot");
+        assertEquals(states.get(0), states.get(1), "The restored level should hold the same state");
+    }
+
+    @Test
+    void testSaveTakesUnderOneMillisecond(@TempDir Path directory) throws Exception {
+        InspectableLevel level = startLevel();
+        Path path = directory.resolve("suspend.bin");
+
+        long medianNanos = runOnFxThread(() -> {
+            level.timeline.pause();
+            LevelSnapshot snapshot = new LevelSnapshot();
+            long[] durations = new long[CAPTURES];
+            try {
+                for (int i = 0; i < CAPTURES; i++) {
+                    long start = System.nanoTime();
+                    snapshot.save(level, path);
+                    durations[i] = System.nanoTime() - start;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            assertTrue(level.describe().size() > 2, "The level should have actors besides the user to save");
+            level.dispose();
+            Arrays.sort(durations);
+            return durations[CAPTURES / 2];
+        });
+        assertTrue(medianNanos < MAX_SAVE_NANOS, "Saving took " + medianNanos + " ns");
+    }
+
+    /**
+     * Starts a level and lets it run for a second, so that it has spawned enemies, the boss and projectiles.
+     */
+    private static InspectableLevel startLevel() throws Exception {
+        InspectableLevel level = runOnFxThread(() -> {
+            InspectableLevel started = new InspectableLevel();
+            started.initializeScene();
+            started.startGame();
+            return started;
+        });
+        Thread.sleep(1000);
+        return level;
+    }
+
+    /**
+     * The fourth level, with its state described field by field so that a restored copy can be compared with the
+     * original. Invincibility is left out, since the time left on it is measured with the wall clock.
+     */
+    private static class InspectableLevel extends LevelFour {
+
+        InspectableLevel() {
+            super(SCREEN_HEIGHT, SCREEN_WIDTH);
+        }
+
+        /**
+         * @return One line for the random number generator, one for the user and one per live actor, in the order the
+         *         snapshot writes them.
+         */
+        List<String> describe() {
+            List<String> lines = new ArrayList<>();
+            lines.add("random " + getRandom().getState());
+            UserPlane user = getUser();
+            lines.add(describe(user) + " kills " + user.getNumberOfKills());
+            describe(getActors().unitsOf(Team.ENEMY), lines);
+            describe(getActors().projectilesOf(Team.FRIENDLY), lines);
+            describe(getActors().projectilesOf(Team.ENEMY), lines);
+            return lines;
+        }
+
+        private static void describe(List<ActiveActorDestructible> actors, List<String> lines) {
+            for (ActiveActorDestructible actor : actors) {
+                if (!actor.isDestroyed()) {
+                    lines.add(describe(actor));
+                }
+            }
+        }
+
+        private static String describe(ActiveActorDestructible actor) {
+            // Positions are stored as floats
+            StringBuilder line = new StringBuilder(actor.getClass().getSimpleName())
+                    .append(" at ").append((float) actor.getLayoutX()).append('+').append((float) actor.getTranslateX())
+                    .append(", ").append((float) actor.getLayoutY()).append('+').append((float) actor.getTranslateY());
+            if (actor instanceof FighterPlane plane) {
+                line.append(" health ").append(plane.getHealth());
+            }
+            if (actor instanceof Boss boss) {
+                line.append(" shielded ").append(boss.isShielded);
+            }
+            if (actor instanceof Projectile projectile) {
+                line.append(" hits ").append(projectile.getHits());
+            }
+            return line.toString();
+        }
+    }
+
+    private static <T> T runOnFxThread(Supplier<T> action) throws Exception {
+        AtomicReference<T> result = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                result.set(action.get());
+            } catch (Throwable t) {
+                failure.set(t);
+            } finally {
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(10, TimeUnit.SECONDS), "FX thread did not run the action in time");
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        return result.get();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo;
+
+import com.example.demo.Ecs.EcsGame;
+import com.example.demo.Ecs.Field;
+import com.example.demo.Engine.GameRandom;
+import com.example.demo.Network.LockstepSession;
+import com.example.demo.Network.LoopbackTransport;
+import com.example.demo.Network.PlayerInput;
+import com.example.demo.Network.Transport;
+import com.example.demo.Network.UdpTransport;
+import com.example.demo.Simulation.Outcome;
+import com.example.demo.Simulation.SimulationRules;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockstepTest {
+
+    private static final SimulationRules RULES = new SimulationRules(5, 5, 0.2, true, 0, null);
+    private static final long SEED = 2024;
+    private static final int TICKS = 500;
+
+    @Test
+    void testPeersStayInLockstepOverLoopback() throws Exception {
+        LoopbackTransport[] transports = LoopbackTransport.pair();
+        LockstepSession first = session(transports[0], 0);
+        LockstepSession second = session(transports[1], 1);
+        play(first, second, Long.MAX_VALUE);
+
+        assertEquals(first.getGame().getTick(), second.getGame().getTick());
+        assertEquals(first.getGame().checksum(), second.getGame().checksum());
+        assertFalse(first.isDesynced());
+        assertFalse(second.isDesynced());
+    }
+
+    @Test
+    void testPeersStayInLockstepOverUdp() throws Exception {
+        try (UdpTransport firstTransport = new UdpTransport(0); UdpTransport secondTransport = new UdpTransport(0)) {
+            firstTransport.connect(secondTransport.getLocalPort());
+            secondTransport.connect(firstTransport.getLocalPort());
+            LockstepSession first = session(firstTransport, 0);
+            LockstepSession second = session(secondTransport, 1);
+            play(first, second, System.nanoTime() + 10_000_000_000L);
+
+            assertEquals(first.getGame().checksum(), second.getGame().checksum());
+            assertFalse(first.isDesynced());
+            assertFalse(second.isDesynced());
+        }
+    }
+
+    @Test
+    void testDivergedGamesAreReportedAsDesynced() throws Exception {
+        LoopbackTransport[] transports = LoopbackTransport.pair();
+        LockstepSession first = session(transports[0], 0);
+        LockstepSession second = session(transports[1], 1);
+        for (int round = 0; round < 50; round++) {
+            first.update();
+            second.update();
+        }
+        EcsGame game = second.getGame();
+        game.getWorld().set(game.getPlayer(1), Field.HEALTH, 99);
+        long diverged = game.getTick() + 1;
+        for (int round = 0; round < 20; round++) {
+            first.update();
+            second.update();
+        }
+
+        assertTrue(first.isDesynced(), "The untouched peer should notice the desync");
+        assertTrue(second.isDesynced(), "The changed peer should notice the desync");
+        assertEquals(diverged, second.getDesyncTick());
+    }
+
+    @Test
+    void testInputDelayOutOfRangeIsRejected() {
+        EcsGame game = new EcsGame(RULES, 750, 1300, SEED, 2);
+        assertThrows(IllegalArgumentException.class,
+                () -> new LockstepSession(game, LoopbackTransport.pair()[0], 0, LockstepSession.MAX_INPUT_DELAY + 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LockstepSession(new EcsGame(RULES, 750, 1300, SEED), LoopbackTransport.pair()[0], 0, 3));
+    }
+
+    private static LockstepSession session(Transport transport, int player) {
+        return new LockstepSession(new EcsGame(RULES, 750, 1300, SEED, 2), transport, player,
+                LockstepSession.DEFAULT_INPUT_DELAY);
+    }
+
+    /**
+     * Updates both peers with independent random inputs until both have run the test's ticks or the game is over.
+     */
+    private static void play(LockstepSession first, LockstepSession second, long deadline) throws Exception {
+        GameRandom firstPlayer = new GameRandom(1);
+        GameRandom secondPlayer = new GameRandom(2);
+        while (first.getGame().getTick() < TICKS || second.getGame().getTick() < TICKS) {
+            assertTrue(System.nanoTime() < deadline, "The peers should keep stepping");
+            if (first.getGame().getOutcome() != Outcome.RUNNING
+                    && first.getGame().getTick() == second.getGame().getTick()) {
+                break;
+            }
+            first.setLocalInput(firstPlayer.nextInt(8));
+            second.setLocalInput(secondPlayer.nextInt(8));
+            first.update();
+            second.update();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo;
+
+import com.example.demo.Server.LoadGenerator;
+import com.example.demo.Server.Match;
+import com.example.demo.Server.MatchServer;
+import com.example.demo.Server.ServerProtocol;
+import com.example.demo.Server.TickHistogram;
+import com.example.demo.Simulation.SimulationWorld;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchServerTest {
+
+    private static final long TICK_MILLIS = 20;
+    private static final long TICK_NANOS = TICK_MILLIS * 1_000_000;
+
+    @Test
+    void testHistogramPercentilesAreWithinAQuarter() {
+        TickHistogram histogram = new TickHistogram();
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMax());
+        long median = histogram.getPercentile(0.5);
+        assertTrue(median >= 5_000_000 && median <= 6_250_000, "Median was " + median);
+        long p99 = histogram.getPercentile(0.99);
+        assertTrue(p99 >= 9_900_000 && p99 <= 10_000_000, "p99 was " + p99);
+        assertEquals(5_000_500, histogram.getMean(), 1.0);
+    }
+
+    @Test
+    void testServerStatesMatchALocalWorld() throws Exception {
+        MatchServer server = new MatchServer(0, 1, 2);
+        server.start();
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", server.getPort()))) {
+            ByteBuffer join = ByteBuffer.allocate(ServerProtocol.JOIN_LENGTH);
+            ServerProtocol.putJoin(join, 4, 42);
+            channel.write(join.flip());
+
+            SimulationWorld local = new SimulationWorld(ServerProtocol.rulesOf(4), ServerProtocol.SCREEN_HEIGHT,
+                    ServerProtocol.SCREEN_WIDTH, 42);
+            ByteBuffer state = ByteBuffer.allocate(ServerProtocol.STATE_LENGTH);
+            for (int tick = 1; tick <= 100; tick++) {
+                readFully(channel, state.clear());
+                state.flip();
+                local.step();
+                assertEquals(ServerProtocol.STATE, state.get());
+                assertEquals(tick, state.getLong(), "States should arrive for every tick, in order");
+                assertEquals(local.getOutcome(), ServerProtocol.outcomeOf(state.get()));
+                assertEquals(local.getUserHealth(), state.getInt());
+                assertEquals(local.getKills(), state.getInt());
+                assertEquals(local.getEntityCount(), state.getInt(), "The server's world diverged at tick " + tick);
+            }
+            assertEquals(1, server.getMatchCount());
+            Match match = server.getMatches().iterator().next();
+            assertTrue(match.getStepTimes().getCount() >= 99, "Ticks are timed once their state is sent");
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void testLoadGeneratorPlaysManyMatches() throws Exception {
+        int matches = 500;
+        MatchServer server = new MatchServer(0, Runtime.getRuntime().availableProcessors(), TICK_MILLIS);
+        server.start();
+        LoadGenerator generator = new LoadGenerator(new InetSocketAddress("localhost", server.getPort()), matches, 7);
+        try {
+            generator.run(3000);
+        } finally {
+            server.stop(); // Ticks are timed after their state is sent, so wait for the last ones before counting
+        }
+
+        assertEquals(matches, generator.getConnected());
+        assertTrue(generator.getStates() >= matches * 50L, "Every match should keep ticking under load");
+        assertTrue(generator.getInputs() > 0);
+        assertTrue(generator.getFinished() <= matches);
+        TickHistogram gaps = generator.getStateGaps();
+        assertEquals(generator.getStates() - matches, gaps.getCount(), "Every state but a match's first has a gap");
+        long medianGap = gaps.getPercentile(0.5);
+        assertTrue(medianGap < 2 * TICK_NANOS, "Most states should arrive within a tick of the previous one, but the"
+                + " median gap was " + medianGap + " ns");
+        TickHistogram stepTimes = server.getStepTimes();
+        assertTrue(stepTimes.getCount() >= generator.getStates());
+        assertTrue(stepTimes.getPercentile(0.99) < TICK_NANOS, "Ticks should take less than the tick time");
+        assertTrue(server.getLateness().getCount() > 0, "Every tick's start should be timed");
+    }
+
+    private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("The server closed the connection");
+            }
+        }
+    }
+}
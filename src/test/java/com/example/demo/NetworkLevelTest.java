@@ -0,0 +1,95 @@
+package com.example.demo;
+
+import com.example.demo.Ecs.EcsGame;
+import com.example.demo.Level.NetworkLevel;
+import com.example.demo.Network.LoopbackTransport;
+import com.example.demo.Network.RollbackSession;
+import com.example.demo.Simulation.SimulationRules;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.text.Text;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Plays two networked levels against each other in one process, each driving its own rollback session.
+ */
+class NetworkLevelTest {
+
+    private static final SimulationRules RULES = new SimulationRules(50, 5, 0.2, false, 0, null);
+    private static final long SEED = 7;
+
+    @BeforeAll
+    static void initJavaFX() throws InterruptedException {
+        // Initialize the JavaFX Toolkit
+        Thread thread = new Thread(() -> Platform.startup(() -> {}));
+        thread.setDaemon(true);
+        thread.start();
+        thread.join(); // Ensure JavaFX is initialized before proceeding
+    }
+
+    @Test
+    void testLevelsPlayInStepAndShowRollbackStats() throws Exception {
+        LoopbackTransport[] transports = LoopbackTransport.pair();
+        RollbackSession first = new RollbackSession(new EcsGame(RULES, 750, 1300, SEED, 2), transports[0], 0,
+                RollbackSession.DEFAULT_INPUT_DELAY);
+        RollbackSession second = new RollbackSession(new EcsGame(RULES, 750, 1300, SEED, 2), transports[1], 1,
+                RollbackSession.DEFAULT_INPUT_DELAY);
+        AtomicReference<NetworkLevel[]> levels = new AtomicReference<>();
+        runOnFxThread(() -> {
+            NetworkLevel[] started = {
+                    new NetworkLevel(first, 0, RULES.getPlayerHealth(), 750, 1300),
+                    new NetworkLevel(second, 1, RULES.getPlayerHealth(), 750, 1300)
+            };
+            for (NetworkLevel level : started) {
+                level.start();
+            }
+            levels.set(started);
+        });
+
+        Thread.sleep(1500); // About 30 ticks of the game loop
+
+        runOnFxThread(() -> {
+            for (NetworkLevel level : levels.get()) {
+                level.stop();
+                assertTrue(showsRollbackStats(level.getScene().getRoot()), "The level should show its rollbacks");
+            }
+        });
+        assertTrue(first.getGame().getTick() > 10, "The game loop should drive the session");
+        assertFalse(first.isDesynced());
+        assertFalse(second.isDesynced());
+    }
+
+    private static boolean showsRollbackStats(Parent root) {
+        for (Node node : root.getChildrenUnmodifiable()) {
+            if (node instanceof Text text && text.getText().startsWith("Rollback: ")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void runOnFxThread(Runnable action) throws Exception {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                action.run();
+            } catch (Throwable t) {
+                failure.set(t);
+            } finally {
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(60, TimeUnit.SECONDS), "FX thread did not run the action in time");
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo;
+
+import com.example.demo.Display.QualityGovernor;
+import com.example.demo.Display.QualityLevel;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QualityGovernorTest {
+
+    private static final long BUDGET = QualityGovernor.SIXTY_HZ_BUDGET_NANOS;
+    private static final long ON_TIME = BUDGET;
+    private static final long OVERRUN = BUDGET * 2;
+    private static final int WINDOW = 60;
+
+    @Test
+    void testSustainedOverrunsStepDownOneLevelAtATime() {
+        List<QualityLevel> applied = new ArrayList<>();
+        QualityGovernor governor = new QualityGovernor(BUDGET, QualityLevel.FULL, QualityLevel.LOW_RESOLUTION,
+                applied::add);
+        assertEquals(List.of(QualityLevel.FULL), applied, "The starting quality should be applied");
+
+        feed(governor, OVERRUN, 1);
+        assertEquals(QualityLevel.FULL, governor.getQuality(), "One overrun window is not sustained");
+        feed(governor, OVERRUN, 1);
+        assertEquals(QualityLevel.NO_FLASHING, governor.getQuality());
+        assertEquals(QualityLevel.NO_FLASHING, QualityGovernor.getCurrentQuality());
+
+        feed(governor, OVERRUN, 20);
+        assertEquals(QualityLevel.LOW_RESOLUTION, governor.getQuality(), "Should stop at the lowest quality");
+        assertEquals(List.of(QualityLevel.FULL, QualityLevel.NO_FLASHING, QualityLevel.NO_DECORATIONS,
+                QualityLevel.SIMPLE_BACKGROUND, QualityLevel.LOW_RESOLUTION), applied);
+    }
+
+    @Test
+    void testOccasionalSpikesDoNotLowerQuality() {
+        QualityGovernor governor = new QualityGovernor(BUDGET, QualityLevel.FULL, QualityLevel.LOW_RESOLUTION,
+                quality -> {});
+        for (int window = 0; window < 20; window++) {
+            for (int frame = 0; frame < WINDOW; frame++) {
+                governor.recordFrame(frame % 20 == 0 ? OVERRUN * 3 : ON_TIME); // 5% of frames spike
+            }
+        }
+        assertEquals(QualityLevel.FULL, governor.getQuality());
+    }
+
+    @Test
+    void testQualityStepsBackUpAfterCalmAndBacksOffAfterRelapse() {
+        QualityGovernor governor = new QualityGovernor(BUDGET, QualityLevel.FULL, QualityLevel.SIMPLE_BACKGROUND,
+                quality -> {});
+        feed(governor, OVERRUN, 4);
+        assertEquals(QualityLevel.NO_DECORATIONS, governor.getQuality());
+
+        feed(governor, ON_TIME, 4);
+        assertEquals(QualityLevel.NO_DECORATIONS, governor.getQuality(), "Four calm windows are not enough");
+        feed(governor, ON_TIME, 1);
+        assertEquals(QualityLevel.NO_FLASHING, governor.getQuality());
+
+        feed(governor, OVERRUN, 2);
+        assertEquals(QualityLevel.NO_DECORATIONS, governor.getQuality());
+        assertEquals(10, governor.getCalmWindowsNeeded(), "Overruns right after stepping up should double the wait");
+        feed(governor, ON_TIME, 9);
+        assertEquals(QualityLevel.NO_DECORATIONS, governor.getQuality());
+        feed(governor, ON_TIME, 1);
+        assertEquals(QualityLevel.NO_FLASHING, governor.getQuality());
+
+        feed(governor, ON_TIME, 11);
+        assertEquals(5, governor.getCalmWindowsNeeded(), "A step up that holds should reset the wait");
+        assertEquals(QualityLevel.FULL, governor.getQuality());
+    }
+
+    @Test
+    void testMisuseIsRefused() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new QualityGovernor(0, QualityLevel.FULL, QualityLevel.LOW_RESOLUTION, quality -> {}));
+        assertThrows(IllegalArgumentException.class,
+                () -> new QualityGovernor(BUDGET, QualityLevel.LOW_RESOLUTION, QualityLevel.NO_FLASHING,
+                        quality -> {}));
+    }
+
+    private static void feed(QualityGovernor governor, long nanos, int windows) {
+        for (int i = 0; i < windows * WINDOW; i++) {
+            governor.recordFrame(nanos);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.demo;
+
+import com.example.demo.Display.QualityGovernor;
+import com.example.demo.Display.SpriteAtlas;
+import com.example.demo.Event.LevelCompletedEvent;
+import com.example.demo.Event.LevelFailedEvent;
+import com.example.demo.Level.LevelFour;
+import com.example.demo.Level.LevelOne;
+import com.example.demo.Level.LevelParent;
+import com.example.demo.Level.LevelThree;
+import com.example.demo.Level.LevelTwo;
+import com.example.demo.Soak.BotPilot;
+import com.sun.javafx.perf.PerformanceTracker;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Fails if the p95 frame time of a level regresses past its stored baseline.
+ * <p>
+ * Each level is shown on a real stage and played by a {@link BotPilot} for a fixed number of rendered frames, and is
+ * started again whenever it ends. A frame's time runs from the start of the pulse, recorded by the scene's
+ * {@link PerformanceTracker}, to the tracker being told the frame was rendered. The test only runs under the headless
+ * profile, where JavaFX renders with Monocle and the software pipeline, so that the baseline means the same thing on
+ * every run: {@code mvn -B test -Pheadless}. A level with no baseline recorded yet is measured but not checked, unless
+ * {@code -Dcw2024.render.requireBaseline=true} is set, as CI sets it, in which case the missing baseline fails. The
+ * same measurement compares drawing sprites from the {@link SpriteAtlas} with drawing each from its own image, and
+ * holds the canvas renderer to the same baseline.
+ */
+class RenderPerformanceTest {
+
+    private static final double SCREEN_HEIGHT = 900;
+    private static final double SCREEN_WIDTH = 1600;
+    private static final int WARM_UP_FRAMES = 120;
+    private static final int MEASURED_FRAMES = 600;
+    private static final double TOLERANCE = 0.25;
+    private static final String BASELINE = "/com/example/demo/render-baseline.properties";
+    private static final String RECORD_PROPERTY = "cw2024.render.recordBaseline";
+    private static final String REQUIRE_PROPERTY = "cw2024.render.requireBaseline";
+    private static final Path RECORDED_BASELINE = Path.of("target", "render-baseline.properties");
+
+    private static final Properties recorded = new Properties();
+    private static Stage stage;
+
+    @BeforeAll
+    static void initJavaFX() throws Exception {
+        assumeTrue("Monocle".equals(System.getProperty("glass.platform")), "Run with -Pheadless");
+        System.setProperty(QualityGovernor.GOVERNOR_PROPERTY, "false"); // Measure at full quality throughout
+        // Initialize the JavaFX Toolkit
+        Thread thread = new Thread(() -> Platform.startup(() -> {}));
+        thread.setDaemon(true);
+        thread.start();
+        thread.join(); // Ensure JavaFX is initialized before proceeding
+        LevelParent.installAutopilot(new BotPilot());
+        stage = runOnFxThread(Stage::new);
+    }
+
+    @AfterAll
+    static void recordBaseline() throws Exception {
+        LevelParent.installAutopilot(null);
+        if (stage != null) {
+            runOnFxThread(() -> {
+                stage.close();
+                return null;
+            });
+        }
+        if (Boolean.getBoolean(RECORD_PROPERTY)) {
+            Files.createDirectories(RECORDED_BASELINE.getParent());
+            try (OutputStream out = Files.newOutputStream(RECORDED_BASELINE)) {
+                recorded.store(out, "p95 frame time of each level in milliseconds");
+            }
+        }
+    }
+
+    @Test
+    void testLevelOneFrameTime() throws Exception {
+        assertWithinBaseline("LevelOne", () -> new LevelOne(SCREEN_HEIGHT, SCREEN_WIDTH));
+    }
+
+    @Test
+    void testLevelTwoFrameTime() throws Exception {
+        assertWithinBaseline("LevelTwo", () -> new LevelTwo(SCREEN_HEIGHT, SCREEN_WIDTH));
+    }
+
+    @Test
+    void testLevelThreeFrameTime() throws Exception {
+        assertWithinBaseline("LevelThree", () -> new LevelThree(SCREEN_HEIGHT, SCREEN_WIDTH));
+    }
+
+    @Test
+    void testLevelFourFrameTime() throws Exception {
+        assertWithinBaseline("LevelFour", () -> new LevelFour(SCREEN_HEIGHT, SCREEN_WIDTH));
+    }
+
+    @Test
+    void testAtlasCutsTextureSwitches() throws Exception {
+        Supplier<LevelParent> levels = () -> new LevelFour(SCREEN_HEIGHT, SCREEN_WIDTH);
+        FrameRecorder separate;
+        FrameRecorder atlas;
+        try {
+            SpriteAtlas.setEnabled(false);
+            separate = record("LevelFour, separate images", levels);
+            SpriteAtlas.setEnabled(true);
+            atlas = record("LevelFour, atlas", levels);
+        } finally {
+            SpriteAtlas.setEnabled(true);
+        }
+        System.out.printf("Texture switches per frame: %.1f with separate images, %.1f with the atlas%n",
+                separate.getMeanTextureSwitches(), atlas.getMeanTextureSwitches());
+        assertTrue(atlas.getMeanTextureSwitches() < separate.getMeanTextureSwitches(),
+                "Drawing from the atlas should switch textures less often");
+    }
+
+    @Test
+    void testCanvasRendererFrameTime() throws Exception {
+        String renderer = System.getProperty(LevelParent.RENDERER_PROPERTY);
+        try {
+            System.setProperty(LevelParent.RENDERER_PROPERTY, LevelParent.CANVAS_RENDERER);
+            double p95Millis = record("LevelFour, canvas renderer", () -> new LevelFour(SCREEN_HEIGHT, SCREEN_WIDTH))
+                    .getP95Millis();
+            double baseline = loadBaseline("LevelFour");
+            assertTrue(p95Millis <= baseline * (1 + TOLERANCE), String.format(
+                    "Canvas renderer p95 frame time %.2f ms exceeds the LevelFour baseline of %.2f ms", p95Millis,
+                    baseline));
+        } finally {
+            if (renderer == null) {
+                System.clearProperty(LevelParent.RENDERER_PROPERTY);
+            } else {
+                System.setProperty(LevelParent.RENDERER_PROPERTY, renderer);
+            }
+        }
+    }
+
+    private static void assertWithinBaseline(String name, Supplier<LevelParent> levels) throws Exception {
+        double p95Millis = record(name, levels).getP95Millis();
+        recorded.setProperty(name, String.format("%.2f", p95Millis));
+        if (Boolean.getBoolean(RECORD_PROPERTY)) {
+            return;
+        }
+        double baseline = loadBaseline(name);
+        assertTrue(p95Millis <= baseline * (1 + TOLERANCE),
+                String.format("%s p95 frame time %.2f ms regressed past its baseline of %.2f ms", name, p95Millis,
+                        baseline));
+    }
+
+    private static FrameRecorder record(String name, Supplier<LevelParent> levels) throws Exception {
+        FrameRecorder recorder = new FrameRecorder(levels);
+        runOnFxThread(() -> {
+            recorder.startLevel();
+            return null;
+        });
+        assertTrue(recorder.done.await(120, TimeUnit.SECONDS), name + " rendered too few frames in time");
+        runOnFxThread(() -> {
+            recorder.stop();
+            return null;
+        });
+
+        long[] frames = recorder.frameNanos.clone();
+        Arrays.sort(frames);
+        System.out.printf("%s: p50 %.2f ms, p95 %.2f ms, max %.2f ms over %d frames and %d levels%n", name,
+                frames[frames.length / 2] / 1e6, recorder.getP95Millis(), frames[frames.length - 1] / 1e6,
+                frames.length, recorder.levelsStarted);
+        return recorder;
+    }
+
+    /**
+     * Returns a level's recorded p95 frame time. If none has been recorded for it, fails the test when baselines are
+     * required and skips it otherwise.
+     */
+    private static double loadBaseline(String name) throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream in = RenderPerformanceTest.class.getResourceAsStream(BASELINE)) {
+            assertNotNull(in, "Missing " + BASELINE);
+            baseline.load(in);
+        }
+        String millis = baseline.getProperty(name);
+        String missing = "No baseline recorded for " + name + "; record one with -D" + RECORD_PROPERTY + "=true";
+        if (Boolean.getBoolean(REQUIRE_PROPERTY)) {
+            assertNotNull(millis, missing);
+        }
+        assumeTrue(millis != null, missing);
+        return Double.parseDouble(millis);
+    }
+
+    /**
+     * Shows a level, starting a new one whenever it ends, and records the time of each frame rendered and the texture
+     * switches each pulse's scene takes to draw.
+     * <p>
+     * Pulses start on the FX thread and frames are reported rendered on the render thread, which is the only writer of
+     * the recorded times.
+     */
+    private static class FrameRecorder {
+
+        private final Supplier<LevelParent> levels;
+        private final long[] frameNanos = new long[MEASURED_FRAMES];
+        private final CountDownLatch done = new CountDownLatch(1);
+        private LevelParent level;
+        private Scene scene;
+        private int levelsStarted;
+        private volatile long pulseStart;
+        private volatile int renderedFrames;
+        private long textureSwitches;
+        private int countedPulses;
+
+        FrameRecorder(Supplier<LevelParent> levels) {
+            this.levels = levels;
+        }
+
+        void startLevel() {
+            level = levels.get();
+            scene = level.initializeScene();
+            stage.setScene(scene);
+            stage.show();
+            PerformanceTracker tracker = PerformanceTracker.getSceneTracker(scene);
+            tracker.setOnPulse(this::pulseStarted);
+            tracker.setOnRenderedFrameTask(this::frameRendered);
+            LevelParent ending = level;
+            level.getEventBus().subscribe(LevelFailedEvent.class, event -> Platform.runLater(() -> restart(ending)));
+            level.getEventBus().subscribe(LevelCompletedEvent.class, event -> Platform.runLater(() -> restart(ending)));
+            level.startGame();
+            levelsStarted++;
+        }
+
+        void stop() {
+            PerformanceTracker.releaseSceneTracker(scene);
+            level.dispose();
+        }
+
+        private void restart(LevelParent ended) {
+            if (ended == level && done.getCount() > 0) {
+                stop();
+                startLevel();
+            }
+        }
+
+        private void pulseStarted() {
+            if (renderedFrames >= WARM_UP_FRAMES && done.getCount() > 0) {
+                textureSwitches += SpriteAtlas.countTextureSwitches(scene.getRoot());
+                countedPulses++;
+            }
+            pulseStart = System.nanoTime(); // After counting, which is not part of the frame
+        }
+
+        double getMeanTextureSwitches() {
+            return countedPulses == 0 ? 0 : (double) textureSwitches / countedPulses;
+        }
+
+        double getP95Millis() {
+            long[] frames = frameNanos.clone();
+            Arrays.sort(frames);
+            return frames[(int) Math.ceil(frames.length * 0.95) - 1] / 1e6;
+        }
+
+        private void frameRendered() {
+            long start = pulseStart;
+            if (start == 0 || renderedFrames >= WARM_UP_FRAMES + MEASURED_FRAMES) {
+                return;
+            }
+            long nanos = System.nanoTime() - start;
+            if (renderedFrames >= WARM_UP_FRAMES) {
+                frameNanos[renderedFrames - WARM_UP_FRAMES] = nanos;
+            }
+            if (++renderedFrames == WARM_UP_FRAMES + MEASURED_FRAMES) {
+                done.countDown();
+            }
+        }
+    }
+
+    private static <T> T runOnFxThread(Supplier<T> action) throws Exception {
+        AtomicReference<T> result = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                result.set(action.get());
+            } catch (Throwable t) {
+                failure.set(t);
+            } finally {
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(60, TimeUnit.SECONDS), "FX thread did not run the action in time");
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        return result.get();
+    }
+}
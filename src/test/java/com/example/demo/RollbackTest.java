@@ -0,0 +1,190 @@
+package com.example.demo;
+
+import com.example.demo.Ecs.EcsGame;
+import com.example.demo.Ecs.EcsSnapshot;
+import com.example.demo.Ecs.Field;
+import com.example.demo.Engine.GameRandom;
+import com.example.demo.Network.LoopbackTransport;
+import com.example.demo.Network.PlayerInput;
+import com.example.demo.Network.RollbackSession;
+import com.example.demo.Network.Transport;
+import com.example.demo.Simulation.SimulationRules;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollbackTest {
+
+    private static final SimulationRules RULES = new SimulationRules(50, 5, 0.2, true, 0, null);
+    private static final long SEED = 40;
+    private static final int LATENCY_TICKS = 4;
+    private static final int RESIMULATION_ROUNDS = 2_000;
+    private static final long FRAME_NANOS = 1_000_000_000L / 60; // The longest rollback must fit in one 60 Hz frame
+
+    @Test
+    void testRestoredGameReplaysIdentically() {
+        EcsGame game = new EcsGame(RULES, 750, 1300, SEED, 2);
+        EcsSnapshot snapshot = new EcsSnapshot();
+        long[] checksums = new long[RollbackSession.MAX_ROLLBACK];
+        playTicks(game, 150);
+        game.save(snapshot);
+        for (int i = 0; i < checksums.length; i++) {
+            playTick(game);
+            checksums[i] = game.checksum();
+        }
+
+        game.restore(snapshot);
+        assertEquals(snapshot.getTick(), game.getTick());
+        for (int i = 0; i < checksums.length; i++) {
+            playTick(game);
+            assertEquals(checksums[i], game.checksum(), "Re-simulated tick " + (i + 1) + " should match");
+        }
+    }
+
+    @Test
+    void testPeersWithLatencyAgreeAfterRollingBack() throws Exception {
+        LoopbackTransport[] transports = LoopbackTransport.pair();
+        RollbackSession first = session(new DelayedTransport(transports[0]), 0);
+        RollbackSession second = session(new DelayedTransport(transports[1]), 1);
+        GameRandom firstPlayer = new GameRandom(1);
+        GameRandom secondPlayer = new GameRandom(2);
+        int firstInput = PlayerInput.NONE;
+        int secondInput = PlayerInput.NONE;
+        for (int round = 0; round < 600; round++) {
+            // Inputs change every few ticks, as a player's do, so most predictions are right and some are not
+            if (firstPlayer.nextInt(6) == 0) {
+                firstInput = firstPlayer.nextInt(8);
+            }
+            if (secondPlayer.nextInt(6) == 0) {
+                secondInput = secondPlayer.nextInt(8);
+            }
+            first.setLocalInput(firstInput);
+            second.setLocalInput(secondInput);
+            first.update();
+            second.update();
+        }
+
+        assertTrue(first.getRollbacks() > 0, "Late inputs should have caused rollbacks");
+        assertTrue(first.getLastRollbackTicks() <= RollbackSession.MAX_ROLLBACK);
+        assertFalse(first.isDesynced(), "Rolled back games should match the peer's");
+        assertFalse(second.isDesynced(), "Rolled back games should match the peer's");
+        assertTrue(first.getResimulatedTicks() >= first.getRollbacks(), "Every rollback should re-simulate a tick");
+        assertTrue(first.getResimulationMicrosPerTick() > 0, "The re-simulation cost should be measured for the HUD");
+    }
+
+    @Test
+    void testDivergedGamesAreReportedAsDesynced() throws Exception {
+        LoopbackTransport[] transports = LoopbackTransport.pair();
+        RollbackSession first = session(new DelayedTransport(transports[0]), 0);
+        RollbackSession second = session(new DelayedTransport(transports[1]), 1);
+        for (int round = 0; round < 50; round++) {
+            first.update();
+            second.update();
+        }
+        EcsGame game = second.getGame();
+        game.getWorld().set(game.getPlayer(1), Field.HEALTH, 99);
+        for (int round = 0; round < 30; round++) {
+            first.update();
+            second.update();
+        }
+
+        assertTrue(first.isDesynced());
+        assertTrue(second.isDesynced());
+    }
+
+    @Test
+    void testResimulationFitsInAFrameWithoutAllocating() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        EcsGame game = new EcsGame(RULES, 750, 1300, SEED, 2);
+        EcsSnapshot snapshot = new EcsSnapshot();
+        playTicks(game, 300);
+        game.save(snapshot);
+
+        for (int round = 0; round < RESIMULATION_ROUNDS; round++) {
+            resimulate(game, snapshot); // Warm up
+        }
+        long before = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int round = 0; round < RESIMULATION_ROUNDS; round++) {
+            resimulate(game, snapshot);
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        long nanosPerRollback = nanos / RESIMULATION_ROUNDS;
+        assertTrue(nanosPerRollback < FRAME_NANOS, "Re-simulating " + RollbackSession.MAX_ROLLBACK + " ticks took "
+                + nanosPerRollback + " ns, more than a frame");
+        // Allow for the bytes of the measurement itself
+        assertTrue(allocated < 1024, "Re-simulation allocated " + allocated + " bytes");
+    }
+
+    /**
+     * Restores the game and runs the longest rollback again, saving a snapshot after each tick like a session.
+     */
+    private static void resimulate(EcsGame game, EcsSnapshot snapshot) {
+        game.restore(snapshot);
+        for (int tick = 0; tick < RollbackSession.MAX_ROLLBACK; tick++) {
+            playTick(game);
+            game.checksum();
+            game.save(snapshot);
+        }
+        game.restore(snapshot); // Back to the end of the first run, so every round re-simulates the same ticks
+    }
+
+    private static void playTicks(EcsGame game, int ticks) {
+        for (int tick = 0; tick < ticks; tick++) {
+            playTick(game);
+        }
+    }
+
+    private static void playTick(EcsGame game) {
+        int tick = (int) game.getTick();
+        PlayerInput.apply(game, 0, PlayerInput.FIRE | ((tick / 20) % 2 == 0 ? PlayerInput.UP : PlayerInput.DOWN));
+        PlayerInput.apply(game, 1, PlayerInput.FIRE | ((tick / 30) % 2 == 0 ? PlayerInput.DOWN : PlayerInput.UP));
+        game.step();
+    }
+
+    private static RollbackSession session(Transport transport, int player) {
+        return new RollbackSession(new EcsGame(RULES, 750, 1300, SEED, 2), transport, player,
+                RollbackSession.DEFAULT_INPUT_DELAY);
+    }
+
+    /**
+     * Holds back every packet for a few sends, so inputs arrive several ticks late like over a slow link.
+     */
+    private static final class DelayedTransport implements Transport {
+
+        private final Transport transport;
+        private final Queue<byte[]> inFlight = new ArrayDeque<>();
+
+        DelayedTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        @Override
+        public void send(byte[] data, int length) throws IOException {
+            inFlight.add(Arrays.copyOf(data, length));
+            if (inFlight.size() > LATENCY_TICKS) {
+                byte[] packet = inFlight.remove();
+                transport.send(packet, packet.length);
+            }
+        }
+
+        @Override
+        public int receive(byte[] buffer) throws IOException {
+            return transport.receive(buffer);
+        }
+
+        @Override
+        public void close() throws IOException {
+            transport.close();
+        }
+    }
+}
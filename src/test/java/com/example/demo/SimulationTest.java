@@ -0,0 +1,115 @@
+package com.example.demo;
+
+import com.example.demo.Simulation.EntityKind;
+import com.example.demo.Simulation.InputCommand;
+import com.example.demo.Simulation.Outcome;
+import com.example.demo.Simulation.SimulationRules;
+import com.example.demo.Simulation.SimulationRunner;
+import com.example.demo.Simulation.SimulationWorld;
+import com.example.demo.Simulation.WorldSnapshot;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationTest {
+
+    private static final SimulationRules RULES = new SimulationRules(5, 5, 0.2, true, 0, null);
+    private static final InputCommand[] INPUTS = InputCommand.values();
+
+    @Test
+    void testWorldsWithTheSameSeedStayIdentical() {
+        SimulationWorld first = new SimulationWorld(RULES, 750, 1300, 42);
+        SimulationWorld second = new SimulationWorld(RULES, 750, 1300, 42);
+        for (int tick = 0; tick < 2000 && first.getOutcome() == Outcome.RUNNING; tick++) {
+            if (tick % 7 == 0) {
+                InputCommand command = INPUTS[(tick / 7) % INPUTS.length];
+                first.apply(command);
+                second.apply(command);
+            }
+            first.step();
+            second.step();
+
+            assertEquals(first.getEntityCount(), second.getEntityCount(), "Entity counts diverged at tick " + tick);
+            for (int i = 0; i < first.getEntityCount(); i++) {
+                assertEquals(first.getId(i), second.getId(i));
+                assertEquals(first.getX(i), second.getX(i), "Positions diverged at tick " + tick);
+                assertEquals(first.getY(i), second.getY(i), "Positions diverged at tick " + tick);
+                assertEquals(first.getHealth(i), second.getHealth(i));
+            }
+            assertEquals(first.getOutcome(), second.getOutcome());
+        }
+    }
+
+    @Test
+    void testTapWithinATickFires() {
+        SimulationWorld world = new SimulationWorld(new SimulationRules(5, 0, 0, false, 0, null), 750, 1300, 3);
+        world.apply(InputCommand.START_FIRING);
+        world.apply(InputCommand.STOP_FIRING); // Both forwarded before the tick
+        world.step();
+        world.step();
+        int shots = 0;
+        for (int i = 0; i < world.getEntityCount(); i++) {
+            if (world.getKind(i) == EntityKind.USER_PROJECTILE) {
+                shots++;
+            }
+        }
+        assertEquals(1, shots, "A tap should fire exactly once");
+    }
+
+    @Test
+    void testMissedProjectilesAreCulled() {
+        SimulationWorld world = new SimulationWorld(new SimulationRules(5, 0, 0, false, 0, null), 750, 1300, 5);
+        world.apply(InputCommand.START_FIRING);
+        world.apply(InputCommand.STOP_FIRING);
+        world.step();
+        assertEquals(2, world.getEntityCount());
+        for (int tick = 0; tick < 200; tick++) {
+            world.step();
+        }
+        assertEquals(1, world.getEntityCount(), "A shot past the edge of the screen should be culled");
+    }
+
+    @Test
+    void testRunnerPublishesTicksInOrder() throws Exception {
+        SimulationRunner runner = new SimulationRunner(new SimulationWorld(RULES, 750, 1300, 7), 1);
+        runner.start();
+        try {
+            long previous = -1;
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (previous < 50 && System.nanoTime() < deadline) {
+                WorldSnapshot snapshot = runner.latest();
+                assertTrue(snapshot.getTick() >= previous, "Published ticks should never go backwards");
+                previous = snapshot.getTick();
+                Thread.sleep(1);
+            }
+            assertTrue(previous >= 50, "The runner should keep publishing ticks");
+        } finally {
+            runner.stop();
+        }
+    }
+
+    @Test
+    void testRunnerStopsAndReportsAFailedTick() throws Exception {
+        SimulationRunner runner = new SimulationRunner(new SimulationWorld(RULES, 750, 1300, 7), 1);
+        IllegalStateException thrown = new IllegalStateException("Tick failed");
+        CountDownLatch reported = new CountDownLatch(1);
+        runner.setTickListener(world -> {
+            if (world.getTick() == 3) {
+                throw thrown;
+            }
+        });
+        runner.setFailureListener(failure -> reported.countDown());
+        runner.start();
+        try {
+            assertTrue(reported.await(5, TimeUnit.SECONDS), "The failure should be reported");
+            assertSame(thrown, runner.getFailure());
+            long tick = runner.latest().getTick();
+            Thread.sleep(20);
+            assertEquals(tick, runner.latest().getTick(), "The runner should stop ticking after a failure");
+        } finally {
+            runner.stop();
+        }
+    }
+}
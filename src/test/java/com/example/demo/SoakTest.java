@@ -0,0 +1,88 @@
+package com.example.demo;
+
+import com.example.demo.Soak.BotPilot;
+import com.example.demo.Soak.SoakMonitor;
+import com.example.demo.Soak.SoakMonitor.Measure;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoakTest {
+
+    private static final long MB = 1 << 20;
+
+    @Test
+    void testBotDodgesTheProjectileHeadingForIt() {
+        BotPilot bot = new BotPilot();
+        bot.clearThreats();
+        bot.addProjectile(400, 390, 415); // Level with a plane at 380..420
+        bot.addEnemy(600, 640);
+        assertEquals(1, bot.chooseDirection(200, 380, 420), "Either way clears it, so the bot dodges towards the enemy");
+
+        bot.clearThreats();
+        bot.addProjectile(400, 385, 410);
+        bot.addProjectile(400, 400, 425);
+        bot.addProjectile(300, 420, 445); // Closer, below: blocks the way down
+        assertEquals(-1, bot.chooseDirection(200, 380, 420));
+
+        bot.clearThreats();
+        bot.addProjectile(400, 300, 325); // Above, and staying put keeps clear of it
+        bot.addProjectile(1000, 390, 415); // Beyond the horizon
+        bot.addProjectile(0, 390, 415); // Already past
+        assertEquals(0, bot.chooseDirection(200, 380, 420));
+    }
+
+    @Test
+    void testBotLinesUpWithTheNearestEnemyWhenSafe() {
+        BotPilot bot = new BotPilot();
+        bot.clearThreats();
+        bot.addEnemy(100, 150);
+        bot.addEnemy(500, 550);
+        assertEquals(1, bot.chooseDirection(200, 400, 440), "The enemy at 525 is nearer than the one at 125");
+
+        bot.clearThreats();
+        bot.addEnemy(405, 445);
+        assertEquals(0, bot.chooseDirection(200, 400, 440), "Within the dead band the bot holds still");
+
+        bot.clearThreats();
+        assertEquals(0, bot.chooseDirection(200, 400, 440), "With nothing in play the bot holds still");
+    }
+
+    @Test
+    void testSteadyRunHasNoTrends() {
+        SoakMonitor monitor = new SoakMonitor(5);
+        Random random = new Random(1);
+        for (int minute = 0; minute < 480; minute++) {
+            long warmUp = minute < 5 ? 40 * MB : 0; // Classes loading early on
+            monitor.addSample(80 * MB + warmUp + random.nextInt(20) * MB, 60 + random.nextInt(40),
+                    2 + random.nextInt(3), 300_000 + random.nextInt(100_000), 2_000_000 + random.nextInt(3_000_000));
+        }
+        assertEquals(List.of(), monitor.getUpwardTrends(), monitor.report());
+    }
+
+    @Test
+    void testLeaksAreFoundAmongTheNoise() {
+        SoakMonitor monitor = new SoakMonitor(5);
+        Random random = new Random(2);
+        for (int minute = 0; minute < 480; minute++) {
+            long leakedLevels = minute / 3; // A game restarted every three minutes, each leaking its timers
+            monitor.addSample(80 * MB + random.nextInt(20) * MB, 60 + random.nextInt(40),
+                    2 + random.nextInt(3) + leakedLevels, 300_000 + random.nextInt(100_000),
+                    2_000_000 + random.nextInt(3_000_000));
+        }
+        assertEquals(List.of(Measure.RUNNING_TIMERS), monitor.getUpwardTrends(), monitor.report());
+        assertEquals(160, monitor.getRise(Measure.RUNNING_TIMERS), 5);
+    }
+
+    @Test
+    void testTooFewSamplesHaveNoTrends() {
+        SoakMonitor monitor = new SoakMonitor(5);
+        for (int minute = 0; minute < 7; minute++) {
+            monitor.addSample(minute * 100 * MB, 0, 0, 0, 0);
+        }
+        assertEquals(List.of(), monitor.getUpwardTrends());
+        assertEquals(0, monitor.getRise(Measure.HEAP_BYTES));
+    }
+}
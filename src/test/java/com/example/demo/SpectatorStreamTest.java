@@ -0,0 +1,161 @@
+package com.example.demo;
+
+import com.example.demo.Server.ServerProtocol;
+import com.example.demo.Server.SpectatorClient;
+import com.example.demo.Server.SpectatorServer;
+import com.example.demo.Server.StateDecoder;
+import com.example.demo.Server.StateEncoder;
+import com.example.demo.Simulation.InputCommand;
+import com.example.demo.Simulation.Outcome;
+import com.example.demo.Simulation.SimulationWorld;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpectatorStreamTest {
+
+    private static final InputCommand[] INPUTS = InputCommand.values();
+
+    @Test
+    void testDecodedStateMatchesTheWorld() {
+        SimulationWorld world = newWorld(42);
+        StateEncoder encoder = new StateEncoder(20);
+        StateDecoder decoder = new StateDecoder();
+        long keyframeBytes = 0;
+        long deltaBytes = 0;
+        int keyframes = 0;
+        int deltas = 0;
+        for (int tick = 0; tick < 2000 && world.getOutcome() == Outcome.RUNNING; tick++) {
+            steer(world, tick);
+            world.step();
+            ByteBuffer stream = encoder.encode(world);
+            int length = stream.remaining();
+            ByteBuffer frame = StateDecoder.nextFrame(stream);
+            assertNotNull(frame);
+            assertFalse(stream.hasRemaining(), "A frame should be exactly its prefixed length");
+            assertTrue(decoder.decode(frame));
+            assertMatches(world, decoder);
+            if (encoder.isKeyframe()) {
+                keyframeBytes += length;
+                keyframes++;
+            } else {
+                deltaBytes += length;
+                deltas++;
+            }
+        }
+        assertTrue(keyframes > 0 && deltas > 0);
+        assertTrue(deltaBytes / deltas < keyframeBytes / keyframes, "Deltas should be smaller than keyframes");
+    }
+
+    @Test
+    void testLatestDeltaAloneRebuildsTheTick() {
+        SimulationWorld world = newWorld(7);
+        StateEncoder encoder = new StateEncoder(30);
+        StateDecoder decoder = new StateDecoder();
+        StateDecoder stranger = new StateDecoder();
+        for (int tick = 0; tick < 600 && world.getOutcome() == Outcome.RUNNING; tick++) {
+            steer(world, tick);
+            world.step();
+            ByteBuffer frame = StateDecoder.nextFrame(encoder.encode(world));
+            if (encoder.isKeyframe()) {
+                assertTrue(decoder.decode(frame.duplicate()));
+                assertTrue(stranger.decode(frame));
+            } else if (tick % 9 == 0) {
+                // Skips the deltas in between, as a slow spectator does
+                assertTrue(decoder.decode(frame));
+                assertMatches(world, decoder);
+            } else if (stranger.getTick() < 0) {
+                assertFalse(stranger.decode(frame), "A delta without its keyframe should be refused");
+            }
+        }
+    }
+
+    @Test
+    void testServerStreamsToEverySpectator() throws Exception {
+        SpectatorServer server = new SpectatorServer(0, 10);
+        server.start();
+        SpectatorClient[] clients = new SpectatorClient[3];
+        long keyframeBytes = 0;
+        int published = 0;
+        try {
+            for (int i = 0; i < clients.length; i++) {
+                clients[i] = new SpectatorClient(new InetSocketAddress("localhost", server.getPort()));
+                clients[i].start();
+            }
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (server.getViewerCount() < clients.length && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(clients.length, server.getViewerCount());
+
+            SimulationWorld world = newWorld(3);
+            StateEncoder keyframesOnly = new StateEncoder(1);
+            for (int tick = 0; tick < 200 && world.getOutcome() == Outcome.RUNNING; tick++) {
+                steer(world, tick);
+                world.step();
+                server.publish(world);
+                keyframeBytes += keyframesOnly.encode(world).remaining();
+                published++;
+                Thread.sleep(1);
+            }
+            for (SpectatorClient client : clients) {
+                StateDecoder decoder = new StateDecoder();
+                while (decoder.getTick() < world.getTick() && System.nanoTime() < deadline) {
+                    client.poll(decoder);
+                    Thread.sleep(1);
+                }
+                assertMatches(world, decoder);
+            }
+            // Each spectator holds one frame, besides the latest frame, its keyframe and the one being written
+            assertTrue(server.getFrameCount() <= clients.length + 3,
+                    "Frames should be reused, but " + server.getFrameCount() + " were allocated");
+        } finally {
+            for (SpectatorClient client : clients) {
+                if (client != null) {
+                    client.close();
+                }
+            }
+            server.stop(); // The counters are the I/O thread's, so read them once it has finished
+        }
+
+        // Every tick reaches each spectator, skipped or sent, unless it jumps ahead to a newer keyframe
+        assertTrue(server.getSentFrames() >= clients.length, "Each spectator should have been sent the last tick");
+        assertTrue(server.getSentFrames() + server.getSkippedFrames() <= (long) clients.length * published,
+                server.getSentFrames() + " frames were sent and " + server.getSkippedFrames() + " skipped");
+        for (SpectatorClient client : clients) {
+            assertTrue(client.getReceivedBytes() > 0);
+            assertTrue(client.getReceivedBytes() < keyframeBytes, "Deltas should cost a spectator less than a"
+                    + " keyframe every tick, but " + client.getReceivedBytes() + " bytes were received");
+        }
+    }
+
+    private static SimulationWorld newWorld(long seed) {
+        return new SimulationWorld(ServerProtocol.rulesOf(4), ServerProtocol.SCREEN_HEIGHT,
+                ServerProtocol.SCREEN_WIDTH, seed);
+    }
+
+    private static void steer(SimulationWorld world, int tick) {
+        if (tick % 11 == 0) {
+            world.apply(INPUTS[(tick / 11) % INPUTS.length]);
+        }
+    }
+
+    private static void assertMatches(SimulationWorld world, StateDecoder decoder) {
+        assertEquals(world.getTick(), decoder.getTick());
+        assertEquals(world.getUserHealth(), decoder.getUserHealth());
+        assertEquals(world.getKills(), decoder.getKills());
+        assertEquals(world.getOutcome(), decoder.getOutcome());
+        assertEquals(world.isBossShielded(), decoder.isBossShielded());
+        assertEquals(world.getEntityCount(), decoder.getCount(), "Entity counts differ at tick " + world.getTick());
+        for (int i = 0; i < world.getEntityCount(); i++) {
+            assertEquals(world.getId(i), decoder.getId(i));
+            assertEquals(world.getKind(i), decoder.getKind(i));
+            assertEquals(Math.floor(world.getX(i) / 64.0) / 4, decoder.getX(i), "Positions are kept to quarter pixels");
+            assertEquals(Math.floor(world.getY(i) / 64.0) / 4, decoder.getY(i));
+            assertEquals(world.getHealth(i), decoder.getHealth(i));
+            assertEquals(world.isInvincible(i), decoder.isInvincible(i));
+        }
+    }
+}
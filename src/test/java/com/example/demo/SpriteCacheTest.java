@@ -0,0 +1,46 @@
+package com.example.demo;
+
+import com.example.demo.Display.SpriteCache;
+import javafx.scene.image.Image;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpriteCacheTest {
+
+    private static final String IMAGES = "/com/example/demo/images/";
+
+    @BeforeAll
+    static void useScaleOne() {
+        System.setProperty(SpriteCache.SCALE_PROPERTY, "1"); // No screen to ask
+    }
+
+    @Test
+    void testSourceSizeIsReadFromTheHeader() {
+        assertEquals(800, SpriteCache.getSourceWidth(IMAGES + "fireball.png"));
+        assertEquals(318, SpriteCache.getSourceHeight(IMAGES + "fireball.png"));
+        assertEquals(1024, SpriteCache.getSourceWidth(IMAGES + "background1.jpg"));
+        assertEquals(596, SpriteCache.getSourceHeight(IMAGES + "background1.jpg"));
+        assertEquals(1920, SpriteCache.getSourceWidth(IMAGES + "background2.jpg"));
+        assertEquals(1080, SpriteCache.getSourceHeight(IMAGES + "background2.jpg"));
+    }
+
+    @Test
+    void testImagesAreSharedPerDisplaySize() {
+        String path = IMAGES + "enemyplane.png";
+        long saved = SpriteCache.getTextureBytesSaved();
+        Image small = SpriteCache.get(path, 0, 50);
+        assertSame(small, SpriteCache.get(path, 0, 50));
+        assertTrue(SpriteCache.getTextureBytesSaved() > saved, "Decoding at 50 px should save texture bytes");
+        assertNotSame(small, SpriteCache.get(path, 0, 100));
+        assertSame(SpriteCache.get(path), SpriteCache.get(path, 0, 1000), "Sprites are never decoded larger");
+        assertSame(SpriteCache.get(path), SpriteCache.get(path, 645, 228));
+    }
+
+    @Test
+    void testMissingResourceIsRefused() {
+        assertThrows(IllegalArgumentException.class, () -> SpriteCache.get(IMAGES + "missing.png", 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> SpriteCache.get(IMAGES + "heart.png", -1, 10));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo;
+
+import com.example.demo.Telemetry.Telemetry;
+import com.example.demo.Telemetry.TelemetryRing;
+import com.example.demo.Telemetry.TelemetryType;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TelemetryTest {
+
+    @Test
+    void testFullRingDropsAndCountsRecords() {
+        TelemetryRing ring = new TelemetryRing(8);
+        for (int i = 0; i < 10; i++) {
+            ring.offer(i, TelemetryType.SHOT_FIRED.ordinal(), i);
+        }
+        assertEquals(2, ring.getDroppedCount(), "Records offered to a full ring should be dropped");
+
+        long[] timestamps = new long[16];
+        int[] types = new int[16];
+        int[] values = new int[16];
+        assertEquals(8, ring.drain(timestamps, types, values, 16));
+        assertEquals(7, values[7], "Records should be drained oldest first");
+        assertTrue(ring.offer(10, TelemetryType.HIT.ordinal(), 10), "Drained slots should be reusable");
+    }
+
+    @Test
+    void testRecordsAreWrittenToCompressedLog(@TempDir Path directory) throws Exception {
+        Telemetry.start(directory);
+        int level = Telemetry.levelId("LevelOne");
+        Telemetry.record(TelemetryType.LEVEL_STARTED, level);
+        for (int i = 0; i < 100; i++) {
+            Telemetry.record(TelemetryType.SHOT_FIRED, i);
+        }
+        Telemetry.stop();
+
+        int shots = 0;
+        boolean levelNamed = false;
+        try (DirectoryStream<Path> logs = Files.newDirectoryStream(directory, "*.csv.gz")) {
+            for (Path log : logs) {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                        new GZIPInputStream(Files.newInputStream(log)), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        shots += line.contains(",SHOT_FIRED,") ? 1 : 0;
+                        levelNamed |= line.endsWith(",LEVEL_STARTED," + level + ",LevelOne");
+                    }
+                }
+            }
+        }
+        assertEquals(100, shots, "Every recorded shot should be in the log");
+        assertTrue(levelNamed, "Level records should carry the level name");
+    }
+}
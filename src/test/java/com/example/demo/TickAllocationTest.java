@@ -0,0 +1,331 @@
+package com.example.demo;
+
+import com.example.demo.Actor.ActiveActorDestructible;
+import com.example.demo.Actor.Planes.Boss;
+import com.example.demo.Actor.Planes.EnemyPlane;
+import com.example.demo.Actor.Planes.UserPlane;
+import com.example.demo.Actor.Projectiles.EnemyProjectile;
+import com.example.demo.Actor.Team;
+import com.example.demo.Event.ActorDestroyedEvent;
+import com.example.demo.Level.LevelParent;
+import com.example.demo.Level.LevelView;
+import com.example.demo.Level.TickPhase;
+import javafx.application.Platform;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fails if any phase of a steady-state game loop tick starts allocating again.
+ * <p>
+ * The first level below keeps a fixed set of moving enemies and a boss in play without spawning, firing or destroying
+ * anything. The second keeps projectiles in flight: a turret fires on a fixed schedule, half of its shots hitting the
+ * user and half missing and flying off the screen, while an enemy parked on the user keeps colliding with it. Once the
+ * JIT has warmed up, every tick phase of either level should allocate zero bytes, apart from the turret's shots
+ * themselves.
+ * <p>
+ * All ticks run within one task on the FX thread, so no pulse stops the invincibility the planes gain from their first
+ * hits; later hits are blocked by it, and the hearts do not change while the ticks are measured.
+ */
+class TickAllocationTest {
+
+    private static final int WARM_UP_TICKS = 20_000;
+    private static final int MEASURED_TICKS = 1_000;
+    private static final TickPhase[] PHASES = TickPhase.values();
+
+    @BeforeAll
+    static void initJavaFX() throws InterruptedException {
+        // Initialize the JavaFX Toolkit
+        Thread thread = new Thread(() -> Platform.startup(() -> {}));
+        thread.setDaemon(true);
+        thread.start();
+        thread.join(); // Ensure JavaFX is initialized before proceeding
+    }
+
+    @Test
+    void testSteadyStateTickDoesNotAllocate() throws Exception {
+        long[] allocatedBytes = runOnFxThread(() -> {
+            SteadyLevel level = new SteadyLevel();
+            level.initializeScene();
+            long[] perPhase = measureTicks(level, () -> false);
+            level.dispose();
+            return perPhase;
+        });
+
+        assertNoAllocation(allocatedBytes);
+    }
+
+    @Test
+    void testCombatTickDoesNotAllocateOutsideSpawns() throws Exception {
+        // Removing a node from the scene graph allocates within JavaFX, so the sprites are drawn onto a canvas
+        String renderer = System.getProperty(LevelParent.RENDERER_PROPERTY);
+        System.setProperty(LevelParent.RENDERER_PROPERTY, LevelParent.CANVAS_RENDERER);
+        try {
+            AtomicReference<CombatLevel> combat = new AtomicReference<>();
+            long[] allocatedBytes = runOnFxThread(() -> {
+                CombatLevel level = new CombatLevel();
+                level.initializeScene();
+                combat.set(level);
+                long[] perPhase = measureTicks(level, level.turret::hasJustFired);
+                level.dispose();
+                return perPhase;
+            });
+
+            CombatLevel level = combat.get();
+            assertTrue(level.measuredHits > 0, "Projectiles should have hit the user while the ticks were measured");
+            assertTrue(level.measuredShots > level.projectilesInPlay,
+                    "Projectiles that hit or flew off the screen should have been removed");
+            assertTrue(level.rammer.intersects(level.user()), "The parked enemy should stay in contact with the user");
+            assertNoAllocation(allocatedBytes);
+        } finally {
+            if (renderer == null) {
+                System.clearProperty(LevelParent.RENDERER_PROPERTY);
+            } else {
+                System.setProperty(LevelParent.RENDERER_PROPERTY, renderer);
+            }
+        }
+    }
+
+    /**
+     * Warms a level up and then returns the bytes each tick phase allocated over the measured ticks. The enemy fire
+     * phase is not counted on the ticks it spawned a projectile.
+     */
+    private static long[] measureTicks(LevelParent level, BooleanSupplier spawned) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        for (int tick = 0; tick < WARM_UP_TICKS; tick++) {
+            for (TickPhase phase : PHASES) {
+                level.runTickPhase(phase);
+            }
+        }
+
+        // Cost of the measurement itself, subtracted from every phase
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 100; i++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            overhead = Math.min(overhead, threads.getThreadAllocatedBytes(threadId) - before);
+        }
+
+        long[] perPhase = new long[PHASES.length];
+        for (int tick = 0; tick < MEASURED_TICKS; tick++) {
+            for (TickPhase phase : PHASES) {
+                long before = threads.getThreadAllocatedBytes(threadId);
+                level.runTickPhase(phase);
+                long allocated = threads.getThreadAllocatedBytes(threadId) - before - overhead;
+                if (phase != TickPhase.ENEMY_FIRE || !spawned.getAsBoolean()) {
+                    perPhase[phase.ordinal()] += allocated;
+                }
+            }
+        }
+        return perPhase;
+    }
+
+    private static void assertNoAllocation(long[] allocatedBytes) {
+        for (TickPhase phase : PHASES) {
+            assertEquals(0, allocatedBytes[phase.ordinal()],
+                    phase + " allocated " + allocatedBytes[phase.ordinal()] + " bytes over " + MEASURED_TICKS + " ticks");
+        }
+    }
+
+    /**
+     * A level whose actors keep moving forever without firing, colliding or leaving the screen.
+     */
+    private static class SteadyLevel extends LevelParent {
+
+        private static final String BACKGROUND_IMAGE_NAME = "/com/example/demo/images/background1.jpg";
+        private static final int ENEMIES = 6;
+
+        SteadyLevel() {
+            super(BACKGROUND_IMAGE_NAME, 900, 1600, 5);
+        }
+
+        @Override
+        protected void initializeFriendlyUnits() {
+            showUser();
+            for (int i = 0; i < ENEMIES; i++) {
+                addEnemyUnit(new CirclingEnemy(600 + 150 * i, 50 + 120 * i));
+            }
+            addBoss(new SilentBoss());
+        }
+
+        @Override
+        protected void checkIfGameOver() {
+        }
+
+        @Override
+        protected void spawnEnemyUnits() {
+        }
+
+        @Override
+        protected LevelView instantiateLevelView() {
+            return new LevelView(getRoot(), 5);
+        }
+    }
+
+    /**
+     * A level with a turret firing at the user and an enemy parked on top of the user. Hits are counted once the
+     * warm-up is over.
+     */
+    private static class CombatLevel extends LevelParent {
+
+        private static final String BACKGROUND_IMAGE_NAME = "/com/example/demo/images/background1.jpg";
+
+        private final Turret turret = new Turret();
+        private final ParkedEnemy rammer = new ParkedEnemy(UserPlane.INITIAL_X_POSITION + 20, UserPlane.INITIAL_Y_POSITION);
+        private long ticks;
+        private int measuredHits;
+        private int measuredShots;
+        private int projectilesInPlay;
+
+        CombatLevel() {
+            super(BACKGROUND_IMAGE_NAME, 900, 1600, 5);
+        }
+
+        @Override
+        protected void initializeFriendlyUnits() {
+            showUser();
+            addEnemyUnit(turret);
+            addEnemyUnit(rammer);
+            getEventBus().subscribe(ActorDestroyedEvent.class, event -> {
+                if (ticks > WARM_UP_TICKS && event.getActor() instanceof EnemyProjectile) {
+                    measuredHits++;
+                }
+            });
+        }
+
+        @Override
+        protected void checkIfGameOver() {
+            if (++ticks > WARM_UP_TICKS) {
+                measuredShots += turret.hasJustFired() ? 1 : 0;
+                projectilesInPlay = getActors().projectilesOf(Team.ENEMY).size();
+            }
+        }
+
+        @Override
+        protected void spawnEnemyUnits() {
+        }
+
+        @Override
+        protected LevelView instantiateLevelView() {
+            return new LevelView(getRoot(), 5);
+        }
+
+        UserPlane user() {
+            return getUser();
+        }
+    }
+
+    /**
+     * An enemy plane that stays where it is placed and never fires.
+     */
+    private static class ParkedEnemy extends EnemyPlane {
+
+        ParkedEnemy(double initialXPos, double initialYPos) {
+            super(initialXPos, initialYPos);
+        }
+
+        @Override
+        public void updatePosition() {
+        }
+
+        @Override
+        public ActiveActorDestructible fireProjectile() {
+            return null;
+        }
+    }
+
+    /**
+     * A parked enemy plane that fires every few ticks, alternately at the user's height and well below the user.
+     */
+    private static class Turret extends ParkedEnemy {
+
+        private static final int FIRE_INTERVAL = 8;
+        private static final double HIT_LANE = UserPlane.INITIAL_Y_POSITION
+                + (UserPlane.IMAGE_HEIGHT - EnemyProjectile.IMAGE_HEIGHT) / 2.0;
+        private static final double MISS_LANE = 650;
+
+        private long calls;
+        private boolean fired;
+
+        Turret() {
+            super(1300, MISS_LANE);
+        }
+
+        @Override
+        public ActiveActorDestructible fireProjectile() {
+            fired = calls++ % FIRE_INTERVAL == 0;
+            if (!fired) {
+                return null;
+            }
+            double lane = (calls / FIRE_INTERVAL) % 2 == 0 ? HIT_LANE : MISS_LANE;
+            return new EnemyProjectile(getLayoutX(), lane);
+        }
+
+        boolean hasJustFired() {
+            return fired;
+        }
+    }
+
+    /**
+     * An enemy plane that never fires and jumps back to the right before it can reach the user.
+     */
+    private static class CirclingEnemy extends EnemyPlane {
+
+        CirclingEnemy(double initialXPos, double initialYPos) {
+            super(initialXPos, initialYPos);
+        }
+
+        @Override
+        public void updatePosition() {
+            super.updatePosition();
+            if (getLayoutX() + getTranslateX() < 400) {
+                setTranslateX(getTranslateX() + 1000);
+            }
+        }
+
+        @Override
+        public ActiveActorDestructible fireProjectile() {
+            return null;
+        }
+    }
+
+    /**
+     * A boss that moves and raises its shield but never fires.
+     */
+    private static class SilentBoss extends Boss {
+
+        @Override
+        public ActiveActorDestructible fireProjectile() {
+            return null;
+        }
+    }
+
+    private static <T> T runOnFxThread(Supplier<T> action) throws Exception {
+        AtomicReference<T> result = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                result.set(action.get());
+            } catch (Throwable t) {
+                failure.set(t);
+            } finally {
+                latch.countDown();
+            }
+        });
+        assertTrue(latch.await(60, TimeUnit.SECONDS), "FX thread did not run the action in time");
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        return result.get();
+    }
+}
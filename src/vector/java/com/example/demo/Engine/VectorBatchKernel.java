@@ -0,0 +1,71 @@
+package com.example.demo.Engine;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@link BatchKernel} using the Vector API, processing as many entities per step as the CPU's preferred vector
+ * holds, and the remaining entities one at a time.
+ * <p>
+ * This class lives in its own source set, compiled only by the {@code vector} build profile, so that the default build
+ * neither needs nor warns about the incubating module. {@link BatchKernel} creates it reflectively once the module is
+ * known to be present.
+ */
+final class VectorBatchKernel extends BatchKernel {
+
+	private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+	VectorBatchKernel() {
+	}
+
+	@Override
+	public String getName() {
+		return "vector (" + SPECIES.length() + " lanes)";
+	}
+
+	@Override
+	public void integrate(int[] position, int[] velocity, int count) {
+		int i = 0;
+		for (int bound = SPECIES.loopBound(count); i < bound; i += SPECIES.length()) {
+			IntVector.fromArray(SPECIES, position, i)
+					.add(IntVector.fromArray(SPECIES, velocity, i))
+					.intoArray(position, i);
+		}
+		for (; i < count; i++) {
+			position[i] += velocity[i];
+		}
+	}
+
+	@Override
+	public int overlaps(int[] x, int[] y, int[] width, int[] height, int count,
+						int boxX, int boxY, int boxWidth, int boxHeight, int[] hits) {
+		int boxRight = boxX + boxWidth;
+		int boxBottom = boxY + boxHeight;
+		int found = 0;
+		int i = 0;
+		for (int bound = SPECIES.loopBound(count); i < bound; i += SPECIES.length()) {
+			IntVector left = IntVector.fromArray(SPECIES, x, i);
+			IntVector top = IntVector.fromArray(SPECIES, y, i);
+			VectorMask<Integer> overlap = left.add(IntVector.fromArray(SPECIES, width, i))
+					.compare(VectorOperators.GE, boxX)
+					.and(top.add(IntVector.fromArray(SPECIES, height, i)).compare(VectorOperators.GE, boxY))
+					.and(left.compare(VectorOperators.LE, boxRight))
+					.and(top.compare(VectorOperators.LE, boxBottom));
+			if (overlap.anyTrue()) {
+				for (int lane = overlap.firstTrue(); lane < SPECIES.length(); lane++) {
+					if (overlap.laneIsSet(lane)) {
+						hits[found++] = i + lane;
+					}
+				}
+			}
+		}
+		for (; i < count; i++) {
+			if (x[i] + width[i] >= boxX && y[i] + height[i] >= boxY && x[i] <= boxRight && y[i] <= boxBottom) {
+				hits[found++] = i;
+			}
+		}
+		return found;
+	}
+}